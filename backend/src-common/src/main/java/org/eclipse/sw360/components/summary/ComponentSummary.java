@@ -9,6 +9,7 @@
  */
 package org.eclipse.sw360.components.summary;
 
+import com.google.common.collect.ImmutableSet;
 import org.eclipse.sw360.datahandler.db.ReleaseRepository;
 import org.eclipse.sw360.datahandler.db.VendorRepository;
 import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
@@ -16,10 +17,13 @@ import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.eclipse.sw360.datahandler.thrift.ThriftUtils.copyField;
+import static org.eclipse.sw360.datahandler.thrift.ThriftUtils.copyFields;
 
 /**
  * Created by bodet on 17/02/15.
@@ -28,6 +32,13 @@ import static org.eclipse.sw360.datahandler.thrift.ThriftUtils.copyField;
  */
 public class ComponentSummary extends DocumentSummary<Component> {
 
+    private static final Set<Component._Fields> SHORT_SUMMARY_FIELDS = ImmutableSet.of(
+            Component._Fields.ID,
+            Component._Fields.NAME,
+            Component._Fields.VENDOR_NAMES,
+            Component._Fields.COMPONENT_TYPE,
+            Component._Fields.CATEGORIES);
+
     private final ReleaseRepository releaseRepository;
     private final VendorRepository vendorRepository;
 
@@ -41,6 +52,11 @@ public class ComponentSummary extends DocumentSummary<Component> {
         this.vendorRepository = vendorRepository;
     }
 
+    @Override
+    public Set<Component._Fields> getProjectedFields(SummaryType type) {
+        return type == SummaryType.SHORT ? SHORT_SUMMARY_FIELDS : Collections.emptySet();
+    }
+
     @Override
     protected Component summary(SummaryType type, Component document) {
 
@@ -65,11 +81,7 @@ public class ComponentSummary extends DocumentSummary<Component> {
             copyField(document, copy, Component._Fields.DESCRIPTION);
         }
 
-        copyField(document, copy, Component._Fields.ID);
-        copyField(document, copy, Component._Fields.NAME);
-        copyField(document, copy, Component._Fields.VENDOR_NAMES);
-        copyField(document, copy, Component._Fields.COMPONENT_TYPE);
-        copyField(document, copy, Component._Fields.CATEGORIES);
+        copyFields(document, copy, SHORT_SUMMARY_FIELDS);
 
         if (type == SummaryType.SUMMARY) {
             for (Component._Fields field : Component.metaDataMap.keySet()) {
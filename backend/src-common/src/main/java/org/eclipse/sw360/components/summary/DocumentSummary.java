@@ -9,6 +9,7 @@
  */
 package org.eclipse.sw360.components.summary;
 
+import org.apache.thrift.TFieldIdEnum;
 import org.eclipse.sw360.datahandler.permissions.DocumentPermissions;
 import org.eclipse.sw360.datahandler.permissions.PermissionUtils;
 import org.eclipse.sw360.datahandler.thrift.users.User;
@@ -17,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Created by bodet on 17/02/15.
@@ -29,6 +31,14 @@ public abstract class DocumentSummary<T> {
 
     protected abstract T summary(SummaryType type, T document);
 
+    /**
+     * @return the fields a summary of the given type is made from, so that only these have to be read from the
+     * database, or an empty set if the summary needs the full documents
+     */
+    public Set<? extends TFieldIdEnum> getProjectedFields(SummaryType type) {
+        return Collections.emptySet();
+    }
+
     public T makeSummary(SummaryType type, T document) {
         if (document == null) return null;
         return summary(type, document);
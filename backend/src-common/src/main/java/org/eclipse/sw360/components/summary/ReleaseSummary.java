@@ -10,6 +10,7 @@
 package org.eclipse.sw360.components.summary;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.sw360.datahandler.db.VendorRepository;
 import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
@@ -23,6 +24,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.datahandler.thrift.ThriftUtils.copyField;
+import static org.eclipse.sw360.datahandler.thrift.ThriftUtils.copyFields;
 
 /**
  * Created by bodet on 17/02/15.
@@ -31,6 +33,39 @@ import static org.eclipse.sw360.datahandler.thrift.ThriftUtils.copyField;
  */
 public class ReleaseSummary extends DocumentSummary<Release> {
 
+    private static final Set<_Fields> SHORT_SUMMARY_FIELDS = ImmutableSet.of(
+            _Fields.ID,
+            _Fields.REVISION,
+            _Fields.NAME,
+            _Fields.VERSION,
+            _Fields.COMPONENT_ID,
+            _Fields.EXTERNAL_TOOL_PROCESSES,
+            _Fields.CLEARING_STATE,
+            _Fields.MAINLINE_STATE,
+            _Fields.CPEID,
+            _Fields.RELEASE_DATE,
+            _Fields.SOURCE_CODE_DOWNLOADURL,
+            _Fields.BINARY_DOWNLOADURL);
+
+    private static final Set<_Fields> ADDITIONAL_SUMMARY_FIELDS = ImmutableSet.of(
+            _Fields.CREATED_BY,
+            _Fields.LANGUAGES,
+            _Fields.OPERATING_SYSTEMS,
+            _Fields.ATTACHMENTS,
+            _Fields.MAIN_LICENSE_IDS,
+            _Fields.ECC_INFORMATION);
+
+    // the vendor of the summary is looked up by the vendor id of the document
+    private static final Set<_Fields> SHORT_PROJECTED_FIELDS = ImmutableSet.<_Fields>builder()
+            .addAll(SHORT_SUMMARY_FIELDS)
+            .add(_Fields.VENDOR_ID)
+            .build();
+
+    private static final Set<_Fields> SUMMARY_PROJECTED_FIELDS = ImmutableSet.<_Fields>builder()
+            .addAll(SHORT_PROJECTED_FIELDS)
+            .addAll(ADDITIONAL_SUMMARY_FIELDS)
+            .build();
+
     private final VendorRepository vendorRepository;
 
     public ReleaseSummary() {
@@ -65,6 +100,19 @@ public class ReleaseSummary extends DocumentSummary<Release> {
     }
 
 
+    @Override
+    public Set<_Fields> getProjectedFields(SummaryType type) {
+        switch (type) {
+            case SHORT:
+                return SHORT_PROJECTED_FIELDS;
+            case SUMMARY:
+            case EXPORT_SUMMARY:
+                return SUMMARY_PROJECTED_FIELDS;
+            default:
+                return Collections.emptySet();
+        }
+    }
+
     @Override
     protected Release summary(SummaryType type, Release document) {
         return summary(type, document, vendorRepository::get);
@@ -97,29 +145,11 @@ public class ReleaseSummary extends DocumentSummary<Release> {
     }
 
     private void setShortSummaryFields(Release document, Release copy) {
-        copyField(document, copy, _Fields.ID);
-        copyField(document, copy, _Fields.REVISION);
-        copyField(document, copy, _Fields.NAME);
-        copyField(document, copy, _Fields.VERSION);
-        copyField(document, copy, _Fields.COMPONENT_ID);
-        copyField(document, copy, _Fields.EXTERNAL_TOOL_PROCESSES);
-        copyField(document, copy, _Fields.CLEARING_STATE);
-        copyField(document, copy, _Fields.MAINLINE_STATE);
-        copyField(document, copy, _Fields.CPEID);
-        copyField(document, copy, _Fields.RELEASE_DATE);
-        copyField(document, copy, _Fields.SOURCE_CODE_DOWNLOADURL);
-        copyField(document, copy, _Fields.BINARY_DOWNLOADURL);
+        copyFields(document, copy, SHORT_SUMMARY_FIELDS);
     }
 
     private void setAdditionalFieldsForSummariesOtherThanShortAndDetailedExport(Release document, Release copy){
-        copyField(document, copy, _Fields.CREATED_BY);
-        copyField(document, copy, _Fields.MAINLINE_STATE);
-        copyField(document, copy, _Fields.CLEARING_STATE);
-        copyField(document, copy, _Fields.LANGUAGES);
-        copyField(document, copy, _Fields.OPERATING_SYSTEMS);
-        copyField(document, copy, _Fields.ATTACHMENTS);
-        copyField(document, copy, _Fields.MAIN_LICENSE_IDS);
-        copyField(document, copy, _Fields.ECC_INFORMATION);
+        copyFields(document, copy, ADDITIONAL_SUMMARY_FIELDS);
     }
 
 }
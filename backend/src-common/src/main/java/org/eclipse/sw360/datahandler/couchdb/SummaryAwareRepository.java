@@ -9,6 +9,9 @@
  */
 package org.eclipse.sw360.datahandler.couchdb;
 
+import com.cloudant.client.api.model.DesignDocument.MapReduce;
+import com.google.common.base.CaseFormat;
+import org.apache.thrift.TFieldIdEnum;
 import org.eclipse.sw360.components.summary.DocumentSummary;
 import org.eclipse.sw360.components.summary.SummaryType;
 import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
@@ -18,8 +21,10 @@ import org.eclipse.sw360.datahandler.thrift.users.User;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -30,6 +35,7 @@ import java.util.Set;
 public class SummaryAwareRepository<T> extends DatabaseRepositoryCloudantClient<T> {
 
     protected final DocumentSummary<T> summary;
+    private final Map<SummaryType, String> projectionViewNames = new EnumMap<>(SummaryType.class);
 
     public SummaryAwareRepository(Class<T> type, DatabaseConnectorCloudant databaseConnector, DocumentSummary<T> summary) {
         super(databaseConnector, type);
@@ -37,12 +43,39 @@ public class SummaryAwareRepository<T> extends DatabaseRepositoryCloudantClient<
         this.summary = summary;
     }
 
+    /**
+     * Adds views emitting only the fields the summaries of the given types are made from, which are then read
+     * instead of the full documents by {@link #makeSummary(SummaryType, Collection)}. To be called from the
+     * constructor of a repository before its design document is initialized.
+     */
+    protected void addProjectionViews(Map<String, MapReduce> views, String documentType, SummaryType... types) {
+        for (SummaryType type : types) {
+            Set<? extends TFieldIdEnum> fields = summary.getProjectedFields(type);
+            if (fields.isEmpty()) {
+                continue;
+            }
+            String map = createProjectionMap(documentType, fields);
+            // summary types made from the same fields share a view
+            String viewName = projectionViewNames.values().stream()
+                    .filter(name -> map.equals(views.get(name).getMap()))
+                    .findFirst()
+                    .orElse(CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, type.name()) + "Projection");
+            views.put(viewName, createMapReduce(map, null));
+            projectionViewNames.put(type, viewName);
+        }
+    }
+
+    private List<T> getForSummary(SummaryType type, Collection<String> ids) {
+        String viewName = projectionViewNames.get(type);
+        return viewName != null ? queryProjectedByIds(viewName, ids) : get(ids);
+    }
+
     public List<T> makeSummary(SummaryType type, Collection<String> ids) {
         if (ids == null) {
             return Collections.emptyList();
         }
 
-        List<T> documents = get(ids);
+        List<T> documents = getForSummary(type, ids);
 
         return makeSummaryFromFullDocs(type, documents);
     }
@@ -52,7 +85,7 @@ public class SummaryAwareRepository<T> extends DatabaseRepositoryCloudantClient<
             return Collections.emptyList();
         }
 
-        List<T> documents = get(ids, ignoreNotFound);
+        List<T> documents = projectionViewNames.containsKey(type) ? getForSummary(type, ids) : get(ids, ignoreNotFound);
 
         return makeSummaryFromFullDocs(type, documents);
     }
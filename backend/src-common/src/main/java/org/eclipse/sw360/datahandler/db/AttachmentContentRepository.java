@@ -41,12 +41,14 @@ public class AttachmentContentRepository extends DatabaseRepositoryCloudantClien
 
     private static final String ALL = "function(doc) { if (doc.type == 'attachment') emit(null, doc._id) }";
     private static final String ONLYREMOTES = "function(doc) { if(doc.type == 'attachment' && doc.onlyRemote) { emit(null, doc) } }";
+    private static final String UPLOADS = "function(doc) { if(doc.type == 'attachment' && doc.uploadStartedOn) { emit(doc.uploadStartedOn, null) } }";
 
     public AttachmentContentRepository(DatabaseConnectorCloudant db) {
         super(db, AttachmentContent.class);
         Map<String, MapReduce> views = new HashMap<String, MapReduce>();
         views.put("onlyRemotes", createMapReduce(ONLYREMOTES, null));
         views.put("all", createMapReduce(ALL, null));
+        views.put("uploads", createMapReduce(UPLOADS, null));
         initStandardDesignDocument(views, db);
     }
 
@@ -56,6 +58,13 @@ public class AttachmentContentRepository extends DatabaseRepositoryCloudantClien
         return queryView(req);
     }
 
+    /**
+     * @return ids of the uploads in parts which were started at or before the given time, "yyyy-MM-dd HH:mm:ss"
+     */
+    public Set<String> getUploadIdsStartedBefore(String startedOn) {
+        return queryForIds("uploads", "", startedOn);
+    }
+
     public RequestSummary vacuumAttachmentDB(User user, final Set<String> usedIds) {
         final RequestSummary requestSummary = new RequestSummary();
         if (!PermissionUtils.isAdmin(user))
@@ -18,6 +18,7 @@ import com.google.common.collect.Maps;
 
 import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
+import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
 import org.eclipse.sw360.datahandler.thrift.*;
 import org.eclipse.sw360.datahandler.thrift.attachments.*;
@@ -29,6 +30,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.thrift.TException;
 
 import java.net.MalformedURLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -202,7 +205,7 @@ public class AttachmentDatabaseHandler {
     public void deleteAttachmentUsages(List<AttachmentUsage> attachmentUsages) throws SW360Exception {
         List<Response> results = attachmentUsageRepository.deleteIds(
                 attachmentUsages.stream().map(AttachmentUsage::getId).collect(Collectors.toList()));
-        results = results.stream().filter(res -> res.getError() != null || res.getStatusCode() != HttpStatus.SC_OK)
+        results = results.stream().filter(res -> res.getError() != null || res.getStatusCode() != HttpStatus.SC_CREATED)
                 .collect(Collectors.toList());
         if (!results.isEmpty()) {
             throw new SW360Exception("Some of the usage documents could not be deleted: " + results);
@@ -274,4 +277,27 @@ public class AttachmentDatabaseHandler {
     public RequestStatus deleteOldAttachmentFromFileSystem() throws TException {
         return DatabaseHandlerUtil.deleteOldAttachmentFromFileSystem();
     }
+
+    public RequestSummary deleteAbandonedUploads() {
+        String startedBefore = LocalDateTime.now().minusDays(DatabaseHandlerUtil.ABANDONED_UPLOAD_DELETE_NO_OF_DAYS)
+                .format(DateTimeFormatter.ofPattern(SW360Utils.FORMAT_DATE_TIME));
+        Set<String> uploadIds = attachmentContentRepository.getUploadIdsStartedBefore(startedBefore);
+        if (uploadIds.isEmpty()) {
+            return CommonUtils.getRequestSummary(0, 0);
+        }
+        Set<String> ownedIds = attachmentOwnerRepository.getOwnedIds(uploadIds);
+        List<String> abandonedIds = uploadIds.stream()
+                .filter(id -> !ownedIds.contains(id))
+                .collect(Collectors.toList());
+        if (abandonedIds.isEmpty()) {
+            return CommonUtils.getRequestSummary(0, 0);
+        }
+        log.info("Deleting " + abandonedIds.size() + " abandoned uploads started before " + startedBefore);
+        List<Response> responses = attachmentContentRepository.deleteIds(abandonedIds);
+        int failures = (int) responses.stream().filter(response -> response.getError() != null).count();
+        if (failures > 0) {
+            log.error("Could not delete " + failures + " abandoned uploads");
+        }
+        return CommonUtils.getRequestSummary(abandonedIds.size(), failures);
+    }
 }
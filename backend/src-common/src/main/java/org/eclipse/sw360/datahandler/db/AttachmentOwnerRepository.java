@@ -14,9 +14,13 @@ import org.eclipse.sw360.datahandler.cloudantclient.DatabaseRepositoryCloudantCl
 import org.eclipse.sw360.datahandler.thrift.Source;
 
 import com.cloudant.client.api.model.DesignDocument.MapReduce;
+import com.cloudant.client.api.views.Key;
+import com.cloudant.client.api.views.UnpaginatedRequestBuilder;
 import com.cloudant.client.api.views.ViewRequestBuilder;
+import com.cloudant.client.api.views.ViewResponse;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,4 +44,23 @@ public class AttachmentOwnerRepository extends DatabaseRepositoryCloudantClient<
         ViewRequestBuilder viewQuery = getConnector().createQuery(Source.class, "attachmentOwner");
         return queryViewForSource(buildRequest(viewQuery, ids));
     }
+
+    /**
+     * @return those of the given attachment content ids which are attached to a project, component or release
+     */
+    public Set<String> getOwnedIds(Set<String> ids) {
+        ViewRequestBuilder viewQuery = getConnector().createQuery(Source.class, "attachmentOwner");
+        UnpaginatedRequestBuilder req = viewQuery.newRequest(Key.Type.STRING, Object.class)
+                .keys(ids.toArray(new String[0]));
+        ViewResponse<String, Object> response = queryQueryResponse(req);
+        if (response == null) {
+            // owners are unknown, so none of the attachments may be treated as unused
+            return ids;
+        }
+        Set<String> ownedIds = new HashSet<>();
+        for (ViewResponse.Row<String, Object> row : response.getRows()) {
+            ownedIds.add(row.getKey());
+        }
+        return ownedIds;
+    }
 }
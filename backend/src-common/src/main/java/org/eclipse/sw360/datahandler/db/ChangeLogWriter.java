@@ -0,0 +1,376 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.thrift.changelogs.ChangeLogs;
+
+import com.cloudant.client.api.model.Response;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes change logs asynchronously through a bounded queue.
+ *
+ * Submitted tasks compute the change logs of one document change and are drained by a small pool of workers. The
+ * workers write the parent change logs of up to a batch of tasks with one bulk request and the reference change
+ * logs, which need the ids of their parents, with a second one. If the queue is full, the configured
+ * {@link OverflowPolicy} decides whether the caller blocks, the change log is dropped or it is appended to a spill
+ * file. Change logs rejected by the database are logged with their content. On {@link #shutdown(long, TimeUnit)} the
+ * queue is flushed before the workers stop.
+ */
+public class ChangeLogWriter {
+
+    private static final Logger log = LogManager.getLogger(ChangeLogWriter.class);
+    private static final Logger changelog = LogManager.getLogger("sw360changelog");
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        SPILL
+    }
+
+    /**
+     * Change logs of one document change, ready to be written
+     */
+    public static class PendingChangeLog {
+        private final ChangeLogsRepository repository;
+        private final ChangeLogs parent;
+        private final List<ChangeLogs> references;
+
+        public PendingChangeLog(ChangeLogsRepository repository, ChangeLogs parent, List<ChangeLogs> references) {
+            this.repository = repository;
+            this.parent = parent;
+            this.references = references == null ? Collections.emptyList() : references;
+        }
+    }
+
+    private final BlockingQueue<Callable<PendingChangeLog>> queue;
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final File spillFile;
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong totalWriteNanos = new AtomicLong();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+
+    public ChangeLogWriter(int queueCapacity, int workerCount, int batchSize, OverflowPolicy overflowPolicy, File spillFile) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.spillFile = spillFile;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "sw360-changelog-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drainQueue);
+        }
+    }
+
+    /**
+     * Queues the task computing the change logs. The task may return null if there is nothing to write.
+     */
+    public void submit(Callable<PendingChangeLog> task) {
+        if (shutdown) {
+            process(Collections.singletonList(task));
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP:
+                if (!queue.offer(task)) {
+                    long dropped = droppedCount.incrementAndGet();
+                    if (dropped == 1 || dropped % 1000 == 0) {
+                        log.warn("Change log queue is full, " + dropped + " change logs dropped so far");
+                    }
+                }
+                break;
+            case SPILL:
+                if (!queue.offer(task)) {
+                    spill(task);
+                }
+                break;
+            case BLOCK:
+            default:
+                try {
+                    queue.put(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount.incrementAndGet();
+                    log.error("Interrupted while waiting for space in the change log queue", e);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Stops accepting tasks into the queue and waits for the queued change logs to be written.
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        shutdown = true;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(timeout, unit)) {
+                log.warn("Change log queue not flushed in time, " + queue.size() + " change logs not written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return current state of the queue and the counters of the writer, e.g. for sizing the queue under load
+     */
+    public Statistics getStatistics() {
+        return new Statistics(queue.size(), queue.size() + queue.remainingCapacity(), writtenCount.get(),
+                droppedCount.get(), spilledCount.get(), failedCount.get(), writeCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(totalWriteNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(maxWriteNanos.get()));
+    }
+
+    /**
+     * Snapshot of the change log queue and writer
+     */
+    public static class Statistics {
+        private final int queueDepth;
+        private final int queueCapacity;
+        private final long written;
+        private final long dropped;
+        private final long spilled;
+        private final long failed;
+        private final long batches;
+        private final long totalBatchMillis;
+        private final long maxBatchMillis;
+
+        Statistics(int queueDepth, int queueCapacity, long written, long dropped, long spilled, long failed,
+                long batches, long totalBatchMillis, long maxBatchMillis) {
+            this.queueDepth = queueDepth;
+            this.queueCapacity = queueCapacity;
+            this.written = written;
+            this.dropped = dropped;
+            this.spilled = spilled;
+            this.failed = failed;
+            this.batches = batches;
+            this.totalBatchMillis = totalBatchMillis;
+            this.maxBatchMillis = maxBatchMillis;
+        }
+
+        /**
+         * @return change logs waiting in the queue
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        /**
+         * @return change logs lost because the queue was full or the spill file could not be written
+         */
+        public long getDropped() {
+            return dropped;
+        }
+
+        public long getSpilled() {
+            return spilled;
+        }
+
+        /**
+         * @return change logs rejected by the database, their content is logged
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return bulk writes of a batch of change logs
+         */
+        public long getBatches() {
+            return batches;
+        }
+
+        public long getTotalBatchMillis() {
+            return totalBatchMillis;
+        }
+
+        public long getMaxBatchMillis() {
+            return maxBatchMillis;
+        }
+
+        public double getAverageBatchMillis() {
+            return batches == 0 ? 0 : (double) totalBatchMillis / batches;
+        }
+
+        @Override
+        public String toString() {
+            return "queueDepth=" + queueDepth + ", queueCapacity=" + queueCapacity + ", written=" + written
+                    + ", dropped=" + dropped + ", spilled=" + spilled + ", failed=" + failed + ", batches=" + batches
+                    + ", totalBatchMillis=" + totalBatchMillis + ", maxBatchMillis=" + maxBatchMillis;
+        }
+    }
+
+    private void drainQueue() {
+        List<Callable<PendingChangeLog>> tasks = new ArrayList<>(batchSize);
+        while (!shutdown || !queue.isEmpty()) {
+            try {
+                Callable<PendingChangeLog> first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                tasks.add(first);
+                queue.drainTo(tasks, batchSize - 1);
+                process(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error occured while writing Change Logs", e);
+            } finally {
+                tasks.clear();
+            }
+        }
+    }
+
+    private void process(List<Callable<PendingChangeLog>> tasks) {
+        Map<ChangeLogsRepository, List<PendingChangeLog>> byRepository = new LinkedHashMap<>();
+        for (Callable<PendingChangeLog> task : tasks) {
+            PendingChangeLog pending = compute(task);
+            if (pending != null) {
+                byRepository.computeIfAbsent(pending.repository, repository -> new ArrayList<>()).add(pending);
+            }
+        }
+        byRepository.forEach(this::write);
+    }
+
+    private PendingChangeLog compute(Callable<PendingChangeLog> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            log.error("Error occured while creating Change Logs", e);
+            return null;
+        }
+    }
+
+    private void write(ChangeLogsRepository repository, List<PendingChangeLog> pendingChangeLogs) {
+        long start = System.nanoTime();
+        try {
+            List<ChangeLogs> parents = new ArrayList<>(pendingChangeLogs.size());
+            for (PendingChangeLog pending : pendingChangeLogs) {
+                parents.add(pending.parent);
+            }
+            List<Response> parentResponses = repository.executeBulk(parents);
+
+            List<ChangeLogs> references = new ArrayList<>();
+            for (int i = 0; i < pendingChangeLogs.size(); i++) {
+                PendingChangeLog pending = pendingChangeLogs.get(i);
+                String error = parentResponses == null ? "bulk request failed" : getError(parentResponses.get(i));
+                if (error != null) {
+                    // the references cannot be written without the id of their parent
+                    failed(pending.parent, error);
+                    pending.references.forEach(reference -> failed(reference, "parent change log not written"));
+                    continue;
+                }
+                writtenCount.incrementAndGet();
+                changelog.debug(DatabaseHandlerUtil.convertObjectToJson(pending.parent));
+                for (ChangeLogs reference : pending.references) {
+                    reference.setDocumentId(pending.parent.getId());
+                    references.add(reference);
+                }
+            }
+            if (references.isEmpty()) {
+                return;
+            }
+
+            List<Response> referenceResponses = repository.executeBulk(references);
+            for (int i = 0; i < references.size(); i++) {
+                ChangeLogs reference = references.get(i);
+                String error = referenceResponses == null ? "bulk request failed" : getError(referenceResponses.get(i));
+                if (error != null) {
+                    failed(reference, error);
+                } else {
+                    writtenCount.incrementAndGet();
+                    changelog.debug(DatabaseHandlerUtil.convertObjectToJson(reference));
+                }
+            }
+        } finally {
+            long duration = System.nanoTime() - start;
+            writeCount.incrementAndGet();
+            totalWriteNanos.addAndGet(duration);
+            maxWriteNanos.accumulateAndGet(duration, Math::max);
+        }
+    }
+
+    private static String getError(Response response) {
+        return response.getError() == null ? null : response.getError() + ": " + response.getReason();
+    }
+
+    /**
+     * Logs the change log which could not be written with its content, so that it is not lost
+     */
+    private void failed(ChangeLogs changeLog, String error) {
+        failedCount.incrementAndGet();
+        log.error("Change log not written (" + error + "): " + DatabaseHandlerUtil.convertObjectToJson(changeLog));
+    }
+
+    private void spill(Callable<PendingChangeLog> task) {
+        PendingChangeLog pending = compute(task);
+        if (pending == null) {
+            return;
+        }
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("parent", pending.parent);
+        entry.put("references", pending.references);
+        String line = DatabaseHandlerUtil.convertObjectToJson(entry);
+        synchronized (this) {
+            try (Writer writer = new FileWriter(spillFile, StandardCharsets.UTF_8, true)) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+                spilledCount.incrementAndGet();
+            } catch (IOException e) {
+                droppedCount.incrementAndGet();
+                log.error("Error writing change log to spill file " + spillFile, e);
+            }
+        }
+    }
+}
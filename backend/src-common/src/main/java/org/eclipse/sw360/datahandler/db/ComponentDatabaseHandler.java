@@ -69,6 +69,7 @@ import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.*;
@@ -105,6 +106,7 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
     /**
      * Connection to the couchDB database
      */
+    private final DatabaseConnectorCloudant db;
     private final ComponentRepository componentRepository;
     private final ReleaseRepository releaseRepository;
     private final VendorRepository vendorRepository;
@@ -144,7 +146,7 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
                     ClearingInformation._Fields.PROC_START);
     public ComponentDatabaseHandler(Supplier<CloudantClient> httpClient, String dbName, String attachmentDbName, ComponentModerator moderator, ReleaseModerator releaseModerator, ProjectModerator projectModerator) throws MalformedURLException {
         super(httpClient, dbName, attachmentDbName);
-        DatabaseConnectorCloudant db = new DatabaseConnectorCloudant(httpClient, dbName);
+        db = new DatabaseConnectorCloudant(httpClient, dbName);
 
         // Create the repositories
         vendorRepository = new VendorRepository(db);
@@ -514,6 +516,171 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
                 .setId(id);
     }
 
+    /**
+     * Add new releases to the database in one go, e.g. when importing a BOM. Each release is checked and stored like
+     * with {@link #addRelease(Release, User)}, but the duplicates and the linked documents of all releases are looked
+     * up at once, the releases are written with _bulk_docs and each component is updated once for all its new
+     * releases.
+     *
+     * @return a summary for each release, in the order of the given releases
+     */
+    public List<AddDocumentRequestSummary> addReleases(List<Release> releases, User user) {
+        AddDocumentRequestSummary[] summaries = new AddDocumentRequestSummary[releases.size()];
+        Map<Integer, Release> preparedReleases = new LinkedHashMap<>();
+        for (int i = 0; i < releases.size(); i++) {
+            Release release = releases.get(i);
+            removeLeadingTrailingWhitespace(release);
+            if (isNullOrEmpty(release.getName()) || isNullOrEmpty(release.getVersion())) {
+                summaries[i] = new AddDocumentRequestSummary().setRequestStatus(AddDocumentRequestStatus.NAMINGERROR);
+                continue;
+            }
+            try {
+                prepareRelease(release);
+            } catch (SW360Exception e) {
+                summaries[i] = new AddDocumentRequestSummary().setRequestStatus(AddDocumentRequestStatus.INVALID_INPUT)
+                        .setMessage(e.getWhy());
+                continue;
+            }
+            preparedReleases.put(i, release);
+        }
+
+        Map<List<String>, Set<String>> duplicateIds = releaseRepository.getIdsByNamesAndVersions(preparedReleases.values());
+        Map<String, Component> components = componentRepository.get(preparedReleases.values().stream()
+                .map(Release::getComponentId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Component::getId, Function.identity(), (first, second) -> first));
+        Set<String> existingReleaseIds = getIds(releaseRepository.get(preparedReleases.values().stream()
+                .filter(Release::isSetReleaseIdToRelationship)
+                .flatMap(release -> release.getReleaseIdToRelationship().keySet().stream())
+                .collect(Collectors.toSet())), Release::getId);
+        Map<String, Vendor> vendors = vendorRepository.get(preparedReleases.values().stream()
+                .map(Release::getVendorId).filter(Objects::nonNull).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Vendor::getId, Function.identity(), (first, second) -> first));
+
+        Map<List<String>, Integer> firstIndexByNameAndVersion = new HashMap<>();
+        Map<Integer, Integer> duplicatesInBatch = new HashMap<>();
+        Map<Integer, Release> releasesToAdd = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Release> entry : preparedReleases.entrySet()) {
+            int index = entry.getKey();
+            Release release = entry.getValue();
+            List<String> nameAndVersion = ReleaseRepository.getNameAndVersionKey(release);
+            Set<String> duplicates = duplicateIds.getOrDefault(nameAndVersion, Collections.emptySet());
+            if (!duplicates.isEmpty()) {
+                summaries[index] = new AddDocumentRequestSummary().setRequestStatus(AddDocumentRequestStatus.DUPLICATE);
+                if (duplicates.size() == 1) {
+                    summaries[index].setId(duplicates.iterator().next());
+                }
+                continue;
+            }
+            Integer firstIndex = firstIndexByNameAndVersion.putIfAbsent(nameAndVersion, index);
+            if (firstIndex != null) {
+                summaries[index] = new AddDocumentRequestSummary().setRequestStatus(AddDocumentRequestStatus.DUPLICATE);
+                duplicatesInBatch.put(index, firstIndex);
+                continue;
+            }
+            Component component = components.get(release.getComponentId());
+            boolean isDependenciesExists = component != null
+                    && (!release.isSetReleaseIdToRelationship()
+                        || existingReleaseIds.containsAll(release.getReleaseIdToRelationship().keySet()))
+                    && (!release.isSetVendorId() || vendors.containsKey(release.getVendorId()));
+            if (!isDependenciesExists) {
+                firstIndexByNameAndVersion.remove(nameAndVersion);
+                summaries[index] = new AddDocumentRequestSummary().setRequestStatus(AddDocumentRequestStatus.INVALID_INPUT);
+                continue;
+            }
+
+            release.setCreatedBy(user.getEmail());
+            release.setCreatedOn(SW360Utils.getCreatedOn());
+            autosetEccFieldsForReleaseWithDownloadUrl(release, component);
+            setMainlineState(release, user, null);
+            if (release.getClearingState() == null) {
+                release.setClearingState(ClearingState.NEW_CLEARING);
+            }
+            releasesToAdd.put(index, release);
+        }
+
+        Map<String, List<Release>> addedReleasesByComponentId = new LinkedHashMap<>();
+        Map<String, Integer> indexByAddedReleaseId = new HashMap<>();
+        for (List<Map.Entry<Integer, Release>> chunk : Iterables.partition(releasesToAdd.entrySet(),
+                DatabaseConnectorCloudant.BULK_CHUNK_SIZE)) {
+            List<Release> chunkReleases = chunk.stream().map(Map.Entry::getValue).collect(Collectors.toList());
+            List<Response> responses = releaseRepository.executeBulk(chunkReleases);
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i).getKey();
+                Release release = chunk.get(i).getValue();
+                if (responses == null || responses.get(i).getError() != null) {
+                    summaries[index] = new AddDocumentRequestSummary().setRequestStatus(AddDocumentRequestStatus.FAILURE)
+                            .setMessage(responses == null ? "Could not write release" : responses.get(i).getReason());
+                    continue;
+                }
+                summaries[index] = new AddDocumentRequestSummary().setRequestStatus(AddDocumentRequestStatus.SUCCESS)
+                        .setId(release.getId());
+                indexByAddedReleaseId.put(release.getId(), index);
+                addedReleasesByComponentId.computeIfAbsent(release.getComponentId(), id -> new ArrayList<>()).add(release);
+            }
+        }
+        duplicatesInBatch.forEach((index, firstIndex) -> summaries[index].setId(summaries[firstIndex].getId()));
+
+        Map<String, Component> oldComponents = new HashMap<>();
+        List<Component> componentsToUpdate = new ArrayList<>();
+        for (Map.Entry<String, List<Release>> entry : addedReleasesByComponentId.entrySet()) {
+            Component component = components.get(entry.getKey());
+            oldComponents.put(component.getId(), component.deepCopy());
+            addReleasesToComponent(component, entry.getValue(), vendors, user);
+            componentsToUpdate.add(component);
+        }
+        Set<String> failedComponentIds = getIds(componentRepository.updateBulk(componentsToUpdate, (stored, rejected) -> {
+            addReleasesToComponent(stored, addedReleasesByComponentId.get(stored.getId()), vendors, user);
+            return stored;
+        }), Component::getId);
+
+        for (Component component : componentsToUpdate) {
+            List<Release> addedReleases = addedReleasesByComponentId.get(component.getId());
+            if (failedComponentIds.contains(component.getId())) {
+                log.error("Could not link the new releases to component " + component.getId());
+                for (Release release : addedReleases) {
+                    summaries[indexByAddedReleaseId.get(release.getId())].setRequestStatus(AddDocumentRequestStatus.FAILURE)
+                            .setMessage("Release was added but could not be linked to its component");
+                }
+                continue;
+            }
+            // one component change log per release, like with addRelease, the last one ending with the stored component
+            Component componentBefore = oldComponents.get(component.getId());
+            for (int i = 0; i < addedReleases.size(); i++) {
+                Release release = addedReleases.get(i);
+                sendMailNotificationsForNewRelease(release, user.getEmail());
+                dbHandlerUtil.addChangeLogs(release, null, user.getEmail(), Operation.CREATE, attachmentConnector,
+                        Lists.newArrayList(), null, null);
+                Component componentAfter = component;
+                if (i < addedReleases.size() - 1) {
+                    componentAfter = componentBefore.deepCopy();
+                    addReleasesToComponent(componentAfter, Collections.singletonList(release), vendors, user);
+                }
+                dbHandlerUtil.addChangeLogs(componentAfter, componentBefore, user.getEmail(), Operation.UPDATE,
+                        attachmentConnector, Lists.newArrayList(), release.getId(), Operation.RELEASE_CREATE);
+                componentBefore = componentAfter;
+            }
+        }
+        return Arrays.asList(summaries);
+    }
+
+    private void addReleasesToComponent(Component component, List<Release> releases, Map<String, Vendor> vendors,
+                                        User user) {
+        for (Release release : releases) {
+            component.addToReleaseIds(release.getId());
+            // with the vendor set, its name is not read from the database again
+            Release releaseWithVendor = release.deepCopy();
+            if (release.isSetVendorId()) {
+                releaseWithVendor.setVendor(vendors.get(release.getVendorId()));
+            }
+            updateReleaseDependentFieldsForComponent(component, releaseWithVendor);
+        }
+        updateModifiedFields(component, user.getEmail());
+    }
+
+    private static <T> Set<String> getIds(Collection<T> documents, Function<T, String> getId) {
+        return documents.stream().map(getId).collect(Collectors.toSet());
+    }
+
     private boolean isDuplicate(Component component, boolean caseInsenstive){
         return isDuplicate(component.getName(), caseInsenstive);
     }
@@ -684,7 +851,9 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
     private void updateComponentDependentFieldsForRelease(Component component, List<ChangeLogs> referenceDocLogList,
             String userEdited) {
         String name = component.getName();
-        for (Release release : releaseRepository.getReleasesFromComponentId(component.getId())) {
+        List<Release> releases = releaseRepository.getReleasesFromComponentId(component.getId());
+        Map<String, ChangeLogs> changeLogsByReleaseId = new HashMap<>();
+        for (Release release : releases) {
             ChangeLogs changeLog = DatabaseHandlerUtil.initChangeLogsObj(release, userEdited, component.getId(),
                     Operation.UPDATE, Operation.COMPONENT_UPDATE);
             Set<ChangedFields> changes = new HashSet<ChangedFields>();
@@ -696,11 +865,21 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
             changeLog.setChanges(changes);
             release.setName(name);
             updateModifiedFields(release, userEdited);
-            releaseRepository.update(release);
-            referenceDocLogList.add(changeLog);
+            changeLogsByReleaseId.put(release.getId(), changeLog);
+        }
+        List<Release> failedReleases = releaseRepository.updateBulk(releases, (stored, rejected) -> {
+            stored.setName(name);
+            updateModifiedFields(stored, userEdited);
+            return stored;
+        });
+        failedReleases.forEach(release -> changeLogsByReleaseId.remove(release.getId()));
+        for (Release release : releases) {
+            if (changeLogsByReleaseId.containsKey(release.getId())) {
+                referenceDocLogList.add(changeLogsByReleaseId.get(release.getId()));
+            }
         }
     }
-    
+
     private void updateEccStatusForRelease(Component component) {
     	for (Release release : releaseRepository.getReleasesFromComponentId(component.getId())) {
             EccInformation eccInfo = release.getEccInformation();
@@ -950,7 +1129,14 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
                             attachmentConnector, Lists.newArrayList(), mergeTarget.getId(), Operation.MERGE_COMPONENT);
                 return r;
             }).collect(Collectors.toList());
-        updateReleases(releasesToUpdate, sessionUser, true);
+        // releases changed during the merge keep their changes, only the merged fields are set again
+        updateReleases(releasesToUpdate, sessionUser, true, (stored, rejected) -> {
+            stored.setComponentId(rejected.getComponentId());
+            stored.setName(rejected.getName());
+            stored.setVersion(rejected.getVersion());
+            updateModifiedFields(stored, userEmail);
+            return stored;
+        });
     }
 
     /**
@@ -1186,9 +1372,12 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     private void autosetEccFieldsForReleaseWithDownloadUrl(Release release) {
+        autosetEccFieldsForReleaseWithDownloadUrl(release, componentRepository.get(release.getComponentId()));
+    }
+
+    private void autosetEccFieldsForReleaseWithDownloadUrl(Release release, Component parentComponent) {
         // For unmodified OSS, ECC classification can be done automatically
         // This release has to be an OSS component and should have a valid Url address
-        Component parentComponent = componentRepository.get(release.getComponentId());
         ComponentType compType = parentComponent.getComponentType();
 
         String url = release.getSourceCodeDownloadurl();
@@ -1220,23 +1409,36 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     public RequestSummary updateReleases(Collection<Release> releases, User user, boolean allowUpdate) throws SW360Exception {
+        return updateReleases(releases, user, allowUpdate, (stored, rejected) -> null);
+    }
+
+    /**
+     * @param conflictResolver applies the changes again to a release which was changed in the meantime, see
+     *                         {@link DatabaseConnectorCloudant#updateBulk(Class, Collection, BinaryOperator)}
+     */
+    private RequestSummary updateReleases(Collection<Release> releases, User user, boolean allowUpdate,
+                                          BinaryOperator<Release> conflictResolver) throws SW360Exception {
         List<Release> storedReleases = prepareReleases(releases);
 
         RequestSummary requestSummary = new RequestSummary();
         if (allowUpdate || PermissionUtils.isAdmin(user)) {
             // Prepare component for database
-            final List<Response> documentOperationResults = componentRepository.executeBulk(storedReleases);
+            final List<Release> failedReleases = releaseRepository.updateBulk(storedReleases, conflictResolver);
+            final Set<String> failedReleaseIds = failedReleases.stream().map(Release::getId).collect(Collectors.toSet());
+            final List<Release> writtenReleases = storedReleases.stream()
+                    .filter(release -> !failedReleaseIds.contains(release.getId()))
+                    .collect(Collectors.toList());
 
-            if (!documentOperationResults.isEmpty()) {
+            if (!writtenReleases.isEmpty()) {
 
-                final List<Component> componentList = componentRepository.get(storedReleases
+                final List<Component> componentList = componentRepository.get(writtenReleases
                         .stream()
                         .map(Release::getComponentId)
                         .collect(Collectors.toSet()));
 
                 final Map<String, Component> componentsById = ThriftUtils.getIdMap(componentList);
 
-                for (Release storedRelease : storedReleases) {
+                for (Release storedRelease : writtenReleases) {
                     final Component component = componentsById.get(storedRelease.getComponentId());
                     component.addToReleaseIds(storedRelease.getId());
                     updateReleaseDependentFieldsForComponent(component, storedRelease);
@@ -1246,7 +1448,7 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
             }
 
             requestSummary.setTotalElements(storedReleases.size());
-            requestSummary.setTotalAffectedElements(storedReleases.size() - documentOperationResults.size());
+            requestSummary.setTotalAffectedElements(writtenReleases.size());
 
             requestSummary.setRequestStatus(RequestStatus.SUCCESS);
         } else {
@@ -1736,47 +1938,57 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
     /////////////////////
 
     List<ReleaseLink> getLinkedReleases(Project project, Deque<String> visitedIds) {
-        return getLinkedReleases(project.getReleaseIdToUsage(), visitedIds);
+        return getLinkedReleases(project.getReleaseIdToUsage(), visitedIds, prefetchReleaseLinks(project.getReleaseIdToUsage()));
     }
 
-    List<ReleaseLink> getLinkedReleasesWithAccessibility(Project project, Deque<String> visitedIds, User user) {
-        List<ReleaseLink> releaseLinkList = getLinkedReleases(project.getReleaseIdToUsage(), visitedIds);
-        if (!CommonUtils.isNullOrEmptyCollection(releaseLinkList)) {
-            for (ReleaseLink releaseLink : releaseLinkList) {
-                Release release = releaseRepository.get(releaseLink.getId());
-                releaseLink.setAccessible(isReleaseActionAllowed(release, user, RequestedAction.READ));
-            }
-        }
+    List<ReleaseLink> getLinkedReleasesWithAccessibility(Project project, Deque<String> visitedIds, User user, ProjectLinkTreeLoader loader) {
+        List<ReleaseLink> releaseLinkList = getLinkedReleases(project.getReleaseIdToUsage(), visitedIds, loader);
+        fillAccessibility(releaseLinkList, user, loader);
         return releaseLinkList;
     }
 
-    private List<ReleaseLink> getLinkedReleases(Map<String, ?> relations, Deque<String> visitedIds) {
-        return iterateReleaseRelationShips(relations, null, visitedIds);
+    private List<ReleaseLink> getLinkedReleases(Map<String, ?> relations, Deque<String> visitedIds, ProjectLinkTreeLoader loader) {
+        return iterateReleaseRelationShips(relations, null, visitedIds, loader);
     }
 
     public List<ReleaseLink> getLinkedReleases(Map<String, ?> relations) {
-        return getLinkedReleases(relations, new ArrayDeque<>());
+        return getLinkedReleases(relations, new ArrayDeque<>(), prefetchReleaseLinks(relations));
     }
 
     public List<ReleaseLink> getLinkedReleasesWithAccessibility(Map<String, ?> relations, User user) {
-        List<ReleaseLink> releaseLinkList = getLinkedReleases(relations, new ArrayDeque<>());
+        ProjectLinkTreeLoader loader = prefetchReleaseLinks(relations);
+        List<ReleaseLink> releaseLinkList = getLinkedReleases(relations, new ArrayDeque<>(), loader);
+        fillAccessibility(releaseLinkList, user, loader);
+        return releaseLinkList;
+    }
+
+    private ProjectLinkTreeLoader prefetchReleaseLinks(Map<String, ?> relations) {
+        ProjectLinkTreeLoader loader = new ProjectLinkTreeLoader(db);
+        loader.prefetchReleases(nullToEmptyMap(relations).keySet());
+        return loader;
+    }
+
+    private void fillAccessibility(List<ReleaseLink> releaseLinkList, User user, ProjectLinkTreeLoader loader) {
         if (!CommonUtils.isNullOrEmptyCollection(releaseLinkList)) {
             for (ReleaseLink releaseLink : releaseLinkList) {
-                Release release = releaseRepository.get(releaseLink.getId());
-                releaseLink.setAccessible(isReleaseActionAllowed(release, user, RequestedAction.READ));
+                Release release = loader.getRelease(releaseLink.getId());
+                releaseLink.setAccessible(isReleaseActionAllowed(release, user, RequestedAction.READ, loader::getComponent));
             }
         }
-        return releaseLinkList;
     }
-    
+
     public boolean isReleaseActionAllowed(Release release, User user, RequestedAction action) {
+        return isReleaseActionAllowed(release, user, action, componentRepository::get);
+    }
+
+    boolean isReleaseActionAllowed(Release release, User user, RequestedAction action, Function<String, Component> componentLookup) {
         boolean isAllowed = false;
         switch (action) {
             case READ:
                 boolean isComponentAccessible = false;
                 String componentId = release.getComponentId();
                 if (CommonUtils.isNotNullEmptyOrWhitespace(componentId)) {
-                    Component component = componentRepository.get(componentId);
+                    Component component = componentLookup.apply(componentId);
                     isComponentAccessible = makePermission(component, user).isActionAllowed(RequestedAction.READ);
                 }
                 isAllowed = isComponentAccessible && makePermission(release, user).isActionAllowed(RequestedAction.READ);
@@ -1793,31 +2005,35 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return releaseRepository.getAll();
     }
 
+    public Map<PaginationData, List<Release>> getAllReleasesWithPagination(PaginationData pageData) {
+        return releaseRepository.getReleasesWithPagination(pageData);
+    }
+
     public Map<String, Release> getAllReleasesIdMap() {
         final List<Release> releases = getAllReleases();
         return ThriftUtils.getIdMap(releases);
     }
 
     @NotNull
-    private List<ReleaseLink> iterateReleaseRelationShips(Map<String, ?> relations, String parentNodeId, Deque<String> visitedIds) {
+    private List<ReleaseLink> iterateReleaseRelationShips(Map<String, ?> relations, String parentNodeId, Deque<String> visitedIds, ProjectLinkTreeLoader loader) {
         List<ReleaseLink> out = new ArrayList<>();
 
         for (Map.Entry<String, ?> entry : relations.entrySet()) {
             String id = entry.getKey();
-            Optional<ReleaseLink> releaseLinkOptional = getFilledReleaseLink(id, entry.getValue(), parentNodeId, visitedIds);
+            Optional<ReleaseLink> releaseLinkOptional = getFilledReleaseLink(id, entry.getValue(), parentNodeId, visitedIds, loader);
             releaseLinkOptional.ifPresent(out::add);
         }
         out.sort(SW360Utils.RELEASE_LINK_COMPARATOR);
         return out;
     }
 
-    private Optional<ReleaseLink> getFilledReleaseLink(String id, Object relation, String parentNodeId, Deque<String> visitedIds) {
+    private Optional<ReleaseLink> getFilledReleaseLink(String id, Object relation, String parentNodeId, Deque<String> visitedIds, ProjectLinkTreeLoader loader) {
         ReleaseLink releaseLink = null;
         if (!visitedIds.contains(id)) {
             visitedIds.push(id);
-            Release release = releaseRepository.get(id);
+            Release release = loader.getRelease(id);
             if (release != null) {
-                releaseLink = createReleaseLink(release);
+                releaseLink = createReleaseLink(release, loader);
                 fillValueFieldInReleaseLink(releaseLink, relation);
                 releaseLink.setNodeId(generateNodeId(id));
                 releaseLink.setParentNodeId(parentNodeId);
@@ -1850,15 +2066,15 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     @NotNull
-    private ReleaseLink createReleaseLink(Release release) {
-        vendorRepository.fillVendor(release);
+    private ReleaseLink createReleaseLink(Release release, ProjectLinkTreeLoader loader) {
+        loader.fillVendor(release);
         String vendorName = release.isSetVendor() ? release.getVendor().getShortname() : "";
         ReleaseLink releaseLink = new ReleaseLink(release.id, vendorName, release.name, release.version, SW360Utils.printFullname(release),
                  !nullToEmptyMap(release.getReleaseIdToRelationship()).isEmpty());
         releaseLink
                 .setClearingState(release.getClearingState())
                 .setComponentType(
-                        Optional.ofNullable(componentRepository.get(release.getComponentId()))
+                        Optional.ofNullable(loader.getComponent(release.getComponentId()))
                                 .map(Component::getComponentType)
                                 .orElse(null));
         if (!nullToEmptySet(release.getAttachments()).isEmpty()) {
@@ -1883,6 +2099,13 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return releaseRepository.makeSummary(SummaryType.SHORT, ids);
     }
 
+    /**
+     * @return the current revisions of the releases, missing releases are left out
+     */
+    public Map<String, String> getReleaseRevisions(Set<String> ids) {
+        return releaseRepository.getRevisions(ids);
+    }
+
     public List<Release> getAccessibleReleases(Set<String> ids, User user) {
         return getAccessibleReleaseList(releaseRepository.makeSummary(SummaryType.SHORT, ids), user);
     }
@@ -1915,6 +2138,14 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return releaseRepository.get(ids);
     }
 
+    /**
+     * Returns full documents straight from repository, package-private like
+     * {@link #getReleasesForClearingStateSummary(Set)}. Used for the clearing status list of ProjectDatabaseHandler.
+     */
+    List<Component> getComponentsForClearingStatus(Set<String> ids) {
+        return componentRepository.get(ids);
+    }
+
     public List<Release> getDetailedReleasesForExport(Set<String> ids) {
         return releaseRepository.makeSummary(SummaryType.DETAILED_EXPORT_SUMMARY, ids, true);
     }
@@ -165,6 +165,7 @@ public class ComponentRepository extends SummaryAwareRepository<Component> {
         views.put("bynamelowercase", createMapReduce(BYNAMELOWERCASE, null));
         views.put("bymainlicense", createMapReduce(BYMAINLICENSE, null));
         views.put("byvendor", createMapReduce(BYVENDOR, null));
+        addProjectionViews(views, "component", SummaryType.SHORT);
         initStandardDesignDocument(views, db);
     }
 
@@ -283,29 +284,22 @@ public class ComponentRepository extends SummaryAwareRepository<Component> {
             break;
         }
 
-        ViewRequest<String, Object> request = null;
-        if (rowsPerPage == -1) {
-            request = query.newRequest(Key.Type.STRING, Object.class).descending(!ascending).includeDocs(true).build();
-        } else {
-            request = query.newPaginatedRequest(Key.Type.STRING, Object.class).rowsPerPage(rowsPerPage)
-                    .descending(!ascending).includeDocs(true).build();
+        // skip straight to the requested page instead of walking through all previous pages
+        UnpaginatedRequestBuilder<String, Object> reqBuilder = query.newRequest(Key.Type.STRING, Object.class)
+                .descending(!ascending).skip(pageData.getDisplayStart()).includeDocs(true);
+        if (rowsPerPage != -1) {
+            reqBuilder = reqBuilder.limit(rowsPerPage);
         }
+        ViewRequest<String, Object> request = reqBuilder.build();
 
-        ViewResponse<String, Object> response = null;
         try {
-            response = request.getResponse();
-            int pageNo = pageData.getDisplayStart() / rowsPerPage;
-            int i = 1;
-            while (i <= pageNo) {
-                response = response.nextPage();
-                i++;
-            }
+            ViewResponse<String, Object> response = request.getResponse();
             components = response.getDocsAs(Component.class);
+            pageData.setTotalRowCount(response.getTotalRowCount());
         } catch (Exception e) {
             log.error("Error getting recent components", e);
         }
         components = makeSummaryWithPermissionsFromFullDocs(SummaryType.SUMMARY, components, user);
-        pageData.setTotalRowCount(response.getTotalRowCount());
         result.put(pageData, components);
         return result;
     }
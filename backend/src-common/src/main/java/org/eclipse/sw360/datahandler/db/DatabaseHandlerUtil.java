@@ -40,8 +40,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.Level;
@@ -128,12 +130,16 @@ public class DatabaseHandlerUtil {
     private static final String ATTACHMENT_STORE_FILE_SYSTEM_PERMISSION;
     private static ExecutorService ATTACHMENT_FILE_SYSTEM_STORE_THREAD_POOL = Executors.newFixedThreadPool(5);
     private static final String ATTACHMENT_DELETE_NO_OF_DAYS;
+    public static final int ABANDONED_UPLOAD_DELETE_NO_OF_DAYS;
+    public static final long STATISTICS_LOG_INTERVAL_MINUTES;
     private static final boolean IS_SW360CHANGELOG_ENABLED;
     private static final String CHANGE_LOG_CONFIG_FILE_PATH;
     private static final String SW360CHANGELOG_OUTPUT_PATH;
     private static boolean isChangeLogDisabledMessageLogged = false;
     private static boolean isLiferayEnvVarNotPresent = true;
     public static final boolean AUTO_SET_ECC_STATUS;
+    private static final ChangeLogWriter CHANGE_LOG_WRITER;
+    private static final long CHANGE_LOG_WRITER_SHUTDOWN_TIMEOUT_SECONDS = 30;
 
     static {
         Properties props = CommonUtils.loadProperties(DatabaseSettings.class, PROPERTIES_FILE_PATH);
@@ -144,12 +150,24 @@ public class DatabaseHandlerUtil {
         IS_STORE_ATTACHMENT_TO_FILE_SYSTEM_ENABLED = Boolean.parseBoolean(props.getProperty("enable.attachment.store.to.file.system", "false"));
         ATTACHMENT_DELETE_NO_OF_DAYS = props.getProperty("attachemnt.delete.no.of.days",
                 "30");
+        ABANDONED_UPLOAD_DELETE_NO_OF_DAYS = Integer.parseInt(props.getProperty("attachment.upload.abandoned.delete.no.of.days", "7"));
+        STATISTICS_LOG_INTERVAL_MINUTES = Long.parseLong(props.getProperty("backend.statistics.log.interval.minutes", "15"));
         IS_SW360CHANGELOG_ENABLED = Boolean.parseBoolean(props.getProperty("enable.sw360.change.log", "false"));
         CHANGE_LOG_CONFIG_FILE_PATH = props.getProperty("sw360changelog.config.file.location",
                 "/etc/sw360/log4j2.xml");
         SW360CHANGELOG_OUTPUT_PATH = props.getProperty("sw360changelog.output.path",
                 "sw360changelog/sw360changelog");
         AUTO_SET_ECC_STATUS = Boolean.parseBoolean(props.getProperty("auto.set.ecc.status", "false"));
+
+        int changeLogQueueCapacity = Integer.parseInt(props.getProperty("changelog.writer.queue.capacity", "10000"));
+        int changeLogWriterThreads = Integer.parseInt(props.getProperty("changelog.writer.threads", "2"));
+        int changeLogBatchSize = Integer.parseInt(props.getProperty("changelog.writer.batch.size", "100"));
+        ChangeLogWriter.OverflowPolicy changeLogOverflowPolicy = ChangeLogWriter.OverflowPolicy
+                .valueOf(props.getProperty("changelog.writer.overflow.policy", "BLOCK").trim().toUpperCase());
+        File changeLogSpillFile = new File(props.getProperty("changelog.writer.spill.file",
+                new File(System.getProperty("java.io.tmpdir"), "sw360changelog-spill.json").getPath()));
+        CHANGE_LOG_WRITER = new ChangeLogWriter(changeLogQueueCapacity, changeLogWriterThreads, changeLogBatchSize,
+                changeLogOverflowPolicy, changeLogSpillFile);
     }
 
     public DatabaseHandlerUtil(DatabaseConnectorCloudant db) {
@@ -471,7 +489,7 @@ public class DatabaseHandlerUtil {
             return;
         }
 
-        Runnable changeLogRunnable = ()-> {
+        Callable<ChangeLogWriter.PendingChangeLog> changeLogTask = () -> {
           try {
               log.info("Generating SelectLogs.");
               ChangeLogs changeLogParent =initChangeLogsObj(newDocVersion, userEdited, null, Operation.CREATE,null);
@@ -487,9 +505,10 @@ public class DatabaseHandlerUtil {
           } catch (Exception exp) {
               log.error("Error occured while creating Select Logs", exp);
           }
+          // select logs are only logged, there is nothing to write to the database
+          return null;
         };
 
-        Thread changeLogsThread = new Thread(changeLogRunnable);
         File sw360ChangeLogFileLocation = new File(CHANGE_LOG_CONFIG_FILE_PATH);
         if (sw360ChangeLogFileLocation.exists()) {
             LoggerContext context = (LoggerContext) LogManager.getContext(false);
@@ -504,7 +523,7 @@ public class DatabaseHandlerUtil {
             String LIFERAY_HOME = env.get("LIFERAY_INSTALL");
             configureLog4J(SW360CHANGELOG_OUTPUT_PATH, LIFERAY_HOME);
         }
-        changeLogsThread.start();
+        CHANGE_LOG_WRITER.submit(changeLogTask);
     }
 
     /**
@@ -517,49 +536,50 @@ public class DatabaseHandlerUtil {
                 || DatabaseSettings.COUCH_DB_ATTACHMENTS.contains("test")) {
             return;
         }
-        Runnable changeLogRunnable = prepareChangeLogRunnable(newDocVersion, oldDocVersion, userEdited, operation,
-                attachmentConnector, referenceDocLogList, parentDocId, parentOperation);
+        CHANGE_LOG_WRITER.submit(prepareChangeLogTask(newDocVersion, oldDocVersion, userEdited, operation,
+                attachmentConnector, referenceDocLogList, parentDocId, parentOperation));
+    }
+
+    /**
+     * @return current queue depth, drops, failures and batch latency of the change log writer
+     */
+    public static ChangeLogWriter.Statistics getChangeLogWriterStatistics() {
+        return CHANGE_LOG_WRITER.getStatistics();
+    }
 
-        Thread changeLogsThread = new Thread(changeLogRunnable);
-        changeLogsThread.start();
+    /**
+     * Writes the queued change logs and stops the change log writer, e.g. when the service is undeployed
+     */
+    public static void shutdownChangeLogWriter() {
+        CHANGE_LOG_WRITER.shutdown(CHANGE_LOG_WRITER_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
     }
 
     /**
-     * Prepare ChangeLog Runnable along with all the Change data.
+     * Prepare ChangeLog task along with all the Change data. The change logs are written by the change log writer.
      */
-    private static <T extends TBase> Runnable prepareChangeLogRunnable(T newDocVersion, T oldDocVersion,
-            String userEdited, Operation operation, AttachmentConnector attachmentConnector,
+    private static <T extends TBase> Callable<ChangeLogWriter.PendingChangeLog> prepareChangeLogTask(T newDocVersion,
+            T oldDocVersion, String userEdited, Operation operation, AttachmentConnector attachmentConnector,
             List<ChangeLogs> referenceDocLogList, String parentDocId, Operation parentOperation) {
+        final ChangeLogsRepository repository = changeLogRepository;
         return () -> {
-            try {
-                log.info("Generating ChangeLogs.");
-                ChangeLogs changeLogParent = initChangeLogsObj(newDocVersion, userEdited, parentDocId, operation,
+            log.info("Generating ChangeLogs.");
+            ChangeLogs changeLogParent = initChangeLogsObj(newDocVersion, userEdited, parentDocId, operation,
+                    parentOperation);
+            if (oldDocVersion == null) {
+                changeLogsForNewlyCreatedOrDeleted(newDocVersion, changeLogParent, false);
+            } else if (newDocVersion == null) {
+                changeLogParent = initChangeLogsObj(oldDocVersion, userEdited, parentDocId, operation,
                         parentOperation);
-                if (oldDocVersion == null) {
-                    changeLogsForNewlyCreatedOrDeleted(newDocVersion, changeLogParent, false);
-                } else if (newDocVersion == null) {
-                    changeLogParent = initChangeLogsObj(oldDocVersion, userEdited, parentDocId, operation,
-                            parentOperation);
-                    changeLogsForNewlyCreatedOrDeleted(oldDocVersion, changeLogParent, true);
-                } else {
-                    evaluateAndAddChanges(oldDocVersion, newDocVersion, changeLogParent);
-
-                    if (attachmentConnector != null) {
-                        referenceDocChanges(oldDocVersion, newDocVersion, userEdited, referenceDocLogList,
-                                attachmentConnector, changeLogParent);
-                    }
+                changeLogsForNewlyCreatedOrDeleted(oldDocVersion, changeLogParent, true);
+            } else {
+                evaluateAndAddChanges(oldDocVersion, newDocVersion, changeLogParent);
+
+                if (attachmentConnector != null) {
+                    referenceDocChanges(oldDocVersion, newDocVersion, userEdited, referenceDocLogList,
+                            attachmentConnector, changeLogParent);
                 }
-                changelog.debug(convertObjectToJson(changeLogParent));
-                changeLogRepository.add(changeLogParent);
-                String changeLogParentId = changeLogParent.getId();
-                referenceDocLogList.stream().forEach(referenceDocLog -> {
-                    referenceDocLog.setDocumentId(changeLogParentId);
-                    changelog.debug(convertObjectToJson(referenceDocLog));
-                    changeLogRepository.add(referenceDocLog);
-                });
-            } catch (Exception exp) {
-                log.error("Error occured while creating Change Logs", exp);
             }
+            return new ChangeLogWriter.PendingChangeLog(repository, changeLogParent, referenceDocLogList);
         };
     }
 
@@ -48,7 +48,6 @@ import org.eclipse.sw360.spdx.SpdxBOMImporterSink;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
-import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -81,6 +80,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     private static final int DELETION_SANITY_CHECK_THRESHOLD = 5;
     private static final String DUMMY_NEW_PROJECT_ID = "newproject";
 
+    private final DatabaseConnectorCloudant db;
     private final ProjectRepository repository;
     private final ProjectVulnerabilityRatingRepository pvrRepository;
     private final ObligationListRepository obligationRepository;
@@ -93,20 +93,6 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     private DatabaseHandlerUtil dbHandlerUtil;
     private final MailUtil mailUtil = new MailUtil();
 
-    // this caching structure is only used for filling clearing state summaries and
-    // should be avoided anywhere else so that no other outdated information will be
-    // provided
-    // for the clearing state it is
-    // 1. necessary because they take a long time to get calculated which might be a
-    // good reason for service clients to query not for all projects at once, but to
-    // divide the queries in subsets of project (and we do not want to load the
-    // whole project map for each of this subset queries)
-    // 2. okay because the data normally "only moves forward", meaning that already
-    // approved clearing reports will not be revoked. So worst case of caching is
-    // that outdated data is provided, not wrong one (as it would be okay to see a
-    // cleared project that is displayed as not yet cleared - but it won't be okay
-    // to see a uncleared project that is displayed as cleared but isn't anymore)
-    private static final java.time.Duration ALL_PROJECTS_ID_MAP_CACHE_LIFETIME = java.time.Duration.ofMinutes(2);
     private static final ImmutableList<Project._Fields> listOfStringFieldsInProjToTrim = ImmutableList.of(
             Project._Fields.NAME, Project._Fields.DESCRIPTION, Project._Fields.VERSION, Project._Fields.DOMAIN,
             Project._Fields.BUSINESS_UNIT, Project._Fields.TAG, Project._Fields.PROJECT_RESPONSIBLE,
@@ -117,8 +103,9 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
             Project._Fields.SPECIAL_RISKS3RD_PARTY, Project._Fields.DELIVERY_CHANNELS,
             Project._Fields.REMARKS_ADDITIONAL_REQUIREMENTS, Project._Fields.OBLIGATIONS_TEXT,
             Project._Fields.LICENSE_INFO_HEADER_TEXT);
-    private Map<String, Project> cachedAllProjectsIdMap;
-    private Instant cachedAllProjectsIdMapLoadingInstant;
+    // only used for filling clearing state summaries, which may lag a few seconds
+    // behind the database as they are expensive to compute anyway
+    private final ProjectGraphIndex projectGraphIndex;
 
     public ProjectDatabaseHandler(Supplier<CloudantClient> httpClient, String dbName, String attachmentDbName) throws MalformedURLException {
         this(httpClient, dbName, attachmentDbName, new ProjectModerator(),
@@ -146,10 +133,11 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
                                   ComponentDatabaseHandler componentDatabaseHandler,
                                   AttachmentDatabaseHandler attachmentDatabaseHandler) throws MalformedURLException {
         super(attachmentDatabaseHandler);
-        DatabaseConnectorCloudant db = new DatabaseConnectorCloudant(httpClient, dbName);
+        db = new DatabaseConnectorCloudant(httpClient, dbName);
 
         // Create the repositories
         repository = new ProjectRepository(db);
+        projectGraphIndex = new ProjectGraphIndex(repository, db);
         pvrRepository = new ProjectVulnerabilityRatingRepository(db);
         obligationRepository = new ObligationListRepository(db);
         relUsageRepository = new RelationsUsageRepository(db);
@@ -788,11 +776,21 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     //////////////////////
 
     public List<ProjectLink> getLinkedProjects(Project project, boolean deep, User user) {
+        return getLinkedProjects(project, deep, user, new ProjectLinkTreeLoader(db));
+    }
+
+    /**
+     * Same as {@link #getLinkedProjects(Project, boolean, User)}, but resolves the documents of the tree through the
+     * given loader, e.g. to inspect its number of round trips afterwards.
+     */
+    public List<ProjectLink> getLinkedProjects(Project project, boolean deep, User user, ProjectLinkTreeLoader loader) {
         Deque<String> visitedIds = new ArrayDeque<>();
 
         Map<String, ProjectProjectRelationship> fakeRelations = new HashMap<>();
         fakeRelations.put(project.isSetId() ? project.getId() : DUMMY_NEW_PROJECT_ID, new ProjectProjectRelationship(ProjectRelationship.UNKNOWN));
-        List<ProjectLink> out = iterateProjectRelationShips(fakeRelations, null, visitedIds, deep ? -1 : 2, user);
+        int maxDepth = deep ? -1 : 2;
+        loader.prefetch(fakeRelations.keySet(), maxDepth, user);
+        List<ProjectLink> out = iterateProjectRelationShips(fakeRelations, null, visitedIds, maxDepth, user, loader);
         return out;
     }
 
@@ -800,17 +798,19 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         List<ProjectLink> out;
 
         Deque<String> visitedIds = new ArrayDeque<>();
-        out = iterateProjectRelationShips(relations, null, visitedIds, -1, user);
+        ProjectLinkTreeLoader loader = new ProjectLinkTreeLoader(db);
+        loader.prefetch(relations.keySet(), -1, user);
+        out = iterateProjectRelationShips(relations, null, visitedIds, -1, user, loader);
 
         return out;
     }
 
     private List<ProjectLink> iterateProjectRelationShips(Map<String, ProjectProjectRelationship> relations,
-            String parentNodeId, Deque<String> visitedIds, int maxDepth, User user) {
+            String parentNodeId, Deque<String> visitedIds, int maxDepth, User user, ProjectLinkTreeLoader loader) {
         List<ProjectLink> out = new ArrayList<>();
         for (Map.Entry<String, ProjectProjectRelationship> entry : relations.entrySet()) {
             Optional<ProjectLink> projectLinkOptional = createProjectLink(entry.getKey(), entry.getValue(),
-                    parentNodeId, visitedIds, maxDepth, user);
+                    parentNodeId, visitedIds, maxDepth, user, loader);
             projectLinkOptional.ifPresent(out::add);
         }
         out.sort(Comparator.comparing(ProjectLink::getName).thenComparing(ProjectLink::getVersion));
@@ -818,11 +818,11 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     private Optional<ProjectLink> createProjectLink(String id, ProjectProjectRelationship projectProjectRelationship, String parentNodeId,
-            Deque<String> visitedIds, int maxDepth, User user) {
+            Deque<String> visitedIds, int maxDepth, User user, ProjectLinkTreeLoader loader) {
         ProjectLink projectLink = null;
         if (!visitedIds.contains(id) && (maxDepth < 0 || visitedIds.size() < maxDepth)) {
             visitedIds.push(id);
-            Project project = repository.get(id);
+            Project project = loader.getProject(id);
             if (project != null
                     && (user == null || !makePermission(project, user).isActionAllowed(RequestedAction.READ))) {
                 log.error("User " + user == null ? ""
@@ -832,7 +832,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
             if (project != null) {
                 projectLink = new ProjectLink(id, project.name);
                 if (project.isSetReleaseIdToUsage() && (maxDepth < 0 || visitedIds.size() < maxDepth)){ // ProjectLink on the last level does not get children added
-                    List<ReleaseLink> linkedReleases = componentDatabaseHandler.getLinkedReleasesWithAccessibility(project, visitedIds, user);
+                    List<ReleaseLink> linkedReleases = componentDatabaseHandler.getLinkedReleasesWithAccessibility(project, visitedIds, user, loader);
                     fillMainlineStates(linkedReleases, project.getReleaseIdToUsage());
                     projectLink.setLinkedReleases(nullToEmptyList(linkedReleases));
                 }
@@ -849,7 +849,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
                         .setTreeLevel(visitedIds.size() - 1);
                 if (project.isSetLinkedProjects()) {
                     List<ProjectLink> subprojectLinks = iterateProjectRelationShips(project.getLinkedProjects(),
-                            projectLink.getNodeId(), visitedIds, maxDepth, user);
+                            projectLink.getNodeId(), visitedIds, maxDepth, user, loader);
                     projectLink.setSubprojects(subprojectLinks);
                 }
             } else {
@@ -1118,13 +1118,10 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     public List<Project> fillClearingStateSummaryIncludingSubprojects(List<Project> projects, User user) {
-        final Map<String, Project> allProjectsIdMap = getRefreshedAllProjectsIdMap();
-
         projects.stream().forEach(project -> {
             // build project tree, get all linked release ids and fetch the releases
             // current decision is to not check any permissions for subproject visibility
-            Set<String> releaseIdsOfProjectTree = getReleaseIdsOfProjectTree(project, Sets.newHashSet(),
-                    allProjectsIdMap, user, null);
+            Set<String> releaseIdsOfProjectTree = getReleaseIdsOfProjectTree(project);
             List<Release> releasesForClearingStateSummary = componentDatabaseHandler
                     .getReleasesForClearingStateSummary(releaseIdsOfProjectTree);
             // compute the summaries
@@ -1137,71 +1134,30 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return projects;
     }
 
-    /**
-     * Synchronization is not really necessary, we could also remove it. Worst case
-     * would then be that the projects map would be loaded twice if one thread just
-     * loaded it but has not yet updated the loadingInstant field while another
-     * thread queries already (if we change the order and set the instant first and
-     * then load the new map, worst case would be that the other thread would get an
-     * older map as the new one is not yet set).
-     */
-    private synchronized Map<String, Project> getRefreshedAllProjectsIdMap() {
-        if (cachedAllProjectsIdMap != null && Instant.now()
-                .isBefore(cachedAllProjectsIdMapLoadingInstant.plus(ALL_PROJECTS_ID_MAP_CACHE_LIFETIME))) {
-            return cachedAllProjectsIdMap;
-        }
-
-        cachedAllProjectsIdMap = ThriftUtils.getIdMap(repository.getAll());
-        cachedAllProjectsIdMapLoadingInstant = Instant.now();
-
-        return cachedAllProjectsIdMap;
-    }
-
-    private Set<String> getReleaseIdsOfProjectTree(Project project, Set<String> visitedProjectIds,
-            Map<String, Project> allProjectsIdMap, User user, List<RequestedAction> permissionsFilter) {
-        // no need to visit a project twice
-        if (visitedProjectIds.contains(project.getId())) {
-            return Collections.emptySet();
-        }
-
-        // we are now checking this project so no need for further examination in
-        // recursion
-        visitedProjectIds.add(project.getId());
-
-        // container to aggregate results
-        Set<String> releaseIds = Sets.newHashSet();
-
-        // traverse linked projects with relation type other than "REFERRED" and
-        // "DUPLICATE" and add the result to this result
+    private Set<String> getReleaseIdsOfProjectTree(Project project) {
+        // the project itself is taken as given, its subprojects come from the project graph
+        // traverse linked projects with relation type other than "REFERRED" and "DUPLICATE"
+        Set<String> linkedProjectIds = Sets.newHashSet();
         if (project.isSetLinkedProjects()) {
-            project.getLinkedProjects().entrySet().stream().forEach(e -> {
-                if (!ProjectRelationship.REFERRED.equals(e.getValue())
-                        && !ProjectRelationship.DUPLICATE.equals(e.getValue())) {
-                    Project childProject = allProjectsIdMap.get(e.getKey());
-                    if (childProject != null) {
-                        // since we fetched all project up front we did not yet check any permission -
-                        // so do it now
-                        if (permissionsFilter == null || permissionsFilter.isEmpty()
-                                || makePermission(childProject, user).areActionsAllowed(permissionsFilter)) {
-                            // recursion inside :-)
-                            releaseIds.addAll(getReleaseIdsOfProjectTree(childProject, visitedProjectIds,
-                                    allProjectsIdMap, user, permissionsFilter));
-                        }
-                    }
+            project.getLinkedProjects().forEach((id, relationship) -> {
+                if (!ProjectRelationship.REFERRED.equals(relationship.getProjectRelationship())
+                        && !ProjectRelationship.DUPLICATE.equals(relationship.getProjectRelationship())) {
+                    linkedProjectIds.add(id);
                 }
             });
         }
 
         // add own releases to result if they are not just "REFERRED"
+        Set<String> releaseIds = Sets.newHashSet();
         if (project.isSetReleaseIdToUsage()) {
-            project.getReleaseIdToUsage().entrySet().stream().forEach(e -> {
-                if (!ReleaseRelationship.REFERRED.equals(e.getValue().getReleaseRelation())) {
-                    releaseIds.add(e.getKey());
+            project.getReleaseIdToUsage().forEach((id, usage) -> {
+                if (!ReleaseRelationship.REFERRED.equals(usage.getReleaseRelation())) {
+                    releaseIds.add(id);
                 }
             });
         }
 
-        return releaseIds;
+        return projectGraphIndex.getReleaseIdsOfProjectTree(project.getId(), linkedProjectIds, releaseIds);
     }
 
     private Set<String> getCotsComponentIdsFromRelease(Collection<Release> releases) {
@@ -1447,6 +1403,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     public List<Map<String, String>> getClearingStateInformationForListView(String projectId, User user, boolean isInaccessibleLinkMasked)
             throws SW360Exception {
         Project projectById = getProjectById(projectId, user);
+        LinkedDocuments linkedDocuments = loadLinkedDocuments(projectById);
         List<Map<String, String>> clearingStatusList = new ArrayList<Map<String, String>>();
         LinkedHashMap<String, String> projectOrigin = new LinkedHashMap<>();
         projectOrigin.put(projectId, SW360Utils.printName(projectById));
@@ -1455,25 +1412,100 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         Map<String, ProjectReleaseRelationship> releaseIdToUsage = projectById.getReleaseIdToUsage();
         if (linkedProjects != null && !linkedProjects.isEmpty()) {
             flattenClearingStatusForLinkedProject(linkedProjects, projectOrigin, releaseOrigin, clearingStatusList,
-                    user, isInaccessibleLinkMasked);
+                    user, isInaccessibleLinkMasked, linkedDocuments);
         }
         if (releaseIdToUsage != null && !releaseIdToUsage.isEmpty()) {
-            flattenClearingStatusForReleases(releaseIdToUsage, projectOrigin, releaseOrigin, clearingStatusList, user, isInaccessibleLinkMasked);
+            flattenClearingStatusForReleases(releaseIdToUsage, projectOrigin, releaseOrigin, clearingStatusList, user,
+                    isInaccessibleLinkMasked, linkedDocuments);
         }
 
         return clearingStatusList;
     }
 
+    /**
+     * Projects, releases and components linked directly or indirectly to a project, read level by level with one
+     * bulk request per level, so that the clearing status list is built without further requests
+     */
+    private static class LinkedDocuments {
+        private final Map<String, Project> projectsById = new HashMap<>();
+        private final Map<String, Release> releasesById = new HashMap<>();
+        private final Map<String, Component> componentsById = new HashMap<>();
+    }
+
+    private LinkedDocuments loadLinkedDocuments(Project project) {
+        LinkedDocuments linkedDocuments = new LinkedDocuments();
+        linkedDocuments.projectsById.put(project.getId(), project);
+
+        Set<String> releaseIds = new HashSet<>(nullToEmptyMap(project.getReleaseIdToUsage()).keySet());
+        Set<String> projectIds = new HashSet<>(nullToEmptyMap(project.getLinkedProjects()).keySet());
+        projectIds.remove(project.getId());
+        while (!projectIds.isEmpty()) {
+            Set<String> nextProjectIds = new HashSet<>();
+            for (Project linkedProject : repository.get(projectIds)) {
+                linkedDocuments.projectsById.put(linkedProject.getId(), linkedProject);
+                releaseIds.addAll(nullToEmptyMap(linkedProject.getReleaseIdToUsage()).keySet());
+                nextProjectIds.addAll(nullToEmptyMap(linkedProject.getLinkedProjects()).keySet());
+            }
+            nextProjectIds.removeAll(projectIds);
+            nextProjectIds.removeAll(linkedDocuments.projectsById.keySet());
+            projectIds = nextProjectIds;
+        }
+
+        Set<String> componentIds = new HashSet<>();
+        while (!releaseIds.isEmpty()) {
+            Set<String> nextReleaseIds = new HashSet<>();
+            for (Release release : componentDatabaseHandler.getReleasesForClearingStateSummary(releaseIds)) {
+                linkedDocuments.releasesById.put(release.getId(), release);
+                if (release.isSetComponentId()) {
+                    componentIds.add(release.getComponentId());
+                }
+                nextReleaseIds.addAll(nullToEmptyMap(release.getReleaseIdToRelationship()).keySet());
+            }
+            nextReleaseIds.removeAll(releaseIds);
+            nextReleaseIds.removeAll(linkedDocuments.releasesById.keySet());
+            releaseIds = nextReleaseIds;
+        }
+
+        if (!componentIds.isEmpty()) {
+            linkedDocuments.componentsById.putAll(ThriftUtils.getIdMap(componentDatabaseHandler.getComponentsForClearingStatus(componentIds)));
+        }
+        return linkedDocuments;
+    }
+
+    private Project getLinkedProject(String id, User user, LinkedDocuments linkedDocuments) throws SW360Exception {
+        Project project = linkedDocuments.projectsById.get(id);
+        assertNotNull(project);
+
+        if (!makePermission(project, user).isActionAllowed(RequestedAction.READ)) {
+            throw fail(403, "User: %s is not allowed to view the requested project: %s", user.getEmail(), project.getId());
+        }
+        return project;
+    }
+
+    private Release getLinkedRelease(String id, LinkedDocuments linkedDocuments) throws SW360Exception {
+        Release release = linkedDocuments.releasesById.get(id);
+        if (release == null) {
+            throw fail(404, "Could not fetch release from database! id=" + id);
+        }
+        return release;
+    }
+
+    private boolean isLinkedReleaseReadable(Release release, User user, LinkedDocuments linkedDocuments) {
+        return componentDatabaseHandler.isReleaseActionAllowed(release, user, RequestedAction.READ,
+                linkedDocuments.componentsById::get);
+    }
+
     private void flattenClearingStatusForLinkedProject(Map<String, ProjectProjectRelationship> linkedProjects,
             LinkedHashMap<String, String> projectOrigin, LinkedHashMap<String, String> releaseOrigin,
-            List<Map<String, String>> clearingStatusList, User user, boolean isInaccessibleLinkMasked) {
+            List<Map<String, String>> clearingStatusList, User user, boolean isInaccessibleLinkMasked,
+            LinkedDocuments linkedDocuments) {
 
         linkedProjects.entrySet().stream().forEach(lp -> wrapTException(() -> {
             String projId = lp.getKey();
             String relation = ThriftEnumUtils.enumToString(lp.getValue().getProjectRelationship());
             if (projectOrigin.containsKey(projId))
                 return;
-            Project linkedProjectById = getProjectById(projId, user);
+            Project linkedProjectById = getLinkedProject(projId, user, linkedDocuments);
             projectOrigin.put(projId, SW360Utils.printName(linkedProjectById));
             Map<String, String> row = createProjectCSRow(relation, linkedProjectById, clearingStatusList);
             Map<String, ProjectProjectRelationship> subprojects = linkedProjectById.getLinkedProjects();
@@ -1481,12 +1513,12 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
 
             if (linkedReleases != null && !linkedReleases.isEmpty()) {
                 flattenClearingStatusForReleases(linkedReleases, projectOrigin, releaseOrigin, clearingStatusList,
-                        user, isInaccessibleLinkMasked);
+                        user, isInaccessibleLinkMasked, linkedDocuments);
             }
 
             if (subprojects != null && !subprojects.isEmpty()) {
                 flattenClearingStatusForLinkedProject(subprojects, projectOrigin, releaseOrigin, clearingStatusList,
-                        user, isInaccessibleLinkMasked);
+                        user, isInaccessibleLinkMasked, linkedDocuments);
             }
 
             projectOrigin.remove(projId);
@@ -1496,7 +1528,8 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
 
     private void flattenClearingStatusForReleases(Map<String, ProjectReleaseRelationship> linkedReleases,
             LinkedHashMap<String, String> projectOrigin, LinkedHashMap<String, String> releaseOrigin,
-            List<Map<String, String>> clearingStatusList, User user, boolean isInaccessibleLinkMasked) {
+            List<Map<String, String>> clearingStatusList, User user, boolean isInaccessibleLinkMasked,
+            LinkedDocuments linkedDocuments) {
 
         linkedReleases.entrySet().stream().forEach(rl -> wrapTException(() -> {
             String relation = ThriftEnumUtils.enumToString(rl.getValue().getReleaseRelation());
@@ -1505,15 +1538,16 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
             String releaseId = rl.getKey();
             if (releaseOrigin.containsKey(releaseId))
                 return;
-            Release rel = componentDatabaseHandler.getRelease(releaseId, user);
-            
-            if (!isInaccessibleLinkMasked || componentDatabaseHandler.isReleaseActionAllowed(rel, user, RequestedAction.READ)) {
+            Release rel = getLinkedRelease(releaseId, linkedDocuments);
+
+            if (!isInaccessibleLinkMasked || isLinkedReleaseReadable(rel, user, linkedDocuments)) {
                 Map<String, ReleaseRelationship> releaseIdToRelationship = rel.getReleaseIdToRelationship();
                 releaseOrigin.put(releaseId, SW360Utils.printName(rel));
-                Map<String, String> row = createReleaseCSRow(relation, projectMailLineState, rel, clearingStatusList, user, comment);
+                Map<String, String> row = createReleaseCSRow(relation, projectMailLineState, rel, clearingStatusList,
+                        linkedDocuments.componentsById.get(rel.getComponentId()), comment);
                 if (releaseIdToRelationship != null && !releaseIdToRelationship.isEmpty()) {
                     flattenlinkedReleaseOfRelease(releaseIdToRelationship, projectOrigin, releaseOrigin, clearingStatusList,
-                                user, isInaccessibleLinkMasked);
+                                user, isInaccessibleLinkMasked, linkedDocuments);
                 }
                 releaseOrigin.remove(releaseId);
                 row.put("projectOrigin", String.join(" -> ", projectOrigin.values()));
@@ -1528,22 +1562,24 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
 
     private void flattenlinkedReleaseOfRelease(Map<String, ReleaseRelationship> releaseIdToRelationship,
             LinkedHashMap<String, String> projectOrigin, LinkedHashMap<String, String> releaseOrigin,
-            List<Map<String, String>> clearingStatusList, User user, boolean isInaccessibleLinkMasked) {
+            List<Map<String, String>> clearingStatusList, User user, boolean isInaccessibleLinkMasked,
+            LinkedDocuments linkedDocuments) {
         releaseIdToRelationship.entrySet().stream().forEach(rl -> wrapTException(() -> {
             String relation = ThriftEnumUtils.enumToString(rl.getValue());
             String projectMailLineState = "";
             String releaseId = rl.getKey();
             if (releaseOrigin.containsKey(releaseId))
                 return;
-            Release rel = componentDatabaseHandler.getRelease(releaseId, user);
-            
-            if (!isInaccessibleLinkMasked || componentDatabaseHandler.isReleaseActionAllowed(rel, user, RequestedAction.READ)) {
+            Release rel = getLinkedRelease(releaseId, linkedDocuments);
+
+            if (!isInaccessibleLinkMasked || isLinkedReleaseReadable(rel, user, linkedDocuments)) {
                 Map<String, ReleaseRelationship> subReleaseIdToRelationship = rel.getReleaseIdToRelationship();
                 releaseOrigin.put(releaseId, SW360Utils.printName(rel));
-                Map<String, String> row = createReleaseCSRow(relation, projectMailLineState, rel, clearingStatusList, user, "");
+                Map<String, String> row = createReleaseCSRow(relation, projectMailLineState, rel, clearingStatusList,
+                        linkedDocuments.componentsById.get(rel.getComponentId()), "");
                 if (subReleaseIdToRelationship != null && !subReleaseIdToRelationship.isEmpty()) {
                     flattenlinkedReleaseOfRelease(subReleaseIdToRelationship, projectOrigin, releaseOrigin,
-                                clearingStatusList, user, isInaccessibleLinkMasked);
+                                clearingStatusList, user, isInaccessibleLinkMasked, linkedDocuments);
                 }
                 releaseOrigin.remove(releaseId);
                 row.put("projectOrigin", String.join(" -> ", projectOrigin.values()));
@@ -1579,9 +1615,11 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     private Map<String, String> createReleaseCSRow(String relation, String projectMailLineState, Release rl,
-            List<Map<String, String>> clearingStatusList, User user, String comment) throws SW360Exception {
+            List<Map<String, String>> clearingStatusList, Component component, String comment) throws SW360Exception {
         Map<String, String> row = new HashMap<>();
-        Component component = componentDatabaseHandler.getComponent(rl.getComponentId(), user);
+        if (component == null) {
+            throw fail("Could not fetch component from database! id=" + rl.getComponentId());
+        }
         String releaseId = rl.getId();
         row.put("id", releaseId);
         row.put("name", SW360Utils.printName(rl));
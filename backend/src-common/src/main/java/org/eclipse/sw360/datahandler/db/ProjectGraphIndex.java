@@ -0,0 +1,236 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseChanges;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory graph of the links between projects and from projects to releases, to collect the releases of a
+ * project tree without reading any project from the database.
+ *
+ * Only the links that count for a project tree are kept, i.e. subprojects which are not "REFERRED" or "DUPLICATE"
+ * and releases which are not "REFERRED". Ids are stored once and referred to by number. The graph is loaded on
+ * first use and afterwards kept current by reading the CouchDB _changes feed from the last seen update sequence,
+ * at most once per {@link #REFRESH_INTERVAL_MILLIS} milliseconds. A query never waits for another thread's
+ * refresh but answers from the graph as it is.
+ */
+public class ProjectGraphIndex {
+
+    private static final Logger log = LogManager.getLogger(ProjectGraphIndex.class);
+
+    public static final long REFRESH_INTERVAL_MILLIS = 5_000;
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Links of one project as emitted by the linkage view of the project repository
+     */
+    public static class Linkage {
+        private final List<String> linkedProjectIds;
+        private final List<String> releaseIds;
+
+        public Linkage(List<String> linkedProjectIds, List<String> releaseIds) {
+            this.linkedProjectIds = linkedProjectIds;
+            this.releaseIds = releaseIds;
+        }
+
+        public List<String> getLinkedProjectIds() {
+            return linkedProjectIds;
+        }
+
+        public List<String> getReleaseIds() {
+            return releaseIds;
+        }
+    }
+
+    private static class Interner {
+        private final Map<String, Integer> numbers = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+
+        int intern(String id) {
+            return numbers.computeIfAbsent(id, key -> {
+                ids.add(key);
+                return ids.size() - 1;
+            });
+        }
+
+        Integer find(String id) {
+            return numbers.get(id);
+        }
+
+        String get(int number) {
+            return ids.get(number);
+        }
+
+        int[] internAll(Collection<String> ids) {
+            if (ids == null || ids.isEmpty()) {
+                return NONE;
+            }
+            return ids.stream().mapToInt(this::intern).distinct().toArray();
+        }
+    }
+
+    private final ProjectRepository repository;
+    private final DatabaseConnectorCloudant db;
+    private final long refreshIntervalMillis;
+
+    private final ReentrantReadWriteLock graphLock = new ReentrantReadWriteLock();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Interner projectIds = new Interner();
+    private final Interner releaseIds = new Interner();
+    private final Map<Integer, int[]> linkedProjectsByProject = new HashMap<>();
+    private final Map<Integer, int[]> releasesByProject = new HashMap<>();
+
+    private volatile String updateSequence;
+    private volatile long lastRefresh;
+
+    public ProjectGraphIndex(ProjectRepository repository, DatabaseConnectorCloudant db) {
+        this(repository, db, REFRESH_INTERVAL_MILLIS);
+    }
+
+    ProjectGraphIndex(ProjectRepository repository, DatabaseConnectorCloudant db, long refreshIntervalMillis) {
+        this.repository = repository;
+        this.db = db;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * @param projectId        id of the root of the tree
+     * @param linkedProjectIds subprojects of the root to follow, which may differ from the stored ones
+     * @param rootReleaseIds   releases of the root to include
+     * @return ids of the releases of the root and of all projects reachable from it
+     */
+    public Set<String> getReleaseIdsOfProjectTree(String projectId, Collection<String> linkedProjectIds,
+                                                  Collection<String> rootReleaseIds) {
+        refreshIfDue();
+
+        Set<String> result = new HashSet<>(rootReleaseIds);
+        graphLock.readLock().lock();
+        try {
+            BitSet visited = new BitSet();
+            Integer root = projectIds.find(projectId);
+            if (root != null) {
+                visited.set(root);
+            }
+            Deque<Integer> toVisit = new ArrayDeque<>();
+            for (String linkedProjectId : linkedProjectIds) {
+                Integer linked = projectIds.find(linkedProjectId);
+                if (linked != null) {
+                    toVisit.push(linked);
+                }
+            }
+            while (!toVisit.isEmpty()) {
+                int project = toVisit.pop();
+                // projects which are linked but do not exist (any longer) are not part of the tree
+                if (visited.get(project) || !releasesByProject.containsKey(project)) {
+                    continue;
+                }
+                visited.set(project);
+                for (int release : releasesByProject.get(project)) {
+                    result.add(releaseIds.get(release));
+                }
+                for (int linked : linkedProjectsByProject.getOrDefault(project, NONE)) {
+                    toVisit.push(linked);
+                }
+            }
+        } finally {
+            graphLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void refreshIfDue() {
+        if (updateSequence != null && System.currentTimeMillis() - lastRefresh < refreshIntervalMillis) {
+            return;
+        }
+        if (updateSequence == null) {
+            // nothing to answer from yet, so wait for the first load
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            if (updateSequence == null) {
+                load();
+            } else if (System.currentTimeMillis() - lastRefresh >= refreshIntervalMillis) {
+                applyChanges();
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the project graph, answering from the last known state", e);
+        } finally {
+            lastRefresh = System.currentTimeMillis();
+            refreshLock.unlock();
+        }
+    }
+
+    private void load() {
+        // changes made while loading are read again with the next refresh
+        String sequence = db.getUpdateSequence();
+        Map<String, Linkage> linkages = repository.getProjectLinkages(null);
+        if (linkages == null) {
+            return;
+        }
+        graphLock.writeLock().lock();
+        try {
+            linkages.forEach(this::put);
+        } finally {
+            graphLock.writeLock().unlock();
+        }
+        updateSequence = sequence;
+        log.info("Loaded project graph with " + linkages.size() + " projects");
+    }
+
+    private void applyChanges() {
+        DatabaseChanges changes = db.getChangesSince(updateSequence, Project.class,
+                ProjectRepository.CHANGES_FILTER_VIEW_NAME);
+        Map<String, Linkage> linkages = changes.getChangedIds().isEmpty()
+                ? new HashMap<>()
+                : repository.getProjectLinkages(changes.getChangedIds());
+        if (linkages == null) {
+            return;
+        }
+        graphLock.writeLock().lock();
+        try {
+            linkages.forEach(this::put);
+            for (String deletedId : changes.getDeletedIds()) {
+                Integer project = projectIds.find(deletedId);
+                if (project != null) {
+                    linkedProjectsByProject.remove(project);
+                    releasesByProject.remove(project);
+                }
+            }
+        } finally {
+            graphLock.writeLock().unlock();
+        }
+        updateSequence = changes.getLastSequence();
+    }
+
+    private void put(String projectId, Linkage linkage) {
+        int project = projectIds.intern(projectId);
+        linkedProjectsByProject.put(project, projectIds.internAll(linkage.getLinkedProjectIds()));
+        releasesByProject.put(project, releaseIds.internAll(linkage.getReleaseIds()));
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptyMap;
+import static org.eclipse.sw360.datahandler.permissions.PermissionUtils.makePermission;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.users.RequestedAction;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
+
+/**
+ * Resolves the documents needed to build a {@link org.eclipse.sw360.datahandler.thrift.projects.ProjectLink} tree.
+ *
+ * The project graph is walked breadth-first and all project ids of one tree level are fetched with a single
+ * bulk request. Releases, vendors and components of the collected projects are fetched afterwards with one bulk
+ * request each, so the number of database round trips depends on the depth of the tree and not on its size.
+ * Documents which have not been prefetched are loaded one by one on first access.
+ *
+ * An instance caches the documents for the lifetime of a single tree building call and must not be shared.
+ */
+public class ProjectLinkTreeLoader {
+
+    private static final Logger log = LogManager.getLogger(ProjectLinkTreeLoader.class);
+
+    private final DatabaseConnectorCloudant db;
+    private final Map<String, Project> projects = new HashMap<>();
+    private final Map<String, Release> releases = new HashMap<>();
+    private final Map<String, Vendor> vendors = new HashMap<>();
+    private final Map<String, Component> components = new HashMap<>();
+    private int roundTrips = 0;
+
+    public ProjectLinkTreeLoader(DatabaseConnectorCloudant db) {
+        this.db = db;
+    }
+
+    /**
+     * Fetches all projects reachable from the given root ids up to the given depth (negative for unlimited) as well
+     * as the releases, vendors and components needed for their release links. Only projects readable by the user are
+     * expanded, which mirrors the way the tree itself is built.
+     */
+    public void prefetch(Collection<String> rootIds, int maxDepth, User user) {
+        Set<String> releaseIds = new HashSet<>();
+        Set<String> currentLevel = new LinkedHashSet<>(rootIds);
+        int level = 0;
+        while (!currentLevel.isEmpty() && isWithinDepth(level, maxDepth)) {
+            fetchProjects(currentLevel);
+            Set<String> nextLevel = new LinkedHashSet<>();
+            for (String id : currentLevel) {
+                Project project = projects.get(id);
+                if (project == null || user == null || !makePermission(project, user).isActionAllowed(RequestedAction.READ)) {
+                    continue;
+                }
+                if (isWithinDepth(level + 1, maxDepth)) {
+                    releaseIds.addAll(nullToEmptyMap(project.getReleaseIdToUsage()).keySet());
+                }
+                for (String linkedId : nullToEmptyMap(project.getLinkedProjects()).keySet()) {
+                    if (!projects.containsKey(linkedId)) {
+                        nextLevel.add(linkedId);
+                    }
+                }
+            }
+            currentLevel = nextLevel;
+            level++;
+        }
+        prefetchReleases(releaseIds);
+        log.debug("Prefetched " + projects.size() + " projects and " + releases.size() + " releases for "
+                + level + " tree levels in " + roundTrips + " round trips");
+    }
+
+    /**
+     * Fetches the given releases together with their vendors and components.
+     */
+    public void prefetchReleases(Collection<String> releaseIds) {
+        fetchInto(releases, Release.class, releaseIds, Release::getId, Release::getType, "release");
+
+        Set<String> vendorIds = new HashSet<>();
+        Set<String> componentIds = new HashSet<>();
+        for (Release release : releases.values()) {
+            if (release == null) {
+                continue;
+            }
+            if (release.isSetVendorId() && !isNullOrEmpty(release.getVendorId())) {
+                vendorIds.add(release.getVendorId());
+            }
+            if (!isNullOrEmpty(release.getComponentId())) {
+                componentIds.add(release.getComponentId());
+            }
+        }
+        fetchInto(vendors, Vendor.class, vendorIds, Vendor::getId, Vendor::getType, "vendor");
+        fetchInto(components, Component.class, componentIds, Component::getId, Component::getType, "component");
+    }
+
+    public Project getProject(String id) {
+        return lookup(projects, Project.class, id);
+    }
+
+    public Release getRelease(String id) {
+        return lookup(releases, Release.class, id);
+    }
+
+    public Component getComponent(String id) {
+        return isNullOrEmpty(id) ? null : lookup(components, Component.class, id);
+    }
+
+    public Vendor getVendor(String id) {
+        return isNullOrEmpty(id) ? null : lookup(vendors, Vendor.class, id);
+    }
+
+    /**
+     * Same as {@link VendorRepository#fillVendor(Release)}, but served from the cache.
+     */
+    public void fillVendor(Release release) {
+        if (release.isSetVendorId()) {
+            final Vendor vendor = getVendor(release.getVendorId());
+            if (vendor != null)
+                release.setVendor(vendor);
+            release.unsetVendorId();
+        }
+    }
+
+    /**
+     * @return number of database requests issued by this loader so far
+     */
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
+    private void fetchProjects(Collection<String> ids) {
+        fetchInto(projects, Project.class, ids, Project::getId, Project::getType, "project");
+    }
+
+    private <T> T lookup(Map<String, T> cache, Class<T> type, String id) {
+        if (!cache.containsKey(id)) {
+            roundTrips++;
+            cache.put(id, db.get(type, id));
+        }
+        return cache.get(id);
+    }
+
+    private <T> void fetchInto(Map<String, T> cache, Class<T> type, Collection<String> ids,
+            Function<T, String> idExtractor, Function<T, String> typeExtractor, String expectedType) {
+        Set<String> missingIds = new HashSet<>(ids);
+        missingIds.removeAll(cache.keySet());
+        if (missingIds.isEmpty()) {
+            return;
+        }
+        roundTrips++;
+        for (T doc : db.get(type, missingIds)) {
+            String docType = typeExtractor.apply(doc);
+            if (docType == null || expectedType.equalsIgnoreCase(docType)) {
+                cache.put(idExtractor.apply(doc), doc);
+            }
+        }
+        // remember misses as well, so that broken links do not trigger single fetches later on
+        for (String id : missingIds) {
+            cache.putIfAbsent(id, null);
+        }
+    }
+
+    private static boolean isWithinDepth(int level, int maxDepth) {
+        return maxDepth < 0 || level < maxDepth;
+    }
+}
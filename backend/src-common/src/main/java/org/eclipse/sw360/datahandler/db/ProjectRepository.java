@@ -33,6 +33,7 @@ import com.cloudant.client.api.query.QueryResult;
 import com.cloudant.client.api.query.Selector;
 import com.cloudant.client.api.query.Sort;
 import com.cloudant.client.api.views.Key;
+import com.cloudant.client.api.views.UnpaginatedRequestBuilder;
 import com.cloudant.client.api.views.ViewRequest;
 import com.cloudant.client.api.views.ViewRequestBuilder;
 import com.cloudant.client.api.views.ViewResponse;
@@ -59,6 +60,12 @@ import static org.eclipse.sw360.datahandler.common.SW360Utils.getBUFromOrganisat
 public class ProjectRepository extends SummaryAwareRepository<Project> {
     private static final String ALL = "function(doc) { if (doc.type == 'project') emit(null, doc._id) }";
 
+    /**
+     * Filter of the _changes feed read by the {@link ProjectGraphIndex}, which also needs the deleted projects
+     */
+    static final String CHANGES_FILTER_VIEW_NAME = "changesfilter";
+    private static final String CHANGES_FILTER = "function(doc) { if (doc.type == 'project' || doc._deleted) emit(null, null) }";
+
     private static final String FULL_MY_PROJECTS_VIEW =
             "function(doc) {\n" +
                     "  if (doc.type == 'project') {\n" +
@@ -230,6 +237,26 @@ public class ProjectRepository extends SummaryAwareRepository<Project> {
                     "  }" +
                     "}";
 
+    private static final String LINKAGE_VIEW =
+            "function(doc) {" +
+                    "  if (doc.type == 'project') {" +
+                    "    var linkedProjectIds = [];" +
+                    "    for(var i in doc.linkedProjects) {" +
+                    "      var relation = doc.linkedProjects[i].projectRelationship;" +
+                    "      if (relation != 'REFERRED' && relation != 'DUPLICATE') {" +
+                    "        linkedProjectIds.push(i);" +
+                    "      }" +
+                    "    }" +
+                    "    var releaseIds = [];" +
+                    "    for(var i in doc.releaseIdToUsage) {" +
+                    "      if (doc.releaseIdToUsage[i].releaseRelation != 'REFERRED') {" +
+                    "        releaseIds.push(i);" +
+                    "      }" +
+                    "    }" +
+                    "    emit(doc._id, [linkedProjectIds, releaseIds]);" +
+                    "  }" +
+                    "}";
+
     private static final String BY_EXTERNAL_IDS =
             "function(doc) {" +
                     "  if (doc.type == 'project') {" +
@@ -266,7 +293,9 @@ public class ProjectRepository extends SummaryAwareRepository<Project> {
         views.put("fullmyprojects", createMapReduce(FULL_MY_PROJECTS_VIEW, null));
         views.put("buprojects", createMapReduce(BU_PROJECTS_VIEW, null));
         views.put("byexternalids", createMapReduce(BY_EXTERNAL_IDS, null));
+        views.put("linkage", createMapReduce(LINKAGE_VIEW, null));
         views.put("all", createMapReduce(ALL, null));
+        views.put(CHANGES_FILTER_VIEW_NAME, createMapReduce(CHANGES_FILTER, null));
         views.put("myfullprojectscount", createMapReduce(MY_ACCESSIBLE_PROJECTS_COUNT, "_count"));
         views.put("myfullprojectscountca", createMapReduce(ACCESSIBLE_PROJECTS_COUNT_FOR_CA_AND_ABOVE, "_count"));
         initStandardDesignDocument(views, db);
@@ -326,6 +355,34 @@ public class ProjectRepository extends SummaryAwareRepository<Project> {
         return new HashSet<>(queryView("bylinkingprojectid", id));
     }
 
+    /**
+     * @param ids ids of the projects, or null for all projects
+     * @return links of the projects by project id, or null if the view could not be read
+     */
+    public Map<String, ProjectGraphIndex.Linkage> getProjectLinkages(Collection<String> ids) {
+        UnpaginatedRequestBuilder<String, Object> request = getConnector().createQuery(Project.class, "linkage")
+                .newRequest(Key.Type.STRING, Object.class);
+        if (ids != null) {
+            request = request.keys(ids.toArray(new String[0]));
+        }
+        ViewResponse<String, Object> response = queryQueryResponse(request);
+        if (response == null) {
+            return null;
+        }
+        Map<String, ProjectGraphIndex.Linkage> linkages = new HashMap<>();
+        for (ViewResponse.Row<String, Object> row : response.getRows()) {
+            List<?> value = (List<?>) row.getValue();
+            linkages.put(row.getKey(), new ProjectGraphIndex.Linkage(toStrings(value.get(0)), toStrings(value.get(1))));
+        }
+        return linkages;
+    }
+
+    private static List<String> toStrings(Object values) {
+        return ((List<?>) values).stream()
+                .map(Object::toString)
+                .collect(Collectors.toList());
+    }
+
     private Set<Project> getMyProjects(String user) {
         Set<String> myProjectsIds = queryForIdsAsValue("fullmyprojects", user);
         return getFullDocsById(myProjectsIds);
@@ -482,6 +539,7 @@ public class ProjectRepository extends SummaryAwareRepository<Project> {
         } catch (Exception e) {
             log.error("Error getting projects", e);
         }
+        pageData.setTotalRowCount(getMyAccessibleProjectsCount(user));
         result.put(pageData, projects);
         return result;
     }
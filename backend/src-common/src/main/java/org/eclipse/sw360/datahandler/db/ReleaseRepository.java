@@ -13,15 +13,23 @@ import org.eclipse.sw360.components.summary.ReleaseSummary;
 import org.eclipse.sw360.components.summary.SummaryType;
 import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
 import org.eclipse.sw360.datahandler.couchdb.SummaryAwareRepository;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 
 import com.cloudant.client.api.model.DesignDocument.MapReduce;
 import com.cloudant.client.api.views.Key;
 import com.cloudant.client.api.views.UnpaginatedRequestBuilder;
+import com.cloudant.client.api.views.ViewRequest;
 import com.cloudant.client.api.views.ViewRequestBuilder;
+import com.cloudant.client.api.views.ViewResponse;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -30,6 +38,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static com.google.common.base.Strings.nullToEmpty;
 
 /**
  * CRUD access for the Release class
@@ -41,6 +50,7 @@ public class ReleaseRepository extends SummaryAwareRepository<Release> {
 
     private static final String ALL = "function(doc) { if (doc.type == 'release') emit(null, doc._id) }";
     private static final String BYNAME = "function(doc) { if(doc.type == 'release') { emit(doc.name, doc._id) } }";
+    private static final String BYNAMEANDVERSION = "function(doc) { if(doc.type == 'release') { emit([doc.name, doc.version || ''], doc._id) } }";
     private static final String BYCREATEDON = "function(doc) { if(doc.type == 'release') { emit(doc.createdOn, doc._id) } }";
     private static final String SUBSCRIBERS = "function(doc) {" +
             " if (doc.type == 'release'){" +
@@ -97,6 +107,7 @@ public class ReleaseRepository extends SummaryAwareRepository<Release> {
         Map<String, MapReduce> views = new HashMap<String, MapReduce>();
         views.put("all", createMapReduce(ALL, null));
         views.put("byname", createMapReduce(BYNAME, null));
+        views.put("byNameAndVersion", createMapReduce(BYNAMEANDVERSION, null));
         views.put("byCreatedOn", createMapReduce(BYCREATEDON, null));
         views.put("subscribers", createMapReduce(SUBSCRIBERS, null));
         views.put("usedInReleaseRelation", createMapReduce(USEDINRELEASERELATION, null));
@@ -104,6 +115,7 @@ public class ReleaseRepository extends SummaryAwareRepository<Release> {
         views.put("releasesByComponentId", createMapReduce(RELEASESBYCOMPONENTID, null));
         views.put("releaseIdsByLicenseId", createMapReduce(RELEASEIDSBYLICENSEID, null));
         views.put("byExternalIds", createMapReduce(BYEXTERNALIDS, null));
+        addProjectionViews(views, "release", SummaryType.SHORT, SummaryType.SUMMARY, SummaryType.EXPORT_SUMMARY);
         initStandardDesignDocument(views, db);
     }
 
@@ -119,6 +131,44 @@ public class ReleaseRepository extends SummaryAwareRepository<Release> {
         return releasesMatchingNameAndVersion;
     }
 
+    /**
+     * Looks up the releases with the names and versions of the given releases with one view query
+     *
+     * @return ids of the stored releases by {@link #getNameAndVersionKey(Release)}, releases without a stored
+     * counterpart are left out
+     */
+    public Map<List<String>, Set<String>> getIdsByNamesAndVersions(Collection<Release> releases) {
+        Set<List<String>> keys = releases.stream().map(ReleaseRepository::getNameAndVersionKey)
+                .collect(Collectors.toSet());
+        Map<List<String>, Set<String>> idsByNameAndVersion = new HashMap<>();
+        if (keys.isEmpty()) {
+            return idsByNameAndVersion;
+        }
+        Key.ComplexKey[] complexKeys = keys.stream()
+                .map(key -> Key.complex(key.toArray(new String[0])))
+                .toArray(Key.ComplexKey[]::new);
+        UnpaginatedRequestBuilder<Key.ComplexKey, Object> reqBuilder = getConnector()
+                .createQuery(Release.class, "byNameAndVersion").newRequest(Key.Type.COMPLEX, Object.class)
+                .keys(complexKeys);
+        ViewResponse<Key.ComplexKey, Object> response = queryViewForComplexKeys(reqBuilder);
+        if (response == null) {
+            return idsByNameAndVersion;
+        }
+        for (ViewResponse.Row<Key.ComplexKey, Object> row : response.getRows()) {
+            JsonArray key = JsonParser.parseString(row.getKey().toJson()).getAsJsonArray();
+            idsByNameAndVersion.computeIfAbsent(Arrays.asList(key.get(0).getAsString(), key.get(1).getAsString()),
+                    k -> new HashSet<>()).add(row.getId());
+        }
+        return idsByNameAndVersion;
+    }
+
+    /**
+     * @return the key of the release in the byNameAndVersion view, where a missing version is the empty string
+     */
+    public static List<String> getNameAndVersionKey(Release release) {
+        return Arrays.asList(nullToEmpty(release.getName()), nullToEmpty(release.getVersion()));
+    }
+
     public List<Release> getReleaseSummary() {
         return makeSummary(SummaryType.SUMMARY, getAllIds());
     }
@@ -130,6 +180,46 @@ public class ReleaseRepository extends SummaryAwareRepository<Release> {
         return makeSummary(SummaryType.SHORT, queryForIds(reqBuilder));
     }
 
+    public Map<PaginationData, List<Release>> getReleasesWithPagination(PaginationData pageData) {
+        Map<PaginationData, List<Release>> result = Maps.newHashMap();
+        List<Release> releases;
+
+        switch (pageData.getSortColumnNumber()) {
+        case 0:
+            // page over [name, version], so that releases of the same name are ordered by version
+            releases = getReleasesPage(getConnector().createQuery(Release.class, "byNameAndVersion")
+                    .newRequest(Key.Type.COMPLEX, Object.class), pageData);
+            break;
+        case 1:
+            releases = getReleasesPage(getConnector().createQuery(Release.class, "byCreatedOn")
+                    .newRequest(Key.Type.STRING, Object.class), pageData);
+            break;
+        default:
+            releases = getReleasesPage(getConnector().createQuery(Release.class, "all")
+                    .newRequest(Key.Type.STRING, Object.class), pageData);
+            break;
+        }
+        result.put(pageData, releases);
+        return result;
+    }
+
+    private <K> List<Release> getReleasesPage(UnpaginatedRequestBuilder<K, Object> reqBuilder, PaginationData pageData) {
+        final int rowsPerPage = pageData.getRowsPerPage();
+        reqBuilder = reqBuilder.descending(!pageData.isAscending()).skip(pageData.getDisplayStart()).includeDocs(true);
+        if (rowsPerPage != -1) {
+            reqBuilder = reqBuilder.limit(rowsPerPage);
+        }
+        ViewRequest<K, Object> request = reqBuilder.build();
+        try {
+            ViewResponse<K, Object> response = request.getResponse();
+            pageData.setTotalRowCount(response.getTotalRowCount());
+            return response.getDocsAs(Release.class);
+        } catch (Exception e) {
+            log.error("Error getting releases", e);
+            return new ArrayList<>();
+        }
+    }
+
     public List<Release> getSubscribedReleases(String email) {
         Set<String> ids = queryForIds("subscribers", email);
         return makeSummary(SummaryType.SHORT, ids);
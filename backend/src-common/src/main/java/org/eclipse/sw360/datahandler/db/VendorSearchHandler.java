@@ -12,6 +12,7 @@ package org.eclipse.sw360.datahandler.db;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneAwareDatabaseConnector;
 import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneSearchView;
+import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneStalePolicy;
 import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
 
 import com.cloudant.client.api.CloudantClient;
@@ -51,12 +52,12 @@ public class VendorSearchHandler {
     }
 
     public List<Vendor> search(String searchText) {
-        // Query the search view for the provided text
-        return connector.searchView(Vendor.class, luceneSearchView, prepareWildcardQuery(searchText));
+        // Query the search view for the provided text, vendors are searched while typing so do not wait for the index
+        return connector.searchView(Vendor.class, luceneSearchView, prepareWildcardQuery(searchText), LuceneStalePolicy.STALE);
     }
 
     public List<String> searchIds(String searchText) {
         // Query the search view for the provided text
-        return connector.searchIds(Vendor.class, luceneSearchView, prepareWildcardQuery(searchText));
+        return connector.searchIds(Vendor.class, luceneSearchView, prepareWildcardQuery(searchText), LuceneStalePolicy.STALE);
     }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.components.summary;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseRepositoryCloudantClient;
+import org.eclipse.sw360.datahandler.common.CustomThriftDeserializer;
+import org.eclipse.sw360.datahandler.common.CustomThriftSerializer;
+import org.eclipse.sw360.datahandler.db.VendorRepository;
+import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
+import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
+import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
+import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentType;
+import org.eclipse.sw360.datahandler.thrift.components.COTSDetails;
+import org.eclipse.sw360.datahandler.thrift.components.ClearingInformation;
+import org.eclipse.sw360.datahandler.thrift.components.ClearingState;
+import org.eclipse.sw360.datahandler.thrift.components.EccInformation;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalTool;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcess;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcessStatus;
+import org.eclipse.sw360.datahandler.thrift.components.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that summaries made from projected releases equal those made from full releases and compares reading
+ * both, in bytes and deserialization time.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReleaseSummaryTest {
+
+    private static final Logger log = LogManager.getLogger(ReleaseSummaryTest.class);
+
+    private static final int RELEASES = 500;
+    private static final int ATTACHMENTS_PER_RELEASE = 50;
+
+    @Mock
+    private VendorRepository vendorRepository;
+
+    private ReleaseSummary releaseSummary;
+    private Gson gson;
+
+    @Before
+    public void setUp() {
+        releaseSummary = new ReleaseSummary(vendorRepository);
+
+        // configured like the CouchDB client, see DatabaseSettings
+        GsonBuilder gsonBuilder = new GsonBuilder().disableHtmlEscaping();
+        for (Class<?> c : ThriftUtils.THRIFT_CLASSES) {
+            gsonBuilder.registerTypeAdapter(c, new CustomThriftDeserializer());
+            gsonBuilder.registerTypeAdapter(c, new CustomThriftSerializer());
+        }
+        for (Class<?> c : ThriftUtils.THRIFT_NESTED_CLASSES) {
+            gsonBuilder.registerTypeAdapter(c, new CustomThriftSerializer());
+        }
+        gson = gsonBuilder.create();
+    }
+
+    private void givenVendor() {
+        when(vendorRepository.get(anyCollection()))
+                .thenReturn(Collections.singletonList(new Vendor().setId("v1").setShortname("Vendor").setFullname("Vendor Inc.")));
+    }
+
+    private static Release createRelease(int index) {
+        Release release = new Release().setId("r" + index).setRevision("1-abc").setName("release" + index)
+                .setVersion("1." + index).setComponentId("c" + index).setVendorId("v1")
+                .setClearingState(ClearingState.APPROVED).setMainlineState(MainlineState.MAINLINE)
+                .setCpeid("cpe:/a:vendor:release" + index).setReleaseDate("2023-01-01")
+                .setSourceCodeDownloadurl("https://example.org/src").setBinaryDownloadurl("https://example.org/bin")
+                .setCreatedBy("admin@sw360.org").setCreatedOn("2023-01-01")
+                .setLanguages(ImmutableSet.of("Java")).setOperatingSystems(ImmutableSet.of("Linux"))
+                .setMainLicenseIds(ImmutableSet.of("Apache-2.0")).setOtherLicenseIds(ImmutableSet.of("MIT", "BSD-3-Clause"))
+                .setEccInformation(new EccInformation().setAl("N").setEccn("N"))
+                .setClearingInformation(new ClearingInformation().setComment("cleared").setRequestID("req" + index)
+                        .setBinariesSelfMade(true).setCountOfSecurityVn(3))
+                .setCotsDetails(new COTSDetails().setUsedLicense("commercial").setOssInformationURL("https://example.org/oss"))
+                .setExternalToolProcesses(Collections.singleton(new ExternalToolProcess(ExternalTool.FOSSOLOGY,
+                        ExternalToolProcessStatus.DONE, Collections.emptyList()).setId("p" + index)));
+        for (int i = 0; i < ATTACHMENTS_PER_RELEASE; i++) {
+            release.addToAttachments(new Attachment("content" + index + "-" + i, "file" + i + ".tar.gz")
+                    .setSha1("da39a3ee5e6b4b0d3255bfef95601890afd80709").setAttachmentType(AttachmentType.SOURCE)
+                    .setCreatedBy("admin@sw360.org").setCreatedOn("2023-01-01").setCreatedComment("uploaded " + i));
+            release.putToReleaseIdToRelationship("linked" + index + "-" + i, ReleaseRelationship.CONTAINED);
+            release.addToSubscribers("subscriber" + i + "@sw360.org");
+            release.putToAdditionalData("key" + i, "value of the additional data " + i);
+        }
+        return release;
+    }
+
+    /**
+     * @return the JSON of the release as emitted by a projection view for the summary type
+     */
+    private String project(String fullJson, SummaryType type) {
+        JsonObject full = gson.fromJson(fullJson, JsonObject.class);
+        JsonObject projected = new JsonObject();
+        for (String name : new String[] { "_id", "_rev", "type", "issetBitfield" }) {
+            if (full.has(name)) {
+                projected.add(name, full.get(name));
+            }
+        }
+        for (Release._Fields field : releaseSummary.getProjectedFields(type)) {
+            if (full.has(field.getFieldName())) {
+                projected.add(field.getFieldName(), full.get(field.getFieldName()));
+            }
+        }
+        return gson.toJson(projected);
+    }
+
+    @Test
+    public void testSummariesOfProjectedReleasesEqualSummariesOfFullReleases() {
+        givenVendor();
+        for (SummaryType type : new SummaryType[] { SummaryType.SHORT, SummaryType.SUMMARY, SummaryType.EXPORT_SUMMARY }) {
+            String fullJson = gson.toJson(createRelease(1), Release.class);
+            Release full = gson.fromJson(fullJson, Release.class);
+            Release projected = gson.fromJson(project(fullJson, type), Release.class);
+
+            List<Release> expected = releaseSummary.makeSummary(type, Collections.singletonList(full));
+            List<Release> actual = releaseSummary.makeSummary(type, Collections.singletonList(projected));
+
+            assertThat(actual, is(expected));
+            assertThat(actual.get(0).getVendor().getShortname(), is("Vendor"));
+        }
+    }
+
+    @Test
+    public void testSummaryTypesWithoutProjectionNeedFullDocuments() {
+        assertThat(releaseSummary.getProjectedFields(SummaryType.DETAILED_EXPORT_SUMMARY).isEmpty(), is(true));
+        assertThat(releaseSummary.getProjectedFields(SummaryType.SHORT), not(releaseSummary.getProjectedFields(SummaryType.SUMMARY)));
+    }
+
+    @Test
+    public void testProjectionMapEmitsOnlyTheSummaryFields() {
+        Set<Release._Fields> fields = releaseSummary.getProjectedFields(SummaryType.SHORT);
+        String map = DatabaseRepositoryCloudantClient.createProjectionMap("release", fields);
+
+        assertThat(map, containsString("doc.type == 'release'"));
+        assertThat(map, containsString("emit(doc._id, { '_id': doc._id, '_rev': doc._rev"));
+        assertThat(map, containsString("'vendorId': doc.vendorId"));
+        assertThat(map, containsString("'externalToolProcesses': doc.externalToolProcesses"));
+        assertThat(map, not(containsString("'revision'")));
+        assertThat(map, not(containsString("doc.attachments")));
+    }
+
+    @Test
+    public void testProjectedAgainstFullReadBenchmark() {
+        givenVendor();
+        List<String> fullJsons = new ArrayList<>(RELEASES);
+        for (int i = 0; i < RELEASES; i++) {
+            fullJsons.add(gson.toJson(createRelease(i), Release.class));
+        }
+
+        for (SummaryType type : new SummaryType[] { SummaryType.SHORT, SummaryType.SUMMARY }) {
+            List<String> projectedJsons = new ArrayList<>(RELEASES);
+            for (String fullJson : fullJsons) {
+                projectedJsons.add(project(fullJson, type));
+            }
+            // warm up both code paths
+            readSummaries(fullJsons, type);
+            readSummaries(projectedJsons, type);
+
+            long start = System.nanoTime();
+            List<Release> fromFull = readSummaries(fullJsons, type);
+            long fullMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            List<Release> fromProjected = readSummaries(projectedJsons, type);
+            long projectedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertThat(fromProjected, is(fromFull));
+            log.info(String.format("%s summaries of %d releases: full documents are %d KB and took %d ms, projected documents are %d KB and took %d ms",
+                    type, RELEASES, kiloBytes(fullJsons), fullMillis, kiloBytes(projectedJsons), projectedMillis));
+        }
+    }
+
+    private List<Release> readSummaries(List<String> jsons, SummaryType type) {
+        List<Release> releases = new ArrayList<>(jsons.size());
+        for (String json : jsons) {
+            releases.add(gson.fromJson(json, Release.class));
+        }
+        return releaseSummary.makeSummary(type, releases);
+    }
+
+    private static long kiloBytes(List<String> jsons) {
+        return jsons.stream().mapToLong(json -> json.getBytes(StandardCharsets.UTF_8).length).sum() / 1024;
+    }
+}
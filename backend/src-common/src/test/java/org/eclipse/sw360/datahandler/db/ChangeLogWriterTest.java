@@ -0,0 +1,119 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.eclipse.sw360.datahandler.TestUtils;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
+import org.eclipse.sw360.datahandler.common.DatabaseSettingsTest;
+import org.eclipse.sw360.datahandler.thrift.changelogs.ChangeLogs;
+import org.eclipse.sw360.datahandler.thrift.changelogs.Operation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
+import static org.junit.Assert.assertEquals;
+
+public class ChangeLogWriterTest {
+
+    private static final String dbName = DatabaseSettingsTest.COUCH_DB_DATABASE;
+
+    private ChangeLogsRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        assertTestString(dbName);
+        TestUtils.createDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+        repository = new ChangeLogsRepository(new DatabaseConnectorCloudant(DatabaseSettingsTest.getConfiguredClient(), dbName));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtils.deleteDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+    }
+
+    @Test
+    public void testReferencesAreLinkedToTheirParent() throws Exception {
+        ChangeLogWriter writer = new ChangeLogWriter(100, 2, 10, ChangeLogWriter.OverflowPolicy.BLOCK, null);
+        List<ChangeLogs> parents = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ChangeLogs parent = createChangeLog("document" + i);
+            List<ChangeLogs> references = new ArrayList<>();
+            references.add(createChangeLog(null));
+            references.add(createChangeLog(null));
+            parents.add(parent);
+            writer.submit(() -> new ChangeLogWriter.PendingChangeLog(repository, parent, references));
+        }
+        writer.shutdown(30, TimeUnit.SECONDS);
+
+        ChangeLogWriter.Statistics statistics = writer.getStatistics();
+        assertEquals(0, statistics.getQueueDepth());
+        assertEquals(75, statistics.getWritten());
+        assertEquals(0, statistics.getFailed());
+        for (ChangeLogs parent : parents) {
+            assertEquals(2, repository.getChangeLogsByDocId(parent.getId()).size());
+        }
+    }
+
+    @Test
+    public void testDropWhenQueueIsFull() throws Exception {
+        ChangeLogWriter writer = new ChangeLogWriter(1, 1, 1, ChangeLogWriter.OverflowPolicy.DROP, null);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        started.await(10, TimeUnit.SECONDS);
+
+        writer.submit(() -> null);
+        writer.submit(() -> null);
+        assertEquals(1, writer.getStatistics().getQueueDepth());
+        assertEquals(1, writer.getStatistics().getDropped());
+
+        release.countDown();
+        writer.shutdown(30, TimeUnit.SECONDS);
+        assertEquals(0, writer.getStatistics().getQueueDepth());
+    }
+
+    @Test
+    public void testRejectedChangeLogsAreCountedAsFailed() throws Exception {
+        ChangeLogs existing = createChangeLog("existing");
+        repository.add(existing);
+
+        ChangeLogWriter writer = new ChangeLogWriter(100, 1, 10, ChangeLogWriter.OverflowPolicy.BLOCK, null);
+        // a parent reusing the id of a stored change log without its revision is rejected with a conflict
+        ChangeLogs rejected = createChangeLog("document0").setId(existing.getId());
+        List<ChangeLogs> rejectedReferences = new ArrayList<>();
+        rejectedReferences.add(createChangeLog(null));
+        ChangeLogs accepted = createChangeLog("document1");
+        List<ChangeLogs> acceptedReferences = new ArrayList<>();
+        acceptedReferences.add(createChangeLog(null));
+        writer.submit(() -> new ChangeLogWriter.PendingChangeLog(repository, rejected, rejectedReferences));
+        writer.submit(() -> new ChangeLogWriter.PendingChangeLog(repository, accepted, acceptedReferences));
+        writer.shutdown(30, TimeUnit.SECONDS);
+
+        ChangeLogWriter.Statistics statistics = writer.getStatistics();
+        assertEquals(2, statistics.getWritten());
+        assertEquals(2, statistics.getFailed());
+        assertEquals(1, repository.getChangeLogsByDocId(accepted.getId()).size());
+    }
+
+    private static ChangeLogs createChangeLog(String documentId) {
+        return new ChangeLogs().setDocumentId(documentId).setDocumentType("project").setDbName(dbName)
+                .setOperation(Operation.UPDATE).setUserEdited("user@sw360.org").setChangeTimestamp("2023-01-01");
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseChanges;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectGraphIndexTest {
+
+    @Mock
+    private ProjectRepository repository;
+
+    @Mock
+    private DatabaseConnectorCloudant db;
+
+    private Map<String, ProjectGraphIndex.Linkage> linkages;
+
+    @Before
+    public void setUp() {
+        linkages = new HashMap<>();
+        linkages.put("P1", linkage(ImmutableList.of("P2", "P3"), ImmutableList.of("R1")));
+        linkages.put("P2", linkage(ImmutableList.of("P1", "P4"), ImmutableList.of("R2")));
+        linkages.put("P3", linkage(Collections.emptyList(), ImmutableList.of("R2", "R3")));
+        linkages.put("P4", linkage(Collections.emptyList(), ImmutableList.of("R4")));
+        when(db.getUpdateSequence()).thenReturn("1");
+        when(repository.getProjectLinkages(null)).thenReturn(linkages);
+    }
+
+    private static ProjectGraphIndex.Linkage linkage(List<String> linkedProjectIds, List<String> releaseIds) {
+        return new ProjectGraphIndex.Linkage(linkedProjectIds, releaseIds);
+    }
+
+    @Test
+    public void testReleasesOfTreeAreCollectedFromTheGraph() {
+        ProjectGraphIndex index = new ProjectGraphIndex(repository, db);
+
+        assertEquals(ImmutableSet.of("R0", "R2", "R3", "R4"),
+                index.getReleaseIdsOfProjectTree("P1", ImmutableSet.of("P2", "P3"), ImmutableSet.of("R0")));
+        assertEquals(ImmutableSet.of("R4"),
+                index.getReleaseIdsOfProjectTree("P5", ImmutableSet.of("P4", "unknown"), Collections.emptySet()));
+
+        verify(repository, times(1)).getProjectLinkages(any());
+        verify(db, never()).getChangesSince(any(), any(), any());
+    }
+
+    @Test
+    public void testChangesAreApplied() {
+        ProjectGraphIndex index = new ProjectGraphIndex(repository, db, 0);
+        index.getReleaseIdsOfProjectTree("P1", ImmutableSet.of("P2"), Collections.emptySet());
+
+        when(db.getChangesSince("1", Project.class, ProjectRepository.CHANGES_FILTER_VIEW_NAME)).thenReturn(
+                new DatabaseChanges("2", ImmutableSet.of("P2"), ImmutableSet.of("P4")));
+        when(repository.getProjectLinkages(ImmutableSet.of("P2"))).thenReturn(
+                ImmutableMap.of("P2", linkage(ImmutableList.of("P3", "P4"), ImmutableList.of("R5"))));
+
+        assertEquals(ImmutableSet.of("R2", "R3", "R5"),
+                index.getReleaseIdsOfProjectTree("P1", ImmutableSet.of("P2"), Collections.emptySet()));
+        verify(db).getChangesSince("1");
+    }
+}
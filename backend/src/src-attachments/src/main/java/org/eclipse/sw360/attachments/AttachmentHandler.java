@@ -247,4 +247,9 @@ public class AttachmentHandler implements AttachmentService.Iface {
     public RequestStatus deleteOldAttachmentFromFileSystem() throws TException {
         return handler.deleteOldAttachmentFromFileSystem();
     }
+
+    @Override
+    public RequestSummary deleteAbandonedUploads() throws TException {
+        return handler.deleteAbandonedUploads();
+    }
 }
@@ -339,6 +339,18 @@ public class ComponentHandler implements ComponentService.Iface {
         return handler.addRelease(release, user);
     }
 
+    @Override
+    public List<AddDocumentRequestSummary> addReleases(List<Release> releases, User user) throws TException {
+        assertNotNull(releases);
+        for (Release release : releases) {
+            assertNotNull(release);
+            assertIdUnset(release.getId());
+        }
+        assertUser(user);
+
+        return handler.addReleases(releases, user);
+    }
+
     ///////////////////////////////
     // UPDATE INDIVIDUAL OBJECTS //
     ///////////////////////////////
@@ -647,6 +659,14 @@ public class ComponentHandler implements ComponentService.Iface {
         return handler.getAllReleases();
     }
 
+    @Override
+    public Map<PaginationData, List<Release>> getAllReleasesForUserWithPagination(User user, PaginationData pageData)
+            throws TException {
+        assertUser(user);
+        assertNotNull(pageData);
+        return handler.getAllReleasesWithPagination(pageData);
+    }
+
     @Override
     public Map<PaginationData, List<Component>> getRecentComponentsSummaryWithPagination(User user,
             PaginationData pageData) throws TException {
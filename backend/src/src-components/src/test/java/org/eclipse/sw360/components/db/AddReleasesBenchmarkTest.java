@@ -0,0 +1,126 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.components.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.TestUtils;
+import org.eclipse.sw360.datahandler.common.DatabaseSettingsTest;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.eclipse.sw360.datahandler.db.ComponentDatabaseHandler;
+import org.eclipse.sw360.datahandler.entitlement.ComponentModerator;
+import org.eclipse.sw360.datahandler.entitlement.ProjectModerator;
+import org.eclipse.sw360.datahandler.entitlement.ReleaseModerator;
+import org.eclipse.sw360.datahandler.thrift.AddDocumentRequestStatus;
+import org.eclipse.sw360.datahandler.thrift.AddDocumentRequestSummary;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Compares the throughput of adding releases one by one with adding them in one batch, like a BOM import does
+ */
+@Ignore("Benchmark, takes long and is meant to be run manually")
+@RunWith(MockitoJUnitRunner.class)
+public class AddReleasesBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(AddReleasesBenchmarkTest.class);
+
+    private static final String dbName = DatabaseSettingsTest.COUCH_DB_DATABASE;
+    private static final String attachmentsDbName = DatabaseSettingsTest.COUCH_DB_ATTACHMENTS;
+    private static final String changeLogsDbName = DatabaseSettingsTest.COUCH_CHANGELOGS;
+
+    private static final int RELEASES = 10_000;
+    // adding one by one takes a multiple of the time, so only a part is measured
+    private static final int SINGLE_RELEASES = RELEASES / 10;
+    private static final int COMPONENTS = 100;
+
+    private static final User user = new User().setEmail("admin@sw360.org").setDepartment("AB CD EF").setId("1");
+
+    @Mock
+    private ComponentModerator moderator;
+    @Mock
+    private ReleaseModerator releaseModerator;
+    @Mock
+    private ProjectModerator projectModerator;
+
+    private ComponentDatabaseHandler handler;
+
+    @Before
+    public void setUp() throws Exception {
+        assertTestString(dbName);
+        assertTestString(attachmentsDbName);
+
+        TestUtils.createDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+        DatabaseConnector databaseConnector = new DatabaseConnector(DatabaseSettingsTest.getConfiguredHttpClient(), dbName);
+        databaseConnector.add(new Vendor().setId("V1").setShortname("Apache").setFullname("The Apache Software Foundation"));
+        for (int i = 0; i < COMPONENTS; i++) {
+            databaseConnector.add(new Component().setId("C" + i).setName("component" + i).setCreatedBy(user.getEmail()));
+        }
+
+        handler = new ComponentDatabaseHandler(DatabaseSettingsTest.getConfiguredClient(), dbName, changeLogsDbName,
+                attachmentsDbName, moderator, releaseModerator, projectModerator);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtils.deleteDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+    }
+
+    private static List<Release> createReleases(String version, int count) {
+        List<Release> releases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            releases.add(new Release().setName("component" + (i % COMPONENTS)).setVersion(version + "." + i)
+                    .setComponentId("C" + (i % COMPONENTS)).setVendorId("V1"));
+        }
+        return releases;
+    }
+
+    @Test
+    public void testAddReleasesAgainstAddReleaseBenchmark() throws Exception {
+        List<Release> singleReleases = createReleases("1", SINGLE_RELEASES);
+        long start = System.nanoTime();
+        for (Release release : singleReleases) {
+            assertThat(handler.addRelease(release, user).getRequestStatus(), is(AddDocumentRequestStatus.SUCCESS));
+        }
+        long singleMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        List<Release> batchReleases = createReleases("2", RELEASES);
+        start = System.nanoTime();
+        List<AddDocumentRequestSummary> summaries = handler.addReleases(batchReleases, user);
+        long batchMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        assertThat(summaries, hasSize(RELEASES));
+        assertThat(summaries, everyItem(hasProperty("requestStatus", is(AddDocumentRequestStatus.SUCCESS))));
+        assertThat(handler.getComponent("C0", user).getReleaseIdsSize(), is((SINGLE_RELEASES + RELEASES) / COMPONENTS));
+
+        log.info(String.format("addRelease: %d releases in %d ms (%d releases/s), addReleases: %d releases in %d ms (%d releases/s)",
+                SINGLE_RELEASES, singleMillis, SINGLE_RELEASES * 1000L / singleMillis,
+                RELEASES, batchMillis, RELEASES * 1000L / batchMillis));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.components.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.TestUtils;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
+import org.eclipse.sw360.datahandler.common.DatabaseSettingsTest;
+import org.eclipse.sw360.datahandler.db.AttachmentDatabaseHandler;
+import org.eclipse.sw360.datahandler.db.ComponentDatabaseHandler;
+import org.eclipse.sw360.datahandler.db.ProjectDatabaseHandler;
+import org.eclipse.sw360.datahandler.entitlement.ProjectModerator;
+import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.ProjectReleaseRelationship;
+import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.ComponentType;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.projects.ProjectProjectRelationship;
+import org.eclipse.sw360.datahandler.thrift.projects.ProjectRelationship;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Measures building the clearing status list of a project hierarchy with 10 levels of linked projects and 5,000
+ * releases, which are linked to each other in chains of 10 releases
+ */
+@Ignore("Benchmark, takes long and is meant to be run manually")
+@RunWith(MockitoJUnitRunner.class)
+public class ClearingStatusListBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(ClearingStatusListBenchmarkTest.class);
+
+    private static final String dbName = DatabaseSettingsTest.COUCH_DB_DATABASE;
+    private static final String attachmentsDbName = DatabaseSettingsTest.COUCH_DB_ATTACHMENTS;
+
+    private static final int LEVELS = 10;
+    private static final int RELEASES = 5_000;
+    private static final int RELEASE_CHAIN_LENGTH = 10;
+    private static final int COMPONENTS = 100;
+
+    private static final User user = new User().setEmail("admin@sw360.org").setDepartment("AB CD EF").setId("1");
+
+    @Mock
+    private ProjectModerator moderator;
+
+    private ProjectDatabaseHandler handler;
+
+    @Before
+    public void setUp() throws Exception {
+        assertTestString(dbName);
+        assertTestString(attachmentsDbName);
+
+        TestUtils.createDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+        DatabaseConnectorCloudant databaseConnector = new DatabaseConnectorCloudant(DatabaseSettingsTest.getConfiguredClient(), dbName);
+
+        List<Component> components = new ArrayList<>();
+        for (int i = 0; i < COMPONENTS; i++) {
+            components.add(new Component().setId("C" + i).setName("component" + i)
+                    .setComponentType(ComponentType.OSS).setCreatedBy(user.getEmail()));
+        }
+        databaseConnector.executeBulk(components);
+
+        int releasesPerLevel = RELEASES / LEVELS;
+        List<Release> releases = new ArrayList<>();
+        List<Project> projects = new ArrayList<>();
+        for (int level = 0; level < LEVELS; level++) {
+            Project project = new Project().setId("P" + level).setName("project" + level).setCreatedBy(user.getEmail())
+                    .setBusinessUnit(user.getDepartment());
+            if (level + 1 < LEVELS) {
+                project.putToLinkedProjects("P" + (level + 1), new ProjectProjectRelationship(ProjectRelationship.CONTAINED));
+            }
+            for (int i = 0; i < releasesPerLevel; i++) {
+                String releaseId = "R" + level + "_" + i;
+                Release release = new Release().setId(releaseId).setName("component" + (i % COMPONENTS))
+                        .setVersion(level + "." + i).setComponentId("C" + (i % COMPONENTS)).setCreatedBy(user.getEmail());
+                if (i % RELEASE_CHAIN_LENGTH == 0) {
+                    project.putToReleaseIdToUsage(releaseId,
+                            new ProjectReleaseRelationship(ReleaseRelationship.CONTAINED, MainlineState.OPEN));
+                }
+                if ((i + 1) % RELEASE_CHAIN_LENGTH != 0) {
+                    release.putToReleaseIdToRelationship("R" + level + "_" + (i + 1), ReleaseRelationship.DYNAMICALLY_LINKED);
+                }
+                releases.add(release);
+            }
+            projects.add(project);
+        }
+        databaseConnector.executeBulk(releases);
+        databaseConnector.executeBulk(projects);
+
+        ComponentDatabaseHandler componentHandler = new ComponentDatabaseHandler(DatabaseSettingsTest.getConfiguredClient(), dbName, attachmentsDbName);
+        AttachmentDatabaseHandler attachmentDatabaseHandler = new AttachmentDatabaseHandler(DatabaseSettingsTest.getConfiguredClient(), dbName, attachmentsDbName);
+        handler = new ProjectDatabaseHandler(DatabaseSettingsTest.getConfiguredClient(), dbName, attachmentsDbName, moderator, componentHandler, attachmentDatabaseHandler);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtils.deleteDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+    }
+
+    @Test
+    public void testClearingStatusListOfDeepHierarchyBenchmark() throws Exception {
+        long start = System.nanoTime();
+        List<Map<String, String>> rows = handler.getClearingStateInformationForListView("P0", user, false);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        List<Map<String, String>> maskedRows = handler.getClearingStateInformationForListView("P0", user, true);
+        long maskedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // the root project itself has no row
+        assertThat(rows, hasSize(LEVELS - 1 + RELEASES));
+        assertThat(maskedRows, hasSize(LEVELS - 1 + RELEASES));
+        Map<String, String> deepestRelease = rows.stream()
+                .filter(row -> row.get("id").equals("R" + (LEVELS - 1) + "_" + (RELEASE_CHAIN_LENGTH - 1)))
+                .findFirst().get();
+        assertThat(deepestRelease.get("type"), is("OSS"));
+        assertThat(deepestRelease.get("releaseOrigin").split(" -> ").length, is(RELEASE_CHAIN_LENGTH - 1));
+        assertThat(deepestRelease.get("projectOrigin").split(" -> ").length, is(LEVELS));
+
+        log.info(String.format("clearing status list of %d rows over %d levels: %d ms, with masked links: %d ms",
+                rows.size(), LEVELS, millis, maskedMillis));
+    }
+}
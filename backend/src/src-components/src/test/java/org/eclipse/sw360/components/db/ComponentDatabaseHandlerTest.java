@@ -35,6 +35,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
 import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptyMap;
@@ -617,6 +618,38 @@ public class ComponentDatabaseHandlerTest {
     }
 
 
+    @Test
+    public void testAddReleases() throws Exception {
+        List<Release> newReleases = Arrays.asList(
+                new Release().setName("REL").setVersion("1").setComponentId("C1").setMainLicenseIds(ImmutableSet.of("lic4")),
+                new Release().setName("component1").setVersion("releaseA").setComponentId("C1"),
+                new Release().setName("REL").setVersion("2").setComponentId("C3").setVendorId("V1"),
+                new Release().setName("REL").setVersion("1").setComponentId("C1"),
+                new Release().setName("REL").setVersion("").setComponentId("C1"),
+                new Release().setName("REL").setVersion("3").setComponentId("unknown"),
+                new Release().setName("REL").setVersion("4").setComponentId("C1"));
+
+        List<AddDocumentRequestSummary> summaries = handler.addReleases(newReleases, user1);
+
+        assertThat(summaries.stream().map(AddDocumentRequestSummary::getRequestStatus).collect(Collectors.toList()), contains(
+                AddDocumentRequestStatus.SUCCESS, AddDocumentRequestStatus.DUPLICATE, AddDocumentRequestStatus.SUCCESS,
+                AddDocumentRequestStatus.DUPLICATE, AddDocumentRequestStatus.NAMINGERROR,
+                AddDocumentRequestStatus.INVALID_INPUT, AddDocumentRequestStatus.SUCCESS));
+        assertThat(summaries.get(1).getId(), is("R1A"));
+        assertThat(summaries.get(3).getId(), is(summaries.get(0).getId()));
+
+        Release added = handler.getRelease(summaries.get(0).getId(), user1);
+        assertThat(added.getCreatedBy(), is(email1));
+        assertThat(added.getClearingState(), is(ClearingState.NEW_CLEARING));
+
+        Component component1 = handler.getComponent("C1", user1);
+        assertThat(component1.getReleaseIds(), containsInAnyOrder("R1A", "R1B", summaries.get(0).getId(), summaries.get(6).getId()));
+        assertThat(component1.getMainLicenseIds(), hasItem("lic4"));
+        Component component3 = handler.getComponent("C3", user1);
+        assertThat(component3.getReleaseIds(), contains(summaries.get(2).getId()));
+        assertThat(component3.getVendorNames(), contains("Microsoft"));
+    }
+
     @Test
     public void testAddReleaseUpdatesMainLicenseIds() throws Exception {
         String componentId = "C4";
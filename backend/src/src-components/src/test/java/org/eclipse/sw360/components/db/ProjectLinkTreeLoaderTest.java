@@ -0,0 +1,167 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.sw360.components.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.TestUtils;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
+import org.eclipse.sw360.datahandler.common.DatabaseSettingsTest;
+import org.eclipse.sw360.datahandler.db.AttachmentDatabaseHandler;
+import org.eclipse.sw360.datahandler.db.ComponentDatabaseHandler;
+import org.eclipse.sw360.datahandler.db.ProjectDatabaseHandler;
+import org.eclipse.sw360.datahandler.db.ProjectLinkTreeLoader;
+import org.eclipse.sw360.datahandler.entitlement.ProjectModerator;
+import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.ProjectReleaseRelationship;
+import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
+import org.eclipse.sw360.datahandler.thrift.Visibility;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.ComponentType;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.projects.ProjectLink;
+import org.eclipse.sw360.datahandler.thrift.projects.ProjectProjectRelationship;
+import org.eclipse.sw360.datahandler.thrift.projects.ProjectRelationship;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.*;
+
+import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmarks the number of database round trips needed to build a linked project tree.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectLinkTreeLoaderTest {
+
+    private static final Logger log = LogManager.getLogger(ProjectLinkTreeLoaderTest.class);
+
+    private static final String dbName = DatabaseSettingsTest.COUCH_DB_DATABASE;
+    private static final String attachmentsDbName = DatabaseSettingsTest.COUCH_DB_ATTACHMENTS;
+
+    private static final int TREE_DEPTH = 4;
+    private static final int CHILDREN_PER_PROJECT = 3;
+    private static final int RELEASES_PER_PROJECT = 5;
+
+    private DatabaseConnectorCloudant databaseConnector;
+    private ProjectDatabaseHandler handler;
+    private int projectCount = 0;
+    private int releaseCount = 0;
+
+    @Mock
+    private ProjectModerator moderator;
+
+    @Mock
+    private User user;
+
+    @Before
+    public void setUp() throws Exception {
+        assertTestString(dbName);
+        assertTestString(attachmentsDbName);
+
+        TestUtils.createDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+        databaseConnector = new DatabaseConnectorCloudant(DatabaseSettingsTest.getConfiguredClient(), dbName);
+
+        List<Object> documents = new ArrayList<>();
+        documents.add(new Vendor().setId("V1").setShortname("vendor").setFullname("vendor").setUrl("http://vendor.example.com"));
+        documents.add(new Component().setId("C1").setName("component").setComponentType(ComponentType.OSS));
+        createProject("P", 1, documents);
+        databaseConnector.executeBulk(documents);
+
+        ComponentDatabaseHandler componentHandler = new ComponentDatabaseHandler(DatabaseSettingsTest.getConfiguredClient(), dbName, attachmentsDbName);
+        AttachmentDatabaseHandler attachmentDatabaseHandler = new AttachmentDatabaseHandler(DatabaseSettingsTest.getConfiguredClient(), dbName, attachmentsDbName);
+        handler = new ProjectDatabaseHandler(DatabaseSettingsTest.getConfiguredClient(), dbName, attachmentsDbName, moderator, componentHandler, attachmentDatabaseHandler);
+    }
+
+    private void createProject(String id, int level, List<Object> documents) {
+        projectCount++;
+        Map<String, ProjectReleaseRelationship> releaseIdToUsage = new HashMap<>();
+        for (int i = 0; i < RELEASES_PER_PROJECT; i++) {
+            String releaseId = id + "_R" + i;
+            releaseCount++;
+            documents.add(new Release().setId(releaseId).setComponentId("C1").setName("component").setVersion(releaseId).setVendorId("V1"));
+            releaseIdToUsage.put(releaseId, new ProjectReleaseRelationship(ReleaseRelationship.CONTAINED, MainlineState.MAINLINE));
+        }
+        Map<String, ProjectProjectRelationship> linkedProjects = new HashMap<>();
+        if (level < TREE_DEPTH) {
+            for (int i = 0; i < CHILDREN_PER_PROJECT; i++) {
+                String childId = id + "." + i;
+                createProject(childId, level + 1, documents);
+                linkedProjects.put(childId, new ProjectProjectRelationship(ProjectRelationship.CONTAINED));
+            }
+        }
+        documents.add(new Project().setId(id).setName("project " + id).setVisbility(Visibility.EVERYONE)
+                .setLinkedProjects(linkedProjects).setReleaseIdToUsage(releaseIdToUsage));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtils.deleteDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+    }
+
+    @Test
+    public void testRoundTripsDependOnTreeDepthOnly() throws Exception {
+        ProjectLinkTreeLoader loader = new ProjectLinkTreeLoader(databaseConnector);
+        loader.prefetch(Collections.singleton("P"), -1, user);
+
+        // one request per tree level plus one each for releases, vendors and components
+        assertEquals(TREE_DEPTH + 3, loader.getRoundTrips());
+
+        // prefetched documents are served without further requests
+        loader.getProject("P.0.0.0");
+        loader.getRelease("P.0.0.0_R0");
+        assertEquals(TREE_DEPTH + 3, loader.getRoundTrips());
+    }
+
+    @Test
+    public void testGetLinkedProjectsBenchmark() throws Exception {
+        Project project = handler.getProjectById("P", user);
+        ProjectLinkTreeLoader loader = new ProjectLinkTreeLoader(databaseConnector);
+
+        long start = System.nanoTime();
+        List<ProjectLink> linkedProjects = handler.getLinkedProjects(project, true, user, loader);
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(1, linkedProjects.size());
+        assertEquals(projectCount, countProjects(linkedProjects));
+        assertEquals(releaseCount, countReleases(linkedProjects));
+        // building the whole tree must not fall back to single fetches
+        assertEquals(TREE_DEPTH + 3, loader.getRoundTrips());
+        log.info(String.format("Built tree with %d projects and %d releases over %d levels with %d round trips in %d ms",
+                projectCount, releaseCount, TREE_DEPTH, loader.getRoundTrips(), durationMillis));
+    }
+
+    private int countProjects(List<ProjectLink> links) {
+        int count = 0;
+        for (ProjectLink link : links) {
+            count += 1 + countProjects(link.isSetSubprojects() ? link.getSubprojects() : Collections.emptyList());
+        }
+        return count;
+    }
+
+    private int countReleases(List<ProjectLink> links) {
+        int count = 0;
+        for (ProjectLink link : links) {
+            count += link.getLinkedReleasesSize()
+                    + countReleases(link.isSetSubprojects() ? link.getSubprojects() : Collections.emptyList());
+        }
+        return count;
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.sw360.cvesearch.datasink;
 import com.cloudant.client.api.CloudantClient;
 import com.google.common.base.Strings;
 
+import org.eclipse.sw360.cvesearch.entitytranslation.CveSearchDataTranslator;
 import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.db.*;
@@ -153,6 +154,100 @@ public class VulnerabilityConnector {
         return currentVulnerabilityUpdateStatus;
     }
 
+    /**
+     * Adds or updates the vulnerabilities and their relations to releases with one lookup and one bulk request per
+     * document type. A vulnerability found for several releases is only written once.
+     */
+    public VulnerabilityUpdateStatus addOrUpdate(List<CveSearchDataTranslator.VulnerabilityWithRelation> vulnerabilitiesWithRelations,
+                                                 VulnerabilityUpdateStatus currentVulnerabilityUpdateStatus) {
+        if (vulnerabilitiesWithRelations.isEmpty()) {
+            return currentVulnerabilityUpdateStatus;
+        }
+
+        Map<String, Vulnerability> vulnerabilities = new LinkedHashMap<>();
+        for (CveSearchDataTranslator.VulnerabilityWithRelation vulnerabilityWithRelation : vulnerabilitiesWithRelations) {
+            vulnerabilities.merge(vulnerabilityWithRelation.vulnerability.getExternalId(), vulnerabilityWithRelation.vulnerability,
+                    (known, other) -> Strings.nullToEmpty(other.getLastExternalUpdate()).compareTo(Strings.nullToEmpty(known.getLastExternalUpdate())) > 0 ? other : known);
+        }
+
+        Map<String, Vulnerability> dbVulnerabilities = new HashMap<>();
+        for (Vulnerability dbVulnerability : vulnerabilityDatabaseHandler.getByExternalIds(vulnerabilities.keySet())) {
+            dbVulnerabilities.putIfAbsent(dbVulnerability.getExternalId(), dbVulnerability);
+        }
+
+        Map<String, UpdateType> updateTypes = new HashMap<>();
+        Map<String, Vulnerability> storedVulnerabilities = new HashMap<>();
+        List<Vulnerability> vulnerabilitiesToWrite = new ArrayList<>();
+        for (Map.Entry<String, Vulnerability> entry : vulnerabilities.entrySet()) {
+            Vulnerability vulnerability = entry.getValue();
+            Vulnerability dbVulnerability = dbVulnerabilities.get(entry.getKey());
+            if (dbVulnerability == null) {
+                updateTypes.put(entry.getKey(), UpdateType.NEW);
+                vulnerabilitiesToWrite.add(vulnerability);
+                storedVulnerabilities.put(entry.getKey(), vulnerability);
+            } else if (isMoreRecent(vulnerability, dbVulnerability)) {
+                updateTypes.put(entry.getKey(), UpdateType.UPDATED);
+                dbVulnerability = VulnerabilityMapper.updateFromVulnerability(dbVulnerability, vulnerability);
+                vulnerabilitiesToWrite.add(dbVulnerability);
+                storedVulnerabilities.put(entry.getKey(), dbVulnerability);
+            } else {
+                updateTypes.put(entry.getKey(), UpdateType.OLD);
+                storedVulnerabilities.put(entry.getKey(), dbVulnerability);
+            }
+        }
+        for (Vulnerability failed : vulnerabilityDatabaseHandler.addOrUpdateInBulk(Vulnerability.class, vulnerabilitiesToWrite)) {
+            updateTypes.put(failed.getExternalId(), UpdateType.FAILED);
+        }
+
+        Map<String, ReleaseVulnerabilityRelation> relations = new LinkedHashMap<>();
+        for (CveSearchDataTranslator.VulnerabilityWithRelation vulnerabilityWithRelation : vulnerabilitiesWithRelations) {
+            String externalId = vulnerabilityWithRelation.vulnerability.getExternalId();
+            if (UpdateType.FAILED.equals(updateTypes.get(externalId))) {
+                continue;
+            }
+            ReleaseVulnerabilityRelation relation = vulnerabilityWithRelation.relation;
+            relation.setVulnerabilityId(storedVulnerabilities.get(externalId).getId());
+            relations.merge(getRelationKey(relation), relation, VulnerabilityMapper::updateFromReleaseVulnerabilityRelation);
+        }
+
+        Set<String> releaseIds = new HashSet<>();
+        relations.values().forEach(relation -> releaseIds.add(relation.getReleaseId()));
+        Map<String, ReleaseVulnerabilityRelation> dbRelations = new HashMap<>();
+        if (!releaseIds.isEmpty()) {
+            for (ReleaseVulnerabilityRelation dbRelation : vulnerabilityDatabaseHandler.getRelationsByReleaseIds(releaseIds)) {
+                dbRelations.putIfAbsent(getRelationKey(dbRelation), dbRelation);
+            }
+        }
+
+        List<ReleaseVulnerabilityRelation> relationsToWrite = new ArrayList<>();
+        for (Map.Entry<String, ReleaseVulnerabilityRelation> entry : relations.entrySet()) {
+            ReleaseVulnerabilityRelation dbRelation = dbRelations.get(entry.getKey());
+            relationsToWrite.add(dbRelation != null
+                    ? VulnerabilityMapper.updateFromReleaseVulnerabilityRelation(dbRelation, entry.getValue())
+                    : entry.getValue());
+        }
+        Set<String> failedRelations = new HashSet<>();
+        for (ReleaseVulnerabilityRelation failed : vulnerabilityDatabaseHandler.addOrUpdateInBulk(ReleaseVulnerabilityRelation.class, relationsToWrite)) {
+            failedRelations.add(getRelationKey(failed));
+        }
+
+        for (CveSearchDataTranslator.VulnerabilityWithRelation vulnerabilityWithRelation : vulnerabilitiesWithRelations) {
+            String externalId = vulnerabilityWithRelation.vulnerability.getExternalId();
+            UpdateType updateType = updateTypes.get(externalId);
+            if (failedRelations.contains(getRelationKey(vulnerabilityWithRelation.relation))) {
+                updateType = UpdateType.FAILED;
+            }
+            currentVulnerabilityUpdateStatus.getStatusToVulnerabilityIds()
+                    .get(updateType)
+                    .add(externalId);
+        }
+        return currentVulnerabilityUpdateStatus;
+    }
+
+    private static String getRelationKey(ReleaseVulnerabilityRelation relation) {
+        return relation.getReleaseId() + "/" + relation.getVulnerabilityId();
+    }
+
     public Map<UpdateType, List<Vulnerability>> addOrUpdateVulnerabilityAndSetId(
             Vulnerability vulnerability,
             Map<UpdateType, List<Vulnerability>> statusToVulnerabilities){
@@ -18,7 +18,7 @@ import java.util.function.BiConsumer;
 
 import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptySet;
 
-public class CveSearchData {
+public class CveSearchData implements Cloneable {
 
     /**
      * wrapper around entries of the vulnerable configuration list, since
@@ -243,4 +243,15 @@ public class CveSearchData {
     public String getUsedNeedle() {
         return usedNeedle;
     }
+
+    /**
+     * shallow copy, which allows to set the metadata without changing data shared by several searches
+     */
+    public CveSearchData copy() {
+        try {
+            return (CveSearchData) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -17,12 +17,13 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class CveSearchGuesser {
 
     private final CveSearchApi cveSearchApi;
-    private ListMatcher vendorMatcher;
+    private volatile ListMatcher vendorMatcher;
     private Map<String,ListMatcher> productMatchers;
 
     private int vendorThreshold = 0;
@@ -34,7 +35,7 @@ public class CveSearchGuesser {
     public CveSearchGuesser(CveSearchApi cveSearchApi) {
         this.cveSearchApi=cveSearchApi;
         vendorMatcher = null;
-        productMatchers = new HashMap<>();
+        productMatchers = new ConcurrentHashMap<>();
     }
 
     public void setVendorThreshold(int vendorThreshold) {
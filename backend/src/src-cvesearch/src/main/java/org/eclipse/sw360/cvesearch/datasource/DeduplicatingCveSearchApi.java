@@ -0,0 +1,106 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Sends identical requests to the cve-search host only once, e.g. the same CPE needle guessed for many releases.
+ * Concurrent identical requests wait for the first one. Failed requests are not remembered.
+ *
+ * An instance is meant to live for one update run, so that later runs see new vulnerabilities.
+ */
+public class DeduplicatingCveSearchApi implements CveSearchApi {
+
+    private final CveSearchApi cveSearchApi;
+    private final Cache<String, Optional<Object>> results = CacheBuilder.newBuilder().build();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger lookupCount = new AtomicInteger();
+
+    public DeduplicatingCveSearchApi(CveSearchApi cveSearchApi) {
+        this.cveSearchApi = cveSearchApi;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getOrRequest(String key, Callable<T> request) throws IOException {
+        lookupCount.incrementAndGet();
+        try {
+            return (T) results.get(key, () -> {
+                requestCount.incrementAndGet();
+                return Optional.ofNullable(request.call());
+            }).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // runtime exceptions of the request are wrapped as well, so that they fail the release and not the worker
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static List<CveSearchData> copyAll(List<CveSearchData> cveSearchDatas) {
+        if (cveSearchDatas == null) {
+            return null;
+        }
+        return cveSearchDatas.stream()
+                .map(CveSearchData::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<CveSearchData> search(String vendor, String product) throws IOException {
+        return copyAll(getOrRequest("search:" + vendor + ":" + product, () -> cveSearchApi.search(vendor, product)));
+    }
+
+    @Override
+    public List<CveSearchData> cvefor(String cpe) throws IOException {
+        return copyAll(getOrRequest("cvefor:" + cpe, () -> cveSearchApi.cvefor(cpe)));
+    }
+
+    @Override
+    public CveSearchData cve(String cve) throws IOException {
+        CveSearchData cveSearchData = getOrRequest("cve:" + cve, () -> cveSearchApi.cve(cve));
+        return cveSearchData == null ? null : cveSearchData.copy();
+    }
+
+    @Override
+    public List<String> allVendorNames() throws IOException {
+        return getOrRequest("browse", cveSearchApi::allVendorNames);
+    }
+
+    @Override
+    public List<String> allProductsOfVendor(String vendorName) throws IOException {
+        return getOrRequest("browse:" + vendorName, () -> cveSearchApi.allProductsOfVendor(vendorName));
+    }
+
+    /**
+     * @return number of requests sent to the cve-search host
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return number of requests answered without asking the cve-search host
+     */
+    public int getDeduplicatedCount() {
+        return Math.max(0, lookupCount.get() - requestCount.get());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Limits the requests to the cve-search host to a number of requests per second, which is shared by all threads
+ * using this instance. A rate of zero or less disables the limit.
+ */
+public class RateLimitedCveSearchApi implements CveSearchApi {
+
+    private final CveSearchApi cveSearchApi;
+    private final RateLimiter rateLimiter;
+
+    public RateLimitedCveSearchApi(CveSearchApi cveSearchApi, double requestsPerSecond) {
+        this.cveSearchApi = cveSearchApi;
+        this.rateLimiter = requestsPerSecond > 0 ? RateLimiter.create(requestsPerSecond) : null;
+    }
+
+    private void acquire() {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+    }
+
+    @Override
+    public List<CveSearchData> search(String vendor, String product) throws IOException {
+        acquire();
+        return cveSearchApi.search(vendor, product);
+    }
+
+    @Override
+    public List<CveSearchData> cvefor(String cpe) throws IOException {
+        acquire();
+        return cveSearchApi.cvefor(cpe);
+    }
+
+    @Override
+    public CveSearchData cve(String cve) throws IOException {
+        acquire();
+        return cveSearchApi.cve(cve);
+    }
+
+    @Override
+    public List<String> allVendorNames() throws IOException {
+        acquire();
+        return cveSearchApi.allVendorNames();
+    }
+
+    @Override
+    public List<String> allProductsOfVendor(String vendorName) throws IOException {
+        acquire();
+        return cveSearchApi.allProductsOfVendor(vendorName);
+    }
+}
@@ -12,9 +12,12 @@
 package org.eclipse.sw360.cvesearch.service;
 
 import org.eclipse.sw360.cvesearch.datasink.VulnerabilityConnector;
+import org.eclipse.sw360.cvesearch.datasource.CveSearchApi;
 import org.eclipse.sw360.cvesearch.datasource.CveSearchApiImpl;
 import org.eclipse.sw360.cvesearch.datasource.CveSearchData;
 import org.eclipse.sw360.cvesearch.datasource.CveSearchWrapper;
+import org.eclipse.sw360.cvesearch.datasource.DeduplicatingCveSearchApi;
+import org.eclipse.sw360.cvesearch.datasource.RateLimitedCveSearchApi;
 import org.eclipse.sw360.cvesearch.entitytranslation.CveSearchDataTranslator;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
@@ -22,6 +25,7 @@ import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.CveSearchService;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.UpdateType;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateProgress;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateStatus;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.apache.logging.log4j.LogManager;
@@ -30,6 +34,13 @@ import org.apache.thrift.TException;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils.*;
@@ -39,8 +50,15 @@ public class CveSearchHandler implements CveSearchService.Iface {
     private static final Logger log = LogManager.getLogger(CveSearchHandler.class);
 
     public static final String CVESEARCH_HOST_PROPERTY = "cvesearch.host";
+    public static final String CVESEARCH_UPDATE_THREADS_PROPERTY = "cvesearch.update.threads";
+    public static final String CVESEARCH_REQUESTS_PER_SECOND_PROPERTY = "cvesearch.requests.per.second";
+    public static final String CVESEARCH_UPDATE_BATCH_SIZE_PROPERTY = "cvesearch.update.batch.size";
     private VulnerabilityConnector vulnerabilityConnector;
+    private CveSearchApi cveSearchApi;
     private CveSearchWrapper cveSearchWrapper;
+    private final int updateThreads;
+    private final int updateBatchSize;
+    private final CveSearchUpdateProgress updateProgress = new CveSearchUpdateProgress();
 
 
     public CveSearchHandler() {
@@ -52,35 +70,39 @@ public class CveSearchHandler implements CveSearchService.Iface {
 
         Properties props = CommonUtils.loadProperties(CveSearchHandler.class, "/cvesearch.properties");
         String host = props.getProperty(CVESEARCH_HOST_PROPERTY, "https://localhost:5000");
+        updateThreads = Math.max(1, Integer.parseInt(props.getProperty(CVESEARCH_UPDATE_THREADS_PROPERTY, "4")));
+        updateBatchSize = Math.max(1, Integer.parseInt(props.getProperty(CVESEARCH_UPDATE_BATCH_SIZE_PROPERTY, "100")));
+        double requestsPerSecond = Double.parseDouble(props.getProperty(CVESEARCH_REQUESTS_PER_SECOND_PROPERTY, "10"));
 
         log.info("Using " + host + " for CVE search...");
 
-        cveSearchWrapper = new CveSearchWrapper(new CveSearchApiImpl(host));
+        cveSearchApi = new RateLimitedCveSearchApi(new CveSearchApiImpl(host), requestsPerSecond);
+        cveSearchWrapper = new CveSearchWrapper(cveSearchApi);
     }
 
-    private VulnerabilityUpdateStatus updateForRelease(Release release) {
+    private Optional<List<CveSearchDataTranslator.VulnerabilityWithRelation>> searchForRelease(CveSearchWrapper cveSearchWrapper, Release release) {
         Optional<List<CveSearchData>> cveSearchDatas = cveSearchWrapper.searchForRelease(release);
         if(!cveSearchDatas.isPresent()) {
-            return new VulnerabilityUpdateStatus().setRequestStatus(RequestStatus.FAILURE);
+            return Optional.empty();
         }
 
         CveSearchDataTranslator cveSearchDataTranslator = new CveSearchDataTranslator();
-        List<CveSearchDataTranslator.VulnerabilityWithRelation> translated = cveSearchDatas.get().stream()
+        return Optional.of(cveSearchDatas.get().stream()
                 .map(cveSearchDataTranslator)
                 .map(vulnerabilityWithRelation -> {
                     vulnerabilityWithRelation.relation.setReleaseId(release.getId());
                     return vulnerabilityWithRelation;
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
 
-        VulnerabilityUpdateStatus updateStatus = getEmptyVulnerabilityUpdateStatus();
-        for (CveSearchDataTranslator.VulnerabilityWithRelation vulnerabilityWithRelation : translated) {
-            updateStatus = vulnerabilityConnector.addOrUpdate(vulnerabilityWithRelation.vulnerability,
-                    vulnerabilityWithRelation.relation,
-                    updateStatus);
+    private VulnerabilityUpdateStatus updateForRelease(Release release) {
+        Optional<List<CveSearchDataTranslator.VulnerabilityWithRelation>> translated = searchForRelease(cveSearchWrapper, release);
+        if(!translated.isPresent()) {
+            return new VulnerabilityUpdateStatus().setRequestStatus(RequestStatus.FAILURE);
         }
 
-        return updateStatus;
+        return vulnerabilityConnector.addOrUpdate(translated.get(), getEmptyVulnerabilityUpdateStatus());
     }
 
     @Override
@@ -118,14 +140,78 @@ public class CveSearchHandler implements CveSearchService.Iface {
             ).orElse(getEmptyVulnerabilityUpdateStatus(RequestStatus.FAILURE));
     }
 
+    /**
+     * Searches for the vulnerabilities of all releases with several threads. Identical requests for different
+     * releases are sent to cve-search once. The results are written in batches of releases with bulk requests.
+     */
     @Override
     public VulnerabilityUpdateStatus fullUpdate() throws TException {
         List<Release> allReleases = vulnerabilityConnector.getAllReleases();
+        DeduplicatingCveSearchApi runCveSearchApi = new DeduplicatingCveSearchApi(cveSearchApi);
+        CveSearchWrapper runCveSearchWrapper = new CveSearchWrapper(runCveSearchApi);
+        updateProgress.start(allReleases.size(), runCveSearchApi);
+
+        ExecutorService executor = Executors.newFixedThreadPool(updateThreads, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "sw360-cvesearch-update-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        CompletionService<Optional<List<CveSearchDataTranslator.VulnerabilityWithRelation>>> searches = new ExecutorCompletionService<>(executor);
+        for (Release release : allReleases) {
+            searches.submit(() -> searchForRelease(runCveSearchWrapper, release));
+        }
+
+        VulnerabilityUpdateStatus updateStatus = getEmptyVulnerabilityUpdateStatus();
+        List<CveSearchDataTranslator.VulnerabilityWithRelation> batch = new ArrayList<>();
+        int releasesInBatch = 0;
+        try {
+            for (int i = 0; i < allReleases.size(); i++) {
+                Optional<List<CveSearchDataTranslator.VulnerabilityWithRelation>> translated = awaitSearch(searches);
+                updateProgress.releaseProcessed(!translated.isPresent());
+                if (!translated.isPresent()) {
+                    updateStatus.setRequestStatus(RequestStatus.FAILURE);
+                    continue;
+                }
+                batch.addAll(translated.get());
+                if (++releasesInBatch >= updateBatchSize) {
+                    writeBatch(batch, updateStatus);
+                    batch = new ArrayList<>();
+                    releasesInBatch = 0;
+                }
+            }
+            writeBatch(batch, updateStatus);
+        } finally {
+            executor.shutdownNow();
+            updateProgress.finish();
+        }
 
-        return allReleases.stream()
-                .map(this::updateForRelease)
-                .reduce(getEmptyVulnerabilityUpdateStatus(),
-                        (r1, r2) -> reduceVulnerabilityUpdateStatus(r1,r2));
+        return updateStatus;
+    }
+
+    private Optional<List<CveSearchDataTranslator.VulnerabilityWithRelation>> awaitSearch(
+            CompletionService<Optional<List<CveSearchDataTranslator.VulnerabilityWithRelation>>> searches) throws TException {
+        try {
+            return searches.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TException("Interrupted while waiting for cve search results", e);
+        } catch (ExecutionException e) {
+            log.error("Was not able to search for vulnerabilities of a release", e.getCause());
+            return Optional.empty();
+        }
+    }
+
+    private void writeBatch(List<CveSearchDataTranslator.VulnerabilityWithRelation> batch, VulnerabilityUpdateStatus updateStatus) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        vulnerabilityConnector.addOrUpdate(batch, updateStatus);
+        updateProgress.vulnerabilitiesWritten(batch.size());
     }
 
     @Override
@@ -140,6 +226,11 @@ public class CveSearchHandler implements CveSearchService.Iface {
         return vulnerabilityUpdateStatus.getRequestStatus();
     }
 
+    @Override
+    public VulnerabilityUpdateProgress getUpdateProgress() {
+        return updateProgress.toThrift();
+    }
+
     @Override
     public Set<String> findCpes(String vendor, String product, String version) throws TException {
         throw new UnsupportedOperationException("Not implemented yet.");
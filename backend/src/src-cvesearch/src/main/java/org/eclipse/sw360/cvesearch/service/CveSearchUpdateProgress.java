@@ -0,0 +1,79 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.service;
+
+import org.eclipse.sw360.cvesearch.datasource.DeduplicatingCveSearchApi;
+import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateProgress;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counters of the running or last full update, read by the schedule service while the update is running
+ */
+public class CveSearchUpdateProgress {
+
+    private volatile boolean running;
+    private volatile int releasesTotal;
+    private final AtomicInteger releasesProcessed = new AtomicInteger();
+    private final AtomicInteger releasesFailed = new AtomicInteger();
+    private final AtomicInteger vulnerabilitiesWritten = new AtomicInteger();
+    private volatile DeduplicatingCveSearchApi cveSearchApi;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    public synchronized void start(int releasesTotal, DeduplicatingCveSearchApi cveSearchApi) {
+        this.releasesTotal = releasesTotal;
+        this.cveSearchApi = cveSearchApi;
+        releasesProcessed.set(0);
+        releasesFailed.set(0);
+        vulnerabilitiesWritten.set(0);
+        startedAt = System.currentTimeMillis();
+        finishedAt = 0;
+        running = true;
+    }
+
+    public void releaseProcessed(boolean failed) {
+        releasesProcessed.incrementAndGet();
+        if (failed) {
+            releasesFailed.incrementAndGet();
+        }
+    }
+
+    public void vulnerabilitiesWritten(int count) {
+        vulnerabilitiesWritten.addAndGet(count);
+    }
+
+    public synchronized void finish() {
+        finishedAt = System.currentTimeMillis();
+        running = false;
+    }
+
+    public synchronized VulnerabilityUpdateProgress toThrift() {
+        VulnerabilityUpdateProgress progress = new VulnerabilityUpdateProgress()
+                .setRequestStatus(RequestStatus.SUCCESS)
+                .setRunning(running)
+                .setReleasesTotal(releasesTotal)
+                .setReleasesProcessed(releasesProcessed.get())
+                .setReleasesFailed(releasesFailed.get())
+                .setVulnerabilitiesWritten(vulnerabilitiesWritten.get())
+                .setStartedAt(startedAt)
+                .setFinishedAt(finishedAt);
+        if (cveSearchApi != null) {
+            progress.setCveSearchRequests(cveSearchApi.getRequestCount())
+                    .setDeduplicatedCveSearchRequests(cveSearchApi.getDeduplicatedCount());
+        }
+        long elapsedMillis = (running ? System.currentTimeMillis() : finishedAt) - startedAt;
+        if (startedAt > 0 && elapsedMillis > 0) {
+            progress.setReleasesPerSecond(releasesProcessed.get() * 1000.0 / elapsedMillis);
+        }
+        return progress;
+    }
+}
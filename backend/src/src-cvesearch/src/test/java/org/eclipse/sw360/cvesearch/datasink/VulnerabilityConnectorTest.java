@@ -10,18 +10,24 @@
  */
 package org.eclipse.sw360.cvesearch.datasink;
 
+import org.eclipse.sw360.cvesearch.entitytranslation.CveSearchDataTranslator;
+import org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils;
 import org.eclipse.sw360.datahandler.common.DatabaseSettingsTest;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.UpdateType;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateStatus;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 import org.eclipse.sw360.vulnerabilities.db.VulnerabilityDatabaseHandler;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.*;
@@ -149,6 +155,41 @@ public class VulnerabilityConnectorTest {
         assertThat(resultMap.get(UpdateType.FAILED), is(Collections.EMPTY_LIST));
     }
 
+    @Test
+    public void testAddOrUpdateWritesVulnerabilitiesOnceInBulk() throws Exception {
+        CveSearchDataTranslator translator = new CveSearchDataTranslator();
+        List<CveSearchDataTranslator.VulnerabilityWithRelation> translated = Arrays.asList(
+                translator.new VulnerabilityWithRelation(new Vulnerability().setExternalId("eid1"), new ReleaseVulnerabilityRelation().setReleaseId("r1")),
+                translator.new VulnerabilityWithRelation(new Vulnerability().setExternalId("eid1"), new ReleaseVulnerabilityRelation().setReleaseId("r2")),
+                translator.new VulnerabilityWithRelation(new Vulnerability().setExternalId("eid2").setLastExternalUpdate("2000-01-01"),
+                        new ReleaseVulnerabilityRelation().setReleaseId("r1")));
+        Vulnerability dbVulnerability = new Vulnerability().setLastExternalUpdate("1999-12-31").setId("idv2").setExternalId("eid2");
+
+        when(vulnerabilityDatabaseHandler.getByExternalIds(anyCollection())).thenReturn(Collections.singletonList(dbVulnerability));
+        when(vulnerabilityDatabaseHandler.addOrUpdateInBulk(eq(Vulnerability.class), anyCollection())).thenAnswer(invocation -> {
+            Collection<Vulnerability> vulnerabilities = invocation.getArgument(1);
+            vulnerabilities.stream().filter(v -> !v.isSetId()).forEach(v -> v.setId("idv1"));
+            return Collections.emptyList();
+        });
+        when(vulnerabilityDatabaseHandler.getRelationsByReleaseIds(anyCollection())).thenReturn(Collections.emptyList());
+        when(vulnerabilityDatabaseHandler.addOrUpdateInBulk(eq(ReleaseVulnerabilityRelation.class), anyCollection())).thenReturn(Collections.emptyList());
+
+        VulnerabilityUpdateStatus status = vulnerabilityConnector.addOrUpdate(translated, VulnerabilityUtils.getEmptyVulnerabilityUpdateStatus());
+
+        ArgumentCaptor<Collection<Vulnerability>> vulnerabilities = ArgumentCaptor.forClass(Collection.class);
+        verify(vulnerabilityDatabaseHandler).addOrUpdateInBulk(eq(Vulnerability.class), vulnerabilities.capture());
+        assertThat(vulnerabilities.getValue().size(), is(2));
+        ArgumentCaptor<Collection<ReleaseVulnerabilityRelation>> relations = ArgumentCaptor.forClass(Collection.class);
+        verify(vulnerabilityDatabaseHandler).addOrUpdateInBulk(eq(ReleaseVulnerabilityRelation.class), relations.capture());
+        assertThat(relations.getValue().size(), is(3));
+        assertThat(relations.getValue().stream().map(ReleaseVulnerabilityRelation::getVulnerabilityId).collect(Collectors.toSet()),
+                is(new HashSet<>(Arrays.asList("idv1", "idv2"))));
+
+        assertThat(status.getStatusToVulnerabilityIds().get(UpdateType.NEW), is(Arrays.asList("eid1", "eid1")));
+        assertThat(status.getStatusToVulnerabilityIds().get(UpdateType.UPDATED), is(Collections.singletonList("eid2")));
+        assertThat(status.getStatusToVulnerabilityIds().get(UpdateType.FAILED), is(Collections.EMPTY_LIST));
+    }
+
     @Test
     public void testIsMoreRecentEmpty() throws Exception {
         Vulnerability v1 = new Vulnerability();
@@ -0,0 +1,89 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DeduplicatingCveSearchApiTest {
+
+    private static final String CPE = "cpe:2.3:a:zyxel:zywall:1050";
+
+    @Mock
+    private CveSearchApi cveSearchApi;
+
+    private DeduplicatingCveSearchApi deduplicatingCveSearchApi;
+
+    @Before
+    public void setUp() {
+        deduplicatingCveSearchApi = new DeduplicatingCveSearchApi(cveSearchApi);
+    }
+
+    @Test
+    public void testIdenticalNeedlesAreRequestedOnce() throws Exception {
+        CveSearchData cveSearchData = new CveSearchData();
+        when(cveSearchApi.cvefor(CPE)).thenReturn(Collections.singletonList(cveSearchData));
+
+        List<CveSearchData> first = deduplicatingCveSearchApi.cvefor(CPE);
+        List<CveSearchData> second = deduplicatingCveSearchApi.cvefor(CPE);
+
+        verify(cveSearchApi, times(1)).cvefor(CPE);
+        assertThat(deduplicatingCveSearchApi.getRequestCount(), is(1));
+        assertThat(deduplicatingCveSearchApi.getDeduplicatedCount(), is(1));
+
+        first.get(0).setMatchedBy("CPE");
+        second.get(0).setMatchedBy("guessed");
+        assertThat(first.get(0), not(sameInstance(second.get(0))));
+        assertThat(first.get(0).getMatchedBy(), is("CPE"));
+    }
+
+    @Test
+    public void testFailedRequestsAreRepeated() throws Exception {
+        when(cveSearchApi.allVendorNames())
+                .thenThrow(new IOException("unreachable"))
+                .thenReturn(Collections.singletonList("zyxel"));
+
+        try {
+            deduplicatingCveSearchApi.allVendorNames();
+            fail("expected IOException not thrown");
+        } catch (IOException ignored) {
+        }
+
+        assertThat(deduplicatingCveSearchApi.allVendorNames(), is(Collections.singletonList("zyxel")));
+        verify(cveSearchApi, times(2)).allVendorNames();
+    }
+
+    @Test
+    public void testRuntimeExceptionsAreReportedAsIOException() throws Exception {
+        when(cveSearchApi.cvefor(CPE)).thenThrow(new IllegalStateException("malformed response"));
+
+        try {
+            deduplicatingCveSearchApi.cvefor(CPE);
+            fail("expected IOException not thrown");
+        } catch (IOException e) {
+            assertThat(e.getCause() instanceof IllegalStateException, is(true));
+        }
+    }
+}
@@ -11,14 +11,13 @@ package org.eclipse.sw360.licenseinfo;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Enums;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
+import org.eclipse.sw360.datahandler.common.ExecutorServiceTracker;
 import org.eclipse.sw360.datahandler.common.SW360Constants;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.common.ThriftEnumUtils;
@@ -27,6 +26,7 @@ import org.eclipse.sw360.datahandler.db.AttachmentDatabaseHandler;
 import org.eclipse.sw360.datahandler.db.ComponentDatabaseHandler;
 import org.eclipse.sw360.datahandler.db.DatabaseHandlerUtil;
 import org.eclipse.sw360.datahandler.db.ProjectDatabaseHandler;
+import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
@@ -37,6 +37,8 @@ import org.eclipse.sw360.datahandler.thrift.projects.ObligationStatusInfo;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.projects.ObligationList;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.licenseinfo.LicenseInfoParseCache.Key;
+import org.eclipse.sw360.licenseinfo.LicenseInfoParseCache.ResultType;
 import org.eclipse.sw360.licenseinfo.outputGenerators.*;
 import org.eclipse.sw360.licenseinfo.parsers.*;
 import org.eclipse.sw360.licenseinfo.util.LicenseNameWithTextUtils;
@@ -45,10 +47,21 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -63,23 +76,36 @@ import static org.eclipse.sw360.datahandler.thrift.licenseinfo.OutputFormatVaria
  */
 public class LicenseInfoHandler implements LicenseInfoService.Iface {
     private static final Logger LOGGER = LogManager.getLogger(LicenseInfoHandler.class);
-    private static final int CACHE_TIMEOUT_MINUTES = 15;
-    private static final int CACHE_MAX_ITEMS = 100;
+    private static final String PROPERTIES_FILE_PATH = "/sw360.properties";
+    private static final long CACHE_TIMEOUT_MINUTES;
+    private static final long CACHE_MAX_WEIGHT_BYTES;
+    private static final String CACHE_DIRECTORY;
+    private static final long CACHE_DISK_TIMEOUT_HOURS;
+    private static final int EXTRACTION_THREADS;
+    private static final String ALL_PARSERS = "*";
+    private static final String CLI_PARSER = CLIParser.class.getSimpleName();
     private static final String DEFAULT_LICENSE_INFO_HEADER_FILE = "/DefaultLicenseInfoHeader.txt";
     private static final String DEFAULT_LICENSE_INFO_TEXT = SW360Utils.dropCommentedLine(LicenseInfoHandler.class, DEFAULT_LICENSE_INFO_HEADER_FILE);
     private static final String DEFAULT_OBLIGATIONS_FILE = "/DefaultObligations.txt";
     private static final String DEFAULT_OBLIGATIONS_TEXT = SW360Utils.dropCommentedLine(LicenseInfoHandler.class, DEFAULT_OBLIGATIONS_FILE);
     private static final String MSG_NO_RELEASE_GIVEN = "No release given";
 
+    static {
+        Properties props = CommonUtils.loadProperties(LicenseInfoHandler.class, PROPERTIES_FILE_PATH);
+        CACHE_TIMEOUT_MINUTES = Long.parseLong(props.getProperty("licenseinfo.cache.timeout.minutes", "15"));
+        CACHE_MAX_WEIGHT_BYTES = Long.parseLong(props.getProperty("licenseinfo.cache.max.size.mb", "64")) * 1024 * 1024;
+        CACHE_DIRECTORY = props.getProperty("licenseinfo.cache.directory", "");
+        CACHE_DISK_TIMEOUT_HOURS = Long.parseLong(props.getProperty("licenseinfo.cache.disk.timeout.hours", "168"));
+        EXTRACTION_THREADS = Integer.parseInt(props.getProperty("licenseinfo.extraction.threads", "4"));
+    }
+
+    private static final ExecutorService EXTRACTION_EXECUTOR = ExecutorServiceTracker.track(createExtractionExecutor());
+
     protected List<LicenseInfoParser> parsers;
     protected List<OutputGenerator<?>> outputGenerators;
     protected ComponentDatabaseHandler componentDatabaseHandler;
     protected ProjectDatabaseHandler projectDatabaseHandler;
-    protected Cache<Object[], List<LicenseInfoParsingResult>> licenseInfoCache;
-    protected Cache<String, LicenseInfoParsingResult> licenseInfoCacheForEvaluation;
-    protected Cache<String, List<ObligationParsingResult>> obligationCache;
-    protected Cache<String, List<ObligationParsingResult>> obligationCacheForEvaluation;
-    protected Cache<String, LicenseInfoParsingResult> licenseObligationMappingCache;
+    protected LicenseInfoParseCache parseCache;
 
     public LicenseInfoHandler() throws MalformedURLException {
         this(new AttachmentDatabaseHandler(DatabaseSettings.getConfiguredClient(), DatabaseSettings.COUCH_DB_DATABASE, DatabaseSettings.COUCH_DB_ATTACHMENTS),
@@ -92,16 +118,8 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                               ComponentDatabaseHandler componentDatabaseHandler, ProjectDatabaseHandler projectDatabaseHandler) throws MalformedURLException {
         this.componentDatabaseHandler = componentDatabaseHandler;
         this.projectDatabaseHandler = projectDatabaseHandler;
-        this.licenseInfoCache = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
-                .maximumSize(CACHE_MAX_ITEMS).build();
-        this.obligationCache = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
-                .maximumSize(CACHE_MAX_ITEMS).build();
-        this.licenseInfoCacheForEvaluation = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
-                .maximumSize(CACHE_MAX_ITEMS).build();
-        this.obligationCacheForEvaluation = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
-                .maximumSize(CACHE_MAX_ITEMS).build();
-        this.licenseObligationMappingCache = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
-                .maximumSize(CACHE_MAX_ITEMS).build();
+        this.parseCache = new LicenseInfoParseCache(CACHE_MAX_WEIGHT_BYTES, CACHE_TIMEOUT_MINUTES,
+                CommonUtils.isNullEmptyOrWhitespace(CACHE_DIRECTORY) ? null : new File(CACHE_DIRECTORY), CACHE_DISK_TIMEOUT_HOURS);
 
         AttachmentContentProvider contentProvider = attachment -> attachmentDatabaseHandler.getAttachmentContent(attachment.getAttachmentContentId());
 
@@ -135,9 +153,10 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
 
         Map<Release, Map<String, Boolean>> releaseToAttachmentId = mapKeysToReleases(releaseIdsToSelectedAttachmentIds,
                 user);
-        Collection<LicenseInfoParsingResult> projectLicenseInfoResults = getAllReleaseLicenseInfos(
-                releaseToAttachmentId, user, excludedLicensesPerAttachment);
-        Collection<ObligationParsingResult> obligationsResults = getAllReleaseObligations(releaseToAttachmentId, user);
+        LicenseAndObligationParsingResult parsingResults = getAllReleaseLicenseInfosAndObligations(releaseToAttachmentId,
+                user, excludedLicensesPerAttachment);
+        Collection<LicenseInfoParsingResult> projectLicenseInfoResults = parsingResults.getLicenseInfos();
+        Collection<ObligationParsingResult> obligationsResults = parsingResults.getObligations();
 
         String[] outputGeneratorClassnameAndVariant = outputGenerator.split("::");
         if (outputGeneratorClassnameAndVariant.length != 2) {
@@ -169,6 +188,12 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                     .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
         }
 
+        if (generator instanceof DocxGenerator) {
+            licenseInfoFile.generatedOutput = generateDocx((DocxGenerator) generator, projectLicenseInfoResults, project,
+                    obligationsResults, user, filteredExtIdMap, obligationsStatusInfoMap, fileName);
+            return licenseInfoFile;
+        }
+
         Object output = generator.generateOutputFile(projectLicenseInfoResults, project, obligationsResults, user,
                 filteredExtIdMap, obligationsStatusInfoMap, fileName);
         if (output instanceof byte[]) {
@@ -182,6 +207,32 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
         return licenseInfoFile;
     }
 
+    /**
+     * Writes the document to a temporary file instead of growing it in memory next to the document model, and reads
+     * it back into one buffer of the exact size once the model is released. The buffer is handed to thrift as it is,
+     * the setters of binary fields would copy it once more.
+     */
+    private ByteBuffer generateDocx(DocxGenerator generator, Collection<LicenseInfoParsingResult> projectLicenseInfoResults,
+            Project project, Collection<ObligationParsingResult> obligationsResults, User user,
+            Map<String, String> externalIds, Map<String, ObligationStatusInfo> obligationsStatus, String fileName)
+            throws TException {
+        File file = null;
+        try {
+            file = File.createTempFile("sw360-licenseinfo-", "." + generator.getOutputType());
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                generator.writeOutputFile(projectLicenseInfoResults, project, obligationsResults, user, externalIds,
+                        obligationsStatus, fileName, out);
+            }
+            return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            throw new SW360Exception("Could not write docx document to a temporary file: " + e.getMessage());
+        } finally {
+            if (file != null && !file.delete()) {
+                LOGGER.warn("Could not delete temporary file " + file);
+            }
+        }
+    }
+
     public Map<String, Map<String, String>> evaluateAttachments(String releaseId, User user) throws TException {
         Release release = componentDatabaseHandler.getRelease(releaseId, user);
         Map<Attachment, LicenseInfoParsingResult> parsedResults = new HashMap<Attachment, LicenseInfoParsingResult>();
@@ -564,17 +615,6 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
             return Collections.singletonList(noSourceParsingResult(MSG_NO_RELEASE_GIVEN));
         }
 
-        if (licenseInfoCache != null) {
-            for (Entry<Object[], List<LicenseInfoParsingResult>> entry : licenseInfoCache.asMap().entrySet()) {
-                Object[] key = entry.getKey();
-                List<LicenseInfoParsingResult> cachedValue = entry.getValue();
-                if (attachmentContentId.equals(key[0].toString()) && includeConcludedLicense == (boolean) key[1]
-                        && cachedValue != null) {
-                    return cachedValue;
-                }
-            }
-        }
-
         Attachment attachment = nullToEmptySet(release.getAttachments()).stream()
                 .filter(a -> a.getAttachmentContentId().equals(attachmentContentId)).findFirst().orElseThrow(() -> {
                     String message = String.format(
@@ -583,6 +623,12 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                     return new IllegalStateException(message);
                 });
 
+        Key cacheKey = new Key(ResultType.LICENSE_INFO, attachmentContentId, attachment.getSha1(), ALL_PARSERS, includeConcludedLicense);
+        List<LicenseInfoParsingResult> cachedResults = parseCache.get(cacheKey);
+        if (cachedResults != null) {
+            return assignReleaseAndComponentToLicenseInfoParsingResults(cachedResults, release, user);
+        }
+
         try {
 
             List<LicenseInfoParser> applicableParsers = parsers.stream()
@@ -607,12 +653,8 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
             })).flatMap(Collection::stream).collect(Collectors.toList());
             filterEmptyLicenses(results);
 
-            results = assignReleaseToLicenseInfoParsingResults(results, release);
-            results = assignComponentToLicenseInfoParsingResults(results, release, user);
-
-            Object[] cacheKey = new Object[] { attachmentContentId, includeConcludedLicense };
-            licenseInfoCache.put(cacheKey, results);
-            return results;
+            parseCache.put(cacheKey, results);
+            return assignReleaseAndComponentToLicenseInfoParsingResults(results, release, user);
         } catch (WrappedTException exception) {
             throw exception.getCause();
         }
@@ -682,11 +724,6 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
     @Override
     public LicenseInfoParsingResult createLicenseToObligationMapping(LicenseInfoParsingResult licenseResult, ObligationParsingResult obligationResult) {
 
-        LicenseInfoParsingResult cachedResults = licenseObligationMappingCache.getIfPresent(licenseResult.getAttachmentContentId());
-        if (cachedResults != null) {
-            return cachedResults;
-        }
-
         Map<String, Set<ObligationAtProject>> licenseIdToObligations = obligationResult.getObligationsAtProject().stream()
                 // filtering obligations with unknown topic
                 .filter(obligation -> !(SW360Constants.OBLIGATION_TOPIC_UNKNOWN.equals(obligation.getTopic())))
@@ -703,7 +740,6 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
         licenseInfo.getLicenseNamesWithTexts()
                 .forEach(license -> license.setObligationsAtProject(licenseIdToObligations.get(license.getLicenseName())));
         licenseInfo.setTotalObligations(obligationResult.getObligationsAtProjectSize());
-        licenseObligationMappingCache.put(licenseResult.getAttachmentContentId(), licenseResult);
         return licenseResult;
     }
 
@@ -776,11 +812,6 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                                                     .setMessage(MSG_NO_RELEASE_GIVEN));
         }
 
-        List<ObligationParsingResult> cachedResults = obligationCache.getIfPresent(attachmentContentId);
-        if (cachedResults != null) {
-            return cachedResults;
-        }
-
         Attachment attachment = nullToEmptySet(release.getAttachments()).stream()
                 .filter(a -> a.getAttachmentContentId().equals(attachmentContentId)).findFirst().orElseThrow(() -> {
                     String message = String.format(
@@ -789,6 +820,12 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                     return new IllegalStateException(message);
                 });
 
+        Key cacheKey = new Key(ResultType.OBLIGATIONS, attachmentContentId, attachment.getSha1(), ALL_PARSERS, false);
+        List<ObligationParsingResult> cachedResults = parseCache.get(cacheKey);
+        if (cachedResults != null) {
+            return assignReleaseToCachedObligationParsingResults(cachedResults, release);
+        }
+
         try {
 
             List<LicenseInfoParser> applicableParsers = parsers.stream()
@@ -807,10 +844,8 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                     .map(parser -> wrapTException(() -> parser.getObligations(attachment, user, release)))
                     .collect(Collectors.toList());
 
-            results = assignReleaseToObligationParsingResults(results, release);
-
-            obligationCache.put(attachmentContentId, results);
-            return results;
+            parseCache.put(cacheKey, results);
+            return assignReleaseToCachedObligationParsingResults(results, release);
         } catch (WrappedTException exception) {
             throw exception.getCause();
         }
@@ -839,7 +874,7 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
 
     protected Map<Release, Map<String, Boolean>> mapKeysToReleases(
             Map<String, Map<String, Boolean>> releaseIdsToAttachmentIds, User user) throws TException {
-        Map<Release, Map<String, Boolean>> result = Maps.newHashMap();
+        Map<Release, Map<String, Boolean>> result = Maps.newLinkedHashMap();
         try {
             releaseIdsToAttachmentIds.forEach((relId, attIds) -> wrapTException(
                     () -> result.put(componentDatabaseHandler.getRelease(relId, user), attIds)));
@@ -860,41 +895,151 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
         }
     }
 
-    protected Collection<LicenseInfoParsingResult> getAllReleaseLicenseInfos(Map<Release, Map<String,Boolean>> releaseToSelectedAttachmentIds,
+    /**
+     * Extracts license information and obligations of all selected attachments in parallel. The results are returned
+     * in the order of the releases and attachments. An attachment which cannot be parsed yields results with status
+     * failure instead of aborting the whole extraction.
+     */
+    protected LicenseAndObligationParsingResult getAllReleaseLicenseInfosAndObligations(Map<Release, Map<String, Boolean>> releaseToSelectedAttachmentIds,
             User user, Map<String, Set<LicenseNameWithText>> excludedLicensesPerAttachment) throws TException {
-        List<LicenseInfoParsingResult> results = Lists.newArrayList();
+        List<Release> releases = Lists.newArrayList();
+        List<String> attachmentContentIds = Lists.newArrayList();
+        List<Future<LicenseAndObligationParsingResult>> futures = Lists.newArrayList();
 
-        for (Entry<Release, Map<String,Boolean>> entry : releaseToSelectedAttachmentIds.entrySet()) {
+        for (Entry<Release, Map<String, Boolean>> entry : releaseToSelectedAttachmentIds.entrySet()) {
+            Release release = entry.getKey();
             for (Entry<String, Boolean> attachmentIdUseLicenseInfoFromFileEntry : entry.getValue().entrySet()) {
                 String attachmentContentId = attachmentIdUseLicenseInfoFromFileEntry.getKey();
                 if (attachmentContentId != null) {
+                    boolean includeConcludedLicense = attachmentIdUseLicenseInfoFromFileEntry.getValue();
                     Set<LicenseNameWithText> licencesToExclude = excludedLicensesPerAttachment.getOrDefault(attachmentContentId,
                             Sets.newHashSet());
-                    List<LicenseInfoParsingResult> parsedLicenses = getLicenseInfoForAttachment(entry.getKey(),
-                            attachmentContentId, attachmentIdUseLicenseInfoFromFileEntry.getValue(), user);
-
-                    results.addAll(
-                            parsedLicenses.stream().map(result -> filterLicenses(result, licencesToExclude)).collect(Collectors.toList()));
+                    releases.add(release);
+                    attachmentContentIds.add(attachmentContentId);
+                    futures.add(EXTRACTION_EXECUTOR.submit(() -> getFilteredLicenseInfosAndObligations(release,
+                            attachmentContentId, includeConcludedLicense, user, licencesToExclude)));
                 }
             }
         }
 
-        return results;
+        List<LicenseInfoParsingResult> licenseInfos = Lists.newArrayList();
+        List<ObligationParsingResult> obligations = Lists.newArrayList();
+        for (int i = 0; i < futures.size(); i++) {
+            LicenseAndObligationParsingResult result;
+            try {
+                result = futures.get(i).get();
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new SW360Exception("Interrupted while extracting license information");
+            } catch (ExecutionException e) {
+                result = failedParsingResult(releases.get(i), attachmentContentIds.get(i), e.getCause());
+            }
+            licenseInfos.addAll(result.getLicenseInfos());
+            obligations.addAll(result.getObligations());
+        }
+        return new LicenseAndObligationParsingResult(licenseInfos, obligations);
     }
 
-    private Collection<ObligationParsingResult> getAllReleaseObligations(Map<Release, Map<String,Boolean>> releaseToSelectedAttachmentIds, User user)
-            throws TException {
-        List<ObligationParsingResult> results = Lists.newArrayList();
+    private LicenseAndObligationParsingResult getFilteredLicenseInfosAndObligations(Release release, String attachmentContentId,
+            boolean includeConcludedLicense, User user, Set<LicenseNameWithText> licencesToExclude) {
+        try {
+            LicenseAndObligationParsingResult parsed = getLicenseInfosAndObligationsForAttachment(release, attachmentContentId,
+                    includeConcludedLicense, user);
+            List<LicenseInfoParsingResult> filteredLicenseInfos = parsed.getLicenseInfos().stream()
+                    .map(result -> filterLicenses(result, licencesToExclude)).collect(Collectors.toList());
+            return new LicenseAndObligationParsingResult(filteredLicenseInfos, parsed.getObligations());
+        } catch (TException | RuntimeException e) {
+            LOGGER.error("Error while extracting license information from attachment " + attachmentContentId
+                    + " of release " + release.getId(), e);
+            return failedParsingResult(release, attachmentContentId, e);
+        }
+    }
 
-        for (Entry<Release, Map<String,Boolean>> entry : releaseToSelectedAttachmentIds.entrySet()) {
-            for (String attachmentContentId : entry.getValue().keySet()) {
-                if (attachmentContentId != null) {
-                    results.addAll(getObligationsForAttachment(entry.getKey(), attachmentContentId, user));
-                }
+    /**
+     * Same as {@link #getLicenseInfoForAttachment(Release, String, boolean, User)} and
+     * {@link #getObligationsForAttachment(Release, String, User)}, but reads the attachment only once.
+     */
+    protected LicenseAndObligationParsingResult getLicenseInfosAndObligationsForAttachment(Release release, String attachmentContentId,
+            boolean includeConcludedLicense, User user) throws TException {
+        Attachment attachment = nullToEmptySet(release.getAttachments()).stream()
+                .filter(a -> a.getAttachmentContentId().equals(attachmentContentId)).findFirst().orElseThrow(() -> {
+                    String message = String.format(
+                            "Attachment selected for license info generation is not found in release's attachments. Release id: %s. Attachment content id: %s",
+                            release.getId(), attachmentContentId);
+                    return new IllegalStateException(message);
+                });
+
+        Key licenseInfoKey = new Key(ResultType.LICENSE_INFO, attachmentContentId, attachment.getSha1(), ALL_PARSERS, includeConcludedLicense);
+        Key obligationKey = new Key(ResultType.OBLIGATIONS, attachmentContentId, attachment.getSha1(), ALL_PARSERS, false);
+        List<LicenseInfoParsingResult> cachedLicenseInfos = parseCache.get(licenseInfoKey);
+        List<ObligationParsingResult> cachedObligations = parseCache.get(obligationKey);
+        if (cachedLicenseInfos != null && cachedObligations != null) {
+            return new LicenseAndObligationParsingResult(
+                    assignReleaseAndComponentToLicenseInfoParsingResults(cachedLicenseInfos, release, user),
+                    assignReleaseToCachedObligationParsingResults(cachedObligations, release));
+        }
+
+        try {
+            List<LicenseInfoParser> applicableParsers = parsers.stream()
+                    .filter(parser -> wrapTException(() -> parser.isApplicableTo(attachment, user, release))).collect(Collectors.toList());
+
+            if (applicableParsers.size() == 0) {
+                LOGGER.warn("No applicable parser has been found for the attachment selected for license information");
+                return new LicenseAndObligationParsingResult(
+                        assignReleaseToLicenseInfoParsingResult(assignFileNameToLicenseInfoParsingResult(
+                                noSourceParsingResult("No applicable parser has been found for the attachment"), attachment.getFilename()),
+                                release),
+                        Collections.singletonList(new ObligationParsingResult()
+                                .setStatus(ObligationInfoRequestStatus.NO_APPLICABLE_SOURCE)
+                                .setMessage("No applicable parser has been found for the attachment.")));
+            } else if (applicableParsers.size() > 1) {
+                LOGGER.info("More than one parser claims to be able to parse attachment with contend id " + attachmentContentId);
             }
+
+            List<LicenseAndObligationParsingResult> parsed = applicableParsers.stream()
+                    .map(parser -> wrapTException(() -> parser.getLicenseInfosAndObligations(attachment, includeConcludedLicense, user, release)))
+                    .collect(Collectors.toList());
+
+            List<LicenseInfoParsingResult> licenseInfos = parsed.stream().map(LicenseAndObligationParsingResult::getLicenseInfos)
+                    .flatMap(Collection::stream).collect(Collectors.toList());
+            filterEmptyLicenses(licenseInfos);
+
+            List<ObligationParsingResult> obligations = parsed.stream().map(LicenseAndObligationParsingResult::getObligations)
+                    .flatMap(Collection::stream).collect(Collectors.toList());
+
+            parseCache.put(licenseInfoKey, licenseInfos);
+            parseCache.put(obligationKey, obligations);
+            return new LicenseAndObligationParsingResult(
+                    assignReleaseAndComponentToLicenseInfoParsingResults(licenseInfos, release, user),
+                    assignReleaseToCachedObligationParsingResults(obligations, release));
+        } catch (WrappedTException exception) {
+            throw exception.getCause();
         }
+    }
 
-        return results;
+    private LicenseAndObligationParsingResult failedParsingResult(Release release, String attachmentContentId, Throwable cause) {
+        String message = "Error while extracting license information from attachment: " + cause;
+        LicenseInfoParsingResult licenseInfoResult = new LicenseInfoParsingResult()
+                .setStatus(LicenseInfoRequestStatus.FAILURE)
+                .setMessage(message)
+                .setAttachmentContentId(attachmentContentId)
+                .setLicenseInfo(new LicenseInfo());
+        ObligationParsingResult obligationResult = new ObligationParsingResult()
+                .setStatus(ObligationInfoRequestStatus.FAILURE)
+                .setMessage(message)
+                .setAttachmentContentId(attachmentContentId);
+        return new LicenseAndObligationParsingResult(assignReleaseToLicenseInfoParsingResult(licenseInfoResult, release),
+                assignReleaseToObligationParsingResults(Lists.newArrayList(obligationResult), release));
+    }
+
+    private static ExecutorService createExtractionExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, EXTRACTION_THREADS), runnable -> {
+            Thread thread = new Thread(runnable, "sw360-licenseinfo-extraction-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     protected LicenseInfoParsingResult filterLicenses(LicenseInfoParsingResult result, Set<LicenseNameWithText> licencesToExclude) {
@@ -948,6 +1093,25 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
         return parsingResults;
     }
 
+    /**
+     * The parse cache holds the plain parser output only, since release and component may change or depend on the
+     * user. Both are assigned to copies of the cached results on every lookup.
+     */
+    private List<LicenseInfoParsingResult> assignReleaseAndComponentToLicenseInfoParsingResults(
+            List<LicenseInfoParsingResult> cachedResults, Release release, User user) throws TException {
+        List<LicenseInfoParsingResult> results = cachedResults.stream().map(LicenseInfoParsingResult::deepCopy)
+                .collect(Collectors.toList());
+        results = assignReleaseToLicenseInfoParsingResults(results, release);
+        return assignComponentToLicenseInfoParsingResults(results, release, user);
+    }
+
+    private List<ObligationParsingResult> assignReleaseToCachedObligationParsingResults(
+            List<ObligationParsingResult> cachedResults, Release release) {
+        List<ObligationParsingResult> results = cachedResults.stream().map(ObligationParsingResult::deepCopy)
+                .collect(Collectors.toList());
+        return assignReleaseToObligationParsingResults(results, release);
+    }
+
     private List<LicenseInfoParsingResult> assignComponentToLicenseInfoParsingResults(List<LicenseInfoParsingResult> parsingResults, Release release, User user) throws TException {
         final ComponentService.Iface componentClient = new ThriftClients().makeComponentClient();
         final Component component = componentClient.getComponentById(release.getComponentId(), user);
@@ -1007,15 +1171,13 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
 
     private LicenseInfoParsingResult getLicenseInfoForAttachment(Release release, Attachment attachment, User user)
             throws TException {
+        Key cacheKey = new Key(ResultType.LICENSE_INFO, attachment.getAttachmentContentId(), attachment.getSha1(), CLI_PARSER, true);
+        List<LicenseInfoParsingResult> cachedResults = parseCache.get(cacheKey);
+        if (cachedResults != null) {
+            return assignReleaseAndComponentToLicenseInfoParsingResults(cachedResults, release, user).get(0);
+        }
+
         try {
-            if (licenseInfoCacheForEvaluation != null) {
-                for (Entry<String, LicenseInfoParsingResult> entry : licenseInfoCacheForEvaluation.asMap().entrySet()) {
-                    LicenseInfoParsingResult cachedValue = entry.getValue();
-                    if (attachment.getAttachmentContentId().equals(entry.getKey()) && cachedValue != null) {
-                        return cachedValue;
-                    }
-                }
-            }
 
             List<LicenseInfoParser> applicableParsers = parsers.stream()
                     .filter(parser -> wrapTException(() -> parser.isApplicableTo(attachment, user, release)))
@@ -1035,19 +1197,18 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                 if (parser instanceof CLIParser) {
                     return ((CLIParser) parser).getLicenseInfos(attachment, user, release, true);
                 } else {
-                    return assignReleaseToLicenseInfoParsingResult(assignFileNameToLicenseInfoParsingResult(
+                    return Collections.singletonList(assignFileNameToLicenseInfoParsingResult(
                             noSourceParsingResult(
                                     "The attachment/Parser is not CLI?parser file. Hence not applicable for evaluation"),
-                            attachment.getFilename()), release);
+                            attachment.getFilename()));
                 }
 
             })).flatMap(Collection::stream).collect(Collectors.toList());
             filterEmptyLicenses(results);
 
-            results = assignReleaseToLicenseInfoParsingResults(results, release);
-            results = assignComponentToLicenseInfoParsingResults(results, release, user);
-            licenseInfoCacheForEvaluation.put(attachment.getAttachmentContentId(), results.get(0));
-            return results.get(0);
+            List<LicenseInfoParsingResult> firstResult = Collections.singletonList(results.get(0));
+            parseCache.put(cacheKey, firstResult);
+            return assignReleaseAndComponentToLicenseInfoParsingResults(firstResult, release, user).get(0);
         } catch (WrappedTException exception) {
             throw exception.getCause();
         }
@@ -1055,10 +1216,10 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
 
     public ObligationParsingResult getObligationsForCLIAttachment(Release release, Attachment attachment, User user)
             throws TException {
-        List<ObligationParsingResult> cachedResults = obligationCacheForEvaluation
-                .getIfPresent(attachment.getAttachmentContentId());
+        Key cacheKey = new Key(ResultType.OBLIGATIONS, attachment.getAttachmentContentId(), attachment.getSha1(), CLI_PARSER, false);
+        List<ObligationParsingResult> cachedResults = parseCache.get(cacheKey);
         if (cachedResults != null) {
-            return cachedResults.get(0);
+            return assignReleaseToCachedObligationParsingResults(cachedResults, release).get(0);
         }
 
         try {
@@ -1085,10 +1246,8 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                 }
             })).collect(Collectors.toList());
 
-            results = assignReleaseToObligationParsingResults(results, release);
-
-            obligationCache.put(attachment.getAttachmentContentId(), results);
-            return results.get(0);
+            parseCache.put(cacheKey, results);
+            return assignReleaseToCachedObligationParsingResults(results, release).get(0);
         } catch (WrappedTException exception) {
             throw exception.getCause();
         }
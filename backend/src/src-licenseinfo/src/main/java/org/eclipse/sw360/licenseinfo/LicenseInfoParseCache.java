@@ -0,0 +1,245 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenseinfo;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationParsingResult;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Strings.nullToEmpty;
+
+/**
+ * Cache for the results of parsing attachments for license and obligation information.
+ *
+ * Entries are looked up by a {@link Key} made of the attachment content, the parser and the parser flags. The cache
+ * is bounded by the approximate size of the cached results, which is taken from their serialized form. Only the plain
+ * output of the parsers is cached, without the release and component it is requested for. If a directory
+ * is configured, the results of parsing attachments are also written to it and read back on a miss, so a restart of
+ * the backend does not require parsing large CLI or SPDX files again.
+ */
+public class LicenseInfoParseCache {
+
+    private static final Logger log = LogManager.getLogger(LicenseInfoParseCache.class);
+    private static final String FILE_EXTENSION = ".bin";
+
+    public enum ResultType {
+        LICENSE_INFO(LicenseInfoParsingResult::new),
+        OBLIGATIONS(ObligationParsingResult::new);
+
+        private final Supplier<TBase<?, ?>> factory;
+
+        ResultType(Supplier<TBase<?, ?>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Identifies the result of parsing one attachment content with a given parser and flags
+     */
+    public static final class Key {
+        private final ResultType type;
+        private final String attachmentContentId;
+        private final String sha1;
+        private final String parser;
+        private final boolean flag;
+
+        public Key(ResultType type, String attachmentContentId, String sha1, String parser, boolean flag) {
+            this.type = type;
+            this.attachmentContentId = attachmentContentId;
+            this.sha1 = nullToEmpty(sha1);
+            this.parser = parser;
+            this.flag = flag;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return flag == key.flag && type == key.type && Objects.equals(attachmentContentId, key.attachmentContentId)
+                    && sha1.equals(key.sha1) && Objects.equals(parser, key.parser);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, attachmentContentId, sha1, parser, flag);
+        }
+
+        @Override
+        public String toString() {
+            return type + ":" + attachmentContentId + ":" + sha1 + ":" + parser + ":" + flag;
+        }
+    }
+
+    private static class Entry {
+        private final List<? extends TBase<?, ?>> results;
+        private final int weight;
+
+        Entry(List<? extends TBase<?, ?>> results, int weight) {
+            this.results = results;
+            this.weight = weight;
+        }
+    }
+
+    private final Cache<Key, Entry> cache;
+    private final File directory;
+    private final long diskExpiryMillis;
+
+    /**
+     * @param maxWeightBytes  approximate maximum size of all cached results in memory
+     * @param expiryMinutes   time after which cached results are evicted from memory
+     * @param directory       directory to persist parsed results in, or null to keep them in memory only
+     * @param diskExpiryHours time after which persisted results are no longer used
+     */
+    public LicenseInfoParseCache(long maxWeightBytes, long expiryMinutes, File directory, long diskExpiryHours) {
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(expiryMinutes, TimeUnit.MINUTES)
+                .maximumWeight(maxWeightBytes)
+                .weigher((Key key, Entry entry) -> entry.weight)
+                .build();
+        this.directory = directory;
+        this.diskExpiryMillis = TimeUnit.HOURS.toMillis(diskExpiryHours);
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            log.warn("Could not create license info cache directory " + directory + ", results are kept in memory only");
+        }
+    }
+
+    /**
+     * @return the cached results for the key or null if nothing has been cached
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends TBase<?, ?>> List<T> get(Key key) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null && directory != null) {
+            entry = readFromDisk(key);
+            if (entry != null) {
+                cache.put(key, entry);
+            }
+        }
+        return entry == null ? null : (List<T>) entry.results;
+    }
+
+    public void put(Key key, List<? extends TBase<?, ?>> results) {
+        List<byte[]> serialized = serialize(results);
+        if (serialized == null) {
+            cache.put(key, new Entry(results, 1));
+            return;
+        }
+        int weight = 0;
+        for (byte[] bytes : serialized) {
+            weight += bytes.length;
+        }
+        cache.put(key, new Entry(results, weight));
+        if (directory != null) {
+            writeToDisk(key, serialized);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return approximate size in bytes of the results held in memory
+     */
+    public long getWeight() {
+        return cache.asMap().values().stream().mapToLong(entry -> entry.weight).sum();
+    }
+
+    private List<byte[]> serialize(List<? extends TBase<?, ?>> results) {
+        List<byte[]> serialized = new ArrayList<>(results.size());
+        try {
+            TSerializer serializer = new TSerializer(new TCompactProtocol.Factory());
+            for (TBase<?, ?> result : results) {
+                serialized.add(serializer.serialize(result));
+            }
+        } catch (TException e) {
+            log.warn("Could not serialize license info parsing result", e);
+            return null;
+        }
+        return serialized;
+    }
+
+    private File getFile(Key key) {
+        return new File(directory, Hashing.sha256().hashString(key.toString(), StandardCharsets.UTF_8) + FILE_EXTENSION);
+    }
+
+    private void writeToDisk(Key key, List<byte[]> serialized) {
+        File file = getFile(key);
+        try {
+            File tempFile = File.createTempFile("parse", ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(serialized.size());
+                for (byte[] bytes : serialized) {
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write license info cache file " + file, e);
+        }
+    }
+
+    private Entry readFromDisk(Key key) {
+        File file = getFile(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        if (System.currentTimeMillis() - file.lastModified() > diskExpiryMillis) {
+            if (!file.delete()) {
+                log.warn("Could not delete expired license info cache file " + file);
+            }
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            TDeserializer deserializer = new TDeserializer(new TCompactProtocol.Factory());
+            int count = in.readInt();
+            List<TBase<?, ?>> results = new ArrayList<>(count);
+            int weight = 0;
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                TBase<?, ?> result = key.type.factory.get();
+                deserializer.deserialize(result, bytes);
+                results.add(result);
+                weight += bytes.length;
+            }
+            return new Entry(results, weight);
+        } catch (IOException | TException e) {
+            log.warn("Could not read license info cache file " + file + ", parsing the attachment again", e);
+            return null;
+        }
+    }
+}
@@ -47,9 +47,13 @@ import com.google.common.collect.Sets;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -78,6 +82,8 @@ public class DocxGenerator extends OutputGenerator<byte[]> {
     private static final String DOCX_OUTPUT_TYPE = "docx";
     private int noOfTablesCreated;
 
+    private static final ConcurrentMap<String, CachedTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
     private static final long ADDITIONAL_REQ_THRESHOLD = 3;
     public static final int OVERVIEW_TABLE_INDEX = 0;
     public static final int SPECIAL_OSS_RISKS_TABLE_INDEX = 1;
@@ -102,17 +108,22 @@ public class DocxGenerator extends OutputGenerator<byte[]> {
 
     @Override
     public byte[] generateOutputFile(Collection<LicenseInfoParsingResult> projectLicenseInfoResults, Project project, Collection<ObligationParsingResult> obligationResults, User user, Map<String, String> externalIds, Map<String, ObligationStatusInfo> obligationsStatus, String fileName) throws SW360Exception {
+        ByteArrayOutputStream docxOutputStream = new ByteArrayOutputStream();
+        writeOutputFile(projectLicenseInfoResults, project, obligationResults, user, externalIds, obligationsStatus, fileName, docxOutputStream);
+        return docxOutputStream.toByteArray();
+    }
+
+    /**
+     * Generates the document like {@link #generateOutputFile} but writes it to the given stream, so the caller decides
+     * where the finished document is kept. The stream is not closed.
+     */
+    public void writeOutputFile(Collection<LicenseInfoParsingResult> projectLicenseInfoResults, Project project, Collection<ObligationParsingResult> obligationResults, User user, Map<String, String> externalIds, Map<String, ObligationStatusInfo> obligationsStatus, String fileName, OutputStream out) throws SW360Exception {
         String licenseInfoHeaderText = project.getLicenseInfoHeaderText();
 
-        ByteArrayOutputStream docxOutputStream = new ByteArrayOutputStream();
-        Optional<byte[]> docxTemplateFile;
-        XWPFDocument xwpfDocument;
         try {
             switch (getOutputVariant()) {
                 case DISCLOSURE:
-                    docxTemplateFile = CommonUtils.loadResource(DocxGenerator.class, DOCX_TEMPLATE_FILE);
-                    xwpfDocument = new XWPFDocument(new ByteArrayInputStream(docxTemplateFile.get()));
-                    if (docxTemplateFile.isPresent()) {
+                    try (XWPFDocument xwpfDocument = openTemplate(DOCX_TEMPLATE_FILE)) {
                         fillDisclosureDocument(
                             xwpfDocument,
                             projectLicenseInfoResults,
@@ -121,19 +132,13 @@ public class DocxGenerator extends OutputGenerator<byte[]> {
                             false,
                             externalIds
                             );
-                    } else {
-                        throw new SW360Exception("Could not load the template for xwpf document: " + DOCX_TEMPLATE_FILE);
+                        xwpfDocument.write(out);
                     }
                     break;
                 case REPORT:
-                    if (CommonUtils.isNullEmptyOrWhitespace(fileName)) {
-                        docxTemplateFile = CommonUtils.loadResource(DocxGenerator.class, DOCX_TEMPLATE_REPORT_FILE);
-                    } else {
-                        docxTemplateFile = CommonUtils.loadResource(DocxGenerator.class,
-                                System.getProperty("file.separator") + fileName + "." + DOCX_OUTPUT_TYPE);
-                    }
-                    xwpfDocument = new XWPFDocument(new ByteArrayInputStream(docxTemplateFile.get()));
-                    if (docxTemplateFile.isPresent()) {
+                    String templateFile = CommonUtils.isNullEmptyOrWhitespace(fileName) ? DOCX_TEMPLATE_REPORT_FILE
+                            : System.getProperty("file.separator") + fileName + "." + DOCX_OUTPUT_TYPE;
+                    try (XWPFDocument xwpfDocument = openTemplate(templateFile)) {
                         fillReportDocument(
                             xwpfDocument,
                             projectLicenseInfoResults,
@@ -144,23 +149,49 @@ public class DocxGenerator extends OutputGenerator<byte[]> {
                             user,
                             obligationsStatus
                         );
-                    } else {
-                        throw new SW360Exception("Could not load the template for xwpf document: " + DOCX_TEMPLATE_REPORT_FILE);
+                        xwpfDocument.write(out);
                     }
                     break;
                 default:
                     throw new IllegalArgumentException("Unknown generator variant type: " + getOutputVariant());
             }
-            xwpfDocument.write(docxOutputStream);
-            docxOutputStream.close();
         } catch (XmlException e) {
             throw new SW360Exception("Got XmlException while generating docx document: " + e.getMessage());
         } catch (IOException e) {
             throw new SW360Exception("Got IOException when generating docx document: " + e.getMessage());
+        } catch (SW360Exception e) {
+            throw e;
         } catch (TException e) {
             throw new SW360Exception("Error reading sw360 licenses: " + e.getMessage());
         }
-        return docxOutputStream.toByteArray();
+    }
+
+    /**
+     * Opens a new document from the cached content of the template. A template in the system configuration path is
+     * read again once it has been modified.
+     */
+    private static XWPFDocument openTemplate(String templateFile) throws IOException, SW360Exception {
+        long lastModified = new File(CommonUtils.SYSTEM_CONFIGURATION_PATH, templateFile).lastModified();
+        CachedTemplate template = TEMPLATES.get(templateFile);
+        if (template == null || template.lastModified != lastModified) {
+            Optional<byte[]> content = CommonUtils.loadResource(DocxGenerator.class, templateFile);
+            if (!content.isPresent()) {
+                throw new SW360Exception("Could not load the template for xwpf document: " + templateFile);
+            }
+            template = new CachedTemplate(lastModified, content.get());
+            TEMPLATES.put(templateFile, template);
+        }
+        return new XWPFDocument(new ByteArrayInputStream(template.content));
+    }
+
+    private static class CachedTemplate {
+        private final long lastModified;
+        private final byte[] content;
+
+        CachedTemplate(long lastModified, byte[] content) {
+            this.lastModified = lastModified;
+            this.content = content;
+        }
     }
 
     private void fillDisclosureDocument(
@@ -465,13 +496,21 @@ public class DocxGenerator extends OutputGenerator<byte[]> {
         ctrpr.addNewSz().setVal(new BigInteger("18"));
     }
 
-    private static Optional<ObligationParsingResult> obligationsForRelease(Release release, Collection<ObligationParsingResult> obligationResults) {
-        return obligationResults.stream().filter(opr -> opr.getRelease() == release).findFirst();
+    /**
+     * @return the first obligation result of each release, the releases are compared by identity
+     */
+    private static Map<Release, ObligationParsingResult> obligationsByRelease(Collection<ObligationParsingResult> obligationResults) {
+        Map<Release, ObligationParsingResult> obligationsByRelease = new IdentityHashMap<>();
+        for (ObligationParsingResult obligationResult : obligationResults) {
+            obligationsByRelease.putIfAbsent(obligationResult.getRelease(), obligationResult);
+        }
+        return obligationsByRelease;
     }
 
     private void writeComponentSubsections(XWPFDocument document, Collection<LicenseInfoParsingResult> projectLicenseInfoResults, Collection<ObligationParsingResult> obligationResults) throws SW360Exception, XmlException {
         XmlCursor cursor = document.getTables().get(ADDITIONAL_REQ_TABLE_INDEX+getNoOfTablesCreated()).getCTTbl().newCursor();
         cursor.toEndToken();
+        Map<Release, ObligationParsingResult> obligationsByRelease = obligationsByRelease(obligationResults);
 
         for (LicenseInfoParsingResult result : projectLicenseInfoResults) {
             while (cursor.currentTokenType() != XmlCursor.TokenType.START && cursor.hasNextToken()) {
@@ -508,15 +547,9 @@ public class DocxGenerator extends OutputGenerator<byte[]> {
             descriptionRun.setText("The component is licensed under " + globalLicense + ".");
 
             if (result.isSetRelease()) {
-                Optional<ObligationParsingResult> obligationsResultOp = obligationsForRelease(result.getRelease(), obligationResults);
-
-                if (!obligationsResultOp.isPresent()) {
-                    continue;
-                }
-
-                ObligationParsingResult obligationsResult = obligationsResultOp.get();
+                ObligationParsingResult obligationsResult = obligationsByRelease.get(result.getRelease());
 
-                if (!obligationsResult.isSetObligationsAtProject()) {
+                if (obligationsResult == null || !obligationsResult.isSetObligationsAtProject()) {
                     continue;
                 }
 
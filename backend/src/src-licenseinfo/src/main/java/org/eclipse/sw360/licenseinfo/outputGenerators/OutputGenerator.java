@@ -16,10 +16,11 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.commons.io.IOUtils;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
+import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
 import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.apache.velocity.runtime.resource.loader.FileResourceLoader;
+import org.apache.velocity.tools.ToolContext;
 import org.apache.velocity.tools.ToolManager;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
@@ -104,16 +105,43 @@ public abstract class OutputGenerator<T> {
         return SW360Utils.getReleaseFullname("", li.getName(), li.getVersion());
     }
 
+    /**
+     * Velocity engine and tools shared by all generators, set up on first use.
+     *
+     * The engine caches the parsed templates. Templates in the system configuration path are still checked for
+     * modifications, so customized templates are picked up without a restart. The tools of {@link #VELOCITY_TOOLS_FILE}
+     * have application scope, so one tool context serves all generations.
+     */
+    private static class SharedVelocity {
+        private static final VelocityEngine ENGINE = createEngine();
+        private static final ToolContext TOOL_CONTEXT = createToolContext();
+
+        private static VelocityEngine createEngine() {
+            Properties p = new Properties();
+            p.setProperty(RuntimeConstants.RESOURCE_LOADERS, "file, class");
+            p.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, CommonUtils.SYSTEM_CONFIGURATION_PATH);
+            p.setProperty("resource.loader.file.class", FileResourceLoader.class.getName());
+            p.setProperty("resource.loader.file.cache", "true");
+            p.setProperty("resource.loader.file.modification_check_interval", "60");
+            p.setProperty("resource.loader.class.class", ClasspathResourceLoader.class.getName());
+            p.setProperty("resource.loader.class.cache", "true");
+            VelocityEngine engine = new VelocityEngine();
+            engine.init(p);
+            return engine;
+        }
+
+        private static ToolContext createToolContext() {
+            ToolManager velocityToolManager = new ToolManager();
+            velocityToolManager.configure(VELOCITY_TOOLS_FILE);
+            ToolContext toolContext = velocityToolManager.createContext();
+            // create all tools now, the generations only read them
+            toolContext.toMap();
+            return toolContext;
+        }
+    }
+
     public VelocityContext getConfiguredVelocityContext() {
-        Properties p = new Properties();
-        p.setProperty(RuntimeConstants.RESOURCE_LOADER, "file, class");
-        p.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, CommonUtils.SYSTEM_CONFIGURATION_PATH);
-        p.setProperty("file.resource.loader.class", FileResourceLoader.class.getName());
-        p.setProperty("class.resource.loader.class", ClasspathResourceLoader.class.getName());
-        Velocity.init(p);
-        ToolManager velocityToolManager = new ToolManager();
-        velocityToolManager.configure(VELOCITY_TOOLS_FILE);
-        return new VelocityContext(velocityToolManager.createContext());
+        return new VelocityContext(SharedVelocity.TOOL_CONTEXT);
     }
 
     @NotNull
@@ -272,7 +300,7 @@ public abstract class OutputGenerator<T> {
         vc.put(EXTERNAL_IDS, externalIds);
 
         StringWriter sw = new StringWriter();
-        Velocity.mergeTemplate(file, "utf-8", vc, sw);
+        SharedVelocity.ENGINE.getTemplate(file, "utf-8").merge(vc, sw);
         IOUtils.closeQuietly(sw);
         return sw.toString();
     }
@@ -24,10 +24,13 @@ import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationAtProject;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.w3c.dom.CDATASection;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.w3c.dom.Text;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -41,6 +44,7 @@ import javax.xml.xpath.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -68,6 +72,7 @@ public abstract class AbstractCLIParser extends LicenseInfoParser {
     private static final String OBLIGATION_TEXT_UNKNOWN = "Obligation text unknown";
     private static final Logger log = LogManager.getLogger(CLIParser.class);
     private static final String SPDX_IDENTIFIER_UNKNOWN = "SPDX identifier unknown";
+    private static final String REPORT_CDATA_EVENT_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
 
     private static final String OBLIGATION_TOPIC_ELEMENT_NAME = "Topic";
     private static final String OBLIGATION_TEXT_ELEMENT_NAME = "Text";
@@ -143,6 +148,105 @@ public abstract class AbstractCLIParser extends LicenseInfoParser {
         return builder.parse(attachmentStream);
     }
 
+    /**
+     * Reads the document with StAX instead of building a DOM for all of it. The root element is passed to the root
+     * handler with its attributes only. Each direct child of the root with one of the given names is built as a small
+     * DOM subtree and passed to the element handler, all other children are skipped. So only one of these subtrees is
+     * held in memory at a time, no matter how large the document is. If the root element does not have the given
+     * name, no handler is called.
+     */
+    protected void streamDocument(InputStream attachmentStream, String rootElementName, Set<String> elementNames,
+            Consumer<Element> rootHandler, Consumer<Element> elementHandler) throws XMLStreamException, ParserConfigurationException {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        XMLInputFactory xmlif = XMLInputFactory.newFactory();
+        // report CDATA sections separately, so they end up as separate nodes like with the DOM parser
+        if (xmlif.isPropertySupported(REPORT_CDATA_EVENT_PROPERTY)) {
+            xmlif.setProperty(REPORT_CDATA_EVENT_PROPERTY, Boolean.TRUE);
+        }
+        XMLStreamReader reader = xmlif.createXMLStreamReader(attachmentStream);
+        try {
+            //skip to first element
+            while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) ;
+            if (!reader.isStartElement()) {
+                throw new XMLStreamException("Document has no root element");
+            }
+            boolean isExpectedRoot = rootElementName.equals(getQualifiedName(reader));
+            if (isExpectedRoot) {
+                rootHandler.accept(createElement(document, reader));
+            }
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    if (isExpectedRoot && elementNames.contains(getQualifiedName(reader))) {
+                        elementHandler.accept(readElement(document, reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Element readElement(Document document, XMLStreamReader reader) throws XMLStreamException {
+        Element element = createElement(document, reader);
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    element.appendChild(readElement(document, reader));
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    // the reader may split text, the DOM parser would have created one node for it
+                    Node lastChild = element.getLastChild();
+                    if (lastChild instanceof Text && !(lastChild instanceof CDATASection)) {
+                        ((Text) lastChild).appendData(reader.getText());
+                    } else {
+                        element.appendChild(document.createTextNode(reader.getText()));
+                    }
+                    break;
+                case XMLStreamConstants.CDATA:
+                    element.appendChild(document.createCDATASection(reader.getText()));
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    element.appendChild(document.createComment(reader.getText()));
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return element;
+                default:
+                    break;
+            }
+        }
+        throw new XMLStreamException("Unexpected end of document in element " + element.getNodeName());
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static Element createElement(Document document, XMLStreamReader reader) {
+        Element element = document.createElement(getQualifiedName(reader));
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String prefix = reader.getAttributePrefix(i);
+            String localName = reader.getAttributeLocalName(i);
+            element.setAttribute(StringUtils.isEmpty(prefix) ? localName : prefix + ":" + localName, reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String getQualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return StringUtils.isEmpty(prefix) ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
     protected NodeList getNodeListByXpath(Document doc, String xpathString) throws XPathExpressionException {
         XPath xpath = XPathFactory.newInstance().newXPath();
         XPathExpression xpathExpression = xpath.compile(xpathString);
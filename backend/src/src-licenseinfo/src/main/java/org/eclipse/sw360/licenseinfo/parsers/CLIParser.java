@@ -27,14 +27,11 @@ import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationInfoRequestSta
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoRequestStatus;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
 import org.eclipse.sw360.datahandler.thrift.users.User;
-import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collections;
@@ -53,14 +50,14 @@ import static org.eclipse.sw360.datahandler.common.CommonUtils.closeQuietly;
 public class CLIParser extends AbstractCLIParser {
 
     private static final Logger log = LogManager.getLogger(CLIParser.class);
-    private static final String COPYRIGHTS_CONTENT_XPATH = "/ComponentLicenseInformation/Copyright";
-    private static final String COPYRIGHTS_XPATH = "/ComponentLicenseInformation/Copyright/Content";
-    private static final String LICENSES_XPATH = "/ComponentLicenseInformation/License";
-    private static final String OBLIGATIONS_XPATH = "/ComponentLicenseInformation/Obligation";
-    private static final String ASSESSMENT_SUMMARY_XPATH = "/ComponentLicenseInformation/AssessmentSummary";
+    private static final String COPYRIGHT_ELEMENT_NAME = "Copyright";
+    private static final String LICENSE_ELEMENT_NAME = "License";
+    private static final String OBLIGATION_ELEMENT_NAME = "Obligation";
+    private static final String ASSESSMENT_SUMMARY_ELEMENT_NAME = "AssessmentSummary";
     private static final String CLI_ROOT_ELEMENT_NAME = "ComponentLicenseInformation";
-    private static final String CLI_ROOT_XPATH = "/ComponentLicenseInformation";
     private static final String CLI_ROOT_ELEMENT_NAMESPACE = null;
+    private static final String COMPONENT_SHA1_ATTRIBUTE_NAME = "componentSHA1";
+    private static final String COMPONENT_ATTRIBUTE_NAME = "component";
 
     public CLIParser(AttachmentConnector attachmentConnector, AttachmentContentProvider attachmentContentProvider) {
         super(attachmentConnector, attachmentContentProvider);
@@ -97,12 +94,9 @@ public class CLIParser extends AbstractCLIParser {
 
         try {
             attachmentStream = attachmentConnector.getAttachmentStream(attachmentContent, user, context);
-            Document doc = getDocument(attachmentStream);
-            result.setSha1Hash(getSha1Hash(doc));
-            result.setObligationsAtProject(getObligations(doc));
-            result.setAttachmentContentId(attachment.getAttachmentContentId());
-            result.setStatus(ObligationInfoRequestStatus.SUCCESS);
-        } catch (ParserConfigurationException | IOException | XPathExpressionException | SAXException | SW360Exception e) {
+            CLIContent cliContent = readCLIContent(attachmentStream, false, false, true);
+            fillObligationParsingResult(cliContent, attachment, result);
+        } catch (ParserConfigurationException | XMLStreamException | SW360Exception e) {
             log.error(e);
             result.setStatus(ObligationInfoRequestStatus.FAILURE).setMessage("Error while parsing CLI file: " + e.toString());
         } finally {
@@ -119,26 +113,9 @@ public class CLIParser extends AbstractCLIParser {
 
         try {
             attachmentStream = attachmentConnector.getAttachmentStream(attachmentContent, user, context);
-            Document doc = getDocument(attachmentStream);
-
-            if (includeFilesHash) {
-                Map<String, Set<String>> copyrightsWithFileHash = getCopyrightsWithFileHash(doc);
-                licenseInfo.setCopyrights(copyrightsWithFileHash.keySet());
-                licenseInfo.setCopyrightsWithFilesHash(copyrightsWithFileHash);
-            } else {
-                Set<String> copyrights = getCopyrights(doc);
-                licenseInfo.setCopyrights(copyrights);
-            }
-
-            licenseInfo.setLicenseNamesWithTexts(getLicenseNameWithTexts(doc, includeFilesHash));
-            licenseInfo.setAssessmentSummary(getAssessmentSummary(doc));
-
-            licenseInfo.setSha1Hash(getSha1Hash(doc));
-            licenseInfo.setComponentName(getComponent(doc));
-
-            result.setAttachmentContentId(attachment.getAttachmentContentId());
-            result.setStatus(LicenseInfoRequestStatus.SUCCESS);
-        } catch (ParserConfigurationException | IOException | XPathExpressionException | SAXException | SW360Exception e) {
+            CLIContent cliContent = readCLIContent(attachmentStream, true, includeFilesHash, false);
+            fillLicenseInfoParsingResult(cliContent, attachment, includeFilesHash, result);
+        } catch (ParserConfigurationException | XMLStreamException | SW360Exception e) {
             log.error(e);
             result.setStatus(LicenseInfoRequestStatus.FAILURE).setMessage("Error while parsing CLI file: " + e.toString());
         } finally {
@@ -146,21 +123,108 @@ public class CLIParser extends AbstractCLIParser {
         }
         return Collections.singletonList(result);
     }
-    private List<ObligationAtProject> getObligations(Document doc) throws XPathExpressionException {
-        NodeList obligationNodes = getNodeListByXpath(doc, OBLIGATIONS_XPATH);
-        return nodeListToObligationList(obligationNodes);
+
+    @Override
+    public <T> LicenseAndObligationParsingResult getLicenseInfosAndObligations(Attachment attachment,
+            boolean includeConcludedLicense, User user, T context) throws TException {
+        AttachmentContent attachmentContent = attachmentContentProvider.getAttachmentContent(attachment);
+        LicenseInfo licenseInfo = new LicenseInfo().setFilenames(Arrays.asList(attachmentContent.getFilename()));
+        LicenseInfoParsingResult licenseResult = new LicenseInfoParsingResult().setLicenseInfo(licenseInfo);
+        ObligationParsingResult obligationResult = new ObligationParsingResult();
+        InputStream attachmentStream = null;
+
+        try {
+            attachmentStream = attachmentConnector.getAttachmentStream(attachmentContent, user, context);
+            CLIContent cliContent = readCLIContent(attachmentStream, true, false, true);
+            fillLicenseInfoParsingResult(cliContent, attachment, false, licenseResult);
+            fillObligationParsingResult(cliContent, attachment, obligationResult);
+        } catch (ParserConfigurationException | XMLStreamException | SW360Exception e) {
+            log.error(e);
+            licenseResult.setStatus(LicenseInfoRequestStatus.FAILURE).setMessage("Error while parsing CLI file: " + e.toString());
+            obligationResult.setStatus(ObligationInfoRequestStatus.FAILURE).setMessage("Error while parsing CLI file: " + e.toString());
+        } finally {
+            closeQuietly(attachmentStream, log);
+        }
+        return new LicenseAndObligationParsingResult(Collections.singletonList(licenseResult),
+                Collections.singletonList(obligationResult));
+    }
+
+    private void fillLicenseInfoParsingResult(CLIContent cliContent, Attachment attachment, boolean includeFilesHash,
+            LicenseInfoParsingResult result) {
+        LicenseInfo licenseInfo = result.getLicenseInfo();
+        if (includeFilesHash) {
+            licenseInfo.setCopyrights(cliContent.copyrightsWithFilesHash.keySet());
+            licenseInfo.setCopyrightsWithFilesHash(cliContent.copyrightsWithFilesHash);
+        } else {
+            licenseInfo.setCopyrights(cliContent.copyrights);
+        }
+
+        licenseInfo.setLicenseNamesWithTexts(cliContent.licenseNamesWithTexts);
+        licenseInfo.setAssessmentSummary(getAssessmentSummary(cliContent));
+
+        licenseInfo.setSha1Hash(cliContent.sha1Hash);
+        licenseInfo.setComponentName(cliContent.componentName);
+
+        result.setAttachmentContentId(attachment.getAttachmentContentId());
+        result.setStatus(LicenseInfoRequestStatus.SUCCESS);
+    }
+
+    private void fillObligationParsingResult(CLIContent cliContent, Attachment attachment, ObligationParsingResult result) {
+        result.setSha1Hash(cliContent.sha1Hash);
+        result.setObligationsAtProject(cliContent.obligations);
+        result.setAttachmentContentId(attachment.getAttachmentContentId());
+        result.setStatus(ObligationInfoRequestStatus.SUCCESS);
     }
 
-    private Set<LicenseNameWithText> getLicenseNameWithTexts(Document doc, boolean includeFilesHash) throws XPathExpressionException {
-        NodeList licenseNodes = getNodeListByXpath(doc, LICENSES_XPATH);
-        return nodeListToLicenseNamesWithTextsSet(licenseNodes, includeFilesHash);
+    /**
+     * Streams through the CLI file and collects the requested parts of it, without building a DOM for the whole file.
+     */
+    CLIContent readCLIContent(InputStream attachmentStream, boolean withLicenseInfo, boolean includeFilesHash,
+            boolean withObligations) throws XMLStreamException, ParserConfigurationException {
+        CLIContent cliContent = new CLIContent();
+        Set<String> elementNames = new HashSet<>();
+        if (withLicenseInfo) {
+            elementNames.add(COPYRIGHT_ELEMENT_NAME);
+            elementNames.add(LICENSE_ELEMENT_NAME);
+            elementNames.add(ASSESSMENT_SUMMARY_ELEMENT_NAME);
+        }
+        if (withObligations) {
+            elementNames.add(OBLIGATION_ELEMENT_NAME);
+        }
+
+        streamDocument(attachmentStream, CLI_ROOT_ELEMENT_NAME, elementNames, root -> {
+            cliContent.sha1Hash = findNamedAttribute(root, COMPONENT_SHA1_ATTRIBUTE_NAME).map(Node::getNodeValue).orElse("");
+            cliContent.componentName = findNamedAttribute(root, COMPONENT_ATTRIBUTE_NAME).map(Node::getNodeValue).orElse("");
+        }, element -> {
+            switch (element.getNodeName()) {
+                case COPYRIGHT_ELEMENT_NAME:
+                    if (includeFilesHash) {
+                        cliContent.copyrightsWithFilesHash.putAll(getCopyrightWithFileHash(element));
+                    } else {
+                        cliContent.copyrights.addAll(getCopyrights(element));
+                    }
+                    break;
+                case LICENSE_ELEMENT_NAME:
+                    cliContent.licenseNamesWithTexts.add(includeFilesHash ? getLicenseNameWithTextFromLicenseNodeAndFileHash(element)
+                            : getLicenseNameWithTextFromLicenseNode(element));
+                    break;
+                case ASSESSMENT_SUMMARY_ELEMENT_NAME:
+                    cliContent.assessmentSummaries.add(element);
+                    break;
+                case OBLIGATION_ELEMENT_NAME:
+                    cliContent.obligations.add(getObligationFromObligationNode(element));
+                    break;
+                default:
+                    break;
+            }
+        });
+        return cliContent;
     }
 
-    private Map<String, String> getAssessmentSummary(Document doc) throws XPathExpressionException {
-        NodeList assessmentSummaryList = getNodeListByXpath(doc, ASSESSMENT_SUMMARY_XPATH);
+    private Map<String, String> getAssessmentSummary(CLIContent cliContent) {
         Map<String, String> assessmentSummaryMap = new HashMap<String, String>();
-        if (assessmentSummaryList.getLength() == 1) {
-            Node node = assessmentSummaryList.item(0);
+        if (cliContent.assessmentSummaries.size() == 1) {
+            Node node = cliContent.assessmentSummaries.get(0);
             NodeList childNodes = node.getChildNodes();
             for (int i = 0; i < childNodes.getLength(); i++) {
                 String nodeName = childNodes.item(i).getNodeName();
@@ -173,20 +237,16 @@ public class CLIParser extends AbstractCLIParser {
         return assessmentSummaryMap;
     }
 
-    private Set<String> getCopyrights(Document doc) throws XPathExpressionException {
-        NodeList copyrightNodes = getNodeListByXpath(doc, COPYRIGHTS_XPATH);
-        return nodeListToStringSet(copyrightNodes);
-    }
-
-    private Map<String, Set<String>> getCopyrightsWithFileHash(Document doc) throws XPathExpressionException {
-        NodeList copyrightNodes = getNodeListByXpath(doc, COPYRIGHTS_CONTENT_XPATH);
-
-        Map<String, Set<String>> copyrightMap = new HashMap<String, Set<String>>();
-        for (int i = 0; i < copyrightNodes.getLength(); i++) {
-            Map<String, Set<String>> copyrightWithFileHash = getCopyrightWithFileHash(copyrightNodes.item(i));
-            copyrightMap.putAll(copyrightWithFileHash);
+    private Set<String> getCopyrights(Node copyrightNode) {
+        Set<String> copyrights = Sets.newHashSet();
+        NodeList childNodes = copyrightNode.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            Node child = childNodes.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE && LICENSE_CONTENT_ELEMENT_NAME.equals(child.getNodeName())) {
+                copyrights.add(normalizeEscapedXhtml(child));
+            }
         }
-        return copyrightMap;
+        return copyrights;
     }
 
     protected Map<String, Set<String>> getCopyrightWithFileHash(Node node) {
@@ -204,46 +264,28 @@ public class CLIParser extends AbstractCLIParser {
         return copyrightWithFileHash;
     }
 
-    private String getSha1Hash(Document doc) throws XPathExpressionException {
-        NodeList copyrightNodes = getNodeListByXpath(doc, CLI_ROOT_XPATH);
-
-        if(copyrightNodes.getLength() < 1) {
-            return "";
+    /**
+     * Parts of a CLI file collected while streaming through it
+     */
+    static class CLIContent {
+        private String sha1Hash = "";
+        private String componentName = "";
+        private final Set<String> copyrights = Sets.newHashSet();
+        private final Map<String, Set<String>> copyrightsWithFilesHash = new HashMap<String, Set<String>>();
+        private final Set<LicenseNameWithText> licenseNamesWithTexts = Sets.newHashSet();
+        private final List<Node> assessmentSummaries = Lists.newArrayList();
+        private final List<ObligationAtProject> obligations = Lists.newArrayList();
+
+        Set<LicenseNameWithText> getLicenseNamesWithTexts() {
+            return licenseNamesWithTexts;
         }
 
-        String result = findNamedAttribute(copyrightNodes.item(0), "componentSHA1")
-                        .map(Node::getNodeValue)
-                        .orElse("");
-        return result;
-    }
-
-    private String getComponent(Document doc) throws XPathExpressionException {
-        NodeList copyrightNodes = getNodeListByXpath(doc, CLI_ROOT_XPATH);
-
-        if(copyrightNodes.getLength() < 1) {
-            return "";
+        Set<String> getCopyrights() {
+            return copyrights;
         }
 
-        String result = findNamedAttribute(copyrightNodes.item(0), "component")
-                        .map(Node::getNodeValue)
-                        .orElse("");
-        return result;
-    }
-
-    private Set<LicenseNameWithText> nodeListToLicenseNamesWithTextsSet(NodeList nodes, boolean includeFilesHash) {
-        Set<LicenseNameWithText> licenseNamesWithTexts = Sets.newHashSet();
-        for (int i = 0; i < nodes.getLength(); i++) {
-            licenseNamesWithTexts.add(includeFilesHash ? getLicenseNameWithTextFromLicenseNodeAndFileHash(nodes.item(i))
-                    : getLicenseNameWithTextFromLicenseNode(nodes.item(i)));
-        }
-        return licenseNamesWithTexts;
-    }
-
-    private List<ObligationAtProject> nodeListToObligationList(NodeList nodes) {
-        List<ObligationAtProject> obligations = Lists.newArrayList();
-        for (int i = 0; i < nodes.getLength(); i++) {
-            obligations.add(getObligationFromObligationNode(nodes.item(i)));
+        List<ObligationAtProject> getObligations() {
+            return obligations;
         }
-        return obligations;
     }
 }
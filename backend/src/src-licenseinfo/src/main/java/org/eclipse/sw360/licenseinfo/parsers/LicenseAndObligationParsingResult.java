@@ -0,0 +1,36 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenseinfo.parsers;
+
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationParsingResult;
+
+import java.util.List;
+
+/**
+ * License information and obligations extracted from one attachment
+ */
+public class LicenseAndObligationParsingResult {
+    private final List<LicenseInfoParsingResult> licenseInfos;
+    private final List<ObligationParsingResult> obligations;
+
+    public LicenseAndObligationParsingResult(List<LicenseInfoParsingResult> licenseInfos, List<ObligationParsingResult> obligations) {
+        this.licenseInfos = licenseInfos;
+        this.obligations = obligations;
+    }
+
+    public List<LicenseInfoParsingResult> getLicenseInfos() {
+        return licenseInfos;
+    }
+
+    public List<ObligationParsingResult> getObligations() {
+        return obligations;
+    }
+}
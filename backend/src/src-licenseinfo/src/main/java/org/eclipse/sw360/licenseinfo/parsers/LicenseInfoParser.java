@@ -18,6 +18,7 @@ import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationInfoRequestSta
 import org.apache.thrift.TException;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -54,4 +55,14 @@ public abstract class LicenseInfoParser {
     public <T> ObligationParsingResult getObligations(Attachment attachment, User user, T context) throws TException {
         return new ObligationParsingResult().setStatus(ObligationInfoRequestStatus.NO_APPLICABLE_SOURCE);
     }
+
+    /**
+     * Extracts license information and obligations of the attachment. Parsers which can provide both from one read
+     * of the attachment should override this.
+     */
+    public <T> LicenseAndObligationParsingResult getLicenseInfosAndObligations(Attachment attachment,
+            boolean includeConcludedLicense, User user, T context) throws TException {
+        return new LicenseAndObligationParsingResult(getLicenseInfos(attachment, user, context),
+                Collections.singletonList(getObligations(attachment, user, context)));
+    }
 }
@@ -70,6 +70,14 @@ public class SPDXParser extends LicenseInfoParser {
         return Collections.singletonList(getLicenseInfo(attachment, includeConcludedLicense, false, user, context));
     }
 
+    @Override
+    public <T> LicenseAndObligationParsingResult getLicenseInfosAndObligations(Attachment attachment,
+            boolean includeConcludedLicense, User user, T context) throws TException {
+        return new LicenseAndObligationParsingResult(
+                getLicenseInfosIncludeConcludedLicense(attachment, includeConcludedLicense, user, context),
+                Collections.singletonList(getObligations(attachment, user, context)));
+    }
+
     public <T> LicenseInfoParsingResult getLicenseInfo(Attachment attachment, boolean includeConcludedLicense, boolean includeFileInformation, User user,
             T context) throws TException {
         AttachmentContent attachmentContent = attachmentContentProvider.getAttachmentContent(attachment);
@@ -15,11 +15,18 @@ import com.google.common.collect.ImmutableSet;
 import org.apache.thrift.TException;
 import org.eclipse.sw360.datahandler.db.AttachmentDatabaseHandler;
 import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
+import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfo;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoRequestStatus;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationInfoRequestStatus;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationParsingResult;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.licenseinfo.LicenseInfoParseCache.Key;
+import org.eclipse.sw360.licenseinfo.LicenseInfoParseCache.ResultType;
+import org.eclipse.sw360.licenseinfo.parsers.LicenseAndObligationParsingResult;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Before;
@@ -31,6 +38,11 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -147,6 +159,49 @@ public class LicenseInfoHandlerTest {
         // @formatter:on
     }
 
+    @Test
+    public void testThatFailingAttachmentsAreRecordedInOrder() throws TException {
+        Map<Release, Map<String, Boolean>> releaseToAttachmentIds = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Boolean> attachmentIds = new LinkedHashMap<>();
+            attachmentIds.put("att" + i + "a", false);
+            attachmentIds.put("att" + i + "b", true);
+            releaseToAttachmentIds.put(new Release().setId("rel" + i).setName("release").setVersion(String.valueOf(i)), attachmentIds);
+        }
+
+        LicenseAndObligationParsingResult results = handler.getAllReleaseLicenseInfosAndObligations(releaseToAttachmentIds, user,
+                Collections.emptyMap());
+
+        Assert.assertEquals(20, results.getLicenseInfos().size());
+        Assert.assertEquals(20, results.getObligations().size());
+        for (int i = 0; i < 20; i++) {
+            String attachmentContentId = "att" + (i / 2) + (i % 2 == 0 ? "a" : "b");
+            LicenseInfoParsingResult licenseInfoResult = results.getLicenseInfos().get(i);
+            Assert.assertEquals(attachmentContentId, licenseInfoResult.getAttachmentContentId());
+            Assert.assertEquals(LicenseInfoRequestStatus.FAILURE, licenseInfoResult.getStatus());
+            Assert.assertEquals("rel" + (i / 2), licenseInfoResult.getRelease().getId());
+            Assert.assertEquals(attachmentContentId, results.getObligations().get(i).getAttachmentContentId());
+            Assert.assertEquals(ObligationInfoRequestStatus.FAILURE, results.getObligations().get(i).getStatus());
+        }
+    }
+
+    @Test
+    public void testThatCachedObligationsAreAssignedToTheCurrentRelease() throws TException {
+        Attachment attachment = new Attachment().setAttachmentContentId("att1").setSha1("sha1").setFilename("file.xml");
+        ObligationParsingResult parsed = new ObligationParsingResult().setStatus(ObligationInfoRequestStatus.SUCCESS)
+                .setAttachmentContentId("att1");
+        handler.parseCache.put(new Key(ResultType.OBLIGATIONS, "att1", "sha1", "*", false), Collections.singletonList(parsed));
+
+        Release renamed = new Release().setId("rel1").setName("renamed").setVersion("1")
+                .setAttachments(Collections.singleton(attachment));
+        List<ObligationParsingResult> results = handler.getObligationsForAttachment(renamed, "att1", user);
+
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("renamed", results.get(0).getRelease().getName());
+        // the cached parser output is left without release
+        Assert.assertFalse(parsed.isSetRelease());
+    }
+
     private LicenseNameWithText createLicense(String name, String text, String acknowledgements) {
         LicenseNameWithText licenseNameWithText = new LicenseNameWithText();
         licenseNameWithText.setLicenseName(name);
@@ -0,0 +1,75 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenseinfo;
+
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfo;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
+import org.eclipse.sw360.licenseinfo.LicenseInfoParseCache.Key;
+import org.eclipse.sw360.licenseinfo.LicenseInfoParseCache.ResultType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LicenseInfoParseCacheTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLookupByEqualKey() {
+        LicenseInfoParseCache cache = new LicenseInfoParseCache(1024 * 1024, 15, null, 1);
+        List<LicenseInfoParsingResult> results = Collections.singletonList(createResult("att1", "Apache-2.0"));
+        cache.put(new Key(ResultType.LICENSE_INFO, "att1", "sha", "*", true), results);
+
+        assertSame(results, cache.get(new Key(ResultType.LICENSE_INFO, "att1", "sha", "*", true)));
+        assertNull(cache.get(new Key(ResultType.LICENSE_INFO, "att1", "sha", "*", false)));
+        assertNull(cache.get(new Key(ResultType.LICENSE_INFO, "att1", "otherSha", "*", true)));
+        assertNull(cache.get(new Key(ResultType.OBLIGATIONS, "att1", "sha", "*", true)));
+    }
+
+    @Test
+    public void testEvictionBySize() {
+        LicenseInfoParsingResult result = createResult("att", "GPL-2.0");
+        LicenseInfoParseCache cache = new LicenseInfoParseCache(1024, 15, null, 1);
+        for (int i = 0; i < 100; i++) {
+            cache.put(new Key(ResultType.LICENSE_INFO, "att" + i, null, "*", false), Collections.singletonList(result));
+        }
+
+        assertTrue(cache.size() < 100);
+        assertTrue(cache.getWeight() <= 1024);
+    }
+
+    @Test
+    public void testResultsArePersisted() throws Exception {
+        File directory = folder.newFolder();
+        Key key = new Key(ResultType.LICENSE_INFO, "att1", "sha", "CLIParser", false);
+        new LicenseInfoParseCache(1024 * 1024, 15, directory, 1).put(key, Collections.singletonList(createResult("att1", "MIT")));
+
+        List<LicenseInfoParsingResult> results = new LicenseInfoParseCache(1024 * 1024, 15, directory, 1).get(key);
+
+        assertNotNull(results);
+        assertEquals(1, results.size());
+        assertEquals(createResult("att1", "MIT"), results.get(0));
+    }
+
+    private static LicenseInfoParsingResult createResult(String attachmentContentId, String licenseName) {
+        LicenseInfo licenseInfo = new LicenseInfo().setLicenseNamesWithTexts(
+                ImmutableSet.of(new LicenseNameWithText().setLicenseName(licenseName).setLicenseText("text of " + licenseName)));
+        return new LicenseInfoParsingResult().setAttachmentContentId(attachmentContentId).setLicenseInfo(licenseInfo);
+    }
+}
@@ -11,19 +11,33 @@
  */
 package org.eclipse.sw360.licenseinfo.outputGenerators;
 
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfo;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoRequestStatus;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationAtProject;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationInfoRequestStatus;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationParsingResult;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.OutputFormatVariant;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 
 public class DocxGeneratorTest {
@@ -54,4 +68,34 @@ public class DocxGeneratorTest {
         mostCommonLicenses = DocxGenerator.extractMostCommonLicenses(obligationParsingResults, 3);
         assertThat(mostCommonLicenses.size(), is(98));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDisclosureIsWrittenToStreamFromCachedTemplate() throws Exception {
+        DocxGenerator generator = new DocxGenerator(OutputFormatVariant.DISCLOSURE, "License Disclosure as DOCX");
+        Project project = new Project().setName("myproject").setVersion("1.0").setLicenseInfoHeaderText("header");
+        List<LicenseInfoParsingResult> results = IntStream.range(0, 20).mapToObj(i -> new LicenseInfoParsingResult()
+                .setStatus(LicenseInfoRequestStatus.SUCCESS)
+                .setName("release" + i)
+                .setVersion("1." + i)
+                .setVendor("vendor")
+                .setLicenseInfo(new LicenseInfo()
+                        .setLicenseNamesWithTexts(new HashSet<>(Arrays.asList(
+                                new LicenseNameWithText().setLicenseName("license" + i).setLicenseText("text" + i))))
+                        .setCopyrights(new HashSet<>(Arrays.asList("copyright" + i)))))
+                .collect(Collectors.toList());
+
+        for (int generation = 0; generation < 2; generation++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            generator.writeOutputFile(results, project, Collections.emptyList(), null, Collections.emptyMap(),
+                    Collections.emptyMap(), "", out);
+
+            try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(out.toByteArray()));
+                 XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+                String text = extractor.getText();
+                assertThat(text, containsString("myproject"));
+                assertThat(text, containsString("vendor release19 1.19"));
+                assertThat(text, containsString("copyright19"));
+            }
+        }
+    }
+}
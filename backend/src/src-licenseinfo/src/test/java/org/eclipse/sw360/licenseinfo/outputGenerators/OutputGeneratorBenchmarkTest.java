@@ -0,0 +1,106 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenseinfo.outputGenerators;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfo;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoRequestStatus;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.OutputFormatVariant;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+/**
+ * Measures the throughput of generating license info files of small projects and of projects with hundreds of
+ * releases, once the shared velocity engine has been set up by the first generation
+ */
+public class OutputGeneratorBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(OutputGeneratorBenchmarkTest.class);
+
+    private static final int RELEASES = 500;
+    private static final int SMALL_PROJECT_RELEASES = 3;
+    private static final int LICENSES = 50;
+    private static final int GENERATIONS = 20;
+
+    private final Project project = new Project().setName("project").setVersion("1.0")
+            .setLicenseInfoHeaderText("header").setObligationsText("obligations");
+
+    private static List<LicenseInfoParsingResult> createResults(int releases) {
+        List<LicenseInfoParsingResult> results = new ArrayList<>();
+        for (int i = 0; i < releases; i++) {
+            Set<LicenseNameWithText> licenses = new HashSet<>();
+            licenses.add(new LicenseNameWithText().setLicenseName("license" + (i % LICENSES))
+                    .setLicenseText("text of license " + (i % LICENSES)));
+            licenses.add(new LicenseNameWithText().setLicenseName("license" + ((i + 1) % LICENSES))
+                    .setLicenseText("text of license " + ((i + 1) % LICENSES)).setAcknowledgements("ack" + i));
+            Set<String> copyrights = new HashSet<>();
+            copyrights.add("Copyright " + i + " by vendor" + i);
+            results.add(new LicenseInfoParsingResult()
+                    .setStatus(LicenseInfoRequestStatus.SUCCESS)
+                    .setName("release" + i)
+                    .setVersion("1." + i)
+                    .setVendor("vendor" + i)
+                    .setLicenseInfo(new LicenseInfo().setLicenseNamesWithTexts(licenses).setCopyrights(copyrights)));
+        }
+        return results;
+    }
+
+    @Test
+    public void testGenerationThroughputBenchmark() throws Exception {
+        XhtmlGenerator xhtmlGenerator = new XhtmlGenerator(OutputFormatVariant.DISCLOSURE, "xhtml");
+        TextGenerator textGenerator = new TextGenerator(OutputFormatVariant.DISCLOSURE, "text");
+        List<LicenseInfoParsingResult> smallProject = createResults(SMALL_PROJECT_RELEASES);
+        List<LicenseInfoParsingResult> largeProject = createResults(RELEASES);
+
+        long start = System.nanoTime();
+        String first = generate(xhtmlGenerator, smallProject);
+        long firstMillis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(first, containsString("release" + (SMALL_PROJECT_RELEASES - 1)));
+
+        start = System.nanoTime();
+        for (int i = 0; i < GENERATIONS; i++) {
+            generate(xhtmlGenerator, smallProject);
+            generate(textGenerator, smallProject);
+        }
+        double smallMillis = (System.nanoTime() - start) / 1_000_000.0 / (2 * GENERATIONS);
+
+        String xhtml = null;
+        String text = null;
+        start = System.nanoTime();
+        for (int i = 0; i < GENERATIONS; i++) {
+            xhtml = generate(xhtmlGenerator, largeProject);
+            text = generate(textGenerator, largeProject);
+        }
+        double largeMillis = (System.nanoTime() - start) / 1_000_000.0 / (2 * GENERATIONS);
+
+        assertThat(xhtml, containsString("release" + (RELEASES - 1)));
+        assertThat(text, containsString("release" + (RELEASES - 1)));
+
+        log.info(String.format("first generation including velocity setup: %d ms, %d releases: %.2f ms per file,"
+                + " %d releases: %.2f ms per file", firstMillis, SMALL_PROJECT_RELEASES, smallMillis, RELEASES, largeMillis));
+    }
+
+    private String generate(OutputGenerator<String> generator, List<LicenseInfoParsingResult> results) throws Exception {
+        return generator.generateOutputFile(results, project, Collections.emptySet(), null, Collections.emptyMap(),
+                Collections.emptyMap(), "");
+    }
+}
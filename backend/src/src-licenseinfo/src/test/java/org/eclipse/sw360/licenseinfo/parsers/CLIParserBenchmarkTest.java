@@ -0,0 +1,121 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenseinfo.parsers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
+import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
+import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationAtProject;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the streaming extraction of CLI files with building a DOM for them. The results are compared in the
+ * default test run, the timing only when the benchmark is run manually.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CLIParserBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(CLIParserBenchmarkTest.class);
+
+    private static final int REPETITIONS = 100;
+    private static final int BENCHMARK_REPETITIONS = 5000;
+    private static final String ROOT_END_TAG = "</ComponentLicenseInformation>";
+
+    @Mock
+    private AttachmentConnector connector;
+    private CLIParser parser;
+    private byte[] cli;
+
+    @Before
+    public void setUp() throws Exception {
+        AttachmentContent content = new AttachmentContent().setId("A1").setFilename("a.xml").setContentType("application/xml");
+        parser = new CLIParser(connector, a -> content);
+        cli = createLargeCli(REPETITIONS);
+    }
+
+    /**
+     * Repeats the licenses, obligations and copyrights of the CLI test file with unique texts
+     */
+    private static byte[] createLargeCli(int repetitions) {
+        String cli = CLIParserTest.CLI_TESTFILE;
+        int bodyStart = cli.indexOf('>', cli.indexOf("<ComponentLicenseInformation")) + 1;
+        int bodyEnd = cli.lastIndexOf(ROOT_END_TAG);
+        String body = cli.substring(bodyStart, bodyEnd);
+
+        StringBuilder builder = new StringBuilder(cli.substring(0, bodyStart));
+        for (int i = 0; i < repetitions; i++) {
+            builder.append(body.replace("]]>", " " + i + "]]>"));
+        }
+        return builder.append(ROOT_END_TAG).toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void testStreamingExtractionMatchesDom() throws Exception {
+        CLIParser.CLIContent streamed = parser.readCLIContent(new ByteArrayInputStream(cli), true, false, true);
+
+        Document doc = parser.getDocument(new ByteArrayInputStream(cli));
+        Set<LicenseNameWithText> licenses = new HashSet<>();
+        NodeList licenseNodes = parser.getNodeListByXpath(doc, "/ComponentLicenseInformation/License");
+        for (int i = 0; i < licenseNodes.getLength(); i++) {
+            licenses.add(parser.getLicenseNameWithTextFromLicenseNode(licenseNodes.item(i)));
+        }
+        List<ObligationAtProject> obligations = new ArrayList<>();
+        NodeList obligationNodes = parser.getNodeListByXpath(doc, "/ComponentLicenseInformation/Obligation");
+        for (int i = 0; i < obligationNodes.getLength(); i++) {
+            obligations.add(parser.getObligationFromObligationNode(obligationNodes.item(i)));
+        }
+        Set<String> copyrights = parser.nodeListToStringSet(parser.getNodeListByXpath(doc, "/ComponentLicenseInformation/Copyright/Content"));
+
+        assertEquals(REPETITIONS, streamed.getLicenseNamesWithTexts().size());
+        assertEquals(licenses, streamed.getLicenseNamesWithTexts());
+        assertEquals(obligations, streamed.getObligations());
+        assertEquals(copyrights, streamed.getCopyrights());
+    }
+
+    @Test
+    @Ignore("Benchmark, takes long and is meant to be run manually")
+    public void testStreamingAgainstDomBenchmark() throws Exception {
+        byte[] largeCli = createLargeCli(BENCHMARK_REPETITIONS);
+        // warm up both code paths
+        parser.readCLIContent(new ByteArrayInputStream(largeCli), true, false, true);
+        parser.getDocument(new ByteArrayInputStream(largeCli));
+
+        long start = System.nanoTime();
+        Document doc = parser.getDocument(new ByteArrayInputStream(largeCli));
+        long domMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(1, doc.getChildNodes().getLength());
+
+        start = System.nanoTime();
+        CLIParser.CLIContent streamed = parser.readCLIContent(new ByteArrayInputStream(largeCli), true, false, true);
+        long streamingMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(BENCHMARK_REPETITIONS, streamed.getLicenseNamesWithTexts().size());
+
+        log.info(String.format("Parsed CLI file of %d KB: DOM took %d ms, streaming took %d ms",
+                largeCli.length / 1024, domMillis, streamingMillis));
+    }
+}
@@ -45,6 +45,7 @@ import java.net.MalformedURLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -83,14 +84,22 @@ public class LicenseDatabaseHandler {
     private final LicenseModerator moderator;
     private final CustomPropertiesRepository customPropertiesRepository;
     private final DatabaseRepositoryCloudantClient[] repositories;
+    private final LicenseReferenceDataCache referenceData;
     private DatabaseHandlerUtil dbHandlerUtil;
 
     private static boolean IMPORT_STATUS = false;
     private static long IMPORT_TIME = 0;
     private static final long TIME_OUT = 1800000; // 30 minutes: 30 * 60 * 1000;
+    private static final long REFERENCE_DATA_MAX_AGE;
     private String obligationText;
     private final Logger log = LogManager.getLogger(LicenseDatabaseHandler.class);
 
+    static {
+        Properties props = CommonUtils.loadProperties(LicenseDatabaseHandler.class, "/sw360.properties");
+        REFERENCE_DATA_MAX_AGE = TimeUnit.SECONDS.toMillis(
+                Long.parseLong(props.getProperty("licenses.reference.cache.max.age.seconds", "300")));
+    }
+
     public LicenseDatabaseHandler(Supplier<CloudantClient> httpClient, String dbName) throws MalformedURLException {
         // Create the connector
         db = new DatabaseConnectorCloudant(httpClient, dbName);
@@ -114,6 +123,9 @@ public class LicenseDatabaseHandler {
                 obligationNodeRepository
         };
 
+        referenceData = new LicenseReferenceDataCache(licenseRepository::getAll, licenseTypeRepository::getAll,
+                obligRepository::getAll, obligationNodeRepository::getAll, REFERENCE_DATA_MAX_AGE);
+
         moderator = new LicenseModerator();
     }
 
@@ -127,11 +139,11 @@ public class LicenseDatabaseHandler {
      * Get a summary of all licenses from the database
      */
     public List<License> getLicenseSummary() {
-        final List<License> licenses = licenseRepository.getAll();
-        final List<LicenseType> licenseTypes = licenseTypeRepository.getAll();
+        final List<License> licenses = licenseRepository.makeSummaryFromFullDocs(SummaryType.SUMMARY, referenceData.getLicenseDocuments());
+        final List<LicenseType> licenseTypes = referenceData.getLicenseTypes();
         putLicenseTypesInLicenses(licenses, licenseTypes);
         /*Note that risks are not set here*/
-        return licenseRepository.makeSummaryFromFullDocs(SummaryType.SUMMARY, licenses);
+        return licenses;
 
     }
 
@@ -234,6 +246,7 @@ public class LicenseDatabaseHandler {
             }
         }
         obligRepository.add(obligs);
+        referenceData.invalidate();
         obligs.setNode(null);
         Obligation obligTmp = new  Obligation();
         obligTmp.setDevelopment(false)
@@ -256,6 +269,7 @@ public class LicenseDatabaseHandler {
         Obligation oldObligation = getObligationsById(oblig.getId());
         prepareTodo(oblig);
         obligRepository.update(oblig);
+        referenceData.invalidate();
         oblig.setNode(null);
         oldObligation.setNode(null);
         dbHandlerUtil.addChangeLogs(oblig, oldObligation, user.getEmail(), Operation.UPDATE, null, Lists.newArrayList(), null, null);
@@ -300,6 +314,7 @@ public class LicenseDatabaseHandler {
         existedObligationNode = isExistedObligationNode(obligationNode);
         if (existedObligationNode.isEmpty()) {
             obligationNodeRepository.add(obligationNode);
+            referenceData.invalidate();
             return obligationNode.getId();
         } else {
             return existedObligationNode.get(0).getId();
@@ -318,6 +333,7 @@ public class LicenseDatabaseHandler {
                 license.addToObligationDatabaseIds(oblig.getId());
             }
             licenseRepository.update(license);
+            referenceData.invalidate();
             return RequestStatus.SUCCESS;
         } else {
             License licenseForModerationRequest = getLicenseForOrganisationWithOwnModerationRequests(license.getId(), user.getDepartment(),user);
@@ -359,6 +375,7 @@ public class LicenseDatabaseHandler {
                 }
 
             }
+            referenceData.invalidate();
             return RequestStatus.SUCCESS;
         } else {
             //add updated whitelists to obligations in moderation request, not yet in database
@@ -384,7 +401,7 @@ public class LicenseDatabaseHandler {
     }
 
     public List<License> getLicenses(Set<String> ids, String organisation) {
-        final List<License> licenses = licenseRepository.get(ids);
+        final List<License> licenses = referenceData.getLicensesByShortnames(ids);
         final List<Obligation> obligationsFromLicenses = getTodosFromLicenses(licenses);
         final List<LicenseType> licenseTypes = getLicenseTypesFromLicenses(licenses);
         filterTodoWhiteListAndFillTodosRisksAndLicenseTypeInLicense(organisation, licenses, obligationsFromLicenses, licenseTypes);
@@ -393,9 +410,9 @@ public class LicenseDatabaseHandler {
 
     public List<License> getDetailedLicenseSummaryForExport(String organisation) {
 
-        final List<License> licenses = licenseRepository.getAll();
-        final List<Obligation> obligations = obligRepository.getAll();
-        final List<LicenseType> licenseTypes = licenseTypeRepository.getAll();
+        final List<License> licenses = referenceData.getLicenses();
+        final List<Obligation> obligations = referenceData.getObligations();
+        final List<LicenseType> licenseTypes = referenceData.getLicenseTypes();
         return filterTodoWhiteListAndFillTodosRisksAndLicenseTypeInLicense(organisation, licenses, obligations, licenseTypes);
     }
 
@@ -471,6 +488,7 @@ public class LicenseDatabaseHandler {
             } else {
                 licenseRepository.update(resultLicense);
             }
+            referenceData.invalidate();
             return RequestStatus.SUCCESS;
         }
         return RequestStatus.FAILURE;
@@ -493,10 +511,12 @@ public class LicenseDatabaseHandler {
                     if (oblig.whitelist.contains(businessUnit) && !dbTodo.whitelist.contains(businessUnit)) {
                         dbTodo.addToWhitelist(businessUnit);
                         obligRepository.update(dbTodo);
+                        referenceData.invalidate();
                     }
                     if (!oblig.whitelist.contains(businessUnit) && dbTodo.whitelist.contains(businessUnit)) {
                         dbTodo.whitelist.remove(businessUnit);
                         obligRepository.update(dbTodo);
+                        referenceData.invalidate();
                     }
                 }
             }
@@ -537,7 +557,7 @@ public class LicenseDatabaseHandler {
     }
 
     public List<License> getDetailedLicenseSummaryForExport(String organisation, List<String> identifiers) {
-        final List<License> licenses = CommonUtils.nullToEmptyList(licenseRepository.searchByShortName(identifiers));
+        final List<License> licenses = referenceData.getLicensesByShortnames(identifiers);
         List<Obligation> obligations = getTodosFromLicenses(licenses);
         final List<LicenseType> licenseTypes = getLicenseTypesFromLicenses(licenses);
         return filterTodoWhiteListAndFillTodosRisksAndLicenseTypeInLicense(organisation, licenses, obligations, licenseTypes);
@@ -585,6 +605,7 @@ public class LicenseDatabaseHandler {
 
             licenseType.setLicenseTypeId(licenseType.getLicenseType().hashCode());
             licenseTypeRepository.add(licenseType);
+            referenceData.invalidate();
             return RequestStatus.SUCCESS;
         } else {
             log.error(user + " does not have the permission to add license type.");
@@ -603,6 +624,7 @@ public class LicenseDatabaseHandler {
             return null;
         }
         List<Response> documentOperationResults = licenseTypeRepository.executeBulk(licenseTypes);
+        referenceData.invalidate();
         documentOperationResults = documentOperationResults.stream()
                 .filter(res -> res.getError() != null || res.getStatusCode() != HttpStatus.SC_CREATED).collect(Collectors.toList());
         if (documentOperationResults.isEmpty()) {
@@ -635,6 +657,7 @@ public class LicenseDatabaseHandler {
         }
 
         List<Response> documentOperationResults = licenseRepository.executeBulk(licenses);
+        referenceData.invalidate();
         documentOperationResults = documentOperationResults.stream()
                 .filter(res -> res.getError() != null || res.getStatusCode() != HttpStatus.SC_CREATED).collect(Collectors.toList());
         if (documentOperationResults.isEmpty()) {
@@ -655,6 +678,7 @@ public class LicenseDatabaseHandler {
         }
 
         List<Response> documentOperationResults = obligRepository.executeBulk(listOfObligations);
+        referenceData.invalidate();
         documentOperationResults = documentOperationResults.stream()
                 .filter(res -> res.getError() != null || res.getStatusCode() != HttpStatus.SC_CREATED).collect(Collectors.toList());
         if (documentOperationResults.isEmpty()) {
@@ -663,10 +687,7 @@ public class LicenseDatabaseHandler {
     }
 
     public List<License> getLicenses() {
-        final List<License> licenses = licenseRepository.getAll();
-        if (licenses == null) {
-            return Collections.emptyList();
-        }
+        final List<License> licenses = referenceData.getLicenses();
         final List<Obligation> obligations = getTodosFromLicenses(licenses);
         final List<LicenseType> licenseTypes = getLicenseTypesFromLicenses(licenses);
         fillTodosRisksAndLicenseTypes(licenses, obligations, licenseTypes);
@@ -679,17 +700,17 @@ public class LicenseDatabaseHandler {
     }
 
     public List<LicenseType> getLicenseTypes() {
-        return licenseTypeRepository.getAll();
+        return referenceData.getLicenseTypes();
     }
 
 
     public List<Obligation> getObligations() {
-        final List<Obligation> obligations = obligRepository.getAll();
+        final List<Obligation> obligations = referenceData.getObligations();
         return obligations;
     }
 
     public List<ObligationNode> getObligationNodes() {
-        final List<ObligationNode> obligationNodes = obligationNodeRepository.getAll();
+        final List<ObligationNode> obligationNodes = referenceData.getObligationNodes();
         return obligationNodes;
     }
 
@@ -699,11 +720,14 @@ public class LicenseDatabaseHandler {
     }
 
     public List<LicenseType> getLicenseTypesByIds(Collection<String> ids) {
-        return licenseTypeRepository.get(ids);
+        return referenceData.getLicenseTypesByIds(ids);
     }
 
     public List<Obligation> getObligationsByIds(Collection<String> ids) {
-        final List<Obligation> obligations = obligRepository.get(ids);
+        return prepareObligations(referenceData.getObligationsByIds(ids));
+    }
+
+    private List<Obligation> prepareObligations(List<Obligation> obligations) {
         for (Obligation oblig : obligations) {
             if(! oblig.isSetWhitelist()){
                 oblig.setWhitelist(Collections.emptySet());
@@ -813,6 +837,7 @@ public class LicenseDatabaseHandler {
         // Remove the license if the user is allowed to do it by himself
         if (makePermission(license, user).isActionAllowed(RequestedAction.DELETE)) {
             licenseRepository.remove(license);
+            referenceData.invalidate();
             moderator.notifyModeratorOnDelete(license.getId());
             return RequestStatus.SUCCESS;
         } else {
@@ -848,6 +873,7 @@ public class LicenseDatabaseHandler {
         for(DatabaseRepositoryCloudantClient repository : repositories) {
             result = addRequestSummaries(result, deleteAllDocuments(repository));
         }
+        referenceData.invalidate();
         return result;
     }
 
@@ -940,9 +966,10 @@ public class LicenseDatabaseHandler {
                             obligRepository.update(sw360Obligation);
                             if (!sw360License.getObligationDatabaseIds().contains(sw360Obligation.getId())) {
                                 sw360License.addToObligationDatabaseIds(sw360Obligation.getId());
-                                sw360License.setObligations(getObligationsByIds(sw360License.obligationDatabaseIds));
+                                sw360License.setObligations(prepareObligations(obligRepository.get(sw360License.obligationDatabaseIds)));
                                 licenseRepository.update(sw360License);
                             }
+                            referenceData.invalidate();
                             licensesSuccess.put(licenseId, sw360License.getFullname());
                             OSADLexists = true;
                             break;
@@ -956,8 +983,9 @@ public class LicenseDatabaseHandler {
                         oblig.setNode(obligNode);
                         String obligId = addObligations(oblig, user);
                         sw360License.addToObligationDatabaseIds(obligId);
-                        sw360License.setObligations(getObligationsByIds(sw360License.obligationDatabaseIds));
+                        sw360License.setObligations(prepareObligations(obligRepository.get(sw360License.obligationDatabaseIds)));
                         licenseRepository.update(sw360License);
+                        referenceData.invalidate();
                     }
                     licensesSuccess.put(licenseId, sw360License.getFullname());
                 } else {
@@ -994,6 +1022,7 @@ public class LicenseDatabaseHandler {
         // Remove the license if the user is allowed to do it by himself
         if (PermissionUtils.isUserAtLeast(UserGroup.SW360_ADMIN, user)) {
             obligRepository.remove(oblig);
+            referenceData.invalidate();
             return RequestStatus.SUCCESS;
         } else {
             log.error(user + " does not have the permission to delete oblig.");
@@ -1011,6 +1040,7 @@ public class LicenseDatabaseHandler {
                 return RequestStatus.IN_USE;
             }
             licenseTypeRepository.remove(licenseType);
+            referenceData.invalidate();
             return RequestStatus.SUCCESS;
         } else {
             log.error(user + " does not have the permission to delete license type.");
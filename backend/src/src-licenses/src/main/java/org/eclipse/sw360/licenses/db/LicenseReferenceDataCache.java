@@ -0,0 +1,173 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenses.db;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.common.CommonUtils;
+import org.eclipse.sw360.datahandler.thrift.licenses.License;
+import org.eclipse.sw360.datahandler.thrift.licenses.LicenseType;
+import org.eclipse.sw360.datahandler.thrift.licenses.Obligation;
+import org.eclipse.sw360.datahandler.thrift.licenses.ObligationNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of the license reference data, i.e. all licenses, license types, obligations and obligation
+ * nodes, which rarely change but are read for every release during license info generation and export.
+ *
+ * The snapshot is loaded on first use and dropped by {@link #invalidate()}, which the license database handler
+ * calls after each of its writes. Other services writing to the license database are picked up once the
+ * snapshot is older than {@code licenses.reference.cache.max.age.seconds}. Callers always get copies, so they are
+ * free to modify the returned documents.
+ */
+public class LicenseReferenceDataCache {
+
+    private static final Logger log = LogManager.getLogger(LicenseReferenceDataCache.class);
+
+    private final Supplier<List<License>> licenseLoader;
+    private final Supplier<List<LicenseType>> licenseTypeLoader;
+    private final Supplier<List<Obligation>> obligationLoader;
+    private final Supplier<List<ObligationNode>> obligationNodeLoader;
+    private final long maxAgeMillis;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public LicenseReferenceDataCache(Supplier<List<License>> licenseLoader,
+                                     Supplier<List<LicenseType>> licenseTypeLoader,
+                                     Supplier<List<Obligation>> obligationLoader,
+                                     Supplier<List<ObligationNode>> obligationNodeLoader,
+                                     long maxAgeMillis) {
+        this.licenseLoader = licenseLoader;
+        this.licenseTypeLoader = licenseTypeLoader;
+        this.obligationLoader = obligationLoader;
+        this.obligationNodeLoader = obligationNodeLoader;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    private static class Snapshot {
+        private final long loadedAt = System.currentTimeMillis();
+        // the id of a license is its shortname
+        private final Map<String, License> licensesByShortname;
+        private final Map<String, LicenseType> licenseTypesById;
+        private final Map<String, Obligation> obligationsById;
+        private final Map<String, ObligationNode> obligationNodesById;
+
+        private Snapshot(List<License> licenses, List<LicenseType> licenseTypes,
+                         List<Obligation> obligations, List<ObligationNode> obligationNodes) {
+            licensesByShortname = indexById(licenses, License::getId);
+            licenseTypesById = indexById(licenseTypes, LicenseType::getId);
+            obligationsById = indexById(obligations, Obligation::getId);
+            obligationNodesById = indexById(obligationNodes, ObligationNode::getId);
+        }
+
+        private static <T> Map<String, T> indexById(List<T> documents, Function<T, String> getId) {
+            ImmutableMap.Builder<String, T> builder = ImmutableMap.builder();
+            for (T document : CommonUtils.nullToEmptyList(documents)) {
+                if (getId.apply(document) != null) {
+                    builder.put(getId.apply(document), document);
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.loadedAt < maxAgeMillis) {
+            return current;
+        }
+        return load();
+    }
+
+    private synchronized Snapshot load() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.loadedAt < maxAgeMillis) {
+            return current;
+        }
+        long loadedGeneration = generation.get();
+        Snapshot loaded = new Snapshot(licenseLoader.get(), licenseTypeLoader.get(),
+                obligationLoader.get(), obligationNodeLoader.get());
+        // a write during loading may not be part of the snapshot, so it is only used for this call
+        if (loadedGeneration == generation.get()) {
+            snapshot = loaded;
+        }
+        log.debug("Loaded license reference data with " + loaded.licensesByShortname.size() + " licenses");
+        return loaded;
+    }
+
+    /**
+     * Drops the snapshot, the next read loads the reference data again
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private static <T> List<T> copies(Collection<T> documents, UnaryOperator<T> deepCopy) {
+        return documents.stream()
+                .map(deepCopy)
+                .collect(Collectors.toList());
+    }
+
+    private static <T> List<T> copies(Map<String, T> documentsById, Collection<String> ids, UnaryOperator<T> deepCopy) {
+        return CommonUtils.nullToEmptyCollection(ids).stream()
+                .map(documentsById::get)
+                .filter(Objects::nonNull)
+                .map(deepCopy)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the licenses of the snapshot itself, which must not be modified, e.g. to make summaries from
+     */
+    List<License> getLicenseDocuments() {
+        return new ArrayList<>(getSnapshot().licensesByShortname.values());
+    }
+
+    public List<License> getLicenses() {
+        return copies(getSnapshot().licensesByShortname.values(), License::deepCopy);
+    }
+
+    public List<License> getLicensesByShortnames(Collection<String> shortnames) {
+        return copies(getSnapshot().licensesByShortname, shortnames, License::deepCopy);
+    }
+
+    public List<LicenseType> getLicenseTypes() {
+        return copies(getSnapshot().licenseTypesById.values(), LicenseType::deepCopy);
+    }
+
+    public List<LicenseType> getLicenseTypesByIds(Collection<String> ids) {
+        return copies(getSnapshot().licenseTypesById, ids, LicenseType::deepCopy);
+    }
+
+    public List<Obligation> getObligations() {
+        return copies(getSnapshot().obligationsById.values(), Obligation::deepCopy);
+    }
+
+    public List<Obligation> getObligationsByIds(Collection<String> ids) {
+        return copies(getSnapshot().obligationsById, ids, Obligation::deepCopy);
+    }
+
+    public List<ObligationNode> getObligationNodes() {
+        return copies(getSnapshot().obligationNodesById.values(), ObligationNode::deepCopy);
+    }
+}
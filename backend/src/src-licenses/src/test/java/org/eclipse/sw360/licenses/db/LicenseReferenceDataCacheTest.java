@@ -0,0 +1,93 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenses.db;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.sw360.datahandler.thrift.licenses.License;
+import org.eclipse.sw360.datahandler.thrift.licenses.LicenseType;
+import org.eclipse.sw360.datahandler.thrift.licenses.Obligation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class LicenseReferenceDataCacheTest {
+
+    private final AtomicInteger licenseLoads = new AtomicInteger();
+    private List<License> licenses;
+    private LicenseReferenceDataCache referenceData;
+
+    @Before
+    public void setUp() {
+        licenses = ImmutableList.of(
+                new License().setId("Apache-2.0").setFullname("Apache License 2.0").setLicenseTypeDatabaseId("lt1"),
+                new License().setId("MIT").setFullname("MIT License"));
+        referenceData = new LicenseReferenceDataCache(
+                () -> {
+                    licenseLoads.incrementAndGet();
+                    return licenses;
+                },
+                () -> ImmutableList.of(new LicenseType().setId("lt1").setLicenseType("Permissive")),
+                () -> ImmutableList.of(new Obligation().setId("o1").setTitle("Attribution")),
+                Collections::emptyList,
+                60_000);
+    }
+
+    @Test
+    public void testDataIsLoadedOnce() {
+        assertThat(referenceData.getLicenses().size(), is(2));
+        assertThat(referenceData.getLicensesByShortnames(ImmutableSet.of("MIT", "unknown")).size(), is(1));
+        assertThat(referenceData.getLicenseTypesByIds(Collections.singleton("lt1")).get(0).getLicenseType(), is("Permissive"));
+        assertThat(referenceData.getObligations().size(), is(1));
+
+        assertThat(licenseLoads.get(), is(1));
+    }
+
+    @Test
+    public void testCopiesAreReturned() {
+        License license = referenceData.getLicensesByShortnames(Collections.singleton("MIT")).get(0);
+        license.setFullname("changed");
+
+        License again = referenceData.getLicensesByShortnames(Collections.singleton("MIT")).get(0);
+        assertThat(again, not(sameInstance(license)));
+        assertThat(again.getFullname(), is("MIT License"));
+    }
+
+    @Test
+    public void testInvalidateReloads() {
+        referenceData.getLicenses();
+        licenses = ImmutableList.of(new License().setId("MIT").setFullname("MIT License"));
+
+        assertThat(referenceData.getLicenses().size(), is(2));
+        referenceData.invalidate();
+        assertThat(referenceData.getLicenses().size(), is(1));
+        assertThat(licenseLoads.get(), is(2));
+    }
+
+    @Test
+    public void testExpiredSnapshotIsReloaded() {
+        referenceData = new LicenseReferenceDataCache(() -> {
+            licenseLoads.incrementAndGet();
+            return licenses;
+        }, Collections::emptyList, Collections::emptyList, Collections::emptyList, 0);
+
+        referenceData.getLicenses();
+        referenceData.getLicenses();
+        assertThat(licenseLoads.get(), is(2));
+    }
+}
@@ -18,6 +18,8 @@ import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.RequestStatusWithBoolean;
 import org.eclipse.sw360.datahandler.thrift.RequestSummary;
 import org.eclipse.sw360.datahandler.thrift.ThriftClients;
+import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentService;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateProgress;
 import org.eclipse.sw360.datahandler.thrift.schedule.ScheduleService;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.apache.logging.log4j.LogManager;
@@ -55,6 +57,13 @@ public class ScheduleHandler implements ScheduleService.Iface {
         return Scheduler.scheduleNextSync(wrappedBody, serviceName);
     }
 
+    private RequestStatus deleteOldAttachments() throws TException {
+        AttachmentService.Iface attachmentClient = thriftClients.makeAttachmentClient();
+        RequestStatus fileSystemStatus = attachmentClient.deleteOldAttachmentFromFileSystem();
+        RequestStatus uploadsStatus = attachmentClient.deleteAbandonedUploads().getRequestStatus();
+        return fileSystemStatus == RequestStatus.SUCCESS ? uploadsStatus : fileSystemStatus;
+    }
+
     @Override
     public RequestSummary scheduleService(String serviceName) throws TException {
         if(ScheduleConstants.invalidConfiguredServices.contains(serviceName)){
@@ -70,7 +79,7 @@ public class ScheduleHandler implements ScheduleService.Iface {
                 successSync = wrapSupplierException(() -> thriftClients.makeCvesearchClient().update(), serviceName);
                 break;
             case ThriftClients.DELETE_ATTACHMENT_SERVICE:
-                successSync = wrapSupplierException(() -> thriftClients.makeAttachmentClient().deleteOldAttachmentFromFileSystem(), serviceName);
+                successSync = wrapSupplierException(() -> deleteOldAttachments(), serviceName);
                 break;
             default:
                 log.error("Could not schedule service: " + serviceName + ". Reason: service is not registered in ThriftClients.");
@@ -142,4 +151,12 @@ public class ScheduleHandler implements ScheduleService.Iface {
     public int getInterval(String serviceName){
         return ScheduleConstants.SYNC_INTERVAL_SEC.get(serviceName) != null ? ScheduleConstants.SYNC_INTERVAL_SEC.get(serviceName) : -1 ;
     }
+
+    @Override
+    public VulnerabilityUpdateProgress getCveSearchUpdateProgress(User user) throws TException {
+        if (!PermissionUtils.isAdmin(user)) {
+            return new VulnerabilityUpdateProgress().setRequestStatus(RequestStatus.FAILURE);
+        }
+        return thriftClients.makeCvesearchClient().getUpdateProgress();
+    }
 }
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.datahandler.couchdb.lucene.LuceneAwareDatabaseConnector.prepareWildcardQuery;
 
@@ -120,12 +121,20 @@ public abstract class AbstractDatabaseSearchHandler {
         if (queryLucene != null) {
             for (LuceneResult.Row row : queryLucene.getRows()) {
                 SearchResult result = makeSearchResult(row);
-                if (result != null && !result.getName().isEmpty() && isVisibleToUser(result, user)) {
+                if (result != null && !result.getName().isEmpty()) {
                     results.add(result);
                 }
             }
         }
-        return results;
+        return filterVisibleToUser(results, user);
+    }
+
+    /**
+     * Filters the search results down to the ones visible to the user, keeping their order. Implementations may
+     * override this to check the results as a batch.
+     */
+    protected List<SearchResult> filterVisibleToUser(List<SearchResult> results, User user) {
+        return results.stream().filter(result -> isVisibleToUser(result, user)).collect(Collectors.toList());
     }
 
     abstract protected boolean isVisibleToUser(SearchResult result, User user);
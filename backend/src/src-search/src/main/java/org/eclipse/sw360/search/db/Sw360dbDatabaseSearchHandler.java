@@ -11,6 +11,7 @@ package org.eclipse.sw360.search.db;
 
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseRepositoryCloudantClient;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.common.SW360Constants;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
@@ -29,22 +30,40 @@ import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.ektorp.http.HttpClient;
 
 import com.cloudant.client.api.CloudantClient;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class Sw360dbDatabaseSearchHandler extends AbstractDatabaseSearchHandler {
 
+    private static final int VISIBILITY_CACHE_MAX_ITEMS = 10000;
+
+    private final DatabaseConnectorCloudant db;
     private final ProjectRepository projectRepository;
 
     private final ComponentRepository componentRepository;
     private final VendorRepository vendorRepository;
     private final ReleaseRepository releaseRepository;
 
+    // visibility relevant fields of the documents, keyed by id and database revision, so that changed documents are reloaded
+    private final Cache<String, Project> projectVisibilityCache = CacheBuilder.newBuilder().maximumSize(VISIBILITY_CACHE_MAX_ITEMS).build();
+    private final Cache<String, Component> componentVisibilityCache = CacheBuilder.newBuilder().maximumSize(VISIBILITY_CACHE_MAX_ITEMS).build();
+    private final Cache<String, Release> releaseVisibilityCache = CacheBuilder.newBuilder().maximumSize(VISIBILITY_CACHE_MAX_ITEMS).build();
+
     public Sw360dbDatabaseSearchHandler() throws IOException {
         super(DatabaseSettings.COUCH_DB_DATABASE);
         
-        DatabaseConnectorCloudant db = new DatabaseConnectorCloudant(DatabaseSettings.getConfiguredClient(), DatabaseSettings.COUCH_DB_DATABASE);
+        db = new DatabaseConnectorCloudant(DatabaseSettings.getConfiguredClient(), DatabaseSettings.COUCH_DB_DATABASE);
         
         projectRepository = new ProjectRepository(db);
         vendorRepository = new VendorRepository(db);
@@ -55,7 +74,7 @@ public class Sw360dbDatabaseSearchHandler extends AbstractDatabaseSearchHandler
     public Sw360dbDatabaseSearchHandler(Supplier<HttpClient> client, Supplier<CloudantClient> cclient, String dbName) throws IOException {
         super(client, cclient, dbName);
 
-        DatabaseConnectorCloudant db = new DatabaseConnectorCloudant(cclient, dbName);
+        db = new DatabaseConnectorCloudant(cclient, dbName);
         
         projectRepository = new ProjectRepository(db);
         vendorRepository = new VendorRepository(db);
@@ -63,25 +82,106 @@ public class Sw360dbDatabaseSearchHandler extends AbstractDatabaseSearchHandler
         componentRepository = new ComponentRepository(db, releaseRepository, vendorRepository);
     }
 
+    @Override
     protected boolean isVisibleToUser(SearchResult result, User user) {
-        if (result.type.equals(SW360Constants.TYPE_PROJECT)) {
-	        Project project = projectRepository.get(result.id);
-	        return ProjectPermissions.isVisible(user).test(project);
-        } else if(result.type.equals(SW360Constants.TYPE_COMPONENT)) {
-            Component component = componentRepository.get(result.id);
-            return ComponentPermissions.isVisible(user).test(component);    	
-        } else if(result.type.equals(SW360Constants.TYPE_RELEASE)) {
-            Release release = releaseRepository.get(result.id);
-            boolean isReleaseVisible = ReleasePermissions.isVisible(user).test(release);
-            boolean isComponentVisible = false;
-            String componentId = release.getComponentId();
-            if(CommonUtils.isNotNullEmptyOrWhitespace(componentId)) {
-                Component component = componentRepository.get(componentId);
-                isComponentVisible = ComponentPermissions.isVisible(user).test(component); 
+        return !filterVisibleToUser(Collections.singletonList(result), user).isEmpty();
+    }
+
+    /**
+     * Checks the visibility of all results at once. The current revisions of the documents of each type are read
+     * with one keys-only bulk request, and only the documents whose revision has not been seen before are fetched
+     * with a second one. The same is done for the components of releases which are not part of the results
+     * themselves. The revisions known to the search index are not used, as the index may lag behind the database.
+     */
+    @Override
+    protected List<SearchResult> filterVisibleToUser(List<SearchResult> results, User user) {
+        Map<String, Project> projects = getVisibilityFields(idsOfType(results, SW360Constants.TYPE_PROJECT),
+                projectRepository, projectVisibilityCache, Project::getId, Project::getRevision, this::projectVisibilityFields);
+        Map<String, Component> components = getVisibilityFields(idsOfType(results, SW360Constants.TYPE_COMPONENT),
+                componentRepository, componentVisibilityCache, Component::getId, Component::getRevision, this::componentVisibilityFields);
+        Map<String, Release> releases = getVisibilityFields(idsOfType(results, SW360Constants.TYPE_RELEASE),
+                releaseRepository, releaseVisibilityCache, Release::getId, Release::getRevision, this::releaseVisibilityFields);
+
+        Set<String> componentIdsOfReleases = releases.values().stream()
+                .map(Release::getComponentId)
+                .filter(CommonUtils::isNotNullEmptyOrWhitespace)
+                .filter(componentId -> !components.containsKey(componentId))
+                .collect(Collectors.toSet());
+        components.putAll(getVisibilityFields(componentIdsOfReleases, componentRepository,
+                componentVisibilityCache, Component::getId, Component::getRevision, this::componentVisibilityFields));
+
+        return results.stream().filter(result -> {
+            if (result.type.equals(SW360Constants.TYPE_PROJECT)) {
+                Project project = projects.get(result.id);
+                return project != null && ProjectPermissions.isVisible(user).test(project);
+            } else if (result.type.equals(SW360Constants.TYPE_COMPONENT)) {
+                Component component = components.get(result.id);
+                return component != null && ComponentPermissions.isVisible(user).test(component);
+            } else if (result.type.equals(SW360Constants.TYPE_RELEASE)) {
+                Release release = releases.get(result.id);
+                if (release == null || !ReleasePermissions.isVisible(user).test(release)) {
+                    return false;
+                }
+                Component component = components.get(release.getComponentId());
+                return component != null && ComponentPermissions.isVisible(user).test(component);
+            } else {
+                return true;
+            }
+        }).collect(Collectors.toList());
+    }
+
+    private static Set<String> idsOfType(List<SearchResult> results, String type) {
+        return results.stream().filter(result -> type.equals(result.type)).map(result -> result.id)
+                .collect(Collectors.toSet());
+    }
+
+    private <T> Map<String, T> getVisibilityFields(Set<String> ids, DatabaseRepositoryCloudantClient<T> repository,
+            Cache<String, T> cache, Function<T, String> idGetter, Function<T, String> revisionGetter,
+            Function<T, T> visibilityFields) {
+        Map<String, T> documents = new HashMap<>();
+        if (ids.isEmpty()) {
+            return documents;
+        }
+        // documents missing in the database are left out here and are therefore not visible
+        Set<String> missingIds = new HashSet<>();
+        for (Map.Entry<String, String> idAndRevision : db.getRevisions(ids).entrySet()) {
+            T cached = cache.getIfPresent(cacheKey(idAndRevision.getKey(), idAndRevision.getValue()));
+            if (cached != null) {
+                documents.put(idAndRevision.getKey(), cached);
+            } else {
+                missingIds.add(idAndRevision.getKey());
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            for (T document : repository.get(missingIds)) {
+                T fields = visibilityFields.apply(document);
+                documents.put(idGetter.apply(document), fields);
+                cache.put(cacheKey(idGetter.apply(document), revisionGetter.apply(document)), fields);
             }
-            return isReleaseVisible && isComponentVisible;
-        } else {
-            return true;
         }
+        return documents;
+    }
+
+    private static String cacheKey(String id, String revision) {
+        return id + "@" + revision;
+    }
+
+    private Project projectVisibilityFields(Project project) {
+        return new Project().setId(project.getId()).setRevision(project.getRevision())
+                .setVisbility(project.getVisbility()).setBusinessUnit(project.getBusinessUnit())
+                .setCreatedBy(project.getCreatedBy()).setLeadArchitect(project.getLeadArchitect())
+                .setProjectResponsible(project.getProjectResponsible()).setModerators(project.getModerators())
+                .setContributors(project.getContributors());
+    }
+
+    private Component componentVisibilityFields(Component component) {
+        return new Component().setId(component.getId()).setRevision(component.getRevision())
+                .setVisbility(component.getVisbility()).setBusinessUnit(component.getBusinessUnit())
+                .setCreatedBy(component.getCreatedBy()).setModerators(component.getModerators());
+    }
+
+    private Release releaseVisibilityFields(Release release) {
+        return new Release().setId(release.getId()).setRevision(release.getRevision())
+                .setComponentId(release.getComponentId());
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.search.db;
+
+import org.eclipse.sw360.datahandler.TestUtils;
+import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
+import org.eclipse.sw360.datahandler.common.DatabaseSettingsTest;
+import org.eclipse.sw360.datahandler.common.SW360Constants;
+import org.eclipse.sw360.datahandler.permissions.PermissionUtils;
+import org.eclipse.sw360.datahandler.thrift.Visibility;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.search.SearchResult;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
+import static org.junit.Assert.assertEquals;
+
+public class Sw360dbDatabaseSearchHandlerTest {
+
+    private static final String dbName = DatabaseSettingsTest.COUCH_DB_DATABASE;
+
+    private static final String OWNER = "owner@example.com";
+
+    private DatabaseConnectorCloudant databaseConnector;
+    private Sw360dbDatabaseSearchHandler handler;
+    private User user;
+
+    @Before
+    public void setUp() throws Exception {
+        assertTestString(dbName);
+        TestUtils.createDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+        databaseConnector = new DatabaseConnectorCloudant(DatabaseSettingsTest.getConfiguredClient(), dbName);
+
+        List<Object> documents = new ArrayList<>();
+        documents.add(new Project().setId("P1").setName("public project").setVisbility(Visibility.EVERYONE));
+        documents.add(new Project().setId("P2").setName("private project").setVisbility(Visibility.PRIVATE).setCreatedBy(OWNER));
+        documents.add(new Component().setId("C1").setName("public component").setVisbility(Visibility.EVERYONE));
+        documents.add(new Component().setId("C2").setName("private component").setVisbility(Visibility.PRIVATE).setCreatedBy(OWNER));
+        documents.add(new Release().setId("R1").setName("public component").setVersion("1").setComponentId("C1"));
+        documents.add(new Release().setId("R2").setName("private component").setVersion("1").setComponentId("C2"));
+        databaseConnector.executeBulk(documents);
+
+        handler = new Sw360dbDatabaseSearchHandler(DatabaseSettingsTest.getConfiguredHttpClient(),
+                DatabaseSettingsTest.getConfiguredClient(), dbName);
+        user = new User().setEmail("user@example.com").setDepartment("DEPARTMENT").setUserGroup(UserGroup.USER);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtils.deleteDatabase(DatabaseSettingsTest.getConfiguredClient(), dbName);
+    }
+
+    @Test
+    public void testFilterVisibleToUserWithMixedTypes() throws Exception {
+        List<SearchResult> results = Arrays.asList(
+                result("P1", SW360Constants.TYPE_PROJECT),
+                result("C2", SW360Constants.TYPE_COMPONENT),
+                result("R1", SW360Constants.TYPE_RELEASE),
+                result("P2", SW360Constants.TYPE_PROJECT),
+                result("R2", SW360Constants.TYPE_RELEASE),
+                result("C1", SW360Constants.TYPE_COMPONENT),
+                result("missing", SW360Constants.TYPE_PROJECT),
+                result("L1", SW360Constants.TYPE_LICENSE));
+
+        List<String> expected = PermissionUtils.IS_COMPONENT_VISIBILITY_RESTRICTION_ENABLED
+                ? Arrays.asList("P1", "R1", "C1", "L1")
+                : Arrays.asList("P1", "C2", "R1", "R2", "C1", "L1");
+        assertEquals(expected, ids(handler.filterVisibleToUser(results, user)));
+    }
+
+    @Test
+    public void testFilterVisibleToUserReloadsChangedDocuments() throws Exception {
+        List<SearchResult> results = Arrays.asList(result("P1", SW360Constants.TYPE_PROJECT));
+        assertEquals(Arrays.asList("P1"), ids(handler.filterVisibleToUser(results, user)));
+
+        Project project = databaseConnector.get(Project.class, "P1");
+        databaseConnector.update(project.setVisbility(Visibility.PRIVATE).setCreatedBy(OWNER));
+
+        assertEquals(Arrays.asList(), ids(handler.filterVisibleToUser(results, user)));
+    }
+
+    private static SearchResult result(String id, String type) {
+        return new SearchResult().setId(id).setType(type).setName(id);
+    }
+
+    private static List<String> ids(List<SearchResult> results) {
+        return results.stream().map(SearchResult::getId).collect(Collectors.toList());
+    }
+}
@@ -12,9 +12,6 @@
 package org.eclipse.sw360.vulnerabilities;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
@@ -23,24 +20,23 @@ import org.eclipse.sw360.datahandler.db.ComponentDatabaseHandler;
 import org.eclipse.sw360.datahandler.db.ProjectDatabaseHandler;
 import org.eclipse.sw360.datahandler.permissions.PermissionUtils;
 import org.eclipse.sw360.datahandler.thrift.*;
-import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.users.RequestedAction;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.*;
+import org.eclipse.sw360.vulnerabilities.common.ReleaseNameCache;
+import org.eclipse.sw360.vulnerabilities.common.ReleaseNameCache.ReleaseName;
 import org.eclipse.sw360.vulnerabilities.common.VulnerabilityMapper;
 import org.eclipse.sw360.vulnerabilities.db.VulnerabilityDatabaseHandler;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -56,11 +52,13 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
     private final VulnerabilityDatabaseHandler dbHandler;
     private final ComponentDatabaseHandler compHandler;
     private final ProjectDatabaseHandler projectDatabaseHandler;
+    private final ReleaseNameCache releaseNameCache;
 
     public VulnerabilityHandler() throws IOException, SW360Exception {
         dbHandler = new VulnerabilityDatabaseHandler();
         compHandler = new ComponentDatabaseHandler(DatabaseSettings.getConfiguredClient(), DatabaseSettings.COUCH_DB_DATABASE, DatabaseSettings.COUCH_DB_ATTACHMENTS);
         projectDatabaseHandler = new ProjectDatabaseHandler(DatabaseSettings.getConfiguredClient(), DatabaseSettings.COUCH_DB_DATABASE, DatabaseSettings.COUCH_DB_ATTACHMENTS);
+        releaseNameCache = new ReleaseNameCache(compHandler::getReleaseRevisions, compHandler::getReleases, compHandler::getComponentsShort);
     }
 
     @Override
@@ -130,7 +128,7 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
 
     private List<VulnerabilityDTO> getVulsByReleaseIds(Collection<String> releaseIds, User user) {
         List<ReleaseVulnerabilityRelation> relations = getReleaseVulnerabilityRelationByReleaseIds(releaseIds);
-        return getDtosFromRelations(relations, user);
+        return getDtosFromRelations(relations);
     }
 
     private List<VulnerabilityDTO> getVulsByReleaseIdsWithoutIncorrect(Collection<String> releaseIds, User user) {
@@ -138,7 +136,7 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
         List<ReleaseVulnerabilityRelation> filteredRelations = relations.stream()
                 .filter(VulnerabilityHandler::releaseVulnerabilityRelationIsNotIncorrect)
                 .collect(Collectors.toList());
-        return getDtosFromRelations(filteredRelations, user);
+        return getDtosFromRelations(filteredRelations);
     }
 
     private List<ReleaseVulnerabilityRelation> getReleaseVulnerabilityRelationByReleaseIds(Collection<String> releaseIds) {
@@ -155,20 +153,21 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
         return !VerificationState.INCORRECT.equals(currentState.getVerificationState());
     }
 
-    private List<VulnerabilityDTO> getDtosFromRelations(List<ReleaseVulnerabilityRelation> relations, User user) {
+    private List<VulnerabilityDTO> getDtosFromRelations(List<ReleaseVulnerabilityRelation> relations) {
         Set<String> vulnerabilityIds = relations.stream()
                 .map(ReleaseVulnerabilityRelation::getVulnerabilityId)
                 .collect(Collectors.toSet());
+        Set<String> releaseIds = relations.stream()
+                .map(ReleaseVulnerabilityRelation::getReleaseId)
+                .collect(Collectors.toSet());
 
         List<Vulnerability> vulnerabilities = dbHandler.getByIds(Vulnerability.class, vulnerabilityIds);
         Map<String, Vulnerability> vulnerabilityMap= ThriftUtils.getIdMap(vulnerabilities);
-
-        LoadingCache<String, Release> releaseCache = makeReleaseCache(user);
-        LoadingCache<String, Component> componentCache = makeComponentCache(user);
+        Map<String, ReleaseName> releaseNames = releaseNameCache.getReleaseNames(releaseIds);
 
         return relations.stream()
                 .map(relation -> getDtoFromRelation(relation, vulnerabilityMap.get(relation.getVulnerabilityId())))
-                .map(dto -> enrichVulnerabilityDTO(dto, componentCache, releaseCache))
+                .map(dto -> enrichVulnerabilityDTO(dto, releaseNames.get(dto.getIntReleaseId())))
                 .collect(Collectors.toList());
     }
 
@@ -185,52 +184,19 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
         return dto;
     }
 
-    private VulnerabilityDTO enrichVulnerabilityDTO(VulnerabilityDTO dto, LoadingCache<String, Component> componentCache, LoadingCache<String, Release> releaseCache) {
-        String releaseId = dto.getIntReleaseId();
-        try {
-            Release release = releaseCache.get(releaseId);
-            if (release != null) {
-                dto.setIntComponentId(release.getComponentId());
-
-                String releaseName = "";
-                if (!StringUtils.isEmpty(release.getName())) {
-                    releaseName = release.getName() + " ";
-                    dto.setIntComponentName(release.getName());
-                } else {
-                    Component component = componentCache.get(release.getComponentId());
-                    if (component != null) {
-                        releaseName = component.getName() + " ";
-                        dto.setIntComponentName(component.getName());
-                    }
-                }
-                dto.setIntReleaseName(releaseName + release.getVersion());
-            }
-        } catch (ExecutionException e) {
-            log.error(e);
+    private VulnerabilityDTO enrichVulnerabilityDTO(VulnerabilityDTO dto, ReleaseName releaseName) {
+        if (releaseName == null) {
+            log.warn("Could not find release " + dto.getIntReleaseId() + " of vulnerability " + dto.getExternalId());
+            return dto;
+        }
+        dto.setIntComponentId(releaseName.getComponentId());
+        if (releaseName.getComponentName() != null) {
+            dto.setIntComponentName(releaseName.getComponentName());
         }
+        dto.setIntReleaseName(releaseName.getReleaseName());
         return dto;
     }
 
-    private LoadingCache<String, Release> makeReleaseCache(User user) {
-        return CacheBuilder.newBuilder()
-                .build(new CacheLoader<String, Release>() {
-                    public Release load(String key) throws SW360Exception {
-                        log.error("loading " + key + " release from db.");
-                        return compHandler.getRelease(key, user);
-                    }
-                });
-    }
-
-    private LoadingCache<String, Component> makeComponentCache(User user) {
-        return CacheBuilder.newBuilder()
-                .build(new CacheLoader<String, Component>() {
-                    public Component load(String key) throws SW360Exception {
-                        log.error("loading " + key + " component from db.");
-                        return compHandler.getComponent(key, user);
-                    }
-                });
-    }
-
     @Override
     public List<ProjectVulnerabilityRating> getProjectVulnerabilityRatingByProjectId(String projectId, User user) {
         if (!PermissionUtils.isUserAtLeast(UserGroup.USER, user)) {
@@ -0,0 +1,151 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.vulnerabilities.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Names of releases as shown next to their vulnerabilities, shared by all requests.
+ *
+ * The current revisions of the requested releases are read with every request, only releases which are not cached
+ * in that revision are read again. Renaming a component renames its releases, so their revisions change as well.
+ */
+public class ReleaseNameCache {
+
+    private static final long MAXIMUM_SIZE = 100_000;
+
+    public static class ReleaseName {
+        private final String componentId;
+        private final String componentName;
+        private final String releaseName;
+
+        ReleaseName(String componentId, String componentName, String releaseName) {
+            this.componentId = componentId;
+            this.componentName = componentName;
+            this.releaseName = releaseName;
+        }
+
+        public String getComponentId() {
+            return componentId;
+        }
+
+        /**
+         * @return the name of the component, null if neither the release nor its component has a name
+         */
+        public String getComponentName() {
+            return componentName;
+        }
+
+        /**
+         * @return name and version of the release
+         */
+        public String getReleaseName() {
+            return releaseName;
+        }
+    }
+
+    private static class Entry {
+        private final String revision;
+        private final ReleaseName name;
+
+        Entry(String revision, ReleaseName name) {
+            this.revision = revision;
+            this.name = name;
+        }
+    }
+
+    private final Function<Set<String>, Map<String, String>> revisionLoader;
+    private final Function<Set<String>, List<Release>> releaseLoader;
+    private final Function<Set<String>, List<Component>> componentLoader;
+    private final Cache<String, Entry> cache = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+    /**
+     * @param revisionLoader  reads the current revisions of releases by id
+     * @param releaseLoader   reads releases with at least id, revision, name, version and component id
+     * @param componentLoader reads components with at least id and name
+     */
+    public ReleaseNameCache(Function<Set<String>, Map<String, String>> revisionLoader,
+                            Function<Set<String>, List<Release>> releaseLoader,
+                            Function<Set<String>, List<Component>> componentLoader) {
+        this.revisionLoader = revisionLoader;
+        this.releaseLoader = releaseLoader;
+        this.componentLoader = componentLoader;
+    }
+
+    /**
+     * @return the names of the releases by release id, releases which do not exist are left out
+     */
+    public Map<String, ReleaseName> getReleaseNames(Set<String> releaseIds) {
+        Map<String, ReleaseName> names = new HashMap<>();
+        if (releaseIds.isEmpty()) {
+            return names;
+        }
+        Map<String, String> revisions = revisionLoader.apply(releaseIds);
+        Set<String> staleIds = revisions.entrySet().stream()
+                .filter(revision -> {
+                    Entry entry = cache.getIfPresent(revision.getKey());
+                    if (entry != null && entry.revision.equals(revision.getValue())) {
+                        names.put(revision.getKey(), entry.name);
+                        return false;
+                    }
+                    return true;
+                })
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        if (staleIds.isEmpty()) {
+            return names;
+        }
+
+        List<Release> releases = releaseLoader.apply(staleIds);
+        Set<String> unnamedComponentIds = releases.stream()
+                .filter(release -> StringUtils.isEmpty(release.getName()) && release.isSetComponentId())
+                .map(Release::getComponentId)
+                .collect(Collectors.toSet());
+        Map<String, Component> components = unnamedComponentIds.isEmpty()
+                ? Collections.emptyMap()
+                : ThriftUtils.getIdMap(componentLoader.apply(unnamedComponentIds));
+        for (Release release : releases) {
+            ReleaseName name = makeReleaseName(release, components.get(release.getComponentId()));
+            if (release.isSetRevision()) {
+                cache.put(release.getId(), new Entry(release.getRevision(), name));
+            }
+            names.put(release.getId(), name);
+        }
+        return names;
+    }
+
+    private static ReleaseName makeReleaseName(Release release, Component component) {
+        String componentName = null;
+        String releaseName = "";
+        if (!StringUtils.isEmpty(release.getName())) {
+            componentName = release.getName();
+            releaseName = componentName + " ";
+        } else if (component != null) {
+            componentName = component.getName();
+            releaseName = componentName + " ";
+        }
+        return new ReleaseName(release.getComponentId(), componentName, releaseName + release.getVersion());
+    }
+}
@@ -24,6 +24,7 @@ import org.eclipse.sw360.datahandler.thrift.vulnerabilities.VendorAdvisory;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.VulnerabilityWithReleaseRelations;
 import org.eclipse.sw360.vulnerabilities.common.VulnerabilityMapper;
+import org.ektorp.DocumentOperationResult;
 import org.ektorp.http.HttpClient;
 import org.apache.http.HttpStatus;
 import org.apache.commons.lang.StringUtils;
@@ -33,6 +34,7 @@ import org.apache.thrift.TBase;
 
 import java.net.MalformedURLException;
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -106,6 +108,61 @@ public class VulnerabilityDatabaseHandler {
         }
     }
 
+    /**
+     * Adds new and updates existing elements with one bulk request. Elements with a revision are updated.
+     *
+     * @return the elements which could not be written
+     */
+    public <T extends TBase> List<T> addOrUpdateInBulk(Class<T> type, Collection<T> elements) {
+        if (type == null || elements == null) {
+            log.error("type/elements cannot be null");
+            return ImmutableList.of();
+        }
+        if (elements.isEmpty()) {
+            return ImmutableList.of();
+        }
+        log.debug("writing " + elements.size() + " elements via bulk");
+        List<DocumentOperationResult> results;
+        Function<T, String> getId;
+        try {
+            if (Vulnerability.class.isAssignableFrom(type)) {
+                elements.stream()
+                        .map(element -> (Vulnerability) element)
+                        .filter(Vulnerability::isSetRevision)
+                        .forEach(VulnerabilityMapper::setLastUpdate);
+                results = vulRepo.executeBulk(elements);
+                getId = element -> ((Vulnerability) element).getId();
+            } else if (ReleaseVulnerabilityRelation.class.isAssignableFrom(type)) {
+                results = relationRepo.executeBulk(elements);
+                getId = element -> ((ReleaseVulnerabilityRelation) element).getId();
+            } else {
+                throw new IllegalArgumentException("unknown type " + type.getSimpleName());
+            }
+        } catch (Exception e) {
+            log.error("error on bulk writing " + elements.size() + " elements of type " + type.getSimpleName() + ": "
+                    + e.getMessage());
+            return new ArrayList<>(elements);
+        }
+
+        if (results == null) {
+            log.error("error on bulk writing " + elements.size() + " elements of type " + type.getSimpleName());
+            return new ArrayList<>(elements);
+        }
+        Set<String> failedIds = new HashSet<>();
+        for (DocumentOperationResult result : results) {
+            log.error("error on bulk writing " + type.getSimpleName() + " with id " + result.getId() + ": " + result.getError() + " " + result.getReason());
+            failedIds.add(result.getId());
+        }
+        List<T> failed = new ArrayList<>();
+        for (T element : elements) {
+            String id = getId.apply(element);
+            if (id == null || failedIds.contains(id)) {
+                failed.add(element);
+            }
+        }
+        return failed;
+    }
+
     public RequestStatus addRelationIfNecessary(String releaseId, String vulnerabilityId, Optional<String> usedNeedle) {
         ReleaseVulnerabilityRelation relation = getRelationByIds(releaseId, vulnerabilityId);
         if (relation != null) {
@@ -236,6 +293,13 @@ public class VulnerabilityDatabaseHandler {
         }
     }
 
+    public List<Vulnerability> getByExternalIds(Collection<String> externalIds) {
+        if (externalIds == null || externalIds.isEmpty()) {
+            return ImmutableList.of();
+        }
+        return vulRepo.getVulnerabilitiesByExternalIds(externalIds);
+    }
+
     public List<Vulnerability> getByExternalIdOrVulnerableConfig(String externalId, String vulnerableConfig) {
         return vulRepo.getVulnerabilitiesByExternalIdOrVulnerableConfig(externalId, vulnerableConfig);
     }
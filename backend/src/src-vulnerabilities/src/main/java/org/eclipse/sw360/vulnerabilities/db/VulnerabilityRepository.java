@@ -15,6 +15,9 @@ import org.eclipse.sw360.datahandler.couchdb.DatabaseRepository;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 import org.ektorp.support.View;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -63,6 +66,15 @@ public class VulnerabilityRepository extends DatabaseRepository<Vulnerability> {
         return null;
     }
 
+    @View(name = "byexternalid", map = BY_EXTERNALID_VIEW)
+    public List<Vulnerability> getVulnerabilitiesByExternalIds(Collection<String> externalIds) {
+        final Set<String> idList = queryForIdsAsValue("byexternalid", new HashSet<>(externalIds));
+        if (idList == null || idList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return get(idList);
+    }
+
     @View(name = "bylastupdate", map = BY_LAST_UPDATE_VIEW)
     public List<Vulnerability> getVulnerabilitiesByLastUpdate(int limit) {
         List<String> ids = getIdListByView("bylastupdate", true, limit);
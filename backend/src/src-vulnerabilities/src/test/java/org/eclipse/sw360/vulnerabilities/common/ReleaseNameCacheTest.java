@@ -0,0 +1,102 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.vulnerabilities.common;
+
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.vulnerabilities.common.ReleaseNameCache.ReleaseName;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReleaseNameCacheTest {
+
+    private final Map<String, Release> releases = new HashMap<>();
+    private final Map<String, Component> components = new HashMap<>();
+    private final List<Set<String>> releaseRequests = new ArrayList<>();
+    private final List<Set<String>> componentRequests = new ArrayList<>();
+
+    private ReleaseNameCache cache;
+
+    @Before
+    public void setUp() {
+        putRelease(new Release().setId("R1").setRevision("1-a").setName("zywall").setVersion("1.0")
+                .setComponentId("C1"));
+        putRelease(new Release().setId("R2").setRevision("1-b").setVersion("2.0").setComponentId("C2"));
+        components.put("C2", new Component().setId("C2").setName("openssl"));
+
+        cache = new ReleaseNameCache(
+                ids -> ids.stream().filter(releases::containsKey)
+                        .collect(Collectors.toMap(id -> id, id -> releases.get(id).getRevision())),
+                ids -> {
+                    releaseRequests.add(ids);
+                    return ids.stream().map(releases::get).map(Release::deepCopy).collect(Collectors.toList());
+                },
+                ids -> {
+                    componentRequests.add(ids);
+                    return ids.stream().map(components::get).map(Component::deepCopy).collect(Collectors.toList());
+                });
+    }
+
+    @Test
+    public void testCachedRevisionIsNotReadAgain() {
+        assertEquals("zywall 1.0", cache.getReleaseNames(ImmutableSet.of("R1")).get("R1").getReleaseName());
+
+        ReleaseName name = cache.getReleaseNames(ImmutableSet.of("R1")).get("R1");
+
+        assertEquals("zywall 1.0", name.getReleaseName());
+        assertEquals("C1", name.getComponentId());
+        assertEquals(1, releaseRequests.size());
+    }
+
+    @Test
+    public void testChangedRevisionIsReadAgain() {
+        cache.getReleaseNames(ImmutableSet.of("R1"));
+        putRelease(releases.get("R1").deepCopy().setRevision("2-a").setVersion("1.1"));
+
+        assertEquals("zywall 1.1", cache.getReleaseNames(ImmutableSet.of("R1")).get("R1").getReleaseName());
+        assertEquals(2, releaseRequests.size());
+        assertEquals(ImmutableSet.of("R1"), releaseRequests.get(1));
+    }
+
+    @Test
+    public void testReleaseWithoutNameIsNamedAfterItsComponent() {
+        ReleaseName name = cache.getReleaseNames(ImmutableSet.of("R1", "R2")).get("R2");
+
+        assertEquals("openssl", name.getComponentName());
+        assertEquals("openssl 2.0", name.getReleaseName());
+        assertEquals(1, componentRequests.size());
+        assertEquals(ImmutableSet.of("C2"), componentRequests.get(0));
+    }
+
+    @Test
+    public void testMissingReleaseIsLeftOut() {
+        Map<String, ReleaseName> names = cache.getReleaseNames(ImmutableSet.of("R1", "missing"));
+
+        assertEquals(1, names.size());
+        assertTrue(names.containsKey("R1"));
+        assertFalse(releaseRequests.get(0).contains("missing"));
+    }
+
+    private void putRelease(Release release) {
+        releases.put(release.getId(), release);
+    }
+}
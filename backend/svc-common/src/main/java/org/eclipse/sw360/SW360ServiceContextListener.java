@@ -10,23 +10,60 @@
 
 package org.eclipse.sw360;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.cloudantclient.CouchDbClientRegistry;
+import org.eclipse.sw360.datahandler.common.ExecutorServiceTracker;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseInstanceTracker;
+import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneQueryClient;
+import org.eclipse.sw360.datahandler.db.DatabaseHandlerUtil;
 import org.ektorp.http.IdleConnectionMonitor;
 
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author daniele.fognini@tngtech.com
  */
 public class SW360ServiceContextListener implements ServletContextListener {
+    private static final Logger log = LogManager.getLogger(SW360ServiceContextListener.class);
+    private static final long EXECUTOR_SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private ScheduledExecutorService statisticsLogger;
+
     @Override
     public void contextInitialized(ServletContextEvent sce) {
+        long interval = DatabaseHandlerUtil.STATISTICS_LOG_INTERVAL_MINUTES;
+        if (interval > 0) {
+            String service = sce.getServletContext().getContextPath();
+            statisticsLogger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "sw360-statistics-logger");
+                thread.setDaemon(true);
+                return thread;
+            });
+            statisticsLogger.scheduleAtFixedRate(() -> logStatistics(service), interval, interval, TimeUnit.MINUTES);
+        }
     }
 
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
+        if (statisticsLogger != null) {
+            statisticsLogger.shutdownNow();
+        }
+        ExecutorServiceTracker.shutdown(EXECUTOR_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        DatabaseHandlerUtil.shutdownChangeLogWriter();
         DatabaseInstanceTracker.destroy();
+        CouchDbClientRegistry.shutdown();
+        LuceneQueryClient.getInstance().shutdown();
         IdleConnectionMonitor.shutdown();
     }
+
+    private static void logStatistics(String service) {
+        log.info("Change log writer of " + service + ": " + DatabaseHandlerUtil.getChangeLogWriterStatistics());
+        CouchDbClientRegistry.getRequestStatistics().forEach((database, statistics) ->
+                log.info("CouchDB requests of " + service + " to " + database + ": " + statistics));
+    }
 }
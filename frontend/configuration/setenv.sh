@@ -19,5 +19,7 @@ JAVA_OPTS="$JAVA_OPTS -Duser.timezone=GMT"
 JAVA_OPTS="$JAVA_OPTS -Xms${JAVA_MEMORY_MIN} -Xmx${JAVA_MEMORY_MAX}"
 JAVA_OPTS="$JAVA_OPTS -XX:+UseG1GC"
 JAVA_OPTS="$JAVA_OPTS -XX:SurvivorRatio=20"
+# keep the connections of the CouchDB clients of the backend services for reuse, see couchdb.properties
+JAVA_OPTS="$JAVA_OPTS -Dhttp.keepAlive=true -Dhttp.maxConnections=100"
 
 export JAVA_OPTS
@@ -62,6 +62,7 @@ import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
 import org.eclipse.sw360.datahandler.thrift.vendors.VendorService;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.*;
 import org.eclipse.sw360.exporter.ComponentExporter;
+import org.eclipse.sw360.exporter.utils.DocumentPageLoader;
 import org.eclipse.sw360.portal.common.*;
 import org.eclipse.sw360.portal.common.datatables.PaginationParser;
 import org.eclipse.sw360.portal.common.datatables.data.PaginationParameters;
@@ -558,28 +559,11 @@ public class ComponentPortlet extends FossologyAwarePortlet {
 
         try {
             boolean extendedByReleases = Boolean.valueOf(request.getParameter(PortalConstants.EXTENDED_EXCEL_EXPORT));
-            ComponentService.Iface client = thriftClients.makeComponentClient();
-            int total = client.getTotalComponentsCount(user);
-            PaginationData pageData = new PaginationData();
-            pageData.setAscending(true);
-            Map<PaginationData, List<Component>> pageDtToProjects;
-            Set<Component> projects = new HashSet<>();
-            int displayStart = 0;
-            int rowsPerPage = 500;
-            while (0 < total) {
-                pageData.setDisplayStart(displayStart);
-                pageData.setRowsPerPage(rowsPerPage);
-                displayStart = displayStart + rowsPerPage;
-                pageDtToProjects = getFilteredComponentList(request, pageData);
-                projects.addAll(pageDtToProjects.entrySet().iterator().next().getValue());
-                total = total - rowsPerPage;
-            }
-            List<Component> listOfComponent = new ArrayList<Component>(projects);
-            ComponentExporter exporter = new ComponentExporter(thriftClients.makeComponentClient(), listOfComponent, user,
+            ComponentExporter exporter = new ComponentExporter(thriftClients.makeComponentClient(), user,
                     extendedByReleases);
             String filename = String.format("components-%s.xlsx", SW360Utils.getCreatedOn());
-            PortletResponseUtil.sendFile(request, response, filename, exporter.makeExcelExport(listOfComponent),
-                    CONTENT_TYPE_OPENXML_SPREADSHEET);
+            PortletResponseUtil.sendFile(request, response, filename,
+                    exporter.makeExcelExport(getComponentPageLoader(request)), CONTENT_TYPE_OPENXML_SPREADSHEET);
         } catch (IOException | TException e) {
             log.error("An error occurred while generating the Excel export", e);
             response.setProperty(ResourceResponse.HTTP_STATUS_CODE,
@@ -587,6 +571,23 @@ public class ComponentPortlet extends FossologyAwarePortlet {
         }
     }
 
+    /**
+     * @return loader of the components to export page by page, without a filter the pages are read from the backend
+     */
+    private DocumentPageLoader<Component> getComponentPageLoader(PortletRequest request) {
+        if (!getComponentFilterMap(request).isEmpty()) {
+            // the backend returns all filtered components at once
+            return DocumentPageLoader.of(getFilteredComponentList(request, new PaginationData()).values().stream()
+                    .findFirst().orElse(Collections.emptyList()));
+        }
+        return (offset, limit) -> {
+            PaginationData pageData = new PaginationData().setAscending(true).setDisplayStart(offset)
+                    .setRowsPerPage(limit);
+            return getFilteredComponentList(request, pageData).values().stream()
+                    .findFirst().orElse(Collections.emptyList());
+        };
+    }
+
     private void downloadExcel(ResourceRequest request, ResourceResponse response) {
         final User user = UserCacheHolder.getUserFromRequest(request);
         final String token = request.getParameter("token");
@@ -0,0 +1,195 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.cloudantclient;
+
+import com.cloudant.client.api.ClientBuilder;
+import com.cloudant.client.api.CloudantClient;
+import com.cloudant.http.HttpConnectionInterceptorContext;
+import com.cloudant.http.HttpConnectionRequestInterceptor;
+import com.cloudant.http.HttpConnectionResponseInterceptor;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.protocol.HttpContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ektorp.http.HttpClient;
+import org.ektorp.http.StdHttpClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of the clients connected to CouchDB.
+ *
+ * Database connectors and search handlers are created for every handler and repository, but all of them share one
+ * pooled {@link CloudantClient} and one ektorp {@link HttpClient} per CouchDB endpoint, so their connections are
+ * kept alive and reused. Every request sent by these clients is recorded in the {@link CouchDbRequestStatistics}
+ * of its database.
+ */
+public class CouchDbClientRegistry {
+
+    private static final Logger log = LogManager.getLogger(CouchDbClientRegistry.class);
+
+    private static final ConcurrentMap<String, CloudantClient> CLIENTS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, HttpClient> HTTP_CLIENTS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CouchDbRequestStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+    private CouchDbClientRegistry() {
+        // Utility class with only static functions
+    }
+
+    /**
+     * @return the client of the endpoint of the builder and the given user, built from the builder on first use
+     */
+    public static CloudantClient getClient(URL url, String username, ClientBuilder clientBuilder) {
+        return CLIENTS.computeIfAbsent(getEndpoint(url, username), endpoint -> {
+            log.info("Creating shared CouchDB client for " + url);
+            CouchDbRequestStatistics statistics = getStatistics(url);
+            return clientBuilder.interceptors(new InstrumentingInterceptor(statistics)).build();
+        });
+    }
+
+    /**
+     * @return the ektorp client of the endpoint and the given user, built from the builder on first use. The builder
+     * must have been created by {@link #newHttpClientBuilder(URL)} to record the requests.
+     */
+    public static HttpClient getHttpClient(URL url, String username, Supplier<HttpClient> httpClientBuilder) {
+        return HTTP_CLIENTS.computeIfAbsent(getEndpoint(url, username), endpoint -> {
+            log.info("Creating shared CouchDB http client for " + url);
+            return httpClientBuilder.get();
+        });
+    }
+
+    public static StdHttpClient.Builder newHttpClientBuilder(URL url) {
+        return new InstrumentedHttpClientBuilder(getStatistics(url));
+    }
+
+    /**
+     * @return request statistics of all databases of all endpoints, by database name
+     */
+    public static SortedMap<String, CouchDbRequestStatistics.Statistics> getRequestStatistics() {
+        SortedMap<String, CouchDbRequestStatistics.Statistics> statistics = new TreeMap<>();
+        STATISTICS.values().forEach(endpointStatistics -> statistics.putAll(endpointStatistics.getStatistics()));
+        return statistics;
+    }
+
+    /**
+     * Shuts down all shared clients, e.g. when the service is undeployed
+     */
+    public static void shutdown() {
+        CLIENTS.values().forEach(CloudantClient::shutdown);
+        CLIENTS.clear();
+        HTTP_CLIENTS.values().forEach(HttpClient::shutdown);
+        HTTP_CLIENTS.clear();
+    }
+
+    private static String getEndpoint(URL url, String username) {
+        return username + "@" + url.toExternalForm();
+    }
+
+    private static CouchDbRequestStatistics getStatistics(URL url) {
+        return STATISTICS.computeIfAbsent(url.toExternalForm(),
+                endpoint -> new CouchDbRequestStatistics(url.getPath()));
+    }
+
+    /**
+     * Measures the requests of a cloudant client. The client sends each request and reads its response on the
+     * calling thread, so the start of the request is kept per thread.
+     */
+    private static class InstrumentingInterceptor implements HttpConnectionRequestInterceptor,
+            HttpConnectionResponseInterceptor {
+        private final CouchDbRequestStatistics statistics;
+        private final ThreadLocal<Long> start = new ThreadLocal<>();
+
+        InstrumentingInterceptor(CouchDbRequestStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public HttpConnectionInterceptorContext interceptRequest(HttpConnectionInterceptorContext context) {
+            start.set(System.nanoTime());
+            return context;
+        }
+
+        @Override
+        public HttpConnectionInterceptorContext interceptResponse(HttpConnectionInterceptorContext context) {
+            Long requestStart = start.get();
+            start.remove();
+            if (requestStart != null) {
+                boolean failed;
+                try {
+                    failed = context.connection.getConnection().getResponseCode() >= 500;
+                } catch (IOException e) {
+                    failed = true;
+                }
+                statistics.record(context.connection.getConnection().getURL().getPath(),
+                        System.nanoTime() - requestStart, failed);
+            }
+            return context;
+        }
+    }
+
+    /**
+     * Builds ektorp clients whose requests are measured by interceptors of the underlying apache http client
+     */
+    private static class InstrumentedHttpClientBuilder extends StdHttpClient.Builder {
+        private static final String START_ATTRIBUTE = CouchDbClientRegistry.class.getName() + ".start";
+        private static final String PATH_ATTRIBUTE = CouchDbClientRegistry.class.getName() + ".path";
+
+        private final CouchDbRequestStatistics statistics;
+
+        InstrumentedHttpClientBuilder(CouchDbRequestStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public org.apache.http.client.HttpClient configureClient() {
+            org.apache.http.client.HttpClient client = super.configureClient();
+            if (client instanceof AbstractHttpClient) {
+                AbstractHttpClient instrumented = (AbstractHttpClient) client;
+                instrumented.addRequestInterceptor(this::interceptRequest);
+                instrumented.addResponseInterceptor(this::interceptResponse);
+            } else {
+                log.warn("Requests of " + client.getClass().getName() + " are not recorded");
+            }
+            return client;
+        }
+
+        private void interceptRequest(HttpRequest request, HttpContext context) {
+            context.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            context.setAttribute(PATH_ATTRIBUTE, getPath(request.getRequestLine().getUri()));
+        }
+
+        private void interceptResponse(HttpResponse response, HttpContext context) {
+            Object requestStart = context.getAttribute(START_ATTRIBUTE);
+            if (requestStart instanceof Long) {
+                statistics.record((String) context.getAttribute(PATH_ATTRIBUTE), System.nanoTime() - (Long) requestStart,
+                        response.getStatusLine().getStatusCode() >= 500);
+            }
+        }
+
+        private static String getPath(String uri) {
+            try {
+                return new URI(uri).getRawPath();
+            } catch (URISyntaxException e) {
+                return uri;
+            }
+        }
+    }
+}
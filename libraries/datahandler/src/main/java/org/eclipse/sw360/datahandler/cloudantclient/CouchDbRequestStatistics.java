@@ -0,0 +1,165 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.cloudantclient;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Request counters and latency histograms of the requests sent to CouchDB, per database.
+ *
+ * Requests which do not address a database, e.g. _all_dbs or _session, are counted under their first path segment.
+ */
+public class CouchDbRequestStatistics {
+
+    /**
+     * Upper bounds of the latency histogram buckets in milliseconds, slower requests fall into one more bucket
+     */
+    static final long[] LATENCY_BUCKETS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final String basePath;
+    private final ConcurrentMap<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    /**
+     * @param basePath path of the CouchDB endpoint, which is not part of the database name
+     */
+    public CouchDbRequestStatistics(String basePath) {
+        this.basePath = basePath == null ? "" : basePath.replaceAll("/+$", "");
+    }
+
+    public void record(String requestPath, long durationNanos, boolean failed) {
+        recorders.computeIfAbsent(getDatabaseName(requestPath), name -> new Recorder())
+                .record(durationNanos, failed);
+    }
+
+    String getDatabaseName(String requestPath) {
+        String path = requestPath == null ? "" : requestPath;
+        if (!basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        path = path.replaceAll("^/+", "");
+        int end = path.indexOf('/');
+        if (end >= 0) {
+            path = path.substring(0, end);
+        }
+        end = path.indexOf('?');
+        if (end >= 0) {
+            path = path.substring(0, end);
+        }
+        return path.isEmpty() ? "/" : path;
+    }
+
+    /**
+     * @return snapshots of the statistics by database name
+     */
+    public SortedMap<String, Statistics> getStatistics() {
+        SortedMap<String, Statistics> statistics = new TreeMap<>();
+        recorders.forEach((name, recorder) -> statistics.put(name, recorder.snapshot()));
+        return statistics;
+    }
+
+    /**
+     * Snapshot of the requests sent to one database
+     */
+    public static class Statistics {
+        private final long requests;
+        private final long failures;
+        private final long totalMillis;
+        private final long maxMillis;
+        private final Map<String, Long> latencyHistogram;
+
+        Statistics(long requests, long failures, long totalMillis, long maxMillis, Map<String, Long> latencyHistogram) {
+            this.requests = requests;
+            this.failures = failures;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+            this.latencyHistogram = Collections.unmodifiableMap(latencyHistogram);
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return requests answered with a server error
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public double getAverageMillis() {
+            return requests == 0 ? 0 : (double) totalMillis / requests;
+        }
+
+        /**
+         * @return number of requests by latency bucket, e.g. "<=50ms", in ascending order of latency
+         */
+        public Map<String, Long> getLatencyHistogram() {
+            return latencyHistogram;
+        }
+
+        @Override
+        public String toString() {
+            return "requests=" + requests + ", failures=" + failures + ", totalMillis=" + totalMillis + ", maxMillis="
+                    + maxMillis + ", latencyHistogram=" + latencyHistogram;
+        }
+    }
+
+    private static class Recorder {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(LATENCY_BUCKETS_MILLIS.length + 1);
+
+        private void record(long durationNanos, boolean failed) {
+            requests.incrementAndGet();
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            totalNanos.addAndGet(durationNanos);
+            maxNanos.accumulateAndGet(durationNanos, Math::max);
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            int bucket = 0;
+            while (bucket < LATENCY_BUCKETS_MILLIS.length && millis > LATENCY_BUCKETS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+        }
+
+        private Statistics snapshot() {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int bucket = 0; bucket < LATENCY_BUCKETS_MILLIS.length; bucket++) {
+                histogram.put("<=" + LATENCY_BUCKETS_MILLIS[bucket] + "ms", buckets.get(bucket));
+            }
+            histogram.put(">" + LATENCY_BUCKETS_MILLIS[LATENCY_BUCKETS_MILLIS.length - 1] + "ms",
+                    buckets.get(LATENCY_BUCKETS_MILLIS.length));
+            return new Statistics(requests.get(), failures.get(), TimeUnit.NANOSECONDS.toMillis(totalNanos.get()),
+                    TimeUnit.NANOSECONDS.toMillis(maxNanos.get()), histogram);
+        }
+    }
+}
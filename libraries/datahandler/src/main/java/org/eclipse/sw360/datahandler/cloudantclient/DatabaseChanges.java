@@ -0,0 +1,47 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.cloudantclient;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Ids of the documents changed in a database since an update sequence, as reported by the CouchDB _changes feed
+ */
+public class DatabaseChanges {
+
+    private final String lastSequence;
+    private final Set<String> changedIds;
+    private final Set<String> deletedIds;
+
+    public DatabaseChanges(String lastSequence, Set<String> changedIds, Set<String> deletedIds) {
+        this.lastSequence = lastSequence;
+        this.changedIds = Collections.unmodifiableSet(changedIds);
+        this.deletedIds = Collections.unmodifiableSet(deletedIds);
+    }
+
+    /**
+     * @return the update sequence to ask for the next changes with
+     */
+    public String getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return ids of created or updated documents
+     */
+    public Set<String> getChangedIds() {
+        return changedIds;
+    }
+
+    public Set<String> getDeletedIds() {
+        return deletedIds;
+    }
+}
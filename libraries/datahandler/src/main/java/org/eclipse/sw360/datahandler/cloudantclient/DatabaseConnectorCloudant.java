@@ -11,14 +11,25 @@ package org.eclipse.sw360.datahandler.cloudantclient;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -34,6 +45,7 @@ import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
 import com.cloudant.client.api.CloudantClient;
 import com.cloudant.client.api.Database;
 import com.cloudant.client.api.DesignDocumentManager;
+import com.cloudant.client.api.model.ChangesResult;
 import com.cloudant.client.api.model.Response;
 import com.cloudant.client.api.query.QueryResult;
 import com.cloudant.client.api.views.Key;
@@ -42,9 +54,21 @@ import com.cloudant.client.api.views.ViewRequestBuilder;
 import com.cloudant.client.api.views.ViewResponse;
 import com.cloudant.client.api.views.ViewResponse.Row;
 import com.cloudant.client.org.lightcouch.NoDocumentException;
-import com.google.common.collect.ImmutableList;
+import com.cloudant.http.Http;
+import com.cloudant.http.HttpConnection;
+import com.google.common.base.Escaper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+import com.google.common.net.UrlEscapers;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
 /**
  * Database Connector to a CouchDB database
@@ -53,8 +77,32 @@ import com.google.common.collect.Sets;
 public class DatabaseConnectorCloudant {
     
     private final Logger log = LogManager.getLogger(DatabaseConnectorCloudant.class);
-    private static final ImmutableList<String> entitiesWithNonMatchingStructType = ImmutableList
-            .of("moderation", "attachment", "usedReleaseRelation");
+    // lower case, as the type of a document is compared ignoring case
+    private static final ImmutableSet<String> ENTITIES_WITH_NON_MATCHING_STRUCT_TYPE = ImmutableSet
+            .of("moderation", "attachment", "usedreleaserelation");
+    // getter of the field holding the type of a document, looked up once per class
+    private static final ClassValue<Optional<MethodHandle>> TYPE_GETTERS = new ClassValue<Optional<MethodHandle>>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> documentClass) {
+            for (Field field : documentClass.getDeclaredFields()) {
+                if (field.getName().equalsIgnoreCase("type")) {
+                    try {
+                        MethodHandle getter = MethodHandles.publicLookup().unreflectGetter(field);
+                        if (Modifier.isStatic(field.getModifiers())) {
+                            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                        }
+                        return Optional.of(getter.asType(MethodType.methodType(Object.class, Object.class)));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot read the type of " + documentClass.getName(), e);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    };
+    private static final int CHANGES_BATCH_SIZE = 1000;
+    public static final int BULK_CHUNK_SIZE = 500;
+    private static final int BULK_CONFLICT_RETRIES = 3;
 
     private final String dbName;
     private final DatabaseInstanceCloudant instance;
@@ -122,18 +170,11 @@ public class DatabaseConnectorCloudant {
     public <T> T get(Class<T> type, String id) {
         try {
             T obj = (T) database.find(type, id);
-            String extractedType = null;
-            Field[] f = obj.getClass().getDeclaredFields();
-            for (Field fi : f) {
-                if (fi.getName().equalsIgnoreCase("type")) {
-                    extractedType = (String) fi.get(obj);
-                    break;
-                }
-            }
+            Optional<MethodHandle> typeGetter = TYPE_GETTERS.get(obj.getClass());
+            String extractedType = typeGetter.isPresent() ? getType(typeGetter.get(), obj) : null;
             if (extractedType != null) {
                 final String entityType = extractedType.toLowerCase();
-                if (!entitiesWithNonMatchingStructType.stream().map(String::toLowerCase)
-                        .anyMatch(tye -> tye.equals(entityType))
+                if (!ENTITIES_WITH_NON_MATCHING_STRUCT_TYPE.contains(entityType)
                         && !type.getSimpleName().equalsIgnoreCase(extractedType)) {
                     return null;
                 }
@@ -146,6 +187,16 @@ public class DatabaseConnectorCloudant {
         }
     }
 
+    private static String getType(MethodHandle typeGetter, Object obj) {
+        try {
+            return (String) typeGetter.invoke(obj);
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not read type of " + obj.getClass().getSimpleName(), e);
+        }
+    }
+
     public <T> List<T> getAll(Class<T> type) {
         List<T> list = Lists.newArrayList();
         try {
@@ -184,6 +235,24 @@ public class DatabaseConnectorCloudant {
         }
     }
 
+    /**
+     * Reads documents from a view which emits, keyed by document id, only some of the fields of each document, see
+     * {@link DatabaseRepositoryCloudantClient#createProjectionMap(String, Collection)}
+     */
+    public <T> List<T> getProjected(Class<T> type, String viewName, Collection<String> ids) {
+        if (!CommonUtils.isNotEmpty(ids))
+            return Collections.emptyList();
+        try {
+            String[] keys = new HashSet<>(ids).toArray(new String[0]);
+            List<T> docs = createQuery(type, viewName).newRequest(Key.Type.STRING, type).keys(keys).build()
+                    .getResponse().getValues();
+            return docs.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("Error fetching projected documents from view " + viewName, e);
+            return Collections.emptyList();
+        }
+    }
+
     public <T> List<T> get(Class<T> type, Collection<String> ids, boolean ignoreNotFound) {
         return get(type, ids);
     }
@@ -209,13 +278,175 @@ public class DatabaseConnectorCloudant {
         return responses;
     }
 
+    /**
+     * Writes the documents with _bulk_docs in chunks of {@link #BULK_CHUNK_SIZE}. A document rejected because it was
+     * changed in the meantime is read again and the conflict resolver decides what to write instead, at most
+     * {@link #BULK_CONFLICT_RETRIES} times per document.
+     *
+     * @param conflictResolver gets the stored and the rejected document and returns the document to write, usually
+     *                         the stored one with the changes applied again, or null to give up on the document
+     * @return the documents which could not be written, the reasons are logged
+     */
+    public <T> List<T> updateBulk(Class<T> type, Collection<T> documents, BinaryOperator<T> conflictResolver) {
+        List<T> failed = Lists.newArrayList();
+        for (List<T> chunk : Iterables.partition(documents, BULK_CHUNK_SIZE)) {
+            List<T> toWrite = Lists.newArrayList(chunk);
+            for (int attempt = 0; !toWrite.isEmpty(); attempt++) {
+                List<Response> responses = executeBulk(toWrite);
+                if (responses == null) {
+                    failed.addAll(toWrite);
+                    break;
+                }
+                Map<String, T> conflicts = new HashMap<>();
+                for (int i = 0; i < responses.size(); i++) {
+                    Response response = responses.get(i);
+                    if (response.getError() == null) {
+                        continue;
+                    }
+                    if ("conflict".equals(response.getError()) && attempt < BULK_CONFLICT_RETRIES) {
+                        conflicts.put(response.getId(), toWrite.get(i));
+                    } else {
+                        log.error("Could not write document " + response.getId() + " of type " + type.getSimpleName()
+                                + ": " + response.getError() + " " + response.getReason());
+                        failed.add(toWrite.get(i));
+                    }
+                }
+                toWrite = resolveConflicts(type, conflicts, conflictResolver, failed);
+            }
+        }
+        return failed;
+    }
+
+    private <T> List<T> resolveConflicts(Class<T> type, Map<String, T> conflicts, BinaryOperator<T> conflictResolver,
+                                         List<T> failed) {
+        List<T> resolved = Lists.newArrayList();
+        if (conflicts.isEmpty()) {
+            return resolved;
+        }
+        Map<String, T> storedById = get(type, conflicts.keySet()).stream()
+                .collect(Collectors.toMap(DatabaseConnectorCloudant::getDocumentId, doc -> doc, (a, b) -> a));
+        conflicts.forEach((id, rejected) -> {
+            T stored = storedById.get(id);
+            T resolution = stored != null ? conflictResolver.apply(stored, rejected) : null;
+            if (resolution != null) {
+                resolved.add(resolution);
+            } else {
+                log.error("Could not write document " + id + " of type " + type.getSimpleName()
+                        + " because it was changed or deleted in the meantime");
+                failed.add(rejected);
+            }
+        });
+        return resolved;
+    }
+
+    /**
+     * Deletes the documents with _bulk_docs in chunks of {@link #BULK_CHUNK_SIZE}, sending only the id and revision
+     * of each document
+     */
     public List<Response> deleteBulk(Collection<?> deletionCandidates) {
-        return deletionCandidates.stream().map(x -> database.remove(x)).collect(Collectors.toList());
+        Map<String, String> revisionsById = new LinkedHashMap<>();
+        for (Object candidate : deletionCandidates) {
+            String id = getDocumentId(candidate);
+            String revision = getDocumentRevision(candidate);
+            if (id == null || revision == null) {
+                log.warn("Ignore deleting a document which was not stored: " + candidate);
+                continue;
+            }
+            revisionsById.put(id, revision);
+        }
+        return deleteRevisions(revisionsById);
     }
 
+    /**
+     * Deletes the documents with the given ids, reading only their current revisions before
+     */
     public <T> List<Response> deleteIds(Class<T> type, Collection<String> ids) {
-        final List<T> deletionCandidates = get(type, ids);
-        return deleteBulk(deletionCandidates);
+        return deleteRevisions(getRevisions(ids));
+    }
+
+    private List<Response> deleteRevisions(Map<String, String> revisionsById) {
+        List<Response> responses = Lists.newArrayList();
+        for (List<Map.Entry<String, String>> chunk : Iterables.partition(revisionsById.entrySet(), BULK_CHUNK_SIZE)) {
+            List<Map<String, Object>> deletions = chunk.stream()
+                    .map(idAndRevision -> ImmutableMap.<String, Object>of(
+                            "_id", idAndRevision.getKey(),
+                            "_rev", idAndRevision.getValue(),
+                            "_deleted", true))
+                    .collect(Collectors.toList());
+            try {
+                responses.addAll(database.bulk(deletions));
+            } catch (Exception e) {
+                log.error("Error in bulk deletion", e);
+                chunk.forEach(idAndRevision -> responses.add(failedResponse(idAndRevision.getKey(), e)));
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * @return an error response of the document, to report the documents of a failed bulk request to the caller
+     */
+    private static Response failedResponse(String id, Exception e) {
+        JsonObject response = new JsonObject();
+        response.addProperty("id", id);
+        response.addProperty("error", "bulk_request_failed");
+        response.addProperty("reason", e.getMessage());
+        return new Response(new Gson().fromJson(response, com.cloudant.client.org.lightcouch.Response.class));
+    }
+
+    /**
+     * @return the current revisions of the documents with the given ids, read with a keys-only _all_docs request;
+     * missing and deleted documents are left out
+     */
+    public Map<String, String> getRevisions(Collection<String> ids) {
+        Map<String, String> revisionsById = new LinkedHashMap<>();
+        if (!CommonUtils.isNotEmpty(ids)) {
+            return revisionsById;
+        }
+        for (List<String> chunk : Iterables.partition(new LinkedHashSet<>(ids), BULK_CHUNK_SIZE)) {
+            JsonObject keys = new JsonObject();
+            JsonArray keyArray = new JsonArray();
+            chunk.forEach(keyArray::add);
+            keys.add("keys", keyArray);
+            try {
+                HttpConnection request = Http.POST(new URL(getDbUrl() + "/_all_docs"), "application/json")
+                        .setRequestBody(keys.toString());
+                String response = instance.client.executeRequest(request).responseAsString();
+                for (JsonElement row : JsonParser.parseString(response).getAsJsonObject().getAsJsonArray("rows")) {
+                    JsonObject rowObject = row.getAsJsonObject();
+                    JsonElement value = rowObject.get("value");
+                    if (value == null || !value.isJsonObject() || value.getAsJsonObject().has("deleted")) {
+                        continue;
+                    }
+                    revisionsById.put(rowObject.get("id").getAsString(),
+                            value.getAsJsonObject().get("rev").getAsString());
+                }
+            } catch (IOException e) {
+                log.error("Error fetching revisions", e);
+            }
+        }
+        return revisionsById;
+    }
+
+    private String getDbUrl() {
+        String dbUri = database.getDBUri().toString();
+        return dbUri.endsWith("/") ? dbUri.substring(0, dbUri.length() - 1) : dbUri;
+    }
+
+    private static String getDocumentId(Object document) {
+        return getThriftField(document, 1);
+    }
+
+    private static String getDocumentRevision(Object document) {
+        return getThriftField(document, 2);
+    }
+
+    private static String getThriftField(Object document, int fieldId) {
+        if (!(document instanceof TBase)) {
+            throw new IllegalArgumentException("Not a thrift document: " + document.getClass().getSimpleName());
+        }
+        TBase tbase = (TBase) document;
+        return (String) tbase.getFieldValue(tbase.fieldForId(fieldId));
     }
 
     public <T> int getDocumentCount(Class<T> type) {
@@ -256,6 +487,38 @@ public class DatabaseConnectorCloudant {
         database.saveAttachment(attachmentInputStream, fileName, contentType, attachmentContentId, revision);
     }
 
+    /**
+     * Reads an attachment starting at the given offset. The range is requested from CouchDB, if it sends the whole
+     * attachment anyway (e.g. for attachments stored compressed) the bytes before the offset are skipped.
+     */
+    public InputStream getAttachment(String docId, String attachmentName, long offset) throws IOException {
+        if (offset <= 0) {
+            return getAttachment(docId, attachmentName);
+        }
+        Escaper escaper = UrlEscapers.urlPathSegmentEscaper();
+        HttpConnection request = Http.GET(new URL(getDbUrl() + "/" + escaper.escape(docId) + "/" + escaper.escape(attachmentName)))
+                .requestProperty("Range", "bytes=" + offset + "-");
+        InputStream stream = instance.client.executeRequest(request).responseAsInputStream();
+        if (request.getConnection().getResponseCode() != HttpStatus.SC_PARTIAL_CONTENT) {
+            ByteStreams.skipFully(stream, offset);
+        }
+        return stream;
+    }
+
+    /**
+     * @return the lengths of the attachments of the document by attachment name, taken from the attachment stubs
+     */
+    public Map<String, Long> getAttachmentLengths(String docId) {
+        Map<String, Long> lengths = new HashMap<>();
+        JsonObject attachments = database.find(JsonObject.class, docId).getAsJsonObject("_attachments");
+        if (attachments != null) {
+            for (Map.Entry<String, JsonElement> attachment : attachments.entrySet()) {
+                lengths.put(attachment.getKey(), attachment.getValue().getAsJsonObject().get("length").getAsLong());
+            }
+        }
+        return lengths;
+    }
+
     public <T> boolean deleteById(Class<T> type, String id) {
         Response result = null;
         if (database.contains(id)) {
@@ -294,6 +557,42 @@ public class DatabaseConnectorCloudant {
         return database.query(query, type);
     }
 
+    /**
+     * @return the current update sequence of the database, to read the changes after it from the _changes feed
+     */
+    public String getUpdateSequence() {
+        return database.info().getUpdateSeq();
+    }
+
+    /**
+     * Reads the _changes feed since the given update sequence, without the documents themselves. Only the changes of
+     * documents the map function of the given view emits for are read. Deleted documents are passed to the map
+     * function as tombstones with just their id, revision and _deleted flag.
+     */
+    public <T> DatabaseChanges getChangesSince(String since, Class<T> type, String filterViewName) {
+        String filterView = type.getSimpleName() + "/" + filterViewName;
+        Set<String> changedIds = new HashSet<>();
+        Set<String> deletedIds = new HashSet<>();
+        String sequence = since;
+        List<ChangesResult.Row> rows;
+        do {
+            ChangesResult changes = database.changes().since(sequence).filter("_view")
+                    .parameter("view", filterView).limit(CHANGES_BATCH_SIZE).getChanges();
+            rows = changes.getResults();
+            for (ChangesResult.Row row : rows) {
+                if (row.isDeleted()) {
+                    changedIds.remove(row.getId());
+                    deletedIds.add(row.getId());
+                } else {
+                    deletedIds.remove(row.getId());
+                    changedIds.add(row.getId());
+                }
+            }
+            sequence = changes.getLastSeq();
+        } while (rows.size() >= CHANGES_BATCH_SIZE);
+        return new DatabaseChanges(sequence, changedIds, deletedIds);
+    }
+
     public <T> Set<String> getDistinctSortedStringKeys(Class<T> type, String viewName) {
         ViewRequest<String, String> countReq1 = database.getViewRequestBuilder(type.getSimpleName(), viewName)
                 .newRequest(Key.Type.STRING, String.class).includeDocs(false).build();
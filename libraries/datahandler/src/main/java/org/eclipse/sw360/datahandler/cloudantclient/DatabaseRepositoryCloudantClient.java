@@ -16,10 +16,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TFieldIdEnum;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 
@@ -47,6 +49,7 @@ public class DatabaseRepositoryCloudantClient<T> {
 
     protected final Logger log = LogManager.getLogger(DatabaseConnectorCloudant.class);
     private static final char HIGH_VALUE_UNICODE_CHARACTER = '\uFFF0';
+    private static final Set<String> PROJECTION_BASE_FIELDS = Set.of("id", "revision", "type");
 
     private final Class<T> type;
     private final DatabaseConnectorCloudant connector;
@@ -75,6 +78,28 @@ public class DatabaseRepositoryCloudantClient<T> {
         return mr;
     }
 
+    /**
+     * Creates a map function emitting, keyed by document id, an object with only the given fields of each document
+     * of the given type. Id, revision, type and the isset flags of primitive fields are always included, so that
+     * the emitted objects are read like the documents themselves.
+     */
+    public static String createProjectionMap(String documentType, Collection<? extends TFieldIdEnum> fields) {
+        StringBuilder projection = new StringBuilder(
+                "{ '_id': doc._id, '_rev': doc._rev, 'type': doc.type, 'issetBitfield': doc.issetBitfield");
+        for (TFieldIdEnum field : fields) {
+            String name = field.getFieldName();
+            if (!PROJECTION_BASE_FIELDS.contains(name)) {
+                projection.append(", '").append(name).append("': doc.").append(name);
+            }
+        }
+        projection.append(" }");
+        return "function(doc) { if (doc.type == '" + documentType + "') { emit(doc._id, " + projection + ") } }";
+    }
+
+    public List<T> queryProjectedByIds(String viewName, Collection<String> ids) {
+        return connector.getProjected(type, viewName, ids);
+    }
+
     public void createIndex(String indexName, String[] fields, DatabaseConnectorCloudant db) {
         String indexDefinition = JsonIndex.builder().name(indexName).desc(fields).definition();
         db.createIndex(indexDefinition);
@@ -398,9 +423,33 @@ public class DatabaseRepositoryCloudantClient<T> {
         return connector.executeBulk(list);
     }
 
+    /**
+     * Writes the documents in chunks, documents changed in the meantime are not written
+     *
+     * @return the documents which could not be written
+     */
+    public List<T> updateBulk(Collection<T> documents) {
+        return updateBulk(documents, (stored, rejected) -> null);
+    }
+
+    /**
+     * Writes the documents in chunks, see {@link DatabaseConnectorCloudant#updateBulk(Class, Collection, BinaryOperator)}
+     *
+     * @return the documents which could not be written
+     */
+    public List<T> updateBulk(Collection<T> documents, BinaryOperator<T> conflictResolver) {
+        return connector.updateBulk(type, documents, conflictResolver);
+    }
+
     public List<Response> deleteIds(Collection<String> ids) {
-        final List<T> deletionCandidates = get(ids);
-        return connector.deleteBulk(deletionCandidates);
+        return connector.deleteIds(type, ids);
+    }
+
+    /**
+     * @return the current revisions of the documents, see {@link DatabaseConnectorCloudant#getRevisions(Collection)}
+     */
+    public Map<String, String> getRevisions(Collection<String> ids) {
+        return connector.getRevisions(ids);
     }
 
     public int getDocumentCount() {
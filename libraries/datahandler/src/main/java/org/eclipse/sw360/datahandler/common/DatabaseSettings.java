@@ -12,10 +12,13 @@ package org.eclipse.sw360.datahandler.common;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.cloudantclient.CouchDbClientRegistry;
+import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneStalePolicy;
 import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
 import org.ektorp.http.HttpClient;
 import org.ektorp.http.StdHttpClient;
@@ -46,6 +49,11 @@ public class DatabaseSettings {
 
     public static final int LUCENE_SEARCH_LIMIT;
     public static final boolean LUCENE_LEADING_WILDCARD;
+    public static final LuceneStalePolicy LUCENE_STALE_POLICY;
+
+    public static final int COUCH_DB_MAX_CONNECTIONS;
+    public static final int COUCH_DB_CONNECT_TIMEOUT;
+    public static final int COUCH_DB_READ_TIMEOUT;
 
     private static final String COUCH_DB_USERNAME;
     private static final String COUCH_DB_PASSWORD;
@@ -66,21 +74,40 @@ public class DatabaseSettings {
 
         LUCENE_SEARCH_LIMIT = Integer.parseInt(props.getProperty("lucenesearch.limit", "25"));
         LUCENE_LEADING_WILDCARD = Boolean.parseBoolean(props.getProperty("lucenesearch.leading.wildcard", "false"));
+        LUCENE_STALE_POLICY = LuceneStalePolicy.fromProperty(props.getProperty("lucenesearch.stale"), LuceneStalePolicy.UPDATE_OR_STALE);
+
+        // connections shared by all database connectors of this JVM, see CouchDbClientRegistry
+        COUCH_DB_MAX_CONNECTIONS = Integer.parseInt(props.getProperty("couchdb.connection.max", "100"));
+        COUCH_DB_CONNECT_TIMEOUT = Integer.parseInt(props.getProperty("couchdb.timeout.connection", "5000"));
+        COUCH_DB_READ_TIMEOUT = Integer.parseInt(props.getProperty("couchdb.timeout.read", "300000"));
+        // the cloudant client uses the connection pool of HttpURLConnection, which is shared by the whole JVM and
+        // configured with -Dhttp.keepAlive and -Dhttp.maxConnections, see couchdb.properties
     }
 
+    /**
+     * @return supplier of the ektorp client shared by all callers, see {@link CouchDbClientRegistry}
+     */
     public static Supplier<HttpClient> getConfiguredHttpClient() throws MalformedURLException {
-        StdHttpClient.Builder httpClientBuilder = new StdHttpClient.Builder().url(COUCH_DB_URL);
+        URL url = new URL(COUCH_DB_URL);
+        StdHttpClient.Builder httpClientBuilder = CouchDbClientRegistry.newHttpClientBuilder(url).url(COUCH_DB_URL)
+                .maxConnections(COUCH_DB_MAX_CONNECTIONS)
+                .connectionTimeout(COUCH_DB_CONNECT_TIMEOUT)
+                .socketTimeout(COUCH_DB_READ_TIMEOUT);
         if(! "".equals(COUCH_DB_USERNAME)) {
             httpClientBuilder.username(COUCH_DB_USERNAME);
         }
         if (! "".equals(COUCH_DB_PASSWORD)) {
             httpClientBuilder.password(COUCH_DB_PASSWORD);
         }
-        return httpClientBuilder::build;
+        return () -> CouchDbClientRegistry.getHttpClient(url, COUCH_DB_USERNAME, httpClientBuilder::build);
     }
 
+    /**
+     * @return supplier of the client shared by all callers, see {@link CouchDbClientRegistry}
+     */
     public static Supplier<CloudantClient> getConfiguredClient() {
         ClientBuilder clientBuilder = null;
+        URL url = null;
         GsonBuilder gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping();
         for (Class<?> c : ThriftUtils.THRIFT_CLASSES) {
             gson.registerTypeAdapter(c, new CustomThriftDeserializer());
@@ -90,7 +117,11 @@ public class DatabaseSettings {
             gson.registerTypeAdapter(c, new CustomThriftSerializer());
         }
         try {
-            clientBuilder = ClientBuilder.url(new URL(COUCH_DB_URL)).gsonBuilder(gson);
+            url = new URL(COUCH_DB_URL);
+            clientBuilder = ClientBuilder.url(url).gsonBuilder(gson)
+                    .maxConnections(COUCH_DB_MAX_CONNECTIONS)
+                    .connectTimeout(COUCH_DB_CONNECT_TIMEOUT, TimeUnit.MILLISECONDS)
+                    .readTimeout(COUCH_DB_READ_TIMEOUT, TimeUnit.MILLISECONDS);
             if (!"".equals(COUCH_DB_USERNAME)) {
                 clientBuilder.username(COUCH_DB_USERNAME);
             }
@@ -100,7 +131,9 @@ public class DatabaseSettings {
         } catch (MalformedURLException e) {
             log.error("Error creating client", e);
         }
-        return clientBuilder::build;
+        final URL clientUrl = url;
+        final ClientBuilder configuredBuilder = clientBuilder;
+        return () -> CouchDbClientRegistry.getClient(clientUrl, COUCH_DB_USERNAME, configuredBuilder);
     }
 
     private DatabaseSettings() {
@@ -0,0 +1,51 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.common;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the static thread pools of a service, so that they can be stopped when the service is undeployed
+ * and do not keep its classloader alive
+ */
+public class ExecutorServiceTracker {
+    private static final Logger log = LogManager.getLogger(ExecutorServiceTracker.class);
+
+    private static ConcurrentLinkedQueue<ExecutorService> trackedExecutors = new ConcurrentLinkedQueue<>();
+
+    public static <T extends ExecutorService> T track(T executor) {
+        trackedExecutors.add(executor);
+        return executor;
+    }
+
+    /**
+     * Lets the running tasks of all tracked thread pools finish within the timeout and interrupts them afterwards
+     */
+    public static void shutdown(long timeout, TimeUnit unit) {
+        ExecutorService executor;
+        while ((executor = trackedExecutors.poll()) != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(timeout, unit)) {
+                    log.warn("Thread pool not terminated in time, interrupting its tasks");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -23,20 +23,51 @@ import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 
+import com.cloudant.client.org.lightcouch.DocumentConflictException;
 import com.cloudant.client.org.lightcouch.NoDocumentException;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.HttpStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.net.MalformedURLException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import static com.google.common.base.Strings.nullToEmpty;
 import static org.eclipse.sw360.datahandler.common.CommonUtils.getExtensionFromFileName;
 import static org.eclipse.sw360.datahandler.common.SW360Assert.assertNotNull;
 
@@ -53,6 +84,55 @@ public class AttachmentStreamConnector {
     private final AttachmentContentDownloader attachmentContentDownloader;
     private final Duration downloadTimeout;
 
+    private static final int BUNDLE_BUFFER_SIZE = 64 * 1024;
+    private static final int PART_UPLOAD_ATTEMPTS = 5;
+    private static final Set<String> COMPRESSED_FILE_EXTENSIONS = ImmutableSet.of("zip", "jar", "war", "ear", "gz",
+            "tgz", "bz2", "tbz2", "xz", "txz", "lz", "lzma", "tar.gz", "tar.bz2", "tar.xz", "tar.lz", "tar.lzma", "7z",
+            "rar", "zst", "docx", "xlsx", "pptx", "odt", "ods", "png", "jpg", "jpeg", "gif", "whl", "nupkg", "apk");
+    private static final ExecutorService BUNDLE_EXECUTOR;
+    private static final ExecutorService PREFETCH_EXECUTOR;
+
+    static {
+        Properties props = CommonUtils.loadProperties(AttachmentStreamConnector.class, "/sw360.properties");
+        int bundleThreads = Integer.parseInt(props.getProperty("attachment.bundle.threads", "4"));
+        BUNDLE_EXECUTOR = Executors.newFixedThreadPool(bundleThreads, daemonThreadFactory("sw360-attachment-bundle-"));
+        PREFETCH_EXECUTOR = Executors.newFixedThreadPool(bundleThreads, daemonThreadFactory("sw360-attachment-prefetch-"));
+    }
+
+    /**
+     * Stream of a zip file being written, closing it cancels the writing
+     */
+    private static class BundleInputStream extends PipedInputStream {
+        private volatile Future<?> writer;
+        private volatile boolean cancelled;
+
+        BundleInputStream() {
+            super(BUNDLE_BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            cancelled = true;
+            try {
+                super.close();
+            } finally {
+                Future<?> currentWriter = writer;
+                if (currentWriter != null) {
+                    currentWriter.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     /**
      * @param downloadTimeout timeout for downloading remote attachments
      * @throws java.net.MalformedURLException if the given database address not a valid url.
@@ -77,6 +157,17 @@ public class AttachmentStreamConnector {
      * It is highly recommended to close this stream after using to avoid connection leak
      */
     public <T> InputStream getAttachmentStream(AttachmentContent attachment, User user, T context) throws TException {
+        assertAllowedToDownload(attachment, user, context);
+
+        return unsafeGetAttachmentStream(attachment);
+    }
+
+    /**
+     * Checks that the attachment belongs to the context and that the user may read the context
+     *
+     * @throws SW360Exception if the user is not allowed to download the attachment
+     */
+    public <T> void assertAllowedToDownload(AttachmentContent attachment, User user, T context) throws SW360Exception {
         assertNotNull(attachment);
         assertNotNull(context);
 
@@ -88,8 +179,6 @@ public class AttachmentStreamConnector {
             log.warn(msg);
             throw new SW360Exception(msg);
         }
-
-        return unsafeGetAttachmentStream(attachment);
     }
 
     public InputStream unsafeGetAttachmentStream(AttachmentContent attachment) throws SW360Exception {
@@ -101,51 +190,127 @@ public class AttachmentStreamConnector {
     }
 
     /**
+     * Like {@link #unsafeGetAttachmentStream(AttachmentContent)}, reading the attachment from the given offset on
+     */
+    public InputStream unsafeGetAttachmentStream(AttachmentContent attachment, long offset) throws SW360Exception {
+        if (attachment.isOnlyRemote()) {
+            attachment = downloadRemoteAttachmentAndUpdate(attachment);
+        }
+
+        return readAttachmentStream(attachment, offset);
+    }
+
+    /**
+     * Get an input stream of a zip file containing all given attachments. The zip file is written by a pooled thread
+     * while the stream is read, the stream of the next attachment is opened while the current one is copied.
+     * Closing the returned stream before the end stops writing the zip file.
      * It is highly recommended to close this stream after using to avoid connection leak
      */
     public <T> InputStream getAttachmentBundleStream(Set<AttachmentContent> attachments, User user, T context) throws IOException, SW360Exception {
         assertNotNull(context);
 
-        PipedInputStream in = new PipedInputStream();
+        BundleInputStream in = new BundleInputStream();
         PipedOutputStream out = new PipedOutputStream(in);
+        List<AttachmentContent> bundledAttachments = new ArrayList<>(attachments);
 
-        new Thread(() -> {
-            Map<String, Integer> fileNameUsageMap = new HashMap<>();
-            byte[] buffer = new byte[1024];
-            int length;
-
-            try(ZipOutputStream zip = new ZipOutputStream(out)){
-                for(AttachmentContent attachment : attachments) {
-                    ZipEntry zipEntry;
-
-                    String originalFileName = attachment.getFilename();
-                    if (!fileNameUsageMap.containsKey(originalFileName)) {
-                        fileNameUsageMap.put(originalFileName, 0);
-                        zipEntry = new ZipEntry(originalFileName);
-                    } else {
-                        int count = fileNameUsageMap.get(originalFileName);
-                        count += 1;
-                        fileNameUsageMap.put(originalFileName, count);
-                        zipEntry = getDeduplicatedZipEntry(originalFileName, fileNameUsageMap);
-                    }
+        in.writer = BUNDLE_EXECUTOR.submit(() -> writeAttachmentBundle(bundledAttachments, out, in));
+
+        return in;
+    }
+
+    private void writeAttachmentBundle(List<AttachmentContent> attachments, OutputStream out, BundleInputStream in) {
+        Map<String, Integer> fileNameUsageMap = new HashMap<>();
+        byte[] buffer = new byte[BUNDLE_BUFFER_SIZE];
+        int length;
+
+        Future<InputStream> nextAttachmentStream = prefetchAttachmentStream(attachments, 0);
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUNDLE_BUFFER_SIZE))) {
+            for (int i = 0; i < attachments.size(); i++) {
+                AttachmentContent attachment = attachments.get(i);
+                Future<InputStream> currentAttachmentStream = nextAttachmentStream;
+                nextAttachmentStream = prefetchAttachmentStream(attachments, i + 1);
+
+                ZipEntry zipEntry;
+
+                String originalFileName = attachment.getFilename();
+                if (!fileNameUsageMap.containsKey(originalFileName)) {
+                    fileNameUsageMap.put(originalFileName, 0);
+                    zipEntry = new ZipEntry(originalFileName);
+                } else {
+                    int count = fileNameUsageMap.get(originalFileName);
+                    count += 1;
+                    fileNameUsageMap.put(originalFileName, count);
+                    zipEntry = getDeduplicatedZipEntry(originalFileName, fileNameUsageMap);
+                }
 
-                    zip.putNextEntry(zipEntry);
-                    try(InputStream attachmentStream = unsafeGetAttachmentStream(attachment)) {
+                zip.setLevel(isCompressedFile(originalFileName) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(zipEntry);
+                try (InputStream attachmentStream = awaitAttachmentStream(currentAttachmentStream)) {
+                    if (attachmentStream != null) {
                         while ((length = attachmentStream.read(buffer)) >= 0) {
                             zip.write(buffer, 0, length);
                         }
-                    } catch (TException e) {
-                        log.error("failed to get AttachmentStream, maybe due to permission problems", e);
                     }
+                }
 
-                    zip.closeEntry();
+                zip.closeEntry();
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("writing of zip stream was cancelled");
                 }
-            } catch (IOException e) {
+            }
+        } catch (IOException e) {
+            if (in.cancelled) {
+                log.debug("zip stream was closed before all attachments were written");
+            } else {
                 log.error("failed to write zip stream", e);
             }
-        }).start();
+        } finally {
+            discardAttachmentStream(nextAttachmentStream);
+        }
+    }
 
-        return in;
+    private Future<InputStream> prefetchAttachmentStream(List<AttachmentContent> attachments, int index) {
+        if (index >= attachments.size()) {
+            return null;
+        }
+        AttachmentContent attachment = attachments.get(index);
+        return PREFETCH_EXECUTOR.submit(() -> unsafeGetAttachmentStream(attachment));
+    }
+
+    private InputStream awaitAttachmentStream(Future<InputStream> attachmentStream) throws InterruptedIOException {
+        try {
+            return attachmentStream.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discardAttachmentStream(attachmentStream);
+            throw new InterruptedIOException("writing of zip stream was cancelled");
+        } catch (ExecutionException e) {
+            log.error("failed to get AttachmentStream, maybe due to permission problems", e.getCause());
+            return null;
+        }
+    }
+
+    private void discardAttachmentStream(Future<InputStream> attachmentStream) {
+        if (attachmentStream == null || attachmentStream.cancel(true)) {
+            return;
+        }
+        try {
+            InputStream stream = attachmentStream.get();
+            if (stream != null) {
+                stream.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException | IOException e) {
+            log.debug("failed to close prefetched AttachmentStream", e);
+        }
+    }
+
+    /**
+     * Files which are compressed already are stored without deflating them again
+     */
+    protected boolean isCompressedFile(String fileName) {
+        return COMPRESSED_FILE_EXTENSIONS.contains(getExtensionFromFileName(nullToEmpty(fileName)).toLowerCase());
     }
 
     protected ZipEntry getDeduplicatedZipEntry(String fileName, Map<String, Integer> fileNameUsageMap) {
@@ -188,11 +353,7 @@ public class AttachmentStreamConnector {
     }
 
     public InputStream readAttachmentStream(AttachmentContent attachment) {
-        int partsCount = -1;
-
-        if (attachment.isSetPartsCount()) {
-            partsCount = CommonUtils.toUnsignedInt(attachment.getPartsCount());
-        }
+        int partsCount = getPartsCount(attachment);
 
         if (partsCount < 0) {
             return connector.getAttachment(attachment.getId(), attachment.getFilename());
@@ -201,9 +362,84 @@ public class AttachmentStreamConnector {
         }
     }
 
+    /**
+     * Get an input stream to read the attachment from the given offset on, e.g. to serve a range request. Of an
+     * attachment uploaded in parts, reading starts at the part containing the offset.
+     */
+    public InputStream readAttachmentStream(AttachmentContent attachment, long offset) throws SW360Exception {
+        int partsCount = getPartsCount(attachment);
+
+        try {
+            if (partsCount < 0) {
+                return connector.getAttachment(attachment.getId(), attachment.getFilename(), offset);
+            }
+
+            Map<Integer, Long> partLengths = getAttachmentPartLengths(attachment);
+            int part = 1;
+            long offsetInPart = offset;
+            while (part <= partsCount) {
+                Long partLength = partLengths.get(part);
+                if (partLength == null) {
+                    throw new SW360Exception("Cannot find part " + part + " of attachment " + attachment.getId());
+                }
+                if (offsetInPart < partLength) {
+                    break;
+                }
+                offsetInPart -= partLength;
+                part++;
+            }
+            if (part > partsCount) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+            InputStream firstPart = connector.getAttachment(attachment.getId(), getPartFileName(attachment, part), offsetInPart);
+            return new ConcatClosingInputStream(Iterators.concat(Iterators.singletonIterator(firstPart),
+                    getAttachmentPartStreams(attachment, part + 1, partsCount)));
+        } catch (IOException | NoDocumentException e) {
+            String msg = "Cannot read attachment " + attachment.getId() + " from offset " + offset;
+            log.error(msg, e);
+            throw new SW360Exception(msg);
+        }
+    }
+
+    /**
+     * @return the length of the attachment in bytes, the sum of its parts for an attachment uploaded in parts
+     */
+    public long getAttachmentLength(AttachmentContent attachment) throws SW360Exception {
+        int partsCount = getPartsCount(attachment);
+
+        if (partsCount < 0) {
+            Long length = connector.getAttachmentLengths(attachment.getId()).get(attachment.getFilename());
+            if (length == null) {
+                throw new SW360Exception("Cannot find content of attachment " + attachment.getId());
+            }
+            return length;
+        }
+
+        Map<Integer, Long> partLengths = getAttachmentPartLengths(attachment);
+        long length = 0;
+        for (int part = 1; part <= partsCount; part++) {
+            if (!partLengths.containsKey(part)) {
+                throw new SW360Exception("Cannot find part " + part + " of attachment " + attachment.getId());
+            }
+            length += partLengths.get(part);
+        }
+        return length;
+    }
+
+    private int getPartsCount(AttachmentContent attachment) {
+        if (attachment.isSetPartsCount()) {
+            return CommonUtils.toUnsignedInt(attachment.getPartsCount());
+        }
+        return -1;
+    }
+
     protected InputStream getConcatenatedAttachmentPartsStream(final AttachmentContent attachment, final int partsCount) {
-        Iterator<InputStream> streams = new Iterator<InputStream>() {
-            int part = 1; // the first is part 1 not 0!
+        return new ConcatClosingInputStream(getAttachmentPartStreams(attachment, 1, partsCount));
+    }
+
+    private Iterator<InputStream> getAttachmentPartStreams(final AttachmentContent attachment, final int firstPart, final int partsCount) {
+        return new Iterator<InputStream>() {
+            int part = firstPart; // the first is part 1 not 0!
 
             @Override
             public boolean hasNext() {
@@ -228,8 +464,6 @@ public class AttachmentStreamConnector {
                 //this should be a no-op.
             }
         };
-
-        return new ConcatClosingInputStream(streams);
     }
 
     /**
@@ -251,6 +485,76 @@ public class AttachmentStreamConnector {
         addAttachmentTo(attachmentContent.getId(), partFileName, stream);
     }
 
+    /**
+     * Upload a part of an attachment, the part is stored only if its SHA-1 checksum matches the given one. Parts of
+     * the same attachment can be uploaded in parallel: a part rejected because another part was stored at the same
+     * time is stored again, so the part is buffered in a temporary file.
+     */
+    public void uploadAttachmentPart(AttachmentContent attachmentContent, int part, InputStream stream, String sha1) throws SW360Exception {
+        assertNotNull(attachmentContent);
+        assertNotNull(sha1);
+
+        String partFileName = getPartFileName(attachmentContent, part);
+        Path buffer = null;
+        try {
+            buffer = Files.createTempFile("sw360-attachment-part", null);
+            MessageDigest digest = DigestUtils.getSha1Digest();
+            try (InputStream in = new DigestInputStream(stream, digest)) {
+                Files.copy(in, buffer, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String actualSha1 = Hex.encodeHexString(digest.digest());
+            if (!actualSha1.equalsIgnoreCase(sha1)) {
+                throw new SW360Exception("SHA-1 of part " + part + " of attachment " + attachmentContent.getId()
+                        + " is " + actualSha1 + " instead of " + sha1).setErrorCode(HttpStatus.SC_BAD_REQUEST);
+            }
+
+            for (int attempt = 1; ; attempt++) {
+                try (InputStream in = Files.newInputStream(buffer)) {
+                    addAttachmentTo(attachmentContent.getId(), partFileName, in);
+                    return;
+                } catch (DocumentConflictException e) {
+                    if (attempt >= PART_UPLOAD_ATTEMPTS) {
+                        String msg = "Cannot store part " + part + " of attachment " + attachmentContent.getId()
+                                + " due to concurrent updates";
+                        log.error(msg, e);
+                        throw new SW360Exception(msg).setErrorCode(HttpStatus.SC_CONFLICT);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            String msg = "Cannot buffer part " + part + " of attachment " + attachmentContent.getId();
+            log.error(msg, e);
+            throw new SW360Exception(msg);
+        } finally {
+            if (buffer != null) {
+                try {
+                    Files.deleteIfExists(buffer);
+                } catch (IOException e) {
+                    log.warn("Cannot delete buffer of attachment part " + buffer, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the lengths of the parts of the attachment which are stored already, by part number; parts which are
+     * missing after an interrupted upload are not contained
+     */
+    public SortedMap<Integer, Long> getAttachmentPartLengths(AttachmentContent attachment) {
+        SortedMap<Integer, Long> partLengths = new TreeMap<>();
+        String partFileNamePrefix = getPartFileName(attachment, "");
+        for (Map.Entry<String, Long> length : connector.getAttachmentLengths(attachment.getId()).entrySet()) {
+            String fileName = length.getKey();
+            if (fileName.startsWith(partFileNamePrefix)) {
+                int part = CommonUtils.toUnsignedInt(fileName.substring(partFileNamePrefix.length()));
+                if (part > 0) {
+                    partLengths.put(part, length.getValue());
+                }
+            }
+        }
+        return partLengths;
+    }
+
     private void addAttachmentTo(String attachmentContentId, String filename, InputStream stream) {
         String contentType = "application/octet-stream";
 
@@ -265,7 +569,7 @@ public class AttachmentStreamConnector {
         return connector.getAttachment(attachment.getId(), getPartFileName(attachment, part));
     }
 
-    private String getPartFileName(AttachmentContent attachment, int part) {
+    private String getPartFileName(AttachmentContent attachment, Object part) {
         return attachment.getFilename() + "_part" + part;
     }
 }
@@ -9,16 +9,12 @@
  */
 package org.eclipse.sw360.datahandler.couchdb.lucene;
 
-import com.github.ldriscoll.ektorplucene.EktorpLuceneObjectMapperFactory;
 import com.github.ldriscoll.ektorplucene.LuceneAwareCouchDbConnector;
 import com.github.ldriscoll.ektorplucene.LuceneQuery;
 import com.github.ldriscoll.ektorplucene.LuceneResult;
 import com.github.ldriscoll.ektorplucene.util.IndexUploader;
 import com.google.common.base.Joiner;
 
-import java.net.HttpURLConnection;
-import java.net.URL;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
@@ -38,7 +34,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.cloudant.client.api.CloudantClient;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.base.Strings.nullToEmpty;
@@ -67,6 +62,8 @@ public class LuceneAwareDatabaseConnector extends LuceneAwareCouchDbConnector {
      */
     private int resultLimit = 0;
 
+    private LuceneStalePolicy stalePolicy = DatabaseSettings.LUCENE_STALE_POLICY;
+
     /**
      * URL/DbName constructor
      */
@@ -96,88 +93,71 @@ public class LuceneAwareDatabaseConnector extends LuceneAwareCouchDbConnector {
      * Search with lucene using the previously declared search function
      */
     public <T> List<T> searchView(Class<T> type, LuceneSearchView function, String queryString) {
-        return connector.get(type, searchIds(type,function, queryString));
+        return searchView(type, function, queryString, stalePolicy);
+    }
+
+    /**
+     * Search with lucene using the previously declared search function and the given stale policy
+     */
+    public <T> List<T> searchView(Class<T> type, LuceneSearchView function, String queryString, LuceneStalePolicy stalePolicy) {
+        return connector.get(type, searchIds(type, function, queryString, stalePolicy));
     }
 
     /**
      * Search with lucene using the previously declared search function only for ids
      */
     public <T> List<String> searchIds(Class<T> type, LuceneSearchView function, String queryString) {
-        LuceneResult queryLuceneResult = searchView(function, queryString, false);
-        return getIdsFromResult(queryLuceneResult);
+        return searchIds(type, function, queryString, stalePolicy);
     }
 
     /**
-     * Search with lucene using the previously declared search function
+     * Search with lucene using the previously declared search function and the given stale policy only for ids
      */
-    public LuceneResult searchView(LuceneSearchView function, String queryString) {
-        return searchView(function, queryString, true);
+    public <T> List<String> searchIds(Class<T> type, LuceneSearchView function, String queryString, LuceneStalePolicy stalePolicy) {
+        if (isNullOrEmpty(queryString)) {
+            return new ArrayList<>();
+        }
+
+        try {
+            List<String> ids = LuceneQueryClient.getInstance().queryIds(makeQueryUri(function, queryString, false), stalePolicy);
+            if (ids != null) {
+                return ids;
+            }
+        } catch (Exception exp) {
+            log.error("Error querying Lucene directly.", exp);
+        }
+        return new ArrayList<>();
     }
 
     /**
      * Search with lucene using the previously declared search function
      */
-    private LuceneResult searchView(LuceneSearchView function, String queryString, boolean includeDocs) {
+    public LuceneResult searchView(LuceneSearchView function, String queryString) {
         if (isNullOrEmpty(queryString)) {
             return null;
         }
 
         try {
-            LuceneResult callLuceneDirectly = callLuceneDirectly(function, queryString, includeDocs);
-            return callLuceneDirectly;
+            return LuceneQueryClient.getInstance().query(makeQueryUri(function, queryString, true), stalePolicy);
         } catch (Exception exp) {
             log.error("Error querying Lucene directly.", exp);
         }
         return null;
     }
 
-    private LuceneResult callLuceneDirectly(LuceneSearchView function, String queryString, boolean includeDocs)
-            throws IOException {
+    private URI makeQueryUri(LuceneSearchView function, String queryString, boolean includeDocs) {
         URI queryURI = URI.of("/");
         queryURI.append(DEFAULT_LUCENE_INDEX);
         queryURI.append(dbNameForLuceneSearch);
         queryURI.append(function.searchView.startsWith(DesignDocument.ID_PREFIX) ? function.searchView
                 : DesignDocument.ID_PREFIX + function.searchView);
         queryURI.append(function.searchFunction);
-        queryURI.param("include_docs", new Boolean(includeDocs).toString());
+        queryURI.param("include_docs", Boolean.toString(includeDocs));
         if (resultLimit > 0) {
             queryURI.param("limit", resultLimit);
         }
-        queryURI.param("q", queryString.toString());
-        URL luceneResourceUrl = new URL(DatabaseSettings.COUCH_DB_LUCENE_URL + queryURI.toString());
-        ObjectMapper objectMapper = new EktorpLuceneObjectMapperFactory().createObjectMapper();
-        HttpURLConnection connection = null;
-        try {
-            connection = makeLuceneRequest(luceneResourceUrl);
-            int responseCode = connection.getResponseCode();
-            if (responseCode == 200) {
-                return objectMapper.readValue(connection.getInputStream(), LuceneResult.class);
-            } else {
-                connection.disconnect();
-                log.error("Getting error with reponse code = " + responseCode + ".Retrying with stale parameter");
-                queryURI.param("stale", "ok");
-                luceneResourceUrl = new URL(DatabaseSettings.COUCH_DB_LUCENE_URL + queryURI.toString());
-                connection = makeLuceneRequest(luceneResourceUrl);
-                responseCode = connection.getResponseCode();
-                if (responseCode == 200) {
-                    return objectMapper.readValue(connection.getInputStream(), LuceneResult.class);
-                } else {
-                    log.error("Retried with stale parameter.Getting error with reponse code=" + responseCode);
-                }
-            }
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
-        }
-        return null;
-    }
-
-    private HttpURLConnection makeLuceneRequest(URL luceneResourceUrl) throws IOException {
-        HttpURLConnection connection = (HttpURLConnection) luceneResourceUrl.openConnection();
-        connection.setRequestMethod("GET");
-        connection.connect();
-        return connection;
+        queryURI.param("q", queryString);
+        return queryURI;
     }
 
     /////////////////////////
@@ -196,21 +176,17 @@ public class LuceneAwareDatabaseConnector extends LuceneAwareCouchDbConnector {
         }
     }
 
+    /**
+     * Sets the stale policy of the searches which do not pass their own
+     */
+    public void setStalePolicy(LuceneStalePolicy stalePolicy) {
+        this.stalePolicy = stalePolicy;
+    }
+
     ////////////////////
     // HELPER METHODS //
     ////////////////////
 
-    private static List<String> getIdsFromResult(LuceneResult result) {
-        List<String> ids = new ArrayList<>();
-        if (result != null) {
-            for (LuceneResult.Row row : result.getRows()) {
-                ids.add(row.getId());
-            }
-        }
-        return ids;
-    }
-
-
     /**
      * Search the database for a given string and types
      */
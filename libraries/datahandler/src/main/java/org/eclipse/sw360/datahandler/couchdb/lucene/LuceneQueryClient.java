@@ -0,0 +1,173 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.couchdb.lucene;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ldriscoll.ektorplucene.EktorpLuceneObjectMapperFactory;
+import com.github.ldriscoll.ektorplucene.LuceneResult;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.common.DatabaseSettings;
+import org.ektorp.http.URI;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends queries to couchdb-lucene.
+ *
+ * All lucene aware connectors of the JVM share one instance, so the queries reuse persistent connections and the
+ * object mapper is configured only once.
+ */
+public class LuceneQueryClient {
+
+    private static final Logger log = LogManager.getLogger(LuceneQueryClient.class);
+
+    private static final String ROWS_FIELD = "rows";
+    private static final String ID_FIELD = "id";
+
+    private static class Holder {
+        private static final LuceneQueryClient INSTANCE = new LuceneQueryClient(DatabaseSettings.COUCH_DB_LUCENE_URL,
+                DatabaseSettings.COUCH_DB_MAX_CONNECTIONS, DatabaseSettings.COUCH_DB_CONNECT_TIMEOUT,
+                DatabaseSettings.COUCH_DB_READ_TIMEOUT);
+    }
+
+    private final String luceneUrl;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    LuceneQueryClient(String luceneUrl, int maxConnections, int connectTimeout, int readTimeout) {
+        this.luceneUrl = luceneUrl;
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(readTimeout)
+                        .build())
+                .evictIdleConnections(60, TimeUnit.SECONDS)
+                .evictExpiredConnections()
+                .build();
+        objectMapper = new EktorpLuceneObjectMapperFactory().createObjectMapper();
+    }
+
+    public static LuceneQueryClient getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param query path and parameters of the query, relative to the couchdb-lucene url
+     * @return the result of the query, null if couchdb-lucene did not answer it
+     */
+    public LuceneResult query(URI query, LuceneStalePolicy stalePolicy) throws IOException {
+        return execute(query, stalePolicy, stream -> objectMapper.readValue(stream, LuceneResult.class));
+    }
+
+    /**
+     * Reads only the ids of the rows of the result, the rows themselves are skipped while parsing
+     *
+     * @param query path and parameters of the query, relative to the couchdb-lucene url
+     * @return the ids of the result rows, null if couchdb-lucene did not answer the query
+     */
+    public List<String> queryIds(URI query, LuceneStalePolicy stalePolicy) throws IOException {
+        return execute(query, stalePolicy, this::readIds);
+    }
+
+    public void shutdown() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            log.warn("Could not close connections to couchdb-lucene", e);
+        }
+    }
+
+    List<String> readIds(InputStream stream) throws IOException {
+        List<String> ids = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected lucene result, expected an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (ROWS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readRowId(parser, ids);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void readRowId(JsonParser parser, List<String> ids) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (ID_FIELD.equals(field)) {
+                ids.add(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private <T> T execute(URI query, LuceneStalePolicy stalePolicy, ResultReader<T> reader) throws IOException {
+        if (stalePolicy == LuceneStalePolicy.STALE) {
+            query.param("stale", "ok");
+        }
+        T result = execute(query, reader);
+        if (result == null && stalePolicy == LuceneStalePolicy.UPDATE_OR_STALE) {
+            log.error("Retrying lucene query with stale parameter");
+            query.param("stale", "ok");
+            result = execute(query, reader);
+        }
+        return result;
+    }
+
+    private <T> T execute(URI query, ResultReader<T> reader) throws IOException {
+        HttpGet request = new HttpGet(luceneUrl + query.toString());
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            int responseCode = response.getStatusLine().getStatusCode();
+            if (responseCode != HttpStatus.SC_OK) {
+                EntityUtils.consumeQuietly(response.getEntity());
+                log.error("Getting error with response code = " + responseCode + " for lucene query " + query);
+                return null;
+            }
+            try (InputStream stream = response.getEntity().getContent()) {
+                return reader.read(stream);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultReader<T> {
+        T read(InputStream stream) throws IOException;
+    }
+}
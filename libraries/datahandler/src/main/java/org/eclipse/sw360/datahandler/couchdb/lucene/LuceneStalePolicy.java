@@ -0,0 +1,37 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.couchdb.lucene;
+
+/**
+ * Whether a lucene query waits for the index to be brought up to date with the database
+ */
+public enum LuceneStalePolicy {
+    /**
+     * Wait for the index to be updated, fail if that is not possible
+     */
+    UPDATE,
+    /**
+     * Wait for the index to be updated, query the index as it is if that is not possible
+     */
+    UPDATE_OR_STALE,
+    /**
+     * Query the index as it is without waiting, e.g. for type-ahead searches
+     */
+    STALE;
+
+    public static LuceneStalePolicy fromProperty(String value, LuceneStalePolicy defaultPolicy) {
+        for (LuceneStalePolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(value == null ? "" : value.trim())) {
+                return policy;
+            }
+        }
+        return defaultPolicy;
+    }
+}
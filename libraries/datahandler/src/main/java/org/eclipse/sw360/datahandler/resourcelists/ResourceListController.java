@@ -40,6 +40,17 @@ public class ResourceListController<T> {
         return new PaginationResult<>(sortedResources.subList(fromIndex, toIndex), sortedResources.size(), paginationOptions);
     }
 
+    /**
+     * Wraps a page which has already been sorted and cut out by the backend, so that only this page has to be
+     * loaded instead of the whole list.
+     */
+    public PaginationResult<T> createPaginationResultForPage(List<T> pageResources, int totalCount, PaginationOptions<T> paginationOptions) throws PaginationParameterException {
+        if (paginationOptions.getPageNumber() != 0 && paginationOptions.getOffset() >= totalCount) {
+            throw new PaginationParameterException(PAGINATION_PARAMETER_EXCEPTION_MESSAGE);
+        }
+        return new PaginationResult<>(pageResources, totalCount, paginationOptions);
+    }
+
     private List<T> sortList(List<T> resources, Comparator<T> comparator) {
         if(comparator == null) {
             return resources;
@@ -13,9 +13,6 @@
 package org.eclipse.sw360.datahandler.thrift;
 
 import org.apache.http.HttpHost;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TConfiguration;
@@ -64,6 +61,11 @@ public class ThriftClients {
     public static final int THRIFT_READ_TIMEOUT;
     public static final int THRIFT_MAX_MESSAGE_SIZE;
     public static final int THRIFT_MAX_FRAME_SIZE;
+    public static final int THRIFT_POOL_MAX_TOTAL;
+    public static final int THRIFT_POOL_MAX_PER_ROUTE;
+    public static final long THRIFT_POOL_KEEP_ALIVE;
+
+    private static final ThriftConnectionPool CONNECTION_POOL;
 
     //! Service addresses
     private static final String ATTACHMENT_SERVICE_URL = "/attachments/thrift";
@@ -102,44 +104,70 @@ public class ThriftClients {
         THRIFT_MAX_MESSAGE_SIZE = Integer.valueOf(props.getProperty("backend.thrift.max.message.size", String.valueOf(TConfiguration.DEFAULT_MAX_MESSAGE_SIZE)));
         THRIFT_MAX_FRAME_SIZE = Integer.valueOf(props.getProperty("backend.thrift.max.frame.size", String.valueOf(TConfiguration.DEFAULT_MAX_FRAME_SIZE)));
 
+        // persistent connections shared by all thrift clients of this JVM
+        THRIFT_POOL_MAX_TOTAL = Integer.valueOf(props.getProperty("backend.connection.pool.max.total", "200"));
+        THRIFT_POOL_MAX_PER_ROUTE = Integer.valueOf(props.getProperty("backend.connection.pool.max.per.route", "50"));
+        THRIFT_POOL_KEEP_ALIVE = Long.valueOf(props.getProperty("backend.connection.pool.keepalive", "60000"));
+
+        CONNECTION_POOL = new ThriftConnectionPool(THRIFT_POOL_MAX_TOTAL, THRIFT_POOL_MAX_PER_ROUTE, THRIFT_POOL_KEEP_ALIVE,
+                THRIFT_CONNECTION_TIMEOUT, THRIFT_READ_TIMEOUT, makeProxy());
+
         log.info("The following configuration will be used for connections to the backend:\n" +
             "\tURL                      : " + BACKEND_URL + "\n" +
             "\tProxy                    : " + BACKEND_PROXY_URL + "\n" +
             "\tTimeout Connecting (ms)  : " + THRIFT_CONNECTION_TIMEOUT + "\n" +
-            "\tTimeout Read (ms)        : " + THRIFT_READ_TIMEOUT + "\n");
+            "\tTimeout Read (ms)        : " + THRIFT_READ_TIMEOUT + "\n" +
+            "\tPool max connections     : " + THRIFT_POOL_MAX_TOTAL + "\n" +
+            "\tPool max per route       : " + THRIFT_POOL_MAX_PER_ROUTE + "\n" +
+            "\tPool keep-alive (ms)     : " + THRIFT_POOL_KEEP_ALIVE + "\n");
     }
     public ThriftClients() {
     }
 
+    private static HttpHost makeProxy() {
+        if (BACKEND_PROXY_URL == null) {
+            return null;
+        }
+        try {
+            URL proxyUrl = new URL(BACKEND_PROXY_URL);
+            return new HttpHost(proxyUrl.getHost(), proxyUrl.getPort(), proxyUrl.getProtocol());
+        } catch (MalformedURLException e) {
+            log.error("cannot connect via http proxy (REASON:MalformedURLException) to thrift backend", e);
+            return null;
+        }
+    }
+
     /**
      * Creates a Thrift Compact Protocol object linked to the given address
      */
     private static TProtocol makeProtocol(String url, String service) {
+        return makeProtocol(url + service);
+    }
+
+    /**
+     * Creates a Thrift Compact Protocol object linked to the given service address. The returned protocol is not
+     * thread-safe, but its HTTP connections are taken from the shared {@link ThriftConnectionPool}.
+     */
+    public static TProtocol makeProtocol(String destinationAddress) {
         THttpClient thriftClient = null;
-        final String destinationAddress = url + service;
         final TConfiguration thriftConfigure = TConfiguration.custom().setMaxMessageSize(THRIFT_MAX_MESSAGE_SIZE)
                 .setMaxFrameSize(THRIFT_MAX_FRAME_SIZE).build();
 
         try {
-            if (BACKEND_PROXY_URL != null) {
-                URL proxyUrl = new URL(BACKEND_PROXY_URL);
-                HttpHost proxy = new HttpHost(proxyUrl.getHost(), proxyUrl.getPort(), proxyUrl.getProtocol());
-                DefaultProxyRoutePlanner routePlanner = new DefaultProxyRoutePlanner(proxy);
-                CloseableHttpClient httpClient = HttpClients.custom().setRoutePlanner(routePlanner).build();
-                thriftClient = new THttpClient(thriftConfigure, destinationAddress, httpClient);
-            } else {
-                thriftClient = new THttpClient(thriftConfigure, destinationAddress);
-            }
-            thriftClient.setConnectTimeout(THRIFT_CONNECTION_TIMEOUT);
-            thriftClient.setReadTimeout(THRIFT_READ_TIMEOUT);
+            thriftClient = new THttpClient(thriftConfigure, destinationAddress, CONNECTION_POOL.getHttpClient());
         } catch (TTransportException e) {
             log.error("cannot connect to backend on " + destinationAddress, e);
-        } catch (MalformedURLException e) {
-            log.error("cannot connect via http proxy (REASON:MalformedURLException) to thrift backend", e);
         }
         return new TCompactProtocol(thriftClient);
     }
 
+    /**
+     * @return current usage of the connections to the backend, e.g. for sizing the pool under load
+     */
+    public static ThriftConnectionPool.Statistics getConnectionPoolStatistics() {
+        return CONNECTION_POOL.getStatistics();
+    }
+
     public AttachmentService.Iface makeAttachmentClient() {
         return new AttachmentService.Client(makeProtocol(BACKEND_URL, ATTACHMENT_SERVICE_URL));
     }
@@ -0,0 +1,188 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.thrift;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared pool of persistent HTTP connections to the thrift backend.
+ *
+ * The thrift clients themselves are cheap to create and not thread-safe, so they are still created per use. All of
+ * them send their requests through one {@link CloseableHttpClient} backed by a pooling connection manager, so
+ * connections are kept alive and reused instead of being set up for every client.
+ */
+public class ThriftConnectionPool {
+
+    private final InstrumentedConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    public ThriftConnectionPool(int maxTotal, int maxPerRoute, long keepAliveMillis, int connectTimeout,
+            int readTimeout, HttpHost proxy) {
+        connectionManager = new InstrumentedConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(readTimeout)
+                        .build())
+                .setKeepAliveStrategy((response, context) -> keepAliveMillis)
+                .evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS)
+                .evictExpiredConnections();
+        if (proxy != null) {
+            builder.setRoutePlanner(new DefaultProxyRoutePlanner(proxy));
+        }
+        httpClient = builder.build();
+    }
+
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public Statistics getStatistics() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return new Statistics(stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax(),
+                connectionManager.getDefaultMaxPerRoute(), connectionManager.requests.get(),
+                TimeUnit.NANOSECONDS.toMillis(connectionManager.totalWaitNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(connectionManager.maxWaitNanos.get()));
+    }
+
+    /**
+     * Snapshot of the connection pool usage
+     */
+    public static class Statistics {
+        private final int leased;
+        private final int available;
+        private final int pending;
+        private final int maxTotal;
+        private final int maxPerRoute;
+        private final long requests;
+        private final long totalWaitMillis;
+        private final long maxWaitMillis;
+
+        Statistics(int leased, int available, int pending, int maxTotal, int maxPerRoute, long requests,
+                long totalWaitMillis, long maxWaitMillis) {
+            this.leased = leased;
+            this.available = available;
+            this.pending = pending;
+            this.maxTotal = maxTotal;
+            this.maxPerRoute = maxPerRoute;
+            this.requests = requests;
+            this.totalWaitMillis = totalWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        /**
+         * @return connections currently borrowed by a thrift call
+         */
+        public int getLeased() {
+            return leased;
+        }
+
+        /**
+         * @return idle connections kept alive in the pool
+         */
+        public int getAvailable() {
+            return available;
+        }
+
+        /**
+         * @return thrift calls currently waiting for a connection
+         */
+        public int getPending() {
+            return pending;
+        }
+
+        public int getMaxTotal() {
+            return maxTotal;
+        }
+
+        public int getMaxPerRoute() {
+            return maxPerRoute;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getTotalWaitMillis() {
+            return totalWaitMillis;
+        }
+
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public double getAverageWaitMillis() {
+            return requests == 0 ? 0 : (double) totalWaitMillis / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "leased=" + leased + ", available=" + available + ", pending=" + pending + ", maxTotal=" + maxTotal
+                    + ", maxPerRoute=" + maxPerRoute + ", requests=" + requests + ", totalWaitMillis="
+                    + totalWaitMillis + ", maxWaitMillis=" + maxWaitMillis;
+        }
+    }
+
+    /**
+     * Pooling connection manager which records how long callers wait for a connection
+     */
+    private static class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            final ConnectionRequest request = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    final long start = System.nanoTime();
+                    try {
+                        return request.get(timeout, timeUnit);
+                    } finally {
+                        record(System.nanoTime() - start);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+
+        private void record(long waitNanos) {
+            requests.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+}
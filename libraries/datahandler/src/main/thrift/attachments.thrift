@@ -84,6 +84,11 @@ struct AttachmentContent {
     20: required string filename,
     21: optional string contentType,
     22: optional string partsCount,
+
+    // set for uploads in parts through the REST API, only this user may add parts
+    30: optional string uploadedBy,
+    // "yyyy-MM-dd HH:mm:ss", uploads which are not attached to any document are deleted some days later
+    31: optional string uploadStartedOn,
 }
 
 /**
@@ -306,4 +311,11 @@ service AttachmentService {
      * calls deleteAttachmentAndDirectory for identifying the file and delete
      */
     RequestStatus deleteOldAttachmentFromFileSystem();
+
+    /**
+     * deletes the attachment contents of uploads in parts which were started some days ago and are not attached to
+     * any project, component or release, e.g. because the upload was abandoned
+     * return RequestStatus together with the total number of elements and the number of successfully removed elements
+     */
+    RequestSummary deleteAbandonedUploads();
 }
@@ -559,6 +559,12 @@ service ComponentService {
       **/
     AddDocumentRequestSummary addRelease(1: Release release, 2: User user);
 
+    /**
+      * add releases to database with user as creator, e.g. when importing a BOM,
+      * return a summary for each release in the order of the given releases
+      **/
+    list<AddDocumentRequestSummary> addReleases(1: list<Release> releases, 2: User user);
+
     /**
       * get release from database filled with vendor and permissions for user
       **/
@@ -847,6 +853,13 @@ service ComponentService {
      */
     list<Release> getAllReleasesForUser(1: User user);
 
+    /**
+     * Gets one page of releases with complete details, sorted by the view selected with `sortColumnNumber`
+     * (0: name, 1: createdOn, otherwise unsorted). The total number of releases is set as `totalRowCount`
+     * of the returned pagination data.
+     */
+    map<PaginationData, list<Release>> getAllReleasesForUserWithPagination(1: User user, 2: PaginationData pageData);
+
     /**
     * Send email to the user once spreadsheet export completed
     */
@@ -29,6 +29,23 @@ struct VulnerabilityUpdateStatus {
     2: RequestStatus requestStatus;
 }
 
+/**
+ * progress of the current or last full update, timestamps are in milliseconds since epoch
+ **/
+struct VulnerabilityUpdateProgress {
+    1: RequestStatus requestStatus;
+    2: bool running;
+    3: i32 releasesTotal;
+    4: i32 releasesProcessed;
+    5: i32 releasesFailed;
+    6: i32 vulnerabilitiesWritten;
+    7: i32 cveSearchRequests;
+    8: i32 deduplicatedCveSearchRequests;
+    9: i64 startedAt;
+    10: i64 finishedAt;
+    11: double releasesPerSecond;
+}
+
 service CveSearchService {
     /**
     * applies cve search for given release, writes vulnerabilities to database and creates for each
@@ -58,5 +75,10 @@ service CveSearchService {
       **/
    RequestStatus update();
 
+    /**
+      * returns the progress and throughput of the running or last full update
+      **/
+    VulnerabilityUpdateProgress getUpdateProgress();
+
     set<string> findCpes(1: string vendor, 2: string product, 3:string version);
 }
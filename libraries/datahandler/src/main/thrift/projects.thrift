@@ -250,7 +250,8 @@ service ProjectService {
     list<Project> getMyProjects(1: User user, 2:  map<string, bool> userRoles);
 
     /**
-     * get all projects as project summaries which are visible to user with pagination
+     * get all projects as project summaries which are visible to user with pagination. The number of all projects
+     * visible to the user is set as `totalRowCount` of the returned pagination data.
      */
     map<PaginationData, list<Project>> getAccessibleProjectsSummaryWithPagination(1: User user, 2: PaginationData pageData);
 
@@ -12,6 +12,7 @@
 
 include "sw360.thrift"
 include "users.thrift"
+include "cvesearch.thrift"
 
 namespace java org.eclipse.sw360.datahandler.thrift.schedule
 namespace php sw360.thrift.schedule
@@ -20,6 +21,7 @@ typedef sw360.RequestStatus RequestStatus
 typedef sw360.RequestStatusWithBoolean RequestStatusWithBoolean
 typedef sw360.RequestSummary RequestSummary
 typedef users.User User
+typedef cvesearch.VulnerabilityUpdateProgress VulnerabilityUpdateProgress
 
 service ScheduleService {
     /*
@@ -53,4 +55,10 @@ service ScheduleService {
     string getNextSync(1: string serviceName);
 
     i32 getInterval(1: string serviceName);
+
+    /*
+     * progress and throughput of the running or last cve search update
+     * user has to be admin, otherwise requestStatus of the result is FAILURE
+     */
+    VulnerabilityUpdateProgress getCveSearchUpdateProgress(1: User user);
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.cloudantclient;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class CouchDbRequestStatisticsTest {
+
+    @Test
+    public void testRequestsAreCountedPerDatabase() {
+        CouchDbRequestStatistics statistics = new CouchDbRequestStatistics("/couchdb/");
+        statistics.record("/couchdb/sw360db/_design/Project/_view/all", TimeUnit.MILLISECONDS.toNanos(3), false);
+        statistics.record("/couchdb/sw360db/_all_docs?include_docs=true", TimeUnit.MILLISECONDS.toNanos(40), false);
+        statistics.record("/couchdb/sw360attachments/abc", TimeUnit.MILLISECONDS.toNanos(6000), true);
+        statistics.record("/couchdb/_all_dbs", 0, false);
+        statistics.record("/couchdb/", 0, false);
+
+        Map<String, CouchDbRequestStatistics.Statistics> byDatabase = statistics.getStatistics();
+        assertThat(byDatabase.keySet(), contains("/", "_all_dbs", "sw360attachments", "sw360db"));
+
+        CouchDbRequestStatistics.Statistics database = byDatabase.get("sw360db");
+        assertThat(database.getRequests(), is(2L));
+        assertThat(database.getFailures(), is(0L));
+        assertThat(database.getTotalMillis(), is(43L));
+        assertThat(database.getMaxMillis(), is(40L));
+        assertThat(database.getLatencyHistogram().get("<=5ms"), is(1L));
+        assertThat(database.getLatencyHistogram().get("<=50ms"), is(1L));
+        assertThat(database.getLatencyHistogram().get("<=10ms"), is(0L));
+
+        CouchDbRequestStatistics.Statistics attachments = byDatabase.get("sw360attachments");
+        assertThat(attachments.getFailures(), is(1L));
+        assertThat(attachments.getLatencyHistogram().get(">5000ms"), is(1L));
+    }
+
+    @Test
+    public void testDatabaseNameWithoutBasePath() {
+        CouchDbRequestStatistics statistics = new CouchDbRequestStatistics("");
+        assertThat(statistics.getDatabaseName("/sw360users/_find"), is("sw360users"));
+        assertThat(statistics.getDatabaseName("/sw360users?q=1"), is("sw360users"));
+        assertThat(statistics.getDatabaseName(null), is("/"));
+    }
+}
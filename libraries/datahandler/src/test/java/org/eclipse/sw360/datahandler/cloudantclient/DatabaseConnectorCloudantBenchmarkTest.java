@@ -0,0 +1,135 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.cloudantclient;
+
+import com.cloudant.client.api.ClientBuilder;
+import com.cloudant.client.api.CloudantClient;
+import com.cloudant.client.api.Database;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.common.CustomThriftDeserializer;
+import org.eclipse.sw360.datahandler.common.CustomThriftSerializer;
+import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Measures the overhead of {@link DatabaseConnectorCloudant#get(Class, String)} over reading the document with the
+ * client directly, against a local stub of CouchDB which always answers with the same documents.
+ */
+public class DatabaseConnectorCloudantBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(DatabaseConnectorCloudantBenchmarkTest.class);
+
+    private static final String DB_NAME = "sw360db";
+    private static final int GETS = 2000;
+
+    private static final Map<String, String> RESPONSES = Map.of(
+            "/", "{\"couchdb\":\"Welcome\",\"version\":\"3.2.2\"}",
+            "/_all_dbs", "[\"" + DB_NAME + "\"]",
+            "/" + DB_NAME + "/r1", "{\"_id\":\"r1\",\"_rev\":\"1-a\",\"type\":\"release\",\"name\":\"release\",\"version\":\"1.0\",\"componentId\":\"c1\"}",
+            "/" + DB_NAME + "/p1", "{\"_id\":\"p1\",\"_rev\":\"1-a\",\"type\":\"project\",\"name\":\"project\"}");
+
+    private HttpServer server;
+    private CloudantClient client;
+    private DatabaseConnectorCloudant connector;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::respond);
+        server.start();
+
+        // configured like the client of DatabaseSettings
+        GsonBuilder gson = new GsonBuilder().disableHtmlEscaping();
+        for (Class<?> c : ThriftUtils.THRIFT_CLASSES) {
+            gson.registerTypeAdapter(c, new CustomThriftDeserializer());
+            gson.registerTypeAdapter(c, new CustomThriftSerializer());
+        }
+        client = ClientBuilder.url(new URL("http://localhost:" + server.getAddress().getPort()))
+                .gsonBuilder(gson).build();
+        connector = new DatabaseConnectorCloudant(() -> client, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        String body = RESPONSES.get(exchange.getRequestURI().getPath());
+        int status = 200;
+        if (body == null) {
+            body = "{\"error\":\"not_found\",\"reason\":\"missing\"}";
+            status = 404;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    public void testGetChecksTheTypeOfTheDocument() {
+        Release release = connector.get(Release.class, "r1");
+        assertThat(release, notNullValue());
+        assertThat(release.getName(), is("release"));
+
+        assertThat(connector.get(Release.class, "p1"), nullValue());
+        assertThat(connector.get(Project.class, "p1").getName(), is("project"));
+        assertThat(connector.get(Release.class, "unknown"), nullValue());
+    }
+
+    @Test
+    public void testGetAgainstClientBenchmark() {
+        Database database = connector.getInstance().client.database(DB_NAME, false);
+        // warm up both code paths
+        for (int i = 0; i < GETS / 10; i++) {
+            database.find(Release.class, "r1");
+            connector.get(Release.class, "r1");
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < GETS; i++) {
+            assertThat(database.find(Release.class, "r1"), notNullValue());
+        }
+        long clientNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < GETS; i++) {
+            assertThat(connector.get(Release.class, "r1"), notNullValue());
+        }
+        long connectorNanos = System.nanoTime() - start;
+
+        log.info(String.format("%d gets: client took %d ms, connector took %d ms, overhead per get is %d µs",
+                GETS, clientNanos / 1_000_000, connectorNanos / 1_000_000, (connectorNanos - clientNanos) / GETS / 1000));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.cloudantclient;
+
+import com.cloudant.client.api.ClientBuilder;
+import com.cloudant.client.api.CloudantClient;
+import com.cloudant.client.api.model.Response;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.sw360.datahandler.common.CustomThriftDeserializer;
+import org.eclipse.sw360.datahandler.common.CustomThriftSerializer;
+import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Runs the bulk operations of the connector against a local stub of CouchDB
+ */
+public class DatabaseConnectorCloudantBulkTest {
+
+    private static final String DB_NAME = "sw360db";
+
+    private static final String ALL_DOCS_REVISIONS = "{\"rows\":["
+            + "{\"id\":\"r1\",\"key\":\"r1\",\"value\":{\"rev\":\"1-a\"}},"
+            + "{\"id\":\"r2\",\"key\":\"r2\",\"value\":{\"rev\":\"2-b\",\"deleted\":true}},"
+            + "{\"key\":\"r3\",\"error\":\"not_found\"}]}";
+    private static final String ALL_DOCS_STORED_R1 = "{\"rows\":["
+            + "{\"id\":\"r1\",\"key\":\"r1\",\"value\":{\"rev\":\"2-b\"},\"doc\":"
+            + "{\"_id\":\"r1\",\"_rev\":\"2-b\",\"type\":\"release\",\"name\":\"stored\",\"version\":\"1.0\",\"componentId\":\"c1\"}}]}";
+    private static final String BULK_R1_CONFLICT = "[{\"id\":\"r1\",\"error\":\"conflict\",\"reason\":\"Document update conflict.\"},"
+            + "{\"ok\":true,\"id\":\"r2\",\"rev\":\"2-c\"}]";
+    private static final String BULK_R1_OK = "[{\"ok\":true,\"id\":\"r1\",\"rev\":\"3-c\"}]";
+
+    private HttpServer server;
+    private CloudantClient client;
+    private DatabaseConnectorCloudant connector;
+
+    private final Deque<String> bulkResponses = new LinkedList<>();
+    private final List<String> bulkRequests = new ArrayList<>();
+    private int bulkStatus = 201;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::respond);
+        server.start();
+
+        GsonBuilder gson = new GsonBuilder().disableHtmlEscaping();
+        for (Class<?> c : ThriftUtils.THRIFT_CLASSES) {
+            gson.registerTypeAdapter(c, new CustomThriftDeserializer());
+            gson.registerTypeAdapter(c, new CustomThriftSerializer());
+        }
+        client = ClientBuilder.url(new URL("http://localhost:" + server.getAddress().getPort()))
+                .gsonBuilder(gson).build();
+        connector = new DatabaseConnectorCloudant(() -> client, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        String requestBody = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+        String body;
+        if (path.equals("/_all_dbs")) {
+            body = "[\"" + DB_NAME + "\"]";
+        } else if (path.equals("/" + DB_NAME + "/_all_docs")) {
+            body = query != null && query.contains("include_docs=true") ? ALL_DOCS_STORED_R1 : ALL_DOCS_REVISIONS;
+        } else if (path.equals("/" + DB_NAME + "/_bulk_docs")) {
+            bulkRequests.add(requestBody);
+            body = bulkResponses.isEmpty() ? "[]" : bulkResponses.pop();
+        } else {
+            body = "{}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(path.endsWith("_bulk_docs") ? bulkStatus : 200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    public void testDeleteIdsDeletesExistingDocumentsWithOneBulkRequest() {
+        bulkResponses.push("[{\"ok\":true,\"id\":\"r1\",\"rev\":\"2-x\"}]");
+
+        List<Response> responses = connector.deleteIds(Release.class, ImmutableList.of("r1", "r2", "r3"));
+
+        assertThat(responses.size(), is(1));
+        assertThat(bulkRequests.size(), is(1));
+        assertThat(bulkRequests.get(0), containsString("\"_id\":\"r1\""));
+        assertThat(bulkRequests.get(0), containsString("\"_rev\":\"1-a\""));
+        assertThat(bulkRequests.get(0), containsString("\"_deleted\":true"));
+        assertThat(bulkRequests.get(0), not(containsString("r2")));
+        assertThat(bulkRequests.get(0), not(containsString("r3")));
+    }
+
+    @Test
+    public void testDeleteIdsReportsTheDocumentsOfAFailedBulkRequest() {
+        bulkStatus = 500;
+        bulkResponses.push("{\"error\":\"unknown_error\",\"reason\":\"timeout\"}");
+
+        List<Response> responses = connector.deleteIds(Release.class, ImmutableList.of("r1", "r2", "r3"));
+
+        assertThat(responses.size(), is(1));
+        assertThat(responses.get(0).getId(), is("r1"));
+        assertThat(responses.get(0).getError(), is(notNullValue()));
+    }
+
+    @Test
+    public void testGetRevisionsLeavesOutMissingAndDeletedDocuments() {
+        Map<String, String> revisions = connector.getRevisions(ImmutableList.of("r1", "r2", "r3"));
+
+        assertThat(revisions.size(), is(1));
+        assertThat(revisions.get("r1"), is("1-a"));
+    }
+
+    @Test
+    public void testUpdateBulkRetriesConflictsWithResolvedDocument() {
+        bulkResponses.add(BULK_R1_CONFLICT);
+        bulkResponses.add(BULK_R1_OK);
+
+        List<Release> failed = connector.updateBulk(Release.class, releases(), (stored, rejected) -> stored.setVersion(rejected.getVersion()));
+
+        assertThat(failed.isEmpty(), is(true));
+        assertThat(bulkRequests.size(), is(2));
+        assertThat(bulkRequests.get(1), containsString("\"_rev\":\"2-b\""));
+        assertThat(bulkRequests.get(1), containsString("\"name\":\"stored\""));
+        assertThat(bulkRequests.get(1), containsString("\"version\":\"2.0\""));
+        assertThat(bulkRequests.get(1), not(containsString("r2")));
+    }
+
+    @Test
+    public void testUpdateBulkReportsConflictsWhichAreNotResolved() {
+        bulkResponses.add(BULK_R1_CONFLICT);
+
+        List<Release> failed = connector.updateBulk(Release.class, releases(), (stored, rejected) -> null);
+
+        assertThat(bulkRequests.size(), is(1));
+        assertThat(failed.size(), is(1));
+        assertThat(failed.get(0).getId(), is("r1"));
+    }
+
+    private static List<Release> releases() {
+        return ImmutableList.of(
+                new Release().setId("r1").setRevision("1-a").setName("changed").setVersion("2.0").setComponentId("c1"),
+                new Release().setId("r2").setRevision("1-a").setName("other").setVersion("1.0").setComponentId("c1"));
+    }
+}
@@ -11,6 +11,7 @@ package org.eclipse.sw360.datahandler.couchdb;
 
 import org.eclipse.sw360.datahandler.cloudantclient.DatabaseConnectorCloudant;
 import org.eclipse.sw360.datahandler.common.Duration;
+import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.Visibility;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
@@ -24,15 +25,23 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.cloudant.client.org.lightcouch.DocumentConflictException;
 import com.cloudant.client.org.lightcouch.NoDocumentException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.codec.digest.DigestUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.eclipse.sw360.datahandler.common.Duration.durationOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -213,4 +222,116 @@ public class AttachmentStreamConnectorTest {
         assertThat(zipEntry2.getName(), is("source (1).zip"));
     }
 
+    @Test
+    public void testGetAttachmentBundleStream() throws Exception {
+        AttachmentContent first = new AttachmentContent().setId("a").setFilename("readme.txt");
+        AttachmentContent second = new AttachmentContent().setId("b").setFilename("readme.txt");
+        AttachmentContent third = new AttachmentContent().setId("c").setFilename("sources.tar.gz");
+        when(connector.getAttachment("a", "readme.txt")).thenReturn(new ByteArrayInputStream("first".getBytes(StandardCharsets.UTF_8)));
+        when(connector.getAttachment("b", "readme.txt")).thenReturn(new ByteArrayInputStream("second".getBytes(StandardCharsets.UTF_8)));
+        when(connector.getAttachment("c", "sources.tar.gz")).thenReturn(new ByteArrayInputStream("third".getBytes(StandardCharsets.UTF_8)));
+
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(attachmentStreamConnector.getAttachmentBundleStream(
+                ImmutableSet.of(first, second, third), dummyUser, new Project()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertThat(entries.keySet(), is(ImmutableSet.of("readme.txt", "readme (1).txt", "sources.tar.gz")));
+        assertThat(ImmutableSet.of(entries.get("readme.txt"), entries.get("readme (1).txt")), is(ImmutableSet.of("first", "second")));
+        assertThat(entries.get("sources.tar.gz"), is("third"));
+    }
+
+    @Test
+    public void testClosingAttachmentBundleStreamStopsWriting() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        InputStream endlessStream = new InputStream() {
+            @Override
+            public int read() {
+                return 'x';
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+        when(connector.getAttachment("a", "large.zip")).thenReturn(endlessStream);
+
+        InputStream bundleStream = attachmentStreamConnector.getAttachmentBundleStream(
+                Collections.singleton(new AttachmentContent().setId("a").setFilename("large.zip")), dummyUser, new Project());
+        assertThat(bundleStream.read(new byte[1024]) > 0, is(true));
+        bundleStream.close();
+
+        assertThat(closed.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void testIsCompressedFile() {
+        assertThat(attachmentStreamConnector.isCompressedFile("sources.ZIP"), is(true));
+        assertThat(attachmentStreamConnector.isCompressedFile("sources.tar.xz"), is(true));
+        assertThat(attachmentStreamConnector.isCompressedFile("report.docx"), is(true));
+        assertThat(attachmentStreamConnector.isCompressedFile("readme.txt"), is(false));
+        assertThat(attachmentStreamConnector.isCompressedFile("LICENSE"), is(false));
+    }
+
+    @Test(expected = SW360Exception.class)
+    public void testAttachmentOfOtherDocumentIsNotAllowedToDownload() throws Exception {
+        attachmentStreamConnector.assertAllowedToDownload(new AttachmentContent().setId("other"), dummyUser,
+                new Project()
+                        .setVisbility(Visibility.ME_AND_MODERATORS)
+                        .setCreatedBy(dummyUser.getEmail())
+                        .setAttachments(Collections.singleton(new Attachment().setAttachmentContentId("id"))));
+    }
+
+    @Test
+    public void testReadAttachmentStreamFromOffsetStartsAtPartContainingOffset() throws Exception {
+        AttachmentContent attachment = new AttachmentContent().setId("id").setFilename("fil").setPartsCount("3");
+        when(connector.getAttachmentLengths("id")).thenReturn(ImmutableMap.of("fil_part1", 3L, "fil_part2", 3L, "fil_part3", 3L));
+        when(connector.getAttachment("id", "fil_part2", 1)).thenReturn(new ByteArrayInputStream("ef".getBytes(StandardCharsets.UTF_8)));
+        when(connector.getAttachment("id", "fil_part3")).thenReturn(new ByteArrayInputStream("ghi".getBytes(StandardCharsets.UTF_8)));
+
+        try (InputStream attachmentStream = attachmentStreamConnector.readAttachmentStream(attachment, 4)) {
+            assertThat(new String(attachmentStream.readAllBytes(), StandardCharsets.UTF_8), is("efghi"));
+        }
+        verify(connector, never()).getAttachment("id", "fil_part1");
+        assertThat(attachmentStreamConnector.getAttachmentLength(attachment), is(9L));
+    }
+
+    @Test
+    public void testGetAttachmentPartLengthsIgnoresOtherAttachments() {
+        AttachmentContent attachment = new AttachmentContent().setId("id").setFilename("fil").setPartsCount("10");
+        when(connector.getAttachmentLengths("id")).thenReturn(ImmutableMap.of("fil", 9L, "fil_part1", 3L, "fil_part10", 1L, "fil_partx", 2L));
+
+        assertThat(attachmentStreamConnector.getAttachmentPartLengths(attachment), is(ImmutableMap.of(1, 3L, 10, 1L)));
+    }
+
+    @Test
+    public void testUploadAttachmentPartRejectsWrongChecksum() throws Exception {
+        AttachmentContent attachment = new AttachmentContent().setId("id").setFilename("fil").setPartsCount("2");
+        InputStream part = new ByteArrayInputStream("part".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            attachmentStreamConnector.uploadAttachmentPart(attachment, 2, part, DigestUtils.sha1Hex("other"));
+            fail("expected Exception not thrown");
+        } catch (SW360Exception e) {
+            assertThat(e.getErrorCode(), is(400));
+        }
+        verify(connector, never()).createAttachment(anyString(), anyString(), any(InputStream.class), anyString());
+    }
+
+    @Test
+    public void testUploadAttachmentPartRetriesConcurrentUpdates() throws Exception {
+        AttachmentContent attachment = new AttachmentContent().setId("id").setFilename("fil").setPartsCount("2");
+        InputStream part = new ByteArrayInputStream("part".getBytes(StandardCharsets.UTF_8));
+        doThrow(new DocumentConflictException("conflict")).doNothing()
+                .when(connector).createAttachment(eq("id"), eq("fil_part2"), any(InputStream.class), anyString());
+
+        attachmentStreamConnector.uploadAttachmentPart(attachment, 2, part, DigestUtils.sha1Hex("part").toUpperCase());
+
+        verify(connector, times(2)).createAttachment(eq("id"), eq("fil_part2"), any(InputStream.class), anyString());
+    }
 }
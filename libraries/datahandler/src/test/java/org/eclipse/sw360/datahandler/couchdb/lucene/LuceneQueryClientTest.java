@@ -0,0 +1,65 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.couchdb.lucene;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class LuceneQueryClientTest {
+
+    private final LuceneQueryClient client = new LuceneQueryClient("http://localhost:8080/couchdb-lucene", 1, 1000, 1000);
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    public void testIdsAreReadWithoutDocuments() throws Exception {
+        String result = "{\"q\":\"default:vendor*\",\"fetch_duration\":0,\"total_rows\":2,\"limit\":25,"
+                + "\"rows\":[{\"id\":\"v1\",\"score\":1.0,\"fields\":{\"default\":[\"a\",\"b\"]},"
+                + "\"doc\":{\"_id\":\"v1\",\"id\":\"nested\",\"rows\":[{\"id\":\"nested\"}]}},"
+                + "{\"score\":0.5,\"id\":\"v2\"}],\"skip\":0}";
+
+        assertThat(client.readIds(stream(result)), contains("v1", "v2"));
+    }
+
+    @Test
+    public void testResultWithoutRows() throws Exception {
+        assertThat(client.readIds(stream("{\"total_rows\":0,\"rows\":[]}")), is(empty()));
+        assertThat(client.readIds(stream("{\"total_rows\":0}")), is(empty()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnexpectedResult() throws Exception {
+        client.readIds(stream("[]"));
+    }
+
+    @Test
+    public void testStalePolicyFromProperty() {
+        assertThat(LuceneStalePolicy.fromProperty("stale", LuceneStalePolicy.UPDATE), is(LuceneStalePolicy.STALE));
+        assertThat(LuceneStalePolicy.fromProperty(" Update_Or_Stale ", LuceneStalePolicy.UPDATE), is(LuceneStalePolicy.UPDATE_OR_STALE));
+        assertThat(LuceneStalePolicy.fromProperty(null, LuceneStalePolicy.UPDATE), is(LuceneStalePolicy.UPDATE));
+        assertThat(LuceneStalePolicy.fromProperty("sometimes", LuceneStalePolicy.UPDATE), is(LuceneStalePolicy.UPDATE));
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -118,4 +118,22 @@ public class ResourceListControllerTest {
         resourceListController.applyPagingToList(tmpList, paginationOptions);
     }
 
+    @Test
+    public void testPaginationResultForPage() throws PaginationParameterException {
+        PaginationOptions paginationOptions = new PaginationOptions(1, 2, null);
+        List<Component> page = new ArrayList<>(unsortedComponents.subList(2, 4));
+        PaginationResult paginationResult = resourceListController.createPaginationResultForPage(page, 5, paginationOptions);
+        assertTrue(paginationResult.isPagingActive());
+        assertEquals(page, paginationResult.getResources());
+        assertEquals(5, paginationResult.getTotalCount());
+        assertEquals(3, paginationResult.getTotalPageCount());
+    }
+
+    @Test
+    public void testPaginationResultForInvalidPage() throws PaginationParameterException {
+        PaginationOptions paginationOptions = new PaginationOptions(3, 2, null);
+        thrown.expect(PaginationParameterException.class);
+        resourceListController.createPaginationResultForPage(new ArrayList<>(), 5, paginationOptions);
+    }
+
 }
@@ -29,18 +29,22 @@ public class CSVExport {
     @NotNull
     private static ByteArrayOutputStream getCSVOutputStream(Iterable<String> csvHeaderIterable, Iterable<Iterable<String>> inputIterable) throws IOException {
         final ByteArrayOutputStream outB = new ByteArrayOutputStream();
-        try(Writer out = new BufferedWriter(new OutputStreamWriter(outB));) {
-            CSVPrinter csvPrinter = new CSVPrinter(out, CommonUtils.sw360CsvFormat);
-            csvPrinter.printRecord(csvHeaderIterable);
-            csvPrinter.printRecords(inputIterable);
-            csvPrinter.flush();
-            csvPrinter.close();
-        } catch (Exception e) {
-            outB.close();
-            throw e;
-        }
-
-            return outB;
+        writeCSV(csvHeaderIterable, inputIterable, outB);
+        return outB;
+    }
 
+    /**
+     * Writes the records straight to the stream, e.g. a file or the response, which is left open. The records are
+     * read one by one, so a lazy iterable keeps only the current record in memory.
+     */
+    public static void writeCSV(Iterable<String> csvHeaderIterable, Iterable<? extends Iterable<String>> inputIterable,
+                                OutputStream outputStream) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(outputStream));
+        CSVPrinter csvPrinter = new CSVPrinter(out, CommonUtils.sw360CsvFormat);
+        csvPrinter.printRecord(csvHeaderIterable);
+        for (Iterable<String> record : inputIterable) {
+            csvPrinter.printRecord(record);
+        }
+        csvPrinter.flush();
     }
 }
@@ -68,15 +68,33 @@ public class ComponentExporter extends ExcelExporter<Component, ComponentHelper>
 
     public static List<String> HEADERS_EXTENDED_BY_RELEASES = ExporterHelper.addSubheadersWithPrefixesAsNeeded(HEADERS, ReleaseExporter.HEADERS, "release: ");
 
+    private final boolean extendedByReleases;
+    private final boolean preloadPerPage;
+
     public ComponentExporter(ComponentService.Iface componentClient, List<Component> components, User user,
             boolean extendedByReleases) throws SW360Exception {
         super(new ComponentHelper(extendedByReleases, new ReleaseHelper(componentClient, user)));
+        this.extendedByReleases = extendedByReleases;
+        this.preloadPerPage = false;
         preloadLinkedReleasesFor(components, extendedByReleases);
     }
 
+    /**
+     * The linked releases are loaded for each page of exported components, see
+     * {@link #makeExcelExport(org.eclipse.sw360.exporter.utils.DocumentPageLoader)}
+     */
     public ComponentExporter(ComponentService.Iface componentClient, User user,
             boolean extendedByReleases) throws SW360Exception {
         super(new ComponentHelper(extendedByReleases, new ReleaseHelper(componentClient, user)));
+        this.extendedByReleases = extendedByReleases;
+        this.preloadPerPage = true;
+    }
+
+    @Override
+    protected void preparePage(List<Component> components) throws SW360Exception {
+        if (preloadPerPage) {
+            preloadLinkedReleasesFor(components, extendedByReleases);
+        }
     }
 
     private void preloadLinkedReleasesFor(List<Component> components, boolean extendedByReleases)
@@ -17,14 +17,16 @@ import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.thrift.TException;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.exporter.helper.ExporterHelper;
+import org.eclipse.sw360.exporter.utils.DocumentPageLoader;
 import org.eclipse.sw360.exporter.utils.SubTable;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -32,6 +34,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.UUID;
 
@@ -47,51 +51,63 @@ public class ExcelExporter<T, U extends ExporterHelper<T>> {
     protected final U helper;
     private static final String SLASH = "/";
     private static final String TMP_EXPORTEDFILES = "/tmp/";
+    public static final int PAGE_SIZE = 500;
+    public static final int ROW_WINDOW_SIZE = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
 
     public ExcelExporter(U helper) {
         this.helper = helper;
     }
 
     public InputStream makeExcelExport(List<T> documents) throws IOException, SW360Exception {
-        final SXSSFWorkbook workbook = new SXSSFWorkbook();
-        final ByteArrayInputStream stream;
         try {
-            SXSSFSheet sheet = workbook.createSheet("Data");
-
-            /** Adding styles to cells */
-            CellStyle cellStyle = createCellStyle(workbook);
-            CellStyle headerStyle = createHeaderStyle(workbook);
-
-            /** Create header row */
-            Row headerRow = sheet.createRow(0);
-            List<String> headerNames = helper.getHeaders();
-            fillRow(headerRow, headerNames, headerStyle);
-
-            /** Create data rows */
-            fillValues(sheet, documents, cellStyle);
-
-            // removed autosizing of spreadsheet columns for performance reasons
+            return makeExcelExport(DocumentPageLoader.of(documents));
+        } catch (SW360Exception e) {
+            throw e;
+        } catch (TException e) {
+            // not thrown when paging through a list
+            throw new SW360Exception(e.getMessage());
+        }
+    }
 
-            /** Copy the streams */
-            final ByteArrayOutputStream out = new ByteArrayOutputStream();
-            workbook.write(out);
-            stream = new ByteArrayInputStream(out.toByteArray());
-        }finally{
-            workbook.dispose();
+    /**
+     * Exports the documents of the loader into a temporary file, which is deleted once the returned stream is closed
+     */
+    public InputStream makeExcelExport(DocumentPageLoader<T> documents) throws IOException, TException {
+        File file = File.createTempFile("sw360-export-", ".xlsx");
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            writeExcelExport(documents, outputStream);
+        } catch (IOException | TException | RuntimeException e) {
+            Files.deleteIfExists(file.toPath());
+            throw e;
         }
-        return stream;
+        return new BufferedInputStream(Files.newInputStream(file.toPath(), StandardOpenOption.DELETE_ON_CLOSE));
     }
 
     public String makeExcelExportForProject(List<T> documents, User user) throws IOException, SW360Exception {
-        final SXSSFWorkbook workbook = new SXSSFWorkbook();
         String token = UUID.randomUUID().toString();
         String filePath = TMP_EXPORTEDFILES + user.getEmail() + SLASH;
-        File file;
+        File dir = new File(filePath);
+        dir.mkdir();
+        File file = new File(dir.getPath() + SLASH + SW360Utils.getCreatedOn() + "_" + token);
+        file.createNewFile();
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file.getPath()))) {
+            writeExcelExport(DocumentPageLoader.of(documents), outputStream);
+        } catch (SW360Exception e) {
+            throw e;
+        } catch (TException e) {
+            throw new SW360Exception(e.getMessage());
+        }
+        return file.getPath();
+    }
+
+    /**
+     * Writes the export of all documents of the loader to the stream, e.g. a file or the response, reading one page
+     * of documents at a time. Only the last {@link #ROW_WINDOW_SIZE} rows are kept in memory, older rows are flushed
+     * to a temporary file of the workbook, so memory use does not grow with the number of documents.
+     */
+    public void writeExcelExport(DocumentPageLoader<T> documents, OutputStream outputStream) throws IOException, TException {
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW_SIZE);
         try {
-            File dir = new File(filePath);
-            dir.mkdir();
-            file = new File(dir.getPath() + SLASH + SW360Utils.getCreatedOn() + "_" + token);
-            file.createNewFile();
             SXSSFSheet sheet = workbook.createSheet("Data");
 
             /** Adding styles to cells */
@@ -103,22 +119,30 @@ public class ExcelExporter<T, U extends ExporterHelper<T>> {
             List<String> headerNames = helper.getHeaders();
             fillRow(headerRow, headerNames, headerStyle);
 
-            /** Create data rows */
-            fillValues(sheet, documents, cellStyle);
+            /** Create data rows page by page */
+            int nextExcelSheetRow = 1;
+            int offset = 0;
+            List<T> page;
+            do {
+                page = documents.loadPage(offset, PAGE_SIZE);
+                preparePage(page);
+                nextExcelSheetRow = fillValues(sheet, page, cellStyle, nextExcelSheetRow);
+                offset += page.size();
+            } while (page.size() == PAGE_SIZE);
 
             // removed autosizing of spreadsheet columns for performance reasons
 
-            /** Copy the streams */
-
-            try (OutputStream outputStream = new FileOutputStream(file.getPath())) {
-                workbook.setZip64Mode(Zip64Mode.Always);
-                workbook.write(outputStream);
-                outputStream.close();
-            }
+            workbook.setZip64Mode(Zip64Mode.Always);
+            workbook.write(outputStream);
         } finally {
             workbook.dispose();
         }
-        return file.getPath();
+    }
+
+    /**
+     * Called with each page of documents before its rows are made, e.g. to load linked documents of the page at once
+     */
+    protected void preparePage(List<T> documents) throws SW360Exception {
     }
 
     public InputStream downloadExcelSheet(String token) {
@@ -136,13 +160,12 @@ public class ExcelExporter<T, U extends ExporterHelper<T>> {
     }
 
     /**
-     * Convert all documents to
+     * Convert the documents to rows, starting at the given row
+     *
+     * @return the row after the last filled one
      */
-    private void fillValues(Sheet sheet, List<T> documents, CellStyle style) throws SW360Exception {
-        int numberoOfDocuments = documents.size();
-        int nextExcelSheetRow = 1;
-        for (int currentDocNumber = 0; currentDocNumber < numberoOfDocuments; currentDocNumber++) {
-            T document = documents.get(currentDocNumber);
+    private int fillValues(Sheet sheet, List<T> documents, CellStyle style, int nextExcelSheetRow) throws SW360Exception {
+        for (T document : documents) {
             SubTable table = helper.makeRows(document);
             for(int currentTableRow = 0; currentTableRow < table.getnRows(); currentTableRow ++){
                 List<String> rowValues = table.getRow(currentTableRow);
@@ -151,6 +174,7 @@ public class ExcelExporter<T, U extends ExporterHelper<T>> {
                 fillRow(row, rowValues, style);
             }
         }
+        return nextExcelSheetRow;
     }
 
     /**
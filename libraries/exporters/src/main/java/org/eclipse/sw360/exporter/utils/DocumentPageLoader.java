@@ -0,0 +1,32 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.exporter.utils;
+
+import org.apache.thrift.TException;
+
+import java.util.List;
+
+/**
+ * Reads the documents to export page by page, e.g. from a paginated backend call, so that an export never holds
+ * more than one page of documents.
+ */
+@FunctionalInterface
+public interface DocumentPageLoader<T> {
+
+    /**
+     * @return at most limit documents starting at offset, fewer or none once the end is reached
+     */
+    List<T> loadPage(int offset, int limit) throws TException;
+
+    static <T> DocumentPageLoader<T> of(List<T> documents) {
+        return (offset, limit) -> documents.subList(Math.min(offset, documents.size()),
+                Math.min(offset + limit, documents.size()));
+    }
+}
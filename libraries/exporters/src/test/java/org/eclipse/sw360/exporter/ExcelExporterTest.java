@@ -0,0 +1,101 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.exporter;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.eclipse.sw360.exporter.helper.ExporterHelper;
+import org.eclipse.sw360.exporter.utils.DocumentPageLoader;
+import org.eclipse.sw360.exporter.utils.SubTable;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ExcelExporterTest {
+
+    private static final int DOCUMENTS = 1234;
+
+    private static class StringHelper implements ExporterHelper<String> {
+        @Override
+        public int getColumns() {
+            return 2;
+        }
+
+        @Override
+        public List<String> getHeaders() {
+            return ImmutableList.of("name", "length");
+        }
+
+        @Override
+        public SubTable makeRows(String document) {
+            return new SubTable(ImmutableList.of(document, String.valueOf(document.length())));
+        }
+    }
+
+    private final ExcelExporter<String, StringHelper> exporter = new ExcelExporter<>(new StringHelper());
+
+    private static List<String> documents() {
+        return IntStream.range(0, DOCUMENTS).mapToObj(i -> "document" + i).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testDocumentsAreLoadedPageByPage() throws Exception {
+        List<String> documents = documents();
+        List<Integer> offsets = new ArrayList<>();
+        DocumentPageLoader<String> pages = (offset, limit) -> {
+            offsets.add(offset);
+            assertThat(limit, is(ExcelExporter.PAGE_SIZE));
+            return DocumentPageLoader.of(documents).loadPage(offset, limit);
+        };
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.writeExcelExport(pages, out);
+
+        assertThat(offsets, is(Arrays.asList(0, 500, 1000)));
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum(), is(DOCUMENTS));
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue(), is("name"));
+            assertThat(sheet.getRow(DOCUMENTS).getCell(0).getStringCellValue(), is("document" + (DOCUMENTS - 1)));
+        }
+    }
+
+    @Test
+    public void testExportOfListIsReadFromTemporaryFile() throws Exception {
+        try (InputStream stream = exporter.makeExcelExport(documents());
+             XSSFWorkbook workbook = new XSSFWorkbook(stream)) {
+            assertThat(workbook.getSheetAt(0).getLastRowNum(), is(DOCUMENTS));
+            assertThat(workbook.getSheetAt(0).getRow(1).getCell(1).getStringCellValue(), is("9"));
+        }
+    }
+
+    @Test
+    public void testCsvIsWrittenToStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<List<String>> records = ImmutableList.of(ImmutableList.of("a", "1"), ImmutableList.of("b", "2"));
+        CSVExport.writeCSV(ImmutableList.of("name", "value"), records, out);
+
+        String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertThat(csv.split("\r?\n").length, is(3));
+        assertThat(csv.startsWith("'name','value'"), is(true));
+    }
+}
@@ -12,11 +12,14 @@ package org.eclipse.sw360.rest.resourceserver;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.cloudantclient.CouchDbClientRegistry;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseInstance;
 import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.health.HealthService;
 import org.eclipse.sw360.datahandler.thrift.health.Status;
+import org.eclipse.sw360.rest.resourceserver.user.Sw360UserCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
@@ -27,14 +30,23 @@ import java.util.List;
 
 @Component
 public class SW360RestHealthIndicator implements HealthIndicator {
+    @Autowired
+    private Sw360UserCache userCache;
+
     @Override
     public Health health() {
         List<Exception> exceptions = new ArrayList<>();
         RestState restState = check(exceptions);
         final String rest_state_detail = "Rest State";
+        final String thrift_pool_detail = "Thrift Connection Pool";
+        final String principal_cache_detail = "Principal Cache";
+        final String couchdb_requests_detail = "CouchDB Requests";
         if (!restState.isUp()) {
             Health.Builder builderWithDetails = Health.down()
-                    .withDetail(rest_state_detail, restState);
+                    .withDetail(rest_state_detail, restState)
+                    .withDetail(thrift_pool_detail, ThriftClients.getConnectionPoolStatistics())
+                    .withDetail(principal_cache_detail, userCache.getStatistics())
+                    .withDetail(couchdb_requests_detail, CouchDbClientRegistry.getRequestStatistics());
             for (Exception exception : exceptions) {
                 builderWithDetails = builderWithDetails.withException(exception);
             }
@@ -43,6 +55,9 @@ public class SW360RestHealthIndicator implements HealthIndicator {
         }
         return Health.up()
                 .withDetail(rest_state_detail, restState)
+                .withDetail(thrift_pool_detail, ThriftClients.getConnectionPoolStatistics())
+                .withDetail(principal_cache_detail, userCache.getStatistics())
+                .withDetail(couchdb_requests_detail, CouchDbClientRegistry.getRequestStatistics())
                 .build();
     }
 
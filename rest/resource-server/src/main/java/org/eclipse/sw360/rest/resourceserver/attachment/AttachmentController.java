@@ -14,8 +14,10 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
+import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
@@ -34,11 +36,19 @@ import org.springframework.hateoas.*;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
 
 import static java.util.Arrays.asList;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -48,6 +58,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class AttachmentController implements RepresentationModelProcessor<RepositoryLinksResource> {
     public static final String ATTACHMENTS_URL = "/attachments";
+    public static final String UPLOADS_URL = ATTACHMENTS_URL + "/uploads";
+    public static final String PART_SHA1_HEADER = "X-Part-SHA1";
 
     @NonNull
     private final Sw360AttachmentService attachmentService;
@@ -93,6 +105,53 @@ public class AttachmentController implements RepresentationModelProcessor<Reposi
         }
     }
 
+    @PostMapping(value = UPLOADS_URL)
+    public ResponseEntity<Map<String, Object>> createUpload(@RequestParam("filename") String filename,
+                                                            @RequestParam(value = "contentType", required = false) String contentType,
+                                                            @RequestParam("partsCount") int partsCount) {
+        User sw360User = restControllerHelper.getSw360UserFromAuthentication();
+        AttachmentContent upload = attachmentService.createUpload(filename, contentType, partsCount, sw360User);
+        return new ResponseEntity<>(createUploadStatus(upload, Collections.emptySortedMap()), HttpStatus.CREATED);
+    }
+
+    @GetMapping(value = UPLOADS_URL + "/{id}")
+    public ResponseEntity<Map<String, Object>> getUpload(@PathVariable("id") String id) throws TException {
+        User sw360User = restControllerHelper.getSw360UserFromAuthentication();
+        AttachmentContent upload = attachmentService.getUpload(id, sw360User);
+        return new ResponseEntity<>(createUploadStatus(upload, attachmentService.getUploadedParts(upload)), HttpStatus.OK);
+    }
+
+    @PutMapping(value = UPLOADS_URL + "/{id}/parts/{part}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> uploadPart(@PathVariable("id") String id, @PathVariable("part") int part,
+                                           @RequestHeader(PART_SHA1_HEADER) String sha1,
+                                           HttpServletRequest request) throws TException, IOException {
+        User sw360User = restControllerHelper.getSw360UserFromAuthentication();
+        AttachmentContent upload = attachmentService.getUpload(id, sw360User);
+        try (InputStream stream = request.getInputStream()) {
+            attachmentService.uploadAttachmentPart(upload, part, stream, sha1);
+        }
+        return new ResponseEntity<>(HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = UPLOADS_URL + "/{id}/complete")
+    public ResponseEntity<Map<String, Object>> completeUpload(@PathVariable("id") String id) throws TException {
+        User sw360User = restControllerHelper.getSw360UserFromAuthentication();
+        AttachmentContent upload = attachmentService.getUpload(id, sw360User);
+        long length = attachmentService.completeUpload(upload);
+        Map<String, Object> status = createUploadStatus(upload, attachmentService.getUploadedParts(upload));
+        status.put("length", length);
+        return new ResponseEntity<>(status, HttpStatus.OK);
+    }
+
+    private Map<String, Object> createUploadStatus(AttachmentContent upload, SortedMap<Integer, Long> uploadedParts) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("attachmentContentId", upload.getId());
+        status.put("filename", upload.getFilename());
+        status.put("partsCount", CommonUtils.toUnsignedInt(upload.getPartsCount()));
+        status.put("uploadedParts", uploadedParts);
+        return status;
+    }
+
     private HalResource<Attachment> createHalAttachment(AttachmentInfo attachmentInfo, User sw360User) throws TException {
         HalResource<Attachment> halAttachment = new HalResource<>(attachmentInfo.getAttachment());
         Source owner = attachmentInfo.getOwner();
@@ -13,8 +13,10 @@
 package org.eclipse.sw360.rest.resourceserver.attachment;
 
 import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
@@ -25,6 +27,7 @@ import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.common.Duration;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
+import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
@@ -40,9 +43,14 @@ import org.eclipse.sw360.rest.resourceserver.core.RestControllerHelper;
 import org.eclipse.sw360.rest.resourceserver.core.ThriftServiceProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -59,8 +67,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -75,6 +87,7 @@ public class Sw360AttachmentService {
     private final RestControllerHelper restControllerHelper;
 
     private static final Logger log = LogManager.getLogger(Sw360AttachmentService.class);
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
 
     @NonNull
     private final ThriftServiceProvider<AttachmentService.Iface> thriftAttachmentServiceProvider;
@@ -169,11 +182,24 @@ public class Sw360AttachmentService {
     }
 
     public void downloadAttachmentWithContext(Object context, String attachmentId, HttpServletResponse response, User sw360User) {
+        downloadAttachmentWithContext(context, attachmentId, null, response, sw360User);
+    }
+
+    /**
+     * Writes the attachment to the response. A single byte range requested with the given Range header is served
+     * as partial content, for an attachment uploaded in parts reading starts at the part containing the range.
+     */
+    public void downloadAttachmentWithContext(Object context, String attachmentId, String range, HttpServletResponse response, User sw360User) {
         AttachmentContent attachmentContent = getAttachmentContent(attachmentId);
 
         String filename = attachmentContent.getFilename();
         String contentType = attachmentContent.getContentType();
 
+        if (range != null && !attachmentContent.isOnlyRemote()) {
+            downloadAttachmentRange(context, attachmentContent, range, response, sw360User);
+            return;
+        }
+
         try (InputStream attachmentStream = getStreamToAttachments(Collections.singleton(attachmentContent), sw360User, context)) {
             response.setContentType(contentType);
             response.setHeader("Content-Disposition", String.format("attachment; filename=\"%s\"", filename));
@@ -183,10 +209,63 @@ public class Sw360AttachmentService {
         }
     }
 
+    private void downloadAttachmentRange(Object context, AttachmentContent attachmentContent, String range,
+                                         HttpServletResponse response, User sw360User) {
+        try {
+            AttachmentConnector attachmentConnector = getConnector();
+            try {
+                attachmentConnector.assertAllowedToDownload(attachmentContent, sw360User, context);
+            } catch (SW360Exception e) {
+                throw new AccessDeniedException("User not allowed to download attachment " + attachmentContent.getId());
+            }
+            long length = attachmentConnector.getAttachmentLength(attachmentContent);
+            Matcher matcher = BYTE_RANGE.matcher(range.trim());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+
+            long first;
+            long last;
+            if (matcher.group(1).isEmpty()) {
+                first = Math.max(0, length - Long.parseLong(matcher.group(2)));
+                last = length - 1;
+            } else {
+                first = Long.parseLong(matcher.group(1));
+                last = matcher.group(2).isEmpty() ? length - 1 : Math.min(Long.parseLong(matcher.group(2)), length - 1);
+            }
+            if (first >= length || first > last) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+
+            try (InputStream attachmentStream = attachmentConnector.unsafeGetAttachmentStream(attachmentContent, first)) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setContentType(attachmentContent.getContentType());
+                response.setHeader("Content-Disposition", String.format("attachment; filename=\"%s\"", attachmentContent.getFilename()));
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + first + "-" + last + "/" + length);
+                response.setContentLengthLong(last - first + 1);
+                FileCopyUtils.copy(ByteStreams.limit(attachmentStream, last - first + 1), response.getOutputStream());
+            }
+        } catch (TException | IOException e) {
+            log.error(e.getMessage());
+        }
+    }
+
     public <T> InputStream getStreamToAttachments(Set<AttachmentContent> attachments, User sw360User, T context) throws IOException, TException {
         return new AttachmentFrontendUtils().getStreamToServeAFile(attachments, sw360User, context);
     }
 
+    public <T> InputStream getStreamToAttachmentBundle(Set<AttachmentContent> attachments, User sw360User, T context) throws IOException, TException {
+        if (attachments.isEmpty()) {
+            return getStreamToAttachments(attachments, sw360User, context);
+        }
+        return new AttachmentFrontendUtils().getStreamToServeBundle(attachments, sw360User, context);
+    }
+
     public Attachment uploadAttachment(MultipartFile file, Attachment newAttachment, User sw360User) throws IOException, TException {
         String fileName = file.getOriginalFilename(); // TODO: shouldn't the fileName be taken from newAttachment?
         String contentType = file.getContentType();
@@ -196,6 +275,108 @@ public class Sw360AttachmentService {
         Attachment attachment = new AttachmentFrontendUtils().uploadAttachmentContent(attachmentContent, file.getInputStream(), sw360User);
         attachment.setSha1(attachmentConnector.getSha1FromAttachmentContentId(attachmentContent.getId()));
 
+        return setAttachmentMetadata(attachment, newAttachment);
+    }
+
+    /**
+     * Starts an upload of an attachment in the given number of parts. The parts can be uploaded in any order and in
+     * parallel, an interrupted upload is resumed by uploading the parts which are still missing.
+     */
+    public AttachmentContent createUpload(String filename, String contentType, int partsCount, User sw360User) {
+        if (CommonUtils.isNullEmptyOrWhitespace(filename) || partsCount < 1) {
+            throw new HttpMessageNotReadableException("An upload needs a file name and at least one part");
+        }
+        AttachmentContent attachment = new AttachmentContent()
+                .setContentType(CommonUtils.isNullEmptyOrWhitespace(contentType) ? "application/octet-stream" : contentType)
+                .setFilename(filename)
+                .setOnlyRemote(false)
+                .setPartsCount(Integer.toString(partsCount))
+                .setUploadedBy(sw360User.getEmail())
+                .setUploadStartedOn(SW360Utils.getCreatedOnTime());
+        return makeAttachmentContent(attachment);
+    }
+
+    /**
+     * @return the upload started by the given user with {@link #createUpload(String, String, int, User)}
+     */
+    public AttachmentContent getUpload(String attachmentContentId, User sw360User) throws TException {
+        AttachmentContent attachmentContent = getConnector().getAttachmentContent(attachmentContentId);
+        if (attachmentContent == null || !attachmentContent.isSetPartsCount() || !attachmentContent.isSetUploadedBy()) {
+            throw new ResourceNotFoundException("Upload not found.");
+        }
+        if (!attachmentContent.getUploadedBy().equals(sw360User.getEmail())) {
+            throw new AccessDeniedException("Upload " + attachmentContentId + " was started by another user");
+        }
+        return attachmentContent;
+    }
+
+    /**
+     * @return the lengths of the parts which are uploaded already by part number
+     */
+    public SortedMap<Integer, Long> getUploadedParts(AttachmentContent upload) throws TException {
+        return getConnector().getAttachmentPartLengths(upload);
+    }
+
+    /**
+     * Stores a part of an upload if its SHA-1 checksum matches. A part which is stored already is rejected, but the
+     * check is not atomic with storing the part: when the same part is uploaded concurrently, the later upload
+     * overwrites the earlier one. Both passed the checksum check, so either way the stored part is complete.
+     */
+    public void uploadAttachmentPart(AttachmentContent upload, int part, InputStream stream, String sha1) throws TException {
+        if (part < 1 || part > CommonUtils.toUnsignedInt(upload.getPartsCount())) {
+            throw new HttpMessageNotReadableException("Part " + part + " is not a part of upload " + upload.getId());
+        }
+        if (CommonUtils.isNullEmptyOrWhitespace(sha1)) {
+            throw new HttpMessageNotReadableException("The SHA-1 checksum of the part is missing");
+        }
+        AttachmentConnector attachmentConnector = getConnector();
+        if (attachmentConnector.getAttachmentPartLengths(upload).containsKey(part)) {
+            throw new DataIntegrityViolationException("Part " + part + " of upload " + upload.getId() + " exists already");
+        }
+        try {
+            attachmentConnector.uploadAttachmentPart(upload, part, stream, sha1);
+        } catch (SW360Exception e) {
+            if (e.getErrorCode() == HttpStatus.SC_BAD_REQUEST) {
+                throw new HttpMessageNotReadableException(e.getWhy());
+            } else if (e.getErrorCode() == HttpStatus.SC_CONFLICT) {
+                throw new OptimisticLockingFailureException(e.getWhy());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks that all parts of an upload are stored.
+     *
+     * @return the length of the uploaded attachment in bytes
+     */
+    public long completeUpload(AttachmentContent upload) throws TException {
+        SortedMap<Integer, Long> parts = getUploadedParts(upload);
+        int partsCount = CommonUtils.toUnsignedInt(upload.getPartsCount());
+        List<Integer> missingParts = IntStream.rangeClosed(1, partsCount)
+                .filter(part -> !parts.containsKey(part))
+                .boxed()
+                .collect(Collectors.toList());
+        if (!missingParts.isEmpty()) {
+            throw new HttpMessageNotReadableException("Parts " + missingParts + " of upload " + upload.getId() + " are missing");
+        }
+        return parts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Makes the attachment of a completed upload, to be added to a document like an attachment from
+     * {@link #uploadAttachment(MultipartFile, Attachment, User)}.
+     */
+    public Attachment makeAttachmentFromUpload(String attachmentContentId, Attachment newAttachment, User sw360User) throws TException {
+        AttachmentContent upload = getUpload(attachmentContentId, sw360User);
+        completeUpload(upload);
+
+        Attachment attachment = CommonUtils.getNewAttachment(sw360User, upload.getId(), upload.getFilename());
+        attachment.setSha1(getConnector().getSha1FromAttachmentContentId(upload.getId()));
+        return setAttachmentMetadata(attachment, newAttachment);
+    }
+
+    private Attachment setAttachmentMetadata(Attachment attachment, Attachment newAttachment) {
         AttachmentType attachmentType = newAttachment.getAttachmentType();
         if (attachmentType != null) {
             attachment.setAttachmentType(attachmentType);
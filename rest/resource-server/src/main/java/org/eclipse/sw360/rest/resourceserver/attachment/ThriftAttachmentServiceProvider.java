@@ -10,10 +10,9 @@
  */
 package org.eclipse.sw360.rest.resourceserver.attachment;
 
-import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.THttpClient;
 import org.apache.thrift.transport.TTransportException;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentService;
 import org.eclipse.sw360.rest.resourceserver.core.ThriftServiceProvider;
 import org.springframework.stereotype.Component;
@@ -22,8 +21,7 @@ import org.springframework.stereotype.Component;
 public class ThriftAttachmentServiceProvider implements ThriftServiceProvider<AttachmentService.Iface> {
     @Override
     public AttachmentService.Iface getService(String thriftServerUrl) throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/attachments/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl + "/attachments/thrift");
         return new AttachmentService.Client(protocol);
     }
 }
@@ -14,10 +14,9 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
-import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.THttpClient;
 import org.apache.thrift.transport.TTransportException;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.changelogs.ChangeLogs;
 import org.eclipse.sw360.datahandler.thrift.changelogs.ChangeLogsService;
 import org.eclipse.sw360.datahandler.thrift.users.User;
@@ -36,8 +35,7 @@ public class Sw360ChangeLogService {
     private String thriftServerUrl;
 
     private ChangeLogsService.Iface getThriftChangeLogClient() throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/changelogs/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl + "/changelogs/thrift");
         return new ChangeLogsService.Client(protocol);
     }
 
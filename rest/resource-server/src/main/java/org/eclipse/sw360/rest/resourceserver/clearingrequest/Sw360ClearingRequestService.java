@@ -12,10 +12,9 @@ package org.eclipse.sw360.rest.resourceserver.clearingrequest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
-import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.THttpClient;
 import org.apache.thrift.transport.TTransportException;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.moderation.ModerationService;
 import org.eclipse.sw360.datahandler.thrift.projects.ClearingRequest;
 import org.eclipse.sw360.datahandler.thrift.users.User;
@@ -34,8 +33,7 @@ public class Sw360ClearingRequestService {
     private String thriftServerUrl;
 
     private ModerationService.Iface getThriftModerationClient() throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/moderation/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl + "/moderation/thrift");
         return new ModerationService.Client(protocol);
     }
 
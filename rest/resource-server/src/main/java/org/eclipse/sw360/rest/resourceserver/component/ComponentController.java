@@ -16,6 +16,7 @@ import org.eclipse.sw360.datahandler.common.SW360Constants;
 import org.eclipse.sw360.datahandler.resourcelists.PaginationParameterException;
 import org.eclipse.sw360.datahandler.resourcelists.PaginationResult;
 import org.eclipse.sw360.datahandler.resourcelists.ResourceClassNotFoundException;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
@@ -43,6 +44,7 @@ import org.springframework.data.rest.webmvc.BasePathAwareController;
 import org.springframework.data.rest.webmvc.RepositoryLinksResource;
 import org.springframework.hateoas.*;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -78,6 +80,10 @@ public class ComponentController implements RepresentationModelProcessor<Reposit
     private static final Logger log = LogManager.getLogger(ComponentController.class);
     private static final ImmutableMap<String, String> RESPONSE_BODY_FOR_MODERATION_REQUEST = ImmutableMap.<String, String>builder()
             .put("message", "Moderation request is created").build();
+    // sort properties which can be handled by the backend, mapped to the column numbers of the paginated component query
+    private static final ImmutableMap<String, Integer> COMPONENT_SORT_COLUMNS = ImmutableMap.of(
+            "createdOn", -1,
+            "name", 1);
 
     @NonNull
     private final Sw360ComponentService componentService;
@@ -107,13 +113,27 @@ public class ComponentController implements RepresentationModelProcessor<Reposit
         User sw360User = restControllerHelper.getSw360UserFromAuthentication();
 
         List<Component> allComponents = new ArrayList<>();
+        PaginationData pageData = null;
         if (name != null && !name.isEmpty()) {
             allComponents.addAll(componentService.searchComponentByName(name));
         } else {
-            allComponents.addAll(componentService.getComponentsForUser(sw360User));
+            pageData = restControllerHelper.paginationDataFromPageable(request, pageable, COMPONENT_SORT_COLUMNS, 1);
+            if (pageData == null) {
+                allComponents.addAll(componentService.getComponentsForUser(sw360User));
+            } else {
+                Map.Entry<PaginationData, List<Component>> page = componentService.getComponentsForUser(sw360User, pageData)
+                        .entrySet().iterator().next();
+                pageData = page.getKey();
+                allComponents.addAll(page.getValue());
+            }
         }
 
-        PaginationResult<Component> paginationResult = restControllerHelper.createPaginationResult(request, pageable, allComponents, SW360Constants.TYPE_COMPONENT);
+        PaginationResult<Component> paginationResult;
+        if (pageData == null) {
+            paginationResult = restControllerHelper.createPaginationResult(request, pageable, allComponents, SW360Constants.TYPE_COMPONENT);
+        } else {
+            paginationResult = restControllerHelper.createPaginationResultForPage(pageable, allComponents, pageData.getTotalRowCount());
+        }
 
         List<EntityModel<Component>> componentResources = new ArrayList<>();
         paginationResult.getResources().stream()
@@ -286,14 +306,32 @@ public class ComponentController implements RepresentationModelProcessor<Reposit
         return new ResponseEntity<>(halComponent, HttpStatus.OK);
     }
 
+    @RequestMapping(value = COMPONENTS_URL + "/{componentId}/attachments", method = RequestMethod.POST, params = "uploadId", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HalResource> addUploadedAttachmentToComponent(@PathVariable("componentId") String componentId,
+                                                                        @RequestParam("uploadId") String uploadId,
+                                                                        @RequestBody Attachment newAttachment) throws TException {
+        final User sw360User = restControllerHelper.getSw360UserFromAuthentication();
+        final Component component = componentService.getComponentForUserById(componentId, sw360User);
+        Attachment attachment = attachmentService.makeAttachmentFromUpload(uploadId, newAttachment, sw360User);
+
+        component.addToAttachments(attachment);
+        RequestStatus updateComponentStatus = componentService.updateComponent(component, sw360User);
+        HalResource halComponent = createHalComponent(component, sw360User);
+        if (updateComponentStatus == RequestStatus.SENT_TO_MODERATOR) {
+            return new ResponseEntity(RESPONSE_BODY_FOR_MODERATION_REQUEST, HttpStatus.ACCEPTED);
+        }
+        return new ResponseEntity<>(halComponent, HttpStatus.OK);
+    }
+
     @RequestMapping(value = COMPONENTS_URL + "/{componentId}/attachments/{attachmentId}", method = RequestMethod.GET, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
     public void downloadAttachmentFromComponent(
             @PathVariable("componentId") String componentId,
             @PathVariable("attachmentId") String attachmentId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
             HttpServletResponse response) throws TException {
         final User sw360User = restControllerHelper.getSw360UserFromAuthentication();
         final Component component = componentService.getComponentForUserById(componentId, sw360User);
-        attachmentService.downloadAttachmentWithContext(component, attachmentId, response, sw360User);
+        attachmentService.downloadAttachmentWithContext(component, attachmentId, range, response, sw360User);
     }
 
     @DeleteMapping(COMPONENTS_URL + "/{componentId}/attachments/{attachmentIds}")
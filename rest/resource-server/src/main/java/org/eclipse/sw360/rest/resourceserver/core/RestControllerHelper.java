@@ -32,6 +32,7 @@ import org.eclipse.sw360.rest.resourceserver.project.ProjectController;
 import org.eclipse.sw360.datahandler.thrift.components.ComponentService;
 import org.eclipse.sw360.datahandler.thrift.projects.ProjectService;
 import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.ProjectReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.Quadratic;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
@@ -39,6 +40,7 @@ import org.eclipse.sw360.rest.resourceserver.obligation.ObligationController;
 import org.eclipse.sw360.rest.resourceserver.project.Sw360ProjectService;
 import org.eclipse.sw360.rest.resourceserver.release.ReleaseController;
 import org.eclipse.sw360.rest.resourceserver.release.Sw360ReleaseService;
+import org.eclipse.sw360.rest.resourceserver.user.Sw360UserCache;
 import org.eclipse.sw360.rest.resourceserver.user.Sw360UserService;
 import org.eclipse.sw360.rest.resourceserver.user.UserController;
 import org.eclipse.sw360.rest.resourceserver.vendor.Sw360VendorService;
@@ -88,6 +90,9 @@ public class RestControllerHelper<T> {
     @NonNull
     private final Sw360UserService userService;
 
+    @NonNull
+    private final Sw360UserCache userCache;
+
     @NonNull
     private final Sw360VendorService vendorService;
 
@@ -114,7 +119,7 @@ public class RestControllerHelper<T> {
     public User getSw360UserFromAuthentication() {
         try {
             String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            return userService.getUserByEmailOrExternalId(userId);
+            return userCache.getUserByIdentifier(userId, userService::getUserByEmailOrExternalId);
         } catch (RuntimeException e) {
             throw new AuthenticationServiceException("Could not load user from authentication.");
         }
@@ -131,6 +136,40 @@ public class RestControllerHelper<T> {
         return paginationResult;
     }
 
+    /**
+     * Translates the paging parameters of the request into pagination data for the backend, so that only the
+     * requested page is loaded. The sort property is mapped to the backend sort column with the given map.
+     *
+     * @return null if the request is not paged or sorted by a property the backend cannot sort by
+     */
+    public PaginationData paginationDataFromPageable(HttpServletRequest request, Pageable pageable,
+            Map<String, Integer> sortColumnNumbers, int defaultSortColumnNumber) {
+        if (!requestContainsPaging(request)) {
+            return null;
+        }
+        int sortColumnNumber = defaultSortColumnNumber;
+        boolean ascending = true;
+        Sort.Order order = firstOrderFromPageable(pageable);
+        if (order != null) {
+            Integer columnNumber = sortColumnNumbers.get(order.getProperty());
+            if (columnNumber == null) {
+                return null;
+            }
+            sortColumnNumber = columnNumber;
+            ascending = order.isAscending();
+        }
+        return new PaginationData()
+                .setDisplayStart((int) pageable.getOffset())
+                .setRowsPerPage(pageable.getPageSize())
+                .setSortColumnNumber(sortColumnNumber)
+                .setAscending(ascending);
+    }
+
+    public PaginationResult<T> createPaginationResultForPage(Pageable pageable, List<T> pageResources, long totalCount) throws PaginationParameterException {
+        PaginationOptions<T> paginationOptions = new PaginationOptions<>(pageable.getPageNumber(), pageable.getPageSize(), null);
+        return resourceListController.createPaginationResultForPage(pageResources, (int) totalCount, paginationOptions);
+    }
+
     private boolean requestContainsPaging(HttpServletRequest request) {
         return request.getParameterMap().containsKey(PAGINATION_PARAM_PAGE) || request.getParameterMap().containsKey(PAGINATION_PARAM_PAGE_ENTRIES);
     }
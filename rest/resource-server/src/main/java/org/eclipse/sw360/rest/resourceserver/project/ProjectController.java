@@ -28,6 +28,7 @@ import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.common.ThriftEnumUtils;
 import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneAwareDatabaseConnector;
 import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.ProjectReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
@@ -77,6 +78,7 @@ import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -144,6 +146,11 @@ public class ProjectController implements RepresentationModelProcessor<Repositor
             .put(Project._Fields.RELEASE_ID_TO_USAGE, "linkedReleases").build();
     private static final ImmutableMap<String, String> RESPONSE_BODY_FOR_MODERATION_REQUEST = ImmutableMap.<String, String>builder()
             .put("message", "Moderation request is created").build();
+    // sort properties which can be handled by the backend, mapped to the column numbers of the paginated project query
+    private static final ImmutableMap<String, Integer> PROJECT_SORT_COLUMNS = ImmutableMap.of(
+            "name", 0,
+            "description", 1,
+            "projectResponsible", 2);
 
     @NonNull
     private final Sw360ProjectService projectService;
@@ -192,6 +199,7 @@ public class ProjectController implements RepresentationModelProcessor<Repositor
         boolean isSearchByType = CommonUtils.isNotNullEmptyOrWhitespace(projectType);
         boolean isSearchByGroup = CommonUtils.isNotNullEmptyOrWhitespace(group);
         List<Project> sw360Projects = new ArrayList<>();
+        PaginationData pageData = null;
         Map<String, Set<String>> filterMap = new HashMap<>();
         if (luceneSearch) {
             if (CommonUtils.isNotNullEmptyOrWhitespace(projectType)) {
@@ -225,11 +233,26 @@ public class ProjectController implements RepresentationModelProcessor<Repositor
             } else if (isSearchByType) {
                 sw360Projects.addAll(projectService.searchProjectByType(projectType, sw360User));
             } else {
-                sw360Projects.addAll(projectService.getProjectsForUser(sw360User));
+                pageData = restControllerHelper.paginationDataFromPageable(request, pageable, PROJECT_SORT_COLUMNS, 0);
+                if (pageData == null) {
+                    sw360Projects.addAll(projectService.getProjectsForUser(sw360User));
+                } else {
+                    Entry<PaginationData, List<Project>> page = projectService.getProjectsForUser(sw360User, pageData)
+                            .entrySet().iterator().next();
+                    pageData = page.getKey();
+                    sw360Projects.addAll(page.getValue());
+                }
             }
         }
         sw360Projects.stream().forEach(prj -> mapOfProjects.put(prj.getId(), prj));
-        PaginationResult<Project> paginationResult = restControllerHelper.createPaginationResult(request, pageable, sw360Projects, SW360Constants.TYPE_PROJECT);
+        // only the requested page is known if the paging has been done by the backend
+        boolean isAllAccessibleProjectFetched = !isSearchByName && pageData == null;
+        PaginationResult<Project> paginationResult;
+        if (pageData == null) {
+            paginationResult = restControllerHelper.createPaginationResult(request, pageable, sw360Projects, SW360Constants.TYPE_PROJECT);
+        } else {
+            paginationResult = restControllerHelper.createPaginationResultForPage(pageable, sw360Projects, pageData.getTotalRowCount());
+        }
 
         List<EntityModel<Project>> projectResources = new ArrayList<>();
         Consumer<Project> consumer = p -> {
@@ -239,7 +262,7 @@ public class ProjectController implements RepresentationModelProcessor<Repositor
                 embeddedProjectResource = EntityModel.of(embeddedProject);
             } else {
                 embeddedProjectResource = createHalProjectResourceWithAllDetails(p, sw360User, mapOfProjects,
-                        !isSearchByName);
+                        isAllAccessibleProjectFetched);
                 if (embeddedProjectResource == null) {
                     return;
                 }
@@ -786,10 +809,11 @@ public class ProjectController implements RepresentationModelProcessor<Repositor
     public void downloadAttachmentFromProject(
             @PathVariable("projectId") String projectId,
             @PathVariable("attachmentId") String attachmentId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
             HttpServletResponse response) throws TException {
         final User sw360User = restControllerHelper.getSw360UserFromAuthentication();
         final Project project = projectService.getProjectForUserById(projectId, sw360User);
-        this.attachmentService.downloadAttachmentWithContext(project, attachmentId, response, sw360User);
+        this.attachmentService.downloadAttachmentWithContext(project, attachmentId, range, response, sw360User);
     }
 
     @RequestMapping(value = PROJECTS_URL + "/{projectId}/attachments/clearingReports", method = RequestMethod.GET, produces = "application/zip")
@@ -809,8 +833,8 @@ public class ProjectController implements RepresentationModelProcessor<Repositor
             }
         }
 
-        try (InputStream attachmentStream = attachmentService.getStreamToAttachments(clearingAttachments, sw360User, project)) {
-            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        try (InputStream attachmentStream = attachmentService.getStreamToAttachmentBundle(clearingAttachments, sw360User, project)) {
+            response.setContentType("application/zip");
             response.setHeader("Content-Disposition", String.format("attachment; filename=\"%s\"", filename));
             FileCopyUtils.copy(attachmentStream, response.getOutputStream());
         } catch (final TException | IOException e) {
@@ -859,6 +883,23 @@ public class ProjectController implements RepresentationModelProcessor<Repositor
         return new ResponseEntity<>(halResource, status);
     }
 
+    @RequestMapping(value = PROJECTS_URL + "/{projectId}/attachments", method = RequestMethod.POST, params = "uploadId", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HalResource> addUploadedAttachmentToProject(@PathVariable("projectId") String projectId,
+                                                                      @RequestParam("uploadId") String uploadId,
+                                                                      @RequestBody Attachment newAttachment) throws TException {
+        final User sw360User = restControllerHelper.getSw360UserFromAuthentication();
+        final Project project = projectService.getProjectForUserById(projectId, sw360User);
+        Attachment attachment = attachmentService.makeAttachmentFromUpload(uploadId, newAttachment, sw360User);
+
+        project.addToAttachments(attachment);
+        RequestStatus updateProjectStatus = projectService.updateProject(project, sw360User);
+        HalResource<Project> halResource = createHalProject(project, sw360User);
+        if (updateProjectStatus == RequestStatus.SENT_TO_MODERATOR) {
+            return new ResponseEntity(RESPONSE_BODY_FOR_MODERATION_REQUEST, HttpStatus.ACCEPTED);
+        }
+        return new ResponseEntity<>(halResource, HttpStatus.OK);
+    }
+
     @RequestMapping(value = PROJECTS_URL + "/searchByExternalIds", method = RequestMethod.GET)
     public ResponseEntity searchByExternalIds(@RequestParam MultiValueMap<String, String> externalIdsMultiMap) throws TException {
         final User sw360User = restControllerHelper.getSw360UserFromAuthentication();
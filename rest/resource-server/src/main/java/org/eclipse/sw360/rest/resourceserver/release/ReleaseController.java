@@ -21,6 +21,7 @@ import org.eclipse.sw360.datahandler.common.SW360Constants;
 import org.eclipse.sw360.datahandler.resourcelists.PaginationParameterException;
 import org.eclipse.sw360.datahandler.resourcelists.PaginationResult;
 import org.eclipse.sw360.datahandler.resourcelists.ResourceClassNotFoundException;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.Source;
@@ -46,6 +47,7 @@ import org.springframework.hateoas.Link;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -97,6 +99,10 @@ public class ReleaseController implements RepresentationModelProcessor<Repositor
             .build();
     private static final ImmutableMap<String, String> RESPONSE_BODY_FOR_MODERATION_REQUEST = ImmutableMap.<String, String>builder()
             .put("message", "Moderation request is created").build();
+    // sort properties which can be handled by the backend, mapped to the column numbers of the paginated release query
+    private static final ImmutableMap<String, Integer> RELEASE_SORT_COLUMNS = ImmutableMap.of(
+            "name", 0,
+            "createdOn", 1);
 
     @NonNull
     private Sw360ReleaseService releaseService;
@@ -120,18 +126,34 @@ public class ReleaseController implements RepresentationModelProcessor<Repositor
 
         User sw360User = restControllerHelper.getSw360UserFromAuthentication();
         List<Release> sw360Releases = new ArrayList<>();
+        PaginationData pageData = null;
 
         if (sha1 != null && !sha1.isEmpty()) {
             sw360Releases.addAll(searchReleasesBySha1(sha1, sw360User));
         } else {
-            sw360Releases.addAll(releaseService.getReleasesForUser(sw360User));
+            if (name == null || name.isEmpty()) {
+                pageData = restControllerHelper.paginationDataFromPageable(request, pageable, RELEASE_SORT_COLUMNS, 0);
+            }
+            if (pageData == null) {
+                sw360Releases.addAll(releaseService.getReleasesForUser(sw360User));
+            } else {
+                Entry<PaginationData, List<Release>> page = releaseService.getReleasesForUser(sw360User, pageData)
+                        .entrySet().iterator().next();
+                pageData = page.getKey();
+                sw360Releases.addAll(page.getValue());
+            }
         }
 
         sw360Releases = sw360Releases.stream()
                 .filter(release -> name == null || name.isEmpty() || release.getName().equalsIgnoreCase(name))
                 .collect(Collectors.toList());
 
-        PaginationResult<Release> paginationResult = restControllerHelper.createPaginationResult(request, pageable, sw360Releases, SW360Constants.TYPE_RELEASE);
+        PaginationResult<Release> paginationResult;
+        if (pageData == null) {
+            paginationResult = restControllerHelper.createPaginationResult(request, pageable, sw360Releases, SW360Constants.TYPE_RELEASE);
+        } else {
+            paginationResult = restControllerHelper.createPaginationResultForPage(pageable, sw360Releases, pageData.getTotalRowCount());
+        }
 
         List<EntityModel> releaseResources = new ArrayList<>();
         for (Release sw360Release : paginationResult.getResources()) {
@@ -343,14 +365,32 @@ public class ReleaseController implements RepresentationModelProcessor<Repositor
         return new ResponseEntity<>(halRelease, HttpStatus.OK);
     }
 
+    @PostMapping(value = RELEASES_URL + "/{releaseId}/attachments", params = "uploadId", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HalResource> addUploadedAttachmentToRelease(@PathVariable("releaseId") String releaseId,
+                                                                      @RequestParam("uploadId") String uploadId,
+                                                                      @RequestBody Attachment newAttachment) throws TException {
+        final User sw360User = restControllerHelper.getSw360UserFromAuthentication();
+        final Release release = releaseService.getReleaseForUserById(releaseId, sw360User);
+        Attachment attachment = attachmentService.makeAttachmentFromUpload(uploadId, newAttachment, sw360User);
+
+        release.addToAttachments(attachment);
+        RequestStatus updateReleaseStatus = releaseService.updateRelease(release, sw360User, true);
+        HalResource halRelease = createHalReleaseResource(release, true);
+        if (updateReleaseStatus == RequestStatus.SENT_TO_MODERATOR) {
+            return new ResponseEntity(RESPONSE_BODY_FOR_MODERATION_REQUEST, HttpStatus.ACCEPTED);
+        }
+        return new ResponseEntity<>(halRelease, HttpStatus.OK);
+    }
+
     @GetMapping(value = RELEASES_URL + "/{releaseId}/attachments/{attachmentId}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
     public void downloadAttachmentFromRelease(
             @PathVariable("releaseId") String releaseId,
             @PathVariable("attachmentId") String attachmentId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
             HttpServletResponse response) throws TException {
         User sw360User = restControllerHelper.getSw360UserFromAuthentication();
         Release release = releaseService.getReleaseForUserById(releaseId, sw360User);
-        attachmentService.downloadAttachmentWithContext(release, attachmentId, response, sw360User);
+        attachmentService.downloadAttachmentWithContext(release, attachmentId, range, response, sw360User);
     }
 
     @DeleteMapping(RELEASES_URL + "/{releaseId}/attachments/{attachmentIds}")
@@ -23,6 +23,7 @@ import org.eclipse.sw360.rest.resourceserver.Sw360ResourceServer;
 import org.eclipse.sw360.rest.resourceserver.security.apiToken.ApiTokenAuthenticationFilter.ApiTokenAuthentication;
 import org.eclipse.sw360.rest.resourceserver.security.apiToken.ApiTokenAuthenticationFilter.AuthType;
 import org.eclipse.sw360.rest.resourceserver.security.jwksvalidation.JWTValidator;
+import org.eclipse.sw360.rest.resourceserver.user.Sw360UserCache;
 import org.eclipse.sw360.rest.resourceserver.user.Sw360UserService;
 import org.jetbrains.annotations.NotNull;
 import org.jose4j.jwt.JwtClaims;
@@ -60,7 +61,10 @@ public class ApiTokenAuthenticationProvider implements AuthenticationProvider {
 
     @NotNull
     private final Sw360UserService userService;
-    
+
+    @NotNull
+    private final Sw360UserCache userCache;
+
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         if (authentication.isAuthenticated()) {
@@ -89,7 +93,8 @@ public class ApiTokenAuthenticationProvider implements AuthenticationProvider {
             User sw360User = getUserFromClientId(clientIdAsStr);
             return authenticatedOidcUser(sw360User, clientIdAsStr);
         } else {
-            String tokenHash = BCrypt.hashpw(tokenFromAuthentication, API_TOKEN_HASH_SALT);
+            String tokenHash = userCache.getApiTokenHash(tokenFromAuthentication,
+                    token -> BCrypt.hashpw(token, API_TOKEN_HASH_SALT));
             User sw360User = getUserFromTokenHash(tokenHash);
             if (sw360User == null || sw360User.isDeactivated()) {
                 throw new DisabledException("User is deactivated");
@@ -113,7 +118,7 @@ public class ApiTokenAuthenticationProvider implements AuthenticationProvider {
 
     private User getUserFromTokenHash(String tokenHash) {
         try {
-            return userService.getUserByApiToken(tokenHash);
+            return userCache.getUserByApiTokenHash(tokenHash, userService::getUserByApiToken);
         } catch (RuntimeException e) {
             log.debug("Could not find any user for the entered token, hash " + tokenHash);
             throw new AuthenticationServiceException("Your entered API token is not valid.");
@@ -0,0 +1,136 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.sw360.rest.resourceserver.user;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of the users resolved for authenticated requests, so that every request does not have to
+ * ask the user service again and api tokens do not have to be hashed with BCrypt again.
+ *
+ * Users and their api tokens are changed through the other sw360 services and not through this server, so there is
+ * no change to invalidate entries on. Cached users are therefore only kept for a short time (see
+ * {@code sw360.principal-cache.ttl-seconds}, 0 disables caching). Only found and active users are cached,
+ * deactivating a user, changing its role or revoking a token takes effect once the entry expired.
+ */
+@Component
+public class Sw360UserCache {
+
+    private final Cache<String, User> usersByIdentifier;
+    private final Cache<String, User> usersByApiTokenHash;
+    private final Cache<String, String> apiTokenHashes;
+
+    public Sw360UserCache(@Value("${sw360.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${sw360.principal-cache.max-size:1000}") long maxSize) {
+        usersByIdentifier = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        usersByApiTokenHash = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        // the hash of a token never changes, only the users holding it do
+        apiTokenHashes = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param userIdentifier email or external id of the user
+     * @param loader         asked if the user is not cached, may throw or return null
+     */
+    public User getUserByIdentifier(String userIdentifier, Function<String, User> loader) {
+        return getOrLoad(usersByIdentifier, userIdentifier, loader);
+    }
+
+    /**
+     * @param tokenHash BCrypt hash of the api token as stored with the user
+     * @param loader    asked if the user is not cached, may throw or return null
+     */
+    public User getUserByApiTokenHash(String tokenHash, Function<String, User> loader) {
+        return getOrLoad(usersByApiTokenHash, tokenHash, loader);
+    }
+
+    /**
+     * @return the BCrypt hash of the token, the raw token is only kept as SHA-256 digest
+     */
+    public String getApiTokenHash(String token, Function<String, String> hasher) {
+        String digest = sha256(token);
+        String tokenHash = apiTokenHashes.getIfPresent(digest);
+        if (tokenHash == null) {
+            tokenHash = hasher.apply(token);
+            apiTokenHashes.put(digest, tokenHash);
+        }
+        return tokenHash;
+    }
+
+    private static User getOrLoad(Cache<String, User> cache, String key, Function<String, User> loader) {
+        User user = cache.getIfPresent(key);
+        if (user == null) {
+            user = loader.apply(key);
+            if (user != null && !user.isDeactivated()) {
+                cache.put(key, user);
+            }
+        }
+        return user;
+    }
+
+    /**
+     * @return hit and miss counts of the caches, e.g. for the health endpoint
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("users", toMap(usersByIdentifier.stats(), usersByIdentifier.size()));
+        statistics.put("apiTokenUsers", toMap(usersByApiTokenHash.stats(), usersByApiTokenHash.size()));
+        statistics.put("apiTokenHashes", toMap(apiTokenHashes.stats(), apiTokenHashes.size()));
+        return statistics;
+    }
+
+    private static Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", size);
+        map.put("hits", stats.hitCount());
+        map.put("misses", stats.missCount());
+        map.put("hitRate", stats.hitRate());
+        map.put("evictions", stats.evictionCount());
+        return map;
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -17,12 +17,11 @@ import java.util.Optional;
 
 import org.apache.http.HttpStatus;
 import org.apache.thrift.TException;
-import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.THttpClient;
 import org.apache.thrift.transport.TTransportException;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.users.User;
@@ -114,8 +113,7 @@ public class Sw360VulnerabilityService {
     }
 
     private VulnerabilityService.Iface getThriftVulnerabilityClient() throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/vulnerabilities/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl + "/vulnerabilities/thrift");
         return new VulnerabilityService.Client(protocol);
     }
 
@@ -14,6 +14,7 @@ package org.eclipse.sw360.rest.resourceserver.integration;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
@@ -93,6 +94,8 @@ public class ComponentTest extends TestIntegrationBase {
         componentList.add(component);
 
         given(this.componentServiceMock.getComponentsForUser(any())).willReturn(componentList);
+        given(this.componentServiceMock.getComponentsForUser(any(), any())).willReturn(Collections.singletonMap(
+                new PaginationData().setTotalRowCount(componentList.size()), componentList));
 
         User user = TestHelper.getTestUser();
 
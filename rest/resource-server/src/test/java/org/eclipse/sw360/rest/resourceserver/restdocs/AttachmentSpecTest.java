@@ -12,6 +12,7 @@ package org.eclipse.sw360.rest.resourceserver.restdocs;
 import org.apache.thrift.TException;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
+import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentType;
 import org.eclipse.sw360.datahandler.thrift.attachments.CheckStatus;
 import org.eclipse.sw360.datahandler.thrift.components.ClearingState;
@@ -28,22 +29,32 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import static org.mockito.BDDMockito.given;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -66,6 +77,8 @@ public class AttachmentSpecTest extends TestRestDocsSpecBase {
 
     private Attachment attachment;
 
+    private AttachmentContent upload;
+
     @Before
     public void before() throws TException {
         List<Attachment> attachments = new ArrayList<>();
@@ -115,6 +128,21 @@ public class AttachmentSpecTest extends TestRestDocsSpecBase {
         user.setFullname("John Doe");
 
         given(this.userServiceMock.getUserByEmailOrExternalId("admin@sw360.org")).willReturn(user);
+
+        upload = new AttachmentContent()
+                .setId("1231231256")
+                .setFilename("spring-core-4.3.4.RELEASE-sources.jar")
+                .setContentType("application/java-archive")
+                .setPartsCount("2")
+                .setUploadedBy("admin@sw360.org");
+        SortedMap<Integer, Long> uploadedParts = new TreeMap<>();
+        uploadedParts.put(1, 8388608L);
+        uploadedParts.put(2, 1048576L);
+
+        given(this.attachmentServiceMock.createUpload(eq(upload.getFilename()), any(), anyInt(), any())).willReturn(upload);
+        given(this.attachmentServiceMock.getUpload(eq(upload.getId()), any())).willReturn(upload);
+        given(this.attachmentServiceMock.getUploadedParts(any())).willReturn(uploadedParts);
+        given(this.attachmentServiceMock.completeUpload(any())).willReturn(9437184L);
     }
 
     @Test
@@ -163,4 +191,77 @@ public class AttachmentSpecTest extends TestRestDocsSpecBase {
                                         "The collection of <<resources-attachments,Attachment resources>>. In most cases the result should contain either one element or an empty collection. If the same binary file is uploaded and attached to multiple sw360 resources, the collection will contain all the attachments with matching sha1 hash."))))
                 .andReturn();
     }
+
+    @Test
+    public void should_document_create_upload() throws Exception {
+        String accessToken = TestHelper.getAccessToken(mockMvc, testUserId, testUserPassword);
+        mockMvc.perform(post("/api/attachments/uploads")
+                .param("filename", upload.getFilename())
+                .param("contentType", upload.getContentType())
+                .param("partsCount", upload.getPartsCount())
+                .header("Authorization", "Bearer " + accessToken)
+                .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isCreated())
+                .andDo(this.documentationHandler.document(
+                        requestParameters(
+                                parameterWithName("filename").description("The filename of the attachment"),
+                                parameterWithName("contentType").description("The content type of the attachment, optional"),
+                                parameterWithName("partsCount").description("The number of parts the attachment is uploaded in")
+                        ),
+                        responseFields(
+                                fieldWithPath("attachmentContentId").description("The id of the upload, used as `uploadId` to add the attachment to a resource"),
+                                fieldWithPath("filename").description("The filename of the attachment"),
+                                fieldWithPath("partsCount").description("The number of parts the attachment is uploaded in"),
+                                subsectionWithPath("uploadedParts").description("The lengths of the parts which are uploaded already, by part number")
+                        )));
+    }
+
+    @Test
+    public void should_document_get_upload() throws Exception {
+        String accessToken = TestHelper.getAccessToken(mockMvc, testUserId, testUserPassword);
+        mockMvc.perform(get("/api/attachments/uploads/" + upload.getId())
+                .header("Authorization", "Bearer " + accessToken)
+                .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andDo(this.documentationHandler.document(
+                        responseFields(
+                                fieldWithPath("attachmentContentId").description("The id of the upload"),
+                                fieldWithPath("filename").description("The filename of the attachment"),
+                                fieldWithPath("partsCount").description("The number of parts the attachment is uploaded in"),
+                                subsectionWithPath("uploadedParts").description("The lengths of the parts which are uploaded already, by part number. Parts which are missing after an interrupted upload are not contained.")
+                        )));
+    }
+
+    @Test
+    public void should_document_upload_part() throws Exception {
+        String accessToken = TestHelper.getAccessToken(mockMvc, testUserId, testUserPassword);
+        mockMvc.perform(put("/api/attachments/uploads/" + upload.getId() + "/parts/1")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content("@/spring-core-4.3.4.RELEASE-sources.jar.part1".getBytes())
+                .header("X-Part-SHA1", "2fd4e1c67a2d28fced849ee1bb76e7391b93eb12")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isCreated())
+                .andDo(this.documentationHandler.document(
+                        requestHeaders(
+                                headerWithName("X-Part-SHA1").description("The SHA-1 checksum of the part, the part is rejected if its content does not match"),
+                                headerWithName("Authorization").description("Bearer token")
+                        )));
+    }
+
+    @Test
+    public void should_document_complete_upload() throws Exception {
+        String accessToken = TestHelper.getAccessToken(mockMvc, testUserId, testUserPassword);
+        mockMvc.perform(post("/api/attachments/uploads/" + upload.getId() + "/complete")
+                .header("Authorization", "Bearer " + accessToken)
+                .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andDo(this.documentationHandler.document(
+                        responseFields(
+                                fieldWithPath("attachmentContentId").description("The id of the upload"),
+                                fieldWithPath("filename").description("The filename of the attachment"),
+                                fieldWithPath("partsCount").description("The number of parts the attachment is uploaded in"),
+                                subsectionWithPath("uploadedParts").description("The lengths of the uploaded parts, by part number"),
+                                fieldWithPath("length").description("The length of the uploaded attachment in bytes")
+                        )));
+    }
 }
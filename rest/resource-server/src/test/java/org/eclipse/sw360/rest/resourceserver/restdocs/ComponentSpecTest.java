@@ -106,6 +106,7 @@ public class ComponentSpecTest extends TestRestDocsSpecBase {
         given(this.attachmentServiceMock.getAttachmentContent(any())).willReturn(new AttachmentContent().setId("1231231254").setFilename("spring-core-4.3.4.RELEASE.jar").setContentType("binary"));
         given(this.attachmentServiceMock.getResourcesFromList(any())).willReturn(CollectionModel.of(attachmentResources));
         given(this.attachmentServiceMock.uploadAttachment(any(), any(), any())).willReturn(attachment);
+        given(this.attachmentServiceMock.makeAttachmentFromUpload(any(), any(), any())).willReturn(attachment);
         given(this.attachmentServiceMock.filterAttachmentsToRemove(any(), any(), any())).willReturn(Collections.singleton(attachment));
         given(this.attachmentServiceMock.updateAttachment(any(), any(), any(), any())).willReturn(att2);
 
@@ -612,6 +613,11 @@ public class ComponentSpecTest extends TestRestDocsSpecBase {
         testAttachmentUpload("/api/components/", angularComponent.getId());
     }
 
+    @Test
+    public void should_document_add_uploaded_attachment_to_component() throws Exception {
+        testUploadedAttachment("/api/components/", angularComponent.getId());
+    }
+
     @Test
     public void should_document_delete_component_attachment() throws Exception {
         String accessToken = TestHelper.getAccessToken(mockMvc, testUserId, testUserPassword);
@@ -12,6 +12,7 @@ package org.eclipse.sw360.rest.resourceserver.restdocs;
 import org.apache.thrift.TException;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.ProjectReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
@@ -145,6 +146,7 @@ public class ProjectSpecTest extends TestRestDocsSpecBase {
         given(this.attachmentServiceMock.getAttachmentContent(any())).willReturn(new AttachmentContent().setId("1231231254").setFilename("spring-core-4.3.4.RELEASE.jar").setContentType("binary"));
         given(this.attachmentServiceMock.getResourcesFromList(any())).willReturn(CollectionModel.of(attachmentResources));
         given(this.attachmentServiceMock.uploadAttachment(any(), any(), any())).willReturn(attachment);
+        given(this.attachmentServiceMock.makeAttachmentFromUpload(any(), any(), any())).willReturn(attachment);
         given(this.attachmentServiceMock.updateAttachment(any(), any(), any(), any())).willReturn(att2);
         Mockito.doNothing().when(projectServiceMock).deleteProject(any(), any());
         Mockito.doNothing().when(projectServiceMock).copyLinkedObligationsForClonedProject(any(), any(),
@@ -274,6 +276,8 @@ public class ProjectSpecTest extends TestRestDocsSpecBase {
         Set<String> releaseIdsTransitive = new HashSet<>(Arrays.asList("3765276512", "5578999"));
 
         given(this.projectServiceMock.getProjectsForUser(any())).willReturn(projectList);
+        given(this.projectServiceMock.getProjectsForUser(any(), any())).willReturn(Collections.singletonMap(
+                new PaginationData().setTotalRowCount(projectList.size()), new ArrayList<>(projectList)));
         given(this.projectServiceMock.getProjectForUserById(eq(project.getId()), any())).willReturn(project);
         given(this.projectServiceMock.getProjectForUserById(eq(project2.getId()), any())).willReturn(project2);
         given(this.projectServiceMock.getProjectForUserById(eq(projectForAtt.getId()), any())).willReturn(projectForAtt);
@@ -1358,6 +1362,11 @@ public class ProjectSpecTest extends TestRestDocsSpecBase {
         testAttachmentUpload("/api/projects/", project.getId());
     }
 
+    @Test
+    public void should_document_add_uploaded_attachment_to_project() throws Exception {
+        testUploadedAttachment("/api/projects/", project.getId());
+    }
+
     @Test
     public void should_document_link_releases() throws Exception {
         MockHttpServletRequestBuilder requestBuilder = post("/api/projects/" + project.getId() + "/releases");
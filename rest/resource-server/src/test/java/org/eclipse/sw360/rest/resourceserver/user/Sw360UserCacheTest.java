@@ -0,0 +1,93 @@
+/*
+ * Copyright Siemens AG, 2023. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.rest.resourceserver.user;
+
+import org.eclipse.sw360.datahandler.thrift.users.RestApiToken;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class Sw360UserCacheTest {
+
+    private static final String EMAIL = "admin@sw360.org";
+    private static final String TOKEN_HASH = "$2a$04$hash";
+
+    @Mock
+    private Function<String, User> loader;
+
+    private Sw360UserCache userCache;
+    private User user;
+
+    @Before
+    public void setUp() {
+        userCache = new Sw360UserCache(60, 100);
+        user = new User().setId("1").setEmail(EMAIL)
+                .setRestApiTokens(Collections.singletonList(new RestApiToken().setToken(TOKEN_HASH)));
+    }
+
+    @Test
+    public void testUserIsLoadedOnce() {
+        when(loader.apply(EMAIL)).thenReturn(user);
+
+        assertThat(userCache.getUserByIdentifier(EMAIL, loader)).isSameAs(user);
+        assertThat(userCache.getUserByIdentifier(EMAIL, loader)).isSameAs(user);
+
+        verify(loader, times(1)).apply(EMAIL);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> users = (Map<String, Object>) userCache.getStatistics().get("users");
+        assertThat(users.get("hits")).isEqualTo(1L);
+        assertThat(users.get("misses")).isEqualTo(1L);
+    }
+
+    @Test
+    public void testMissingAndDeactivatedUsersAreNotCached() {
+        when(loader.apply(EMAIL)).thenReturn(null, user.deepCopy().setDeactivated(true), user);
+
+        assertThat(userCache.getUserByIdentifier(EMAIL, loader)).isNull();
+        assertThat(userCache.getUserByIdentifier(EMAIL, loader).isDeactivated()).isTrue();
+        assertThat(userCache.getUserByIdentifier(EMAIL, loader)).isSameAs(user);
+
+        verify(loader, times(3)).apply(EMAIL);
+    }
+
+    @Test
+    public void testApiTokenIsHashedOnce() {
+        @SuppressWarnings("unchecked")
+        Function<String, String> hasher = mock(Function.class);
+        when(hasher.apply("token")).thenReturn(TOKEN_HASH);
+
+        assertThat(userCache.getApiTokenHash("token", hasher)).isEqualTo(TOKEN_HASH);
+        assertThat(userCache.getApiTokenHash("token", hasher)).isEqualTo(TOKEN_HASH);
+
+        verify(hasher, times(1)).apply("token");
+    }
+
+    @Test
+    public void testZeroTtlDisablesCaching() {
+        userCache = new Sw360UserCache(0, 100);
+        when(loader.apply(EMAIL)).thenReturn(user);
+
+        userCache.getUserByIdentifier(EMAIL, loader);
+        userCache.getUserByIdentifier(EMAIL, loader);
+
+        verify(loader, times(2)).apply(EMAIL);
+    }
+}